@@ -40,6 +40,19 @@ public abstract class PebbleBytesStore {
         return inputBitStream;
     }
 
+    /**
+     * Positions the cursor of <code>inputBitStream</code> on the beginning of the representation of the compressed list
+     * of the given index <code>listIndex</code>. This allows to read many lists through the same stream without
+     * allocating a new one for each list.
+     * @param listIndex index of list.
+     * @param inputBitStream stream previously returned by {@link #getInputBitStream(int)} of this store.
+     * @throws IOException in case there is an exception positioning the cursor in the beginning of the representation.
+     */
+    public void resetInputBitStream(final int listIndex, final InputBitStream inputBitStream) throws IOException {
+        inputBitStream.reset(get(listIndex));
+        inputBitStream.position(offset(listIndex));
+    }
+
     /**
      * Gets the bytes array which contains the data of the compressed list associated with <code>listIndex</code>.
      * @param listIndex index of list.
@@ -0,0 +1,106 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core;
+
+/**
+ * Gives access to the size and bounds of compressed lists without reading their compressed representation. Sizes are
+ * kept as the running total of elements of the lists in an offsets store, so the monotone offsets stores, like
+ * {@link org.pebble.utils.EliasFanoPebbleOffsetsStore}, can hold them compactly. Bounds are optional, and kept in two
+ * more offsets stores with the min and max element of each list. Bounds are not monotone, may be negative, and are
+ * -1 for empty lists, so the bounds stores must accept negative and non monotone values, like
+ * {@link org.pebble.utils.LongListPebbleOffsetsStore}, and can't be Elias-Fano stores. Instances are written by
+ * {@link PebbleListsSummaryStoreWriter}.
+ */
+public class PebbleListsSummaryStore {
+
+    private final PebbleOffsetsStore sizesStore;
+    private final PebbleOffsetsStore minsStore;
+    private final PebbleOffsetsStore maxsStore;
+
+    /**
+     * Initializes a summary store holding only the size of the lists.
+     * @param sizesStore store with the running total of elements of the lists.
+     */
+    public PebbleListsSummaryStore(final PebbleOffsetsStore sizesStore) {
+        this(sizesStore, null, null);
+    }
+
+    /**
+     * Initializes a summary store holding the size and the bounds of the lists.
+     * @param sizesStore store with the running total of elements of the lists.
+     * @param minsStore store with the min element of each list, or null when bounds were not stored. It must accept
+     *                  negative and non monotone values.
+     * @param maxsStore store with the max element of each list, or null when bounds were not stored. It must accept
+     *                  negative and non monotone values.
+     */
+    public PebbleListsSummaryStore(
+        final PebbleOffsetsStore sizesStore,
+        final PebbleOffsetsStore minsStore,
+        final PebbleOffsetsStore maxsStore
+    ) {
+        this.sizesStore = sizesStore;
+        this.minsStore = minsStore;
+        this.maxsStore = maxsStore;
+    }
+
+    /**
+     * Returns the number of elements of the list <code>listIndex</code>.
+     * @param listIndex index of list.
+     * @return number of elements of the list.
+     */
+    public int size(final int listIndex) {
+        return (int) (sizesStore.get(listIndex + 1) - sizesStore.get(listIndex));
+    }
+
+    /**
+     * Returns whether the bounds of the lists were stored or not.
+     * @return true when the bounds of the lists are available and false otherwise.
+     */
+    public boolean hasBounds() {
+        return minsStore != null && maxsStore != null;
+    }
+
+    /**
+     * Returns the min element of the list <code>listIndex</code>.
+     * @param listIndex index of list.
+     * @return min element of the list, or -1 when the list is empty.
+     * @throws UnsupportedOperationException when the bounds of the lists were not stored.
+     */
+    public long min(final int listIndex) {
+        checkBounds();
+        return minsStore.get(listIndex);
+    }
+
+    /**
+     * Returns the max element of the list <code>listIndex</code>.
+     * @param listIndex index of list.
+     * @return max element of the list, or -1 when the list is empty.
+     * @throws UnsupportedOperationException when the bounds of the lists were not stored.
+     */
+    public long max(final int listIndex) {
+        checkBounds();
+        return maxsStore.get(listIndex);
+    }
+
+    private void checkBounds() {
+        if (!hasBounds()) {
+            throw new UnsupportedOperationException("Bounds of the lists were not stored");
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.pebble.utils.EliasFanoPebbleOffsetsStore;
+import org.pebble.utils.EliasFanoPebbleOffsetsStoreWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes the size and, optionally, the bounds of compressed lists, to be read back through a
+ * {@link PebbleListsSummaryStore}. Lists must be appended in the same order they are compressed, and before being
+ * compressed, since compressing a list modifies it. Bounds of empty lists are stored as -1, so along with negative
+ * elements and the lists being in any order, the bounds writers must accept negative and non monotone values.
+ */
+public class PebbleListsSummaryStoreWriter {
+
+    private final PebbleOffsetsStoreWriter sizesWriter;
+    private final PebbleOffsetsStoreWriter minsWriter;
+    private final PebbleOffsetsStoreWriter maxsWriter;
+    private final boolean hasBounds;
+    private long totalSize;
+
+    /**
+     * Initializes a writer of the size of the lists.
+     * @param sizesWriter writer of the running total of elements of the lists.
+     * @throws IOException in case there is an exception appending to <code>sizesWriter</code>.
+     */
+    public PebbleListsSummaryStoreWriter(final PebbleOffsetsStoreWriter sizesWriter) throws IOException {
+        this(sizesWriter, null, null);
+    }
+
+    /**
+     * Initializes a writer of the size and the bounds of the lists.
+     * @param sizesWriter writer of the running total of elements of the lists.
+     * @param minsWriter writer of the min element of each list, or null to not store bounds. It must accept negative
+     *                   and non monotone values.
+     * @param maxsWriter writer of the max element of each list, or null to not store bounds. It must accept negative
+     *                   and non monotone values.
+     * @throws IOException in case there is an exception appending to <code>sizesWriter</code>.
+     * @throws IllegalArgumentException when only one of <code>minsWriter</code> and <code>maxsWriter</code> is null,
+     * or when any of them is an Elias-Fano offsets store writer, which only accepts non negative monotone values.
+     */
+    public PebbleListsSummaryStoreWriter(
+        final PebbleOffsetsStoreWriter sizesWriter,
+        final PebbleOffsetsStoreWriter minsWriter,
+        final PebbleOffsetsStoreWriter maxsWriter
+    ) throws IOException {
+        if ((minsWriter == null) != (maxsWriter == null)) {
+            throw new IllegalArgumentException("Mins and maxs writers must be both provided or both null");
+        }
+        checkBoundsWriter(minsWriter);
+        checkBoundsWriter(maxsWriter);
+        this.sizesWriter = sizesWriter;
+        this.minsWriter = minsWriter;
+        this.maxsWriter = maxsWriter;
+        hasBounds = minsWriter != null;
+        totalSize = 0L;
+        sizesWriter.append(totalSize);
+    }
+
+    /**
+     * Appends the summary of <code>list</code>, which can be in any order.
+     * @param list list of <code>int</code>s to be summarized.
+     * @throws IOException in case there is an exception appending to the writers.
+     */
+    public void append(final IntList list) throws IOException {
+        long min = -1L;
+        long max = -1L;
+        if (hasBounds && !list.isEmpty()) {
+            min = Integer.MAX_VALUE;
+            max = Integer.MIN_VALUE;
+            for (int i = 0; i < list.size(); i++) {
+                min = Math.min(min, list.getInt(i));
+                max = Math.max(max, list.getInt(i));
+            }
+        }
+        append(list.size(), min, max);
+    }
+
+    /**
+     * Appends the summary of <code>list</code>, which can be in any order.
+     * @param list list of <code>long</code>s to be summarized.
+     * @throws IOException in case there is an exception appending to the writers.
+     */
+    public void append(final LongList list) throws IOException {
+        long min = -1L;
+        long max = -1L;
+        if (hasBounds && !list.isEmpty()) {
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+            for (int i = 0; i < list.size(); i++) {
+                min = Math.min(min, list.getLong(i));
+                max = Math.max(max, list.getLong(i));
+            }
+        }
+        append(list.size(), min, max);
+    }
+
+    /**
+     * Appends the summary of a list.
+     * @param size number of elements of the list.
+     * @param min min element of the list, or -1 when it is empty. Ignored when bounds are not stored.
+     * @param max max element of the list, or -1 when it is empty. Ignored when bounds are not stored.
+     * @throws IOException in case there is an exception appending to the writers.
+     */
+    public void append(final int size, final long min, final long max) throws IOException {
+        totalSize += size;
+        sizesWriter.append(totalSize);
+        if (hasBounds) {
+            minsWriter.append(min);
+            maxsWriter.append(max);
+        }
+    }
+
+    private static void checkBoundsWriter(final PebbleOffsetsStoreWriter boundsWriter) {
+        if (boundsWriter instanceof EliasFanoPebbleOffsetsStore
+            || boundsWriter instanceof EliasFanoPebbleOffsetsStoreWriter) {
+            throw new IllegalArgumentException(String.format(
+                "Bounds writer %s does not accept negative and non monotone values",
+                boundsWriter.getClass().getSimpleName()
+            ));
+        }
+    }
+
+}
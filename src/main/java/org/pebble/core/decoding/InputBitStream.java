@@ -18,14 +18,58 @@ package org.pebble.core.decoding;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
- * Byte array input stream wrapper with useful method to read data at bit level.
+ * Byte array input stream wrapper with useful method to read data at bit level. Bits are read a 64 bits word at a
+ * time, loaded from the byte containing the cursor, so unary codes are decoded by counting leading zeros and fixed
+ * width fields are extracted with shifts instead of reading one bit at a time. Gamma and delta codes whose length
+ * fits on the next {@link #PREFIX_BITS} bits are decoded or skipped with a single probe to precomputed tables.
  */
 public class InputBitStream implements Closeable {
 
+    /**
+     * Max number of bits that can be extracted from a word loaded at a byte boundary in a single shift.
+     */
+    private static final int MAX_WORD_READ = Long.SIZE - Byte.SIZE + 1;
+
+    /**
+     * Number of bytes loaded on each word.
+     */
+    private static final int WORD_BYTES = Long.SIZE / Byte.SIZE;
+
+    /**
+     * Number of bits used to index the decoding tables.
+     */
+    private static final int PREFIX_BITS = 16;
+
+    /**
+     * Number of low bits of a table entry holding the number of bits covered by the entry. The remaining high bits
+     * hold the decoded value, or the number of skipped codes on skip tables. An entry equals to zero when the prefix
+     * does not contain a complete code.
+     */
+    private static final int LENGTH_BITS = 5;
+
+    private static final int LENGTH_MASK = (1 << LENGTH_BITS) - 1;
+
+    private static final char[] GAMMAS = new char[1 << PREFIX_BITS];
+    private static final char[] DELTAS = new char[1 << PREFIX_BITS];
+    private static final char[] GAMMAS_SKIP = new char[1 << PREFIX_BITS];
+    private static final char[] DELTAS_SKIP = new char[1 << PREFIX_BITS];
+
+    static {
+        for (int prefix = 0; prefix < 1 << PREFIX_BITS; prefix++) {
+            GAMMAS[prefix] = (char) gammaEntry(prefix, 0);
+            DELTAS[prefix] = (char) deltaEntry(prefix, 0);
+            GAMMAS_SKIP[prefix] = (char) skipEntry(prefix, false);
+            DELTAS_SKIP[prefix] = (char) skipEntry(prefix, true);
+        }
+    }
+
     private long position;
-    private final byte[] buffer;
+    private ByteBuffer words;
+    private long size;
+    private long length;
 
     /**
      *
@@ -33,7 +77,36 @@ public class InputBitStream implements Closeable {
      */
     public InputBitStream(final byte[] buffer) {
         position = 0L;
-        this.buffer = buffer;
+        words = ByteBuffer.wrap(buffer);
+        size = buffer.length;
+        length = size * Byte.SIZE;
+    }
+
+    /**
+     * Resets the stream to read from <code>buffer</code>, with the cursor positioned at its beginning. No allocation is
+     * performed when <code>buffer</code> is the array the stream is already reading from, so the same stream can be
+     * reused to read many lists from the same array.
+     * @param buffer input bits.
+     */
+    public void reset(final byte[] buffer) {
+        position = 0L;
+        if (words == null || words.array() != buffer) {
+            words = ByteBuffer.wrap(buffer);
+            size = buffer.length;
+            length = size * Byte.SIZE;
+        }
+    }
+
+    /**
+     * Initializes a stream over <code>size</code> bytes that are not held in a single array. Subclasses provide the
+     * bytes by overriding {@link #word(long)}.
+     * @param size number of bytes of the input.
+     */
+    protected InputBitStream(final long size) {
+        position = 0L;
+        words = null;
+        this.size = size;
+        length = size * Byte.SIZE;
     }
 
     /**
@@ -43,6 +116,11 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public int readDelta() throws IOException {
+        final int entry = DELTAS[peek()];
+        if (entry != 0) {
+            skip(entry & LENGTH_MASK);
+            return entry >>> LENGTH_BITS;
+        }
         final int size = readGamma();
         return ((1 << size) | readInt(size)) - 1;
     }
@@ -54,18 +132,32 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public long readLongDelta() throws IOException {
+        final int entry = DELTAS[peek()];
+        if (entry != 0) {
+            skip(entry & LENGTH_MASK);
+            return entry >>> LENGTH_BITS;
+        }
         final int size = readGamma();
-        return ((1L << size) | readInt(size)) - 1L;
+        return ((1L << size) | readLong(size)) - 1L;
     }
 
     /**
-     * Skips <code>skip</code> delta encoded numbers.
+     * Skips <code>skip</code> delta encoded numbers. Runs of short codes are skipped several at a time.
      * @param skip  number of delta encoded elements to skip.
      * @throws IOException in case there is an exception reading from input stream.
      */
     public void skipDeltas(final int skip) throws IOException {
-        for (int i = 0; i < skip; i++) {
-            position = readGamma() + position;
+        int remaining = skip;
+        int entry;
+        while (remaining > 0) {
+            entry = DELTAS_SKIP[peek()];
+            if (entry == 0 || entry >>> LENGTH_BITS > remaining) {
+                skip(readGamma());
+                remaining--;
+            } else {
+                skip(entry & LENGTH_MASK);
+                remaining -= entry >>> LENGTH_BITS;
+            }
         }
     }
 
@@ -76,8 +168,7 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public int readGamma() throws IOException {
-        final int size = readUnary() - 1;
-        return ((1 << size) | readInt(size)) - 1;
+        return (int) readLongGamma();
     }
 
     /**
@@ -87,18 +178,39 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public long readLongGamma() throws IOException {
+        final int offset = (int) (position & (Byte.SIZE - 1));
+        final long bits = word(position >>> 3) << offset;
+        final int entry = GAMMAS[(int) (bits >>> (Long.SIZE - PREFIX_BITS))];
+        if (entry != 0) {
+            skip(entry & LENGTH_MASK);
+            return entry >>> LENGTH_BITS;
+        }
+        final int length = 2 * Long.numberOfLeadingZeros(bits) + 1;
+        if (length <= Long.SIZE - offset) {
+            skip(length);
+            return (bits >>> (Long.SIZE - length)) - 1L;
+        }
         final int size = readUnary() - 1;
         return ((1L << size) | readLong(size)) - 1L;
     }
 
     /**
-     * Skips <code>skip</code> gamma encoded numbers.
+     * Skips <code>skip</code> gamma encoded numbers. Runs of short codes are skipped several at a time.
      * @param skip number of gamma encoded elements to skip.
      * @throws IOException in case there is an exception reading from input stream.
      */
     public void skipGammas(final int skip) throws IOException {
-        for (int i = 0; i < skip; i++) {
-            position = readUnary() - 1 + position;
+        int remaining = skip;
+        int entry;
+        while (remaining > 0) {
+            entry = GAMMAS_SKIP[peek()];
+            if (entry == 0 || entry >>> LENGTH_BITS > remaining) {
+                skipGamma();
+                remaining--;
+            } else {
+                skip(entry & LENGTH_MASK);
+                remaining -= entry >>> LENGTH_BITS;
+            }
         }
     }
 
@@ -110,11 +222,7 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public int readInt(final int size) throws IOException {
-        int x = 0;
-        for (int i = 1; i <= size; i++) {
-            x |= (read() << (size - i));
-        }
-        return x;
+        return (int) readBits(size);
     }
 
     /**
@@ -125,11 +233,11 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public long readLong(final int size) throws IOException {
-        long x = 0;
-        for (int i = 1; i <= size; i++) {
-            x |= ((long) read()) << (size - i);
+        if (size > MAX_WORD_READ) {
+            final long x = readBits(size - Integer.SIZE) << Integer.SIZE;
+            return x | readBits(Integer.SIZE);
         }
-        return x;
+        return readBits(size);
     }
 
     /**
@@ -139,11 +247,7 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public int readUnary() throws IOException {
-        int x = 1;
-        while (read() == 0) {
-            x++;
-        }
-        return x;
+        return (int) readLongUnary();
     }
 
     /**
@@ -154,10 +258,18 @@ public class InputBitStream implements Closeable {
      */
     public long readLongUnary() throws IOException {
         long x = 1;
-        while (read() == 0) {
-            x++;
+        int offset;
+        int zeros;
+        while (true) {
+            offset = (int) (position & (Byte.SIZE - 1));
+            zeros = Long.numberOfLeadingZeros(word(position >>> 3) << offset);
+            if (zeros < Long.SIZE - offset) {
+                skip(zeros + 1);
+                return x + zeros;
+            }
+            x += Long.SIZE - offset;
+            skip(Long.SIZE - offset);
         }
-        return x;
     }
 
     /**
@@ -166,7 +278,7 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public int readBit() throws IOException {
-        return read();
+        return (int) readBits(1);
     }
 
     /**
@@ -177,11 +289,13 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception reading from input stream.
      */
     public void read(final byte[] buffer, final long size) throws IOException {
-        for (int i = 0, length = (int) (size / 8); i < length; i++) {
-            buffer[i] = 0;
+        final int length = (int) (size / Byte.SIZE);
+        for (int i = 0; i < length; i++) {
+            buffer[i] = (byte) readBits(Byte.SIZE);
         }
-        for (int i = 0; i < size; i++) {
-            buffer[i / 8] |= read() << (7 - (i % 8));
+        final int remainingBits = (int) (size % Byte.SIZE);
+        if (remainingBits > 0) {
+            buffer[length] |= readBits(remainingBits) << (Byte.SIZE - remainingBits);
         }
     }
 
@@ -207,15 +321,129 @@ public class InputBitStream implements Closeable {
      * @throws IOException in case there is an exception closing stream.
      */
     public void close() throws IOException {
-        position = buffer.length;
+        position = size;
+    }
+
+    /**
+     * Reads <code>size</code> bits, at most {@link #MAX_WORD_READ}, into the least significant bits of a long.
+     */
+    private long readBits(final int size) throws IOException {
+        if (size == 0) {
+            return 0L;
+        }
+        final int offset = (int) (position & (Byte.SIZE - 1));
+        final long x = (word(position >>> 3) << offset) >>> (Long.SIZE - size);
+        skip(size);
+        return x;
+    }
+
+    /**
+     * Skips a single gamma code, counting the leading zeros of the loaded word when the code fits on it.
+     */
+    private void skipGamma() throws IOException {
+        final int offset = (int) (position & (Byte.SIZE - 1));
+        final int length = 2 * Long.numberOfLeadingZeros(word(position >>> 3) << offset) + 1;
+        if (length <= Long.SIZE - offset) {
+            skip(length);
+        } else {
+            skip(readUnary() - 1);
+        }
+    }
+
+    /**
+     * Returns the next {@link #PREFIX_BITS} bits without moving the cursor. Bits beyond the end of the buffer are read
+     * as zeros.
+     */
+    private int peek() {
+        final int offset = (int) (position & (Byte.SIZE - 1));
+        return (int) ((word(position >>> 3) << offset) >>> (Long.SIZE - PREFIX_BITS));
     }
 
-    private int read() throws IOException {
-        try {
-            return buffer[(int)(position / 8)] >> (7 - (position++ % 8)) & 0x1;
-        } catch (ArrayIndexOutOfBoundsException exception) {
-            throw new IOException(exception.getMessage());
+    /**
+     * Moves the cursor <code>size</code> bits forward, failing when the cursor goes beyond the end of the buffer.
+     */
+    private void skip(final long size) throws IOException {
+        position += size;
+        if (position > length) {
+            throw new IOException(String.format("Bit position %d is out of bounds for length %d", position, length));
+        }
+    }
+
+    /**
+     * Returns the 64 bits starting on byte <code>index</code>. Bytes beyond the end of the input are read as zeros.
+     * @param index of the first byte of the word.
+     * @return the 64 bits starting on byte <code>index</code>, with the first byte on the most significant bits.
+     */
+    protected long word(final long index) {
+        if (index + WORD_BYTES <= size) {
+            return words.getLong((int) index);
+        }
+        long x = 0L;
+        for (long i = index; i < index + WORD_BYTES; i++) {
+            x <<= Byte.SIZE;
+            if (i < size) {
+                x |= words.get((int) i) & 0xFFL;
+            }
         }
+        return x;
+    }
+
+    /**
+     * Returns the table entry for the gamma code starting at bit <code>start</code> of <code>prefix</code>, or zero
+     * when the code does not end inside the prefix.
+     */
+    private static int gammaEntry(final int prefix, final int start) {
+        final int size = Integer.numberOfLeadingZeros(prefix << (Integer.SIZE - PREFIX_BITS + start));
+        final int length = 2 * size + 1;
+        if (start + length > PREFIX_BITS) {
+            return 0;
+        }
+        final int value = ((1 << size) | prefixBits(prefix, start + size + 1, size)) - 1;
+        return value << LENGTH_BITS | length;
+    }
+
+    /**
+     * Returns the table entry for the delta code starting at bit <code>start</code> of <code>prefix</code>, or zero
+     * when the code does not end inside the prefix.
+     */
+    private static int deltaEntry(final int prefix, final int start) {
+        final int gamma = gammaEntry(prefix, start);
+        if (gamma == 0) {
+            return 0;
+        }
+        final int size = gamma >>> LENGTH_BITS;
+        final int length = (gamma & LENGTH_MASK) + size;
+        if (start + length > PREFIX_BITS) {
+            return 0;
+        }
+        final int value = ((1 << size) | prefixBits(prefix, start + (gamma & LENGTH_MASK), size)) - 1;
+        return value << LENGTH_BITS | length;
+    }
+
+    /**
+     * Returns the skip table entry with the number of consecutive delta or gamma codes that end inside
+     * <code>prefix</code> and the number of bits they use, or zero when not even the first code ends inside it.
+     */
+    private static int skipEntry(final int prefix, final boolean delta) {
+        int count = 0;
+        int length = 0;
+        int entry;
+        while (length < PREFIX_BITS) {
+            entry = delta ? deltaEntry(prefix, length) : gammaEntry(prefix, length);
+            if (entry == 0) {
+                break;
+            }
+            count++;
+            length += entry & LENGTH_MASK;
+        }
+        return count << LENGTH_BITS | length;
+    }
+
+    /**
+     * Returns the <code>size</code> bits starting at bit <code>start</code> of <code>prefix</code>.
+     */
+    private static int prefixBits(final int prefix, final int start, final int size) {
+        return (prefix >>> (PREFIX_BITS - start - size)) & ((1 << size) - 1);
     }
 
 }
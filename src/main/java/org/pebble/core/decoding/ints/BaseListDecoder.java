@@ -0,0 +1,429 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.ints;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Base class for implementing Pebble's compressed list bulk decoders. Instead of merging the pieces of the compressed
+ * representation element by element, as the iterators do, each piece is decoded in a single sequential pass into an
+ * array, and then the arrays are merged:
+ * <ul>
+ *     <li>The reference list is decoded, and the elements not present in the current list are removed in place.</li>
+ *     <li>Intervals are expanded.</li>
+ *     <li>Deltas are decoded.</li>
+ * </ul>
+ * The input bit streams and the arrays are reused between calls, so decoding lists does not allocate once the arrays
+ * are big enough. Reference lists are read through a different input bit stream for each depth, since stores can keep
+ * each list on a different bytes array. Instances are not thread safe. When a {@link IntListsCache} is provided,
+ * reference lists are taken from it when available, and stored on it once decoded otherwise.
+ */
+abstract class BaseListDecoder {
+
+    /**
+     * Fixed number of bits used to represent value in list to be encoded. It can be any value between 1bit and 31 bits.
+     */
+    protected final int valueBitSize;
+
+    /**
+     * Min interval size to be encoded as interval.
+     */
+    protected final int minIntervalSize;
+
+    /**
+     * Encoding options used to encode the compressed lists. Skip pointers are not needed to decode whole lists, so
+     * they are skipped, and section lengths are read only to jump over the skip pointers.
+     */
+    protected final EncodingOptions options;
+
+    /**
+     * Mapping between list offsets and data bytes arrays and bytes offsets.
+     */
+    protected final PebbleBytesStore bytesStore;
+
+    /**
+     * Cache of decoded reference lists, or null when reference lists are always decoded.
+     */
+    protected final IntListsCache cache;
+
+    /**
+     * Input bit stream used to read the compressed list representation. Null until the first list is decoded.
+     */
+    protected InputBitStream inputBitStream;
+
+    private InputBitStream[] inputBitStreams;
+
+    private int[][] bodies;
+    private int[] intervals;
+    private int[] deltas;
+
+    /**
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param minIntervalSize min interval size to be encoded as interval.
+     * @param options encoding options used to encode the compressed lists.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
+     */
+    protected BaseListDecoder(
+        final int valueBitSize,
+        final int minIntervalSize,
+        final EncodingOptions options,
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
+    ) {
+        this.valueBitSize = valueBitSize;
+        this.minIntervalSize = minIntervalSize;
+        this.options = options;
+        this.bytesStore = bytesStore;
+        this.cache = cache;
+        inputBitStreams = new InputBitStream[1];
+        bodies = new int[][] {IntArrays.EMPTY_ARRAY};
+        intervals = IntArrays.EMPTY_ARRAY;
+        deltas = IntArrays.EMPTY_ARRAY;
+    }
+
+    /**
+     * Decodes the list <code>listIndex</code> into <code>dest</code>, starting at its first position.
+     * @param listIndex index of the list.
+     * @param dest array where the list elements are written. It must be big enough to hold the whole list.
+     * @return number of elements of the list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     * @throws IndexOutOfBoundsException when the list does not fit in <code>dest</code>.
+     */
+    public abstract int decodeInto(final int listIndex, final int[] dest) throws IOException;
+
+    /**
+     * Positions the input bit stream on the beginning of the compressed representation of <code>listIndex</code>.
+     * @param listIndex index of the list.
+     * @throws IOException when there is an exception positioning the input bit stream.
+     */
+    protected void position(final int listIndex) throws IOException {
+        position(listIndex, 0);
+    }
+
+    /**
+     * Sets the input bit stream of <code>depth</code> as the current one, and positions it on the beginning of the
+     * compressed representation of <code>listIndex</code>. Each depth has its own input bit stream, so reading a
+     * reference list does not move the input bit stream of the list that refers to it, which may be on a different
+     * bytes array of the store.
+     * @param listIndex index of the list.
+     * @param depth number of references followed to reach the list.
+     * @throws IOException when there is an exception positioning the input bit stream.
+     */
+    protected void position(final int listIndex, final int depth) throws IOException {
+        if (depth >= inputBitStreams.length) {
+            inputBitStreams = Arrays.copyOf(inputBitStreams, depth + 1);
+        }
+        if (inputBitStreams[depth] == null) {
+            inputBitStreams[depth] = bytesStore.getInputBitStream(listIndex);
+        } else {
+            bytesStore.resetInputBitStream(listIndex, inputBitStreams[depth]);
+        }
+        inputBitStream = inputBitStreams[depth];
+    }
+
+    /**
+     * Decodes the strictly incremental list, described by reference, intervals and deltas, starting at the current
+     * position of the input bit stream.
+     * @param listIndex index of the list.
+     * @param depth number of references followed to reach the list. The list is written into the body buffer of this
+     *              depth, which can be obtained with {@link #body(int)}, unless <code>dest</code> is provided.
+     * @param dest array where the list is written, or null to write the list into the body buffer.
+     * @return number of elements of the list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    protected int decodeBody(final int listIndex, final int depth, final int[] dest) throws IOException {
+        int references = 0;
+        final int referenceOffset = inputBitStream.readDelta();
+        if (referenceOffset > 0) {
+            final InputBitStream inputBitStream = this.inputBitStream;
+            final int referenceSize = decodeReferenceList(listIndex - referenceOffset, depth + 1);
+            this.inputBitStream = inputBitStream;
+            references = selectReferences(bodies[depth + 1], referenceSize);
+        }
+        final int intervalsSize = decodeIntervals();
+        final int deltasSize = decodeDeltas();
+        final int size = references + intervalsSize + deltasSize;
+        final int[] out;
+        if (dest == null) {
+            out = body(depth, size);
+        } else {
+            checkSize(listIndex, size, dest);
+            out = dest;
+        }
+        if (references == 0) {
+            merge(intervals, 0, intervalsSize, deltas, 0, deltasSize, out, 0);
+        } else {
+            merge(bodies[depth + 1], references, out, intervalsSize, deltasSize);
+        }
+        return size;
+    }
+
+    /**
+     * Writes the reference list <code>listIndex</code> into the body buffer of <code>depth</code>, copying it from
+     * the cache when available, or reading it with {@link #readReferenceList(int, int)} otherwise.
+     * @param listIndex index of the reference list.
+     * @param depth number of references followed to reach the reference list.
+     * @return number of elements of the reference list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    protected int decodeReferenceList(final int listIndex, final int depth) throws IOException {
+        if (cache == null) {
+            return readReferenceList(listIndex, depth);
+        }
+        final int[] list = cache.get(listIndex);
+        if (list == null) {
+            final int size = readReferenceList(listIndex, depth);
+            cache.put(listIndex, Arrays.copyOf(bodies[depth], size));
+            return size;
+        }
+        System.arraycopy(list, 0, body(depth, list.length), 0, list.length);
+        return list.length;
+    }
+
+    /**
+     * Decodes the reference list <code>listIndex</code> from the bytes store into the body buffer of
+     * <code>depth</code>.
+     * @param listIndex index of the reference list.
+     * @param depth number of references followed to reach the reference list.
+     * @return number of elements of the reference list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    protected int readReferenceList(final int listIndex, final int depth) throws IOException {
+        position(listIndex, depth);
+        return decodeBody(listIndex, depth, null);
+    }
+
+    /**
+     * Returns the body buffer of <code>depth</code>.
+     * @param depth number of references followed to reach the list.
+     * @return body buffer.
+     */
+    protected int[] body(final int depth) {
+        return bodies[depth];
+    }
+
+    /**
+     * Returns the body buffer of <code>depth</code>, growing it when it can not hold <code>size</code> elements.
+     * @param depth number of references followed to reach the list.
+     * @param size number of elements the buffer must hold.
+     * @return body buffer.
+     */
+    protected int[] body(final int depth, final int size) {
+        if (depth >= bodies.length) {
+            final int[][] grown = new int[depth + 1][];
+            System.arraycopy(bodies, 0, grown, 0, bodies.length);
+            for (int i = bodies.length; i < grown.length; i++) {
+                grown[i] = IntArrays.EMPTY_ARRAY;
+            }
+            bodies = grown;
+        }
+        if (bodies[depth].length < size) {
+            bodies[depth] = new int[Math.max(size, 2 * bodies[depth].length)];
+        }
+        return bodies[depth];
+    }
+
+    /**
+     * Checks whether <code>dest</code> can hold <code>size</code> elements.
+     * @param listIndex index of the list.
+     * @param size number of elements of the list.
+     * @param dest array where the list is written.
+     * @throws IndexOutOfBoundsException when <code>dest</code> can not hold <code>size</code> elements.
+     */
+    protected static void checkSize(final int listIndex, final int size, final int[] dest) {
+        if (dest.length < size) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "List %d has %d elements, which do not fit into array of length %d",
+                    listIndex,
+                    size,
+                    dest.length
+                )
+            );
+        }
+    }
+
+    private int selectReferences(final int[] reference, final int referenceSize) throws IOException {
+        final int blocks = inputBitStream.readDelta();
+        boolean copy = inputBitStream.readBit() == 0;
+        readBlocksBits();
+        int from = 0;
+        int to = 0;
+        int length;
+        for (int i = 0; i < blocks; i++) {
+            copy = !copy;
+            length = inputBitStream.readDelta() + 1;
+            if (copy) {
+                System.arraycopy(reference, from, reference, to, length);
+                to += length;
+            }
+            from += length;
+        }
+        if (!copy) {
+            System.arraycopy(reference, from, reference, to, referenceSize - from);
+            to += referenceSize - from;
+        }
+        return to;
+    }
+
+    private int decodeIntervals() throws IOException {
+        int remaining = inputBitStream.readDelta();
+        int size = 0;
+        if (remaining > 0) {
+            int value = inputBitStream.readInt(valueBitSize);
+            int length = inputBitStream.readDelta() + minIntervalSize;
+            skipPointers(remaining, 3);
+            while (true) {
+                if (intervals.length < size + length) {
+                    intervals = IntArrays.grow(intervals, size + length, size);
+                }
+                for (int i = 0; i < length; i++) {
+                    intervals[size++] = value++;
+                }
+                if (--remaining == 0) {
+                    break;
+                }
+                value += inputBitStream.readDelta() + 1;
+                length = inputBitStream.readDelta() + minIntervalSize;
+            }
+        }
+        return size;
+    }
+
+    private int decodeDeltas() throws IOException {
+        final int size = inputBitStream.readDelta();
+        if (size > 0) {
+            if (deltas.length < size) {
+                deltas = new int[Math.max(size, 2 * deltas.length)];
+            }
+            int value = inputBitStream.readInt(valueBitSize);
+            skipPointers(size, 2);
+            deltas[0] = value;
+            for (int i = 1; i < size; i++) {
+                value += inputBitStream.readDelta() + 1;
+                deltas[i] = value;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Skips the skip pointers of a section of <code>size</code> elements, when the lists were encoded with them. The
+     * input bit stream must be positioned after the first element of the section. When the lists were encoded with
+     * section lengths, they are read and used to jump over the skip pointers.
+     * @param size number of elements of the section.
+     * @param deltasPerPointer number of deltas used to encode each skip pointer of the section.
+     * @return number of bits of the remaining elements of the section when the lists were encoded with section
+     *         lengths, or zero otherwise.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    protected int skipPointers(final int size, final int deltasPerPointer) throws IOException {
+        if (options.hasSectionLengths()) {
+            final int skipPointersBits = inputBitStream.readDelta();
+            final int sectionBits = inputBitStream.readDelta();
+            inputBitStream.position(inputBitStream.position() + skipPointersBits);
+            return sectionBits;
+        }
+        if (options.getSkipInterval() > 0) {
+            inputBitStream.skipDeltas((size - 1) / options.getSkipInterval() * deltasPerPointer);
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the number of bits of the blocks of the reference section, when the lists were encoded with section
+     * lengths. The input bit stream must be positioned after the bit of the first block.
+     * @return number of bits of the blocks, or zero when the lists were encoded without section lengths.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    protected int readBlocksBits() throws IOException {
+        return options.hasSectionLengths() ? inputBitStream.readDelta() : 0;
+    }
+
+    private void merge(
+        final int[] references,
+        final int referencesSize,
+        final int[] out,
+        final int intervalsSize,
+        final int deltasSize
+    ) {
+        final int[] intervals = this.intervals;
+        final int[] deltas = this.deltas;
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        int o = 0;
+        while (i < referencesSize && j < intervalsSize && k < deltasSize) {
+            final int x = references[i];
+            final int y = intervals[j];
+            final int z = deltas[k];
+            if (x < y) {
+                if (x < z) {
+                    out[o++] = x;
+                    i++;
+                } else {
+                    out[o++] = z;
+                    k++;
+                }
+            } else if (y < z) {
+                out[o++] = y;
+                j++;
+            } else {
+                out[o++] = z;
+                k++;
+            }
+        }
+        if (i == referencesSize) {
+            merge(intervals, j, intervalsSize, deltas, k, deltasSize, out, o);
+        } else if (j == intervalsSize) {
+            merge(references, i, referencesSize, deltas, k, deltasSize, out, o);
+        } else {
+            merge(references, i, referencesSize, intervals, j, intervalsSize, out, o);
+        }
+    }
+
+    private static void merge(
+        final int[] a,
+        int i,
+        final int aSize,
+        final int[] b,
+        int j,
+        final int bSize,
+        final int[] out,
+        int o
+    ) {
+        while (i < aSize && j < bSize) {
+            if (a[i] < b[j]) {
+                out[o++] = a[i++];
+            } else {
+                out[o++] = b[j++];
+            }
+        }
+        System.arraycopy(a, i, out, o, aSize - i);
+        System.arraycopy(b, j, out, o + aSize - i, bSize - j);
+    }
+
+}
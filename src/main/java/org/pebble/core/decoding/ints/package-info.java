@@ -1,3 +1,8 @@
+/**
+ * Provides Pebble's core list decompression bulk decoders specific for lists containing elements of <code>int</code> type.
+ */
+package org.pebble.core.decoding.ints;
+
 /**
  *  Copyright 2015 Groupon
  *
@@ -13,32 +18,3 @@
  *  See the License for the specific language governing permissions and
  *  limitations under the License.
  */
-
-package org.pebble.core.encoding;
-
-import java.io.IOException;
-import java.io.OutputStream;
-
-/**
- * Byte array wrapper into an OutputStream
- */
-class ArrayOutputStream extends OutputStream {
-
-    private final byte[] buffer;
-    private int i;
-
-    /**
-     * Initializes an empty output stream associated to <code>buffer</code>
-     * @param buffer where the data will be written.
-     */
-    public ArrayOutputStream(final byte[] buffer) {
-        this.buffer = buffer;
-        i = 0;
-    }
-
-    @Override
-    public void write(int b) throws IOException {
-        buffer[i++] = (byte) b;
-    }
-
-}
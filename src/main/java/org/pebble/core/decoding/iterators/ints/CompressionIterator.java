@@ -60,6 +60,16 @@ abstract class CompressionIterator {
         this.remainingElements = inputBitStream.readDelta();
     }
 
+    /**
+     * Reads the number of elements of a new section starting at the current position of <code>inputBitStream</code>.
+     * Used by extending classes to reuse the instance on a new section.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code> the number of
+     *                     elements in the iteration.
+     */
+    protected void readRemainingElements() throws IOException {
+        remainingElements = inputBitStream.readDelta();
+    }
+
     /**
      * records internally the current position of the cursor at the <code>inputBitStream</code>. This is useful
      * to come back to the current position to continue reading after reading other sections of
@@ -92,4 +102,16 @@ abstract class CompressionIterator {
      */
     public abstract int next() throws IOException;
 
+    /**
+     * Moves the iteration forward to the first element greater or equal than <code>target</code>, which becomes the
+     * current value. When there is no such element, the iteration ends.
+     * @param target lower bound of the next element in the iteration.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    public void advance(final int target) throws IOException {
+        while (currentValue != -1 && currentValue < target) {
+            next();
+        }
+    }
+
 }
@@ -17,6 +17,7 @@
 package org.pebble.core.decoding.iterators.ints;
 
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -27,6 +28,17 @@ import java.io.IOException;
  */
 class DeltaIterator extends CompressionIterator {
 
+    private final int valueBitSize;
+    private final int skipInterval;
+    private final boolean sectionLengths;
+    private int lastIndex;
+    private int skipsRemaining;
+    private long skipsOffset;
+    private int skipIndex;
+    private int skipValue;
+    private long skipPointer;
+    private long sectionEnd;
+
     /**
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 31 bits.
@@ -34,14 +46,64 @@ class DeltaIterator extends CompressionIterator {
      * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
      */
     public DeltaIterator(final int valueBitSize, final InputBitStream inputBitStream) throws IOException {
+        this(valueBitSize, EncodingOptions.DEFAULT, inputBitStream);
+    }
+
+    /**
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param options encoding options used to encode the compressed list. Only the skip interval and the section
+     *                lengths are used.
+     * @param inputBitStream input bit stream used to read the compressed list representation.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    public DeltaIterator(
+        final int valueBitSize,
+        final EncodingOptions options,
+        final InputBitStream inputBitStream
+    ) throws IOException {
         super(inputBitStream);
+        this.valueBitSize = valueBitSize;
+        skipInterval = options.getSkipInterval();
+        sectionLengths = options.hasSectionLengths();
+        initialize();
+    }
+
+    /**
+     * Reuses the iterator to iterate over the section starting at the current position of the input bit stream.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public void reset() throws IOException {
+        readRemainingElements();
+        initialize();
+    }
+
+    private void initialize() throws IOException {
+        int skipPointersBits = 0;
+        int sectionBits = 0;
         if (remainingElements > 0) {
             currentValue = inputBitStream.readInt(valueBitSize);
             remainingElements--;
+            if (sectionLengths) {
+                skipPointersBits = inputBitStream.readDelta();
+                sectionBits = inputBitStream.readDelta();
+            }
         } else {
             currentValue = -1;
         }
+        lastIndex = remainingElements;
+        skipsRemaining = skipInterval > 0 ? remainingElements / skipInterval : 0;
+        skipsOffset = inputBitStream.position();
+        if (sectionLengths) {
+            inputBitStream.position(skipsOffset + skipPointersBits);
+        } else {
+            inputBitStream.skipDeltas(skipsRemaining * 2);
+        }
+        skipIndex = 0;
+        skipValue = currentValue;
         recordOffset();
+        skipPointer = offset;
+        sectionEnd = offset + sectionBits;
     }
 
     /**
@@ -61,4 +123,59 @@ class DeltaIterator extends CompressionIterator {
         return value;
     }
 
+    /**
+     * Moves the cursor of the input bit stream to the end of the section, using the section length or the skip
+     * pointers, when available, to jump over the deltas. It must be invoked right after the iterator is initialized.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    public void skipToEnd() throws IOException {
+        if (sectionLengths) {
+            inputBitStream.position(sectionEnd);
+            return;
+        }
+        if (skipsRemaining == 0) {
+            inputBitStream.skipDeltas(remainingElements);
+            return;
+        }
+        long pointer = skipPointer;
+        inputBitStream.position(skipsOffset);
+        for (int i = 0; i < skipsRemaining; i++) {
+            inputBitStream.skipDeltas(1);
+            pointer += inputBitStream.readDelta();
+        }
+        inputBitStream.position(pointer);
+        inputBitStream.skipDeltas(remainingElements - skipsRemaining * skipInterval);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Skip pointers, when available, are used to jump over the deltas of the elements smaller than
+     * <code>target</code>.
+     */
+    @Override
+    public void advance(final int target) throws IOException {
+        if (currentValue == -1 || currentValue >= target) {
+            return;
+        }
+        int sampleValue;
+        while (skipsRemaining > 0) {
+            inputBitStream.position(skipsOffset);
+            sampleValue = inputBitStream.readDelta() + skipValue + skipInterval;
+            if (sampleValue > target) {
+                break;
+            }
+            skipPointer += inputBitStream.readDelta();
+            skipsOffset = inputBitStream.position();
+            skipsRemaining--;
+            skipIndex += skipInterval;
+            skipValue = sampleValue;
+            if (skipIndex > lastIndex - remainingElements) {
+                currentValue = sampleValue;
+                remainingElements = lastIndex - skipIndex;
+                offset = skipPointer;
+            }
+        }
+        super.advance(target);
+    }
+
 }
@@ -0,0 +1,63 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.ints;
+
+/**
+ * Lazy difference between two compressed strictly incremental lists of <code>int</code>s. Each element of the first
+ * list is looked up in the second one with {@link StrictlyIncrementalIntIterator#advance(int) advance}, so when the
+ * second list is encoded with skip pointers its elements lower than the looked up ones are not decoded.
+ */
+public class DifferenceIterator extends SetOperationIterator {
+
+    private final StrictlyIncrementalIntIterator minuend;
+    private final StrictlyIncrementalIntIterator subtrahend;
+    private int subtrahendValue;
+
+    /**
+     * Creates an iterator over the elements of <code>minuend</code> that are not present in <code>subtrahend</code>.
+     * @param minuend iterator over the list whose elements are returned. It is consumed by this iterator.
+     * @param subtrahend iterator over the list whose elements are removed. It is consumed by this iterator.
+     */
+    public DifferenceIterator(
+        final StrictlyIncrementalIntIterator minuend,
+        final StrictlyIncrementalIntIterator subtrahend
+    ) {
+        this.minuend = minuend;
+        this.subtrahend = subtrahend;
+        subtrahendValue = subtrahend.hasNext() ? subtrahend.nextInt() : -1;
+        initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int computeNext() {
+        while (minuend.hasNext()) {
+            final int value = minuend.nextInt();
+            if (subtrahendValue != -1 && subtrahendValue < value) {
+                subtrahendValue = subtrahend.advance(value);
+            }
+            if (subtrahendValue != value) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -18,6 +18,7 @@ package org.pebble.core.decoding.iterators.ints;
 
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.ints.IntListsCache;
 
 import java.io.IOException;
 
@@ -40,13 +41,26 @@ public class IncrementalListIterator extends IncrementalListUniqueIterator {
         final int minIntervalSize,
         final InputBitStream inputBitStream,
         final PebbleBytesStore bytesStore,
+        final IntListsCache cache,
         final RepeatsIterator repeatsIterator
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore, cache);
         this.repeatsIterator = repeatsIterator;
         currentValue = super.nextInt();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void initialize(final int listIndex) throws IOException {
+        final long offset = inputBitStream.position();
+        repeatsIterator.reset();
+        inputBitStream.position(offset);
+        super.initialize(listIndex);
+        currentValue = super.nextInt();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -105,6 +119,36 @@ public class IncrementalListIterator extends IncrementalListUniqueIterator {
         final int valueBitSize,
         final PebbleBytesStore bytesStore,
         final InputBitStream inputBitStream
+    ) throws IOException {
+        return build(listIndex, valueBitSize, bytesStore, inputBitStream, null);
+    }
+
+    /**
+     * Instance builder that takes the reference lists from <code>cache</code> when available, decoding and storing
+     * them in the cache otherwise.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     * @return built instance.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public static IncrementalListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
+    ) throws IOException {
+        return build(listIndex, valueBitSize, bytesStore, bytesStore.getInputBitStream(listIndex), cache);
+    }
+
+    private static IncrementalListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final InputBitStream inputBitStream,
+        final IntListsCache cache
     ) throws IOException {
         final RepeatsIterator repeatsIterator = new RepeatsIterator(inputBitStream);
         inputBitStream.skipDeltas(repeatsIterator.getRemainingElements() * 2);
@@ -114,6 +158,7 @@ public class IncrementalListIterator extends IncrementalListUniqueIterator {
             DEFAULT_MIN_INTERVAL_SIZE,
             inputBitStream,
             bytesStore,
+            cache,
             repeatsIterator
         );
     }
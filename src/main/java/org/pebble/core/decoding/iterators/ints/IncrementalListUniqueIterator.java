@@ -18,6 +18,8 @@ package org.pebble.core.decoding.iterators.ints;
 
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.ints.IntListsCache;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -35,6 +37,7 @@ class IncrementalListUniqueIterator extends BaseListIterator {
      * @param minIntervalSize min size of intervals used to encode the compressed list.
      * @param inputBitStream input bit stream used to read the compressed lists representations.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
      */
     protected IncrementalListUniqueIterator(
@@ -42,9 +45,18 @@ class IncrementalListUniqueIterator extends BaseListIterator {
         final int valueBitSize,
         final int minIntervalSize,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        super(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            EncodingOptions.DEFAULT,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
     }
 
     /**
@@ -52,7 +64,26 @@ class IncrementalListUniqueIterator extends BaseListIterator {
      */
     @Override
     protected ReferenceIterator initializeReferenceIterator(int listIndex, InputBitStream inputBitStream) throws IOException {
-        return new IncrementalReferenceUniqueIterator(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        return new IncrementalReferenceUniqueIterator(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Skips the repetitions section, which is not used by this iterator, before initializing the rest of the pieces of
+     * the compressed representation.
+     * @param listIndex index of the list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    @Override
+    protected void initialize(final int listIndex) throws IOException {
+        inputBitStream.skipDeltas(inputBitStream.readDelta() * 2);
+        super.initialize(listIndex);
     }
 
     /**
@@ -63,6 +94,7 @@ class IncrementalListUniqueIterator extends BaseListIterator {
      * @param minIntervalSize min interval size to be encoded as interval.
      * @param inputBitStream input bit stream used to read the compressed lists representations.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @return built instance.
      * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
      */
@@ -71,10 +103,18 @@ class IncrementalListUniqueIterator extends BaseListIterator {
         final int valueBitSize,
         final int minIntervalSize,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
     ) throws IOException {
         final RepeatsIterator repeatsIterator = new RepeatsIterator(inputBitStream);
         inputBitStream.skipDeltas(repeatsIterator.getRemainingElements() * 2);
-        return new IncrementalListUniqueIterator(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        return new IncrementalListUniqueIterator(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
     }
 }
@@ -19,6 +19,8 @@ package org.pebble.core.decoding.iterators.ints;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.ints.IntListsCache;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -35,6 +37,7 @@ class IncrementalReferenceUniqueIterator extends ReferenceIterator {
      * @param minIntervalSize min size of intervals used to encode the compressed list.
      * @param inputBitStream input bit stream used to read the compressed lists representations.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
      */
     public IncrementalReferenceUniqueIterator(
@@ -42,9 +45,18 @@ class IncrementalReferenceUniqueIterator extends ReferenceIterator {
         final int valueBitSize,
         final int minIntervalSize,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        super(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            EncodingOptions.DEFAULT,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
     }
 
     /**
@@ -55,7 +67,35 @@ class IncrementalReferenceUniqueIterator extends ReferenceIterator {
         final int listIndex,
         final InputBitStream inputBitStream
     ) throws IOException {
-        return IncrementalListUniqueIterator.build(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        return IncrementalListUniqueIterator.build(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Reuses <code>previous</code>, when available and there is no cache, to iterate over the reference list
+     * <code>listIndex</code>.
+     * @param previous iterator returned by the previous invocation of this method, or null when there is none.
+     * @param listIndex index of the reference list.
+     * @return iterator of reference list.
+     * @throws IOException in case there is an exception reading from the input stream when initializing the
+     *                     specific reference iterator.
+     */
+    @Override
+    protected IntIterator getReferenceListIterator(
+        final IntIterator previous,
+        final int listIndex
+    ) throws IOException {
+        if (previous == null || cache != null) {
+            return super.getReferenceListIterator(previous, listIndex);
+        }
+        ((IncrementalListUniqueIterator) previous).reset(listIndex);
+        return previous;
     }
 
 }
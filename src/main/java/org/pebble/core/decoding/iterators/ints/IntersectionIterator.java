@@ -0,0 +1,65 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.ints;
+
+/**
+ * Lazy intersection of compressed strictly incremental lists of <code>int</code>s. Each candidate element is looked
+ * up in the remaining lists with {@link StrictlyIncrementalIntIterator#advance(int) advance}, so lists encoded with
+ * skip pointers jump over the elements that can not be part of the intersection.
+ */
+public class IntersectionIterator extends SetOperationIterator {
+
+    private final StrictlyIncrementalIntIterator[] iterators;
+
+    /**
+     * Creates an iterator over the elements present in all of the given lists.
+     * @param iterators iterators over the lists to intersect. They are consumed by this iterator.
+     */
+    public IntersectionIterator(final StrictlyIncrementalIntIterator... iterators) {
+        this.iterators = iterators;
+        initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int computeNext() {
+        if (iterators.length == 0 || !iterators[0].hasNext()) {
+            return -1;
+        }
+        int candidate = iterators[0].nextInt();
+        int matches = 1;
+        int i = 0;
+        while (matches < iterators.length) {
+            i = (i + 1) % iterators.length;
+            final int value = iterators[i].advance(candidate);
+            if (value == -1) {
+                return -1;
+            }
+            if (value == candidate) {
+                matches++;
+            } else {
+                candidate = value;
+                matches = 1;
+            }
+        }
+        return candidate;
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.pebble.core.decoding.iterators.ints;
 
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -27,8 +28,18 @@ import java.io.IOException;
  */
 class IntervalIterator extends CompressionIterator {
 
+    private final int valueBitSize;
     private final int minIntervalSize;
+    private final int skipInterval;
+    private final boolean sectionLengths;
     private int remainingIntervals;
+    private int lastIndex;
+    private int skipsRemaining;
+    private long skipsOffset;
+    private int skipIndex;
+    private int skipValue;
+    private long skipPointer;
+    private long sectionEnd;
 
     /**
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
@@ -41,18 +52,83 @@ class IntervalIterator extends CompressionIterator {
         final int valueBitSize,
         final int minIntervalSize,
         final InputBitStream inputBitStream
+    ) throws IOException {
+        this(valueBitSize, minIntervalSize, EncodingOptions.DEFAULT, inputBitStream);
+    }
+
+    /**
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param minIntervalSize min interval size to be encoded as interval.
+     * @param options encoding options used to encode the compressed list. Only the skip interval and the section
+     *                lengths are used.
+     * @param inputBitStream input bit stream used to read the compressed list representation.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    public IntervalIterator(
+        final int valueBitSize,
+        final int minIntervalSize,
+        final EncodingOptions options,
+        final InputBitStream inputBitStream
     ) throws IOException {
         super(inputBitStream);
+        this.valueBitSize = valueBitSize;
         this.minIntervalSize = minIntervalSize;
+        skipInterval = options.getSkipInterval();
+        sectionLengths = options.hasSectionLengths();
+        initialize();
+    }
+
+    /**
+     * Reuses the iterator to iterate over the section starting at the current position of the input bit stream.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public void reset() throws IOException {
+        readRemainingElements();
+        initialize();
+    }
+
+    private void initialize() throws IOException {
+        int skipPointersBits = 0;
+        int sectionBits = 0;
         if (remainingElements > 0) {
             currentValue = inputBitStream.readInt(valueBitSize);
             remainingIntervals = inputBitStream.readDelta() + minIntervalSize - 1;
             remainingElements--;
+            if (sectionLengths) {
+                skipPointersBits = inputBitStream.readDelta();
+                sectionBits = inputBitStream.readDelta();
+            }
         } else {
             currentValue = -1;
             remainingIntervals = 0;
         }
+        lastIndex = remainingElements;
+        skipsRemaining = skipInterval > 0 ? remainingElements / skipInterval : 0;
+        skipsOffset = inputBitStream.position();
+        if (sectionLengths) {
+            inputBitStream.position(skipsOffset + skipPointersBits);
+        } else {
+            inputBitStream.skipDeltas(skipsRemaining * 3);
+        }
+        skipIndex = 0;
+        skipValue = currentValue;
         recordOffset();
+        skipPointer = offset;
+        sectionEnd = offset + sectionBits;
+    }
+
+    /**
+     * Moves the cursor of the input bit stream to the end of the section, using the section length, when available,
+     * to jump over the intervals. It must be invoked right after the iterator is initialized.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    public void skipToEnd() throws IOException {
+        if (sectionLengths) {
+            inputBitStream.position(sectionEnd);
+        } else {
+            inputBitStream.skipDeltas(remainingElements * 2);
+        }
     }
 
     /**
@@ -76,4 +152,47 @@ class IntervalIterator extends CompressionIterator {
         return value;
     }
 
+    /**
+     * {@inheritDoc}
+     * Elements of the current interval are skipped without reading, and skip pointers, when available, are used to
+     * jump over the intervals with elements smaller than <code>target</code>.
+     */
+    @Override
+    public void advance(final int target) throws IOException {
+        if (currentValue == -1 || currentValue >= target) {
+            return;
+        }
+        int sampleValue;
+        int sampleLength;
+        while (skipsRemaining > 0) {
+            inputBitStream.position(skipsOffset);
+            sampleValue = inputBitStream.readDelta() + skipValue + skipInterval;
+            if (sampleValue > target) {
+                break;
+            }
+            sampleLength = inputBitStream.readDelta() + minIntervalSize;
+            skipPointer += inputBitStream.readDelta();
+            skipsOffset = inputBitStream.position();
+            skipsRemaining--;
+            skipIndex += skipInterval;
+            skipValue = sampleValue;
+            if (skipIndex > lastIndex - remainingElements) {
+                currentValue = sampleValue;
+                remainingIntervals = sampleLength - 1;
+                remainingElements = lastIndex - skipIndex;
+                offset = skipPointer;
+            }
+        }
+        while (currentValue != -1 && currentValue < target) {
+            if (target - currentValue <= remainingIntervals) {
+                remainingIntervals -= target - currentValue;
+                currentValue = target;
+            } else {
+                currentValue += remainingIntervals;
+                remainingIntervals = 0;
+                next();
+            }
+        }
+    }
+
 }
@@ -17,8 +17,11 @@
 package org.pebble.core.decoding.iterators.ints;
 
 import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntIterators;
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.ints.IntListsCache;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -27,9 +30,10 @@ import java.io.IOException;
  */
 abstract class ReferenceIterator extends CompressionIterator {
 
-    private final IntIterator referenceListIterator;
+    private IntIterator referenceListIterator;
     private boolean currentBit;
     private int remainingBlockElements;
+    private long sectionEnd;
 
     /**
      * Fixed number of bits used to represent the values without compression in the compressed list.
@@ -41,47 +45,94 @@ abstract class ReferenceIterator extends CompressionIterator {
      */
     protected final int minIntervalSize;
 
+    /**
+     * Encoding options used to encode the compressed lists.
+     */
+    protected final EncodingOptions options;
+
     /**
      * Mapping between list offsets and data bytes arrays and bytes offsets.
      */
     protected final PebbleBytesStore bytesStore;
 
+    /**
+     * Cache of decoded reference lists, or null when reference lists are always decoded.
+     */
+    protected final IntListsCache cache;
+
+    private CachedListIterator cachedListIterator;
+
     /**
      * @param listIndex offset of the current list that is described in terms of reference.
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 31 bits.
      * @param minIntervalSize min size of intervals used to encode the compressed list.
+     * @param options encoding options used to encode the compressed lists.
      * @param inputBitStream input bit stream used to read the compressed lists representations.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
      */
     public ReferenceIterator(
         final int listIndex,
         final int valueBitSize,
         final int minIntervalSize,
+        final EncodingOptions options,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
     ) throws IOException {
         super(inputBitStream);
         this.valueBitSize = valueBitSize;
         this.minIntervalSize = minIntervalSize;
+        this.options = options;
         this.bytesStore = bytesStore;
+        this.cache = cache;
+        initialize(listIndex);
+    }
+
+    /**
+     * Reuses the iterator to iterate over the reference section, starting at the current position of the input bit
+     * stream, of the list <code>listIndex</code>. The iterator of the reference list is reused when possible.
+     * @param listIndex offset of the current list that is described in terms of reference.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public void reset(final int listIndex) throws IOException {
+        readRemainingElements();
+        initialize(listIndex);
+    }
+
+    private void initialize(final int listIndex) throws IOException {
         final int index = remainingElements;
         if (index > 0) {
             remainingElements = inputBitStream.readDelta();
-            final int i = listIndex - index;
-            referenceListIterator = getReferenceListIterator(i, bytesStore.getInputBitStream(i));
+            referenceListIterator = getReferenceListIterator(referenceListIterator, listIndex - index);
             currentBit = inputBitStream.readBit() == 0;
+            final int blocksBits = options.hasSectionLengths() ? inputBitStream.readDelta() : 0;
             remainingBlockElements = 0;
             recordOffset();
+            sectionEnd = offset + blocksBits;
             currentValue = getNextReferenceListMatchingElement();
         } else {
             currentValue = -1;
             remainingElements = 0;
-            referenceListIterator = null;
             currentBit = false;
             remainingBlockElements = 0;
             recordOffset();
+            sectionEnd = offset;
+        }
+    }
+
+    /**
+     * Moves the cursor of the input bit stream to the end of the section, using the section length, when available,
+     * to jump over the blocks. It must be invoked right after the iterator is initialized.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    public void skipToEnd() throws IOException {
+        if (options.hasSectionLengths()) {
+            inputBitStream.position(sectionEnd);
+        } else {
+            inputBitStream.skipDeltas(remainingElements);
         }
     }
 
@@ -96,6 +147,38 @@ abstract class ReferenceIterator extends CompressionIterator {
         final InputBitStream inputBitStream
     ) throws IOException;
 
+    /**
+     * Returns an iterator over the reference list <code>listIndex</code>. When there is a cache, the reference list is
+     * taken from it, and when it is not cached yet it is decoded through
+     * {@link #getReferenceListIterator(int, org.pebble.core.decoding.InputBitStream)} and stored in the cache. Without
+     * cache a new iterator is initialized through
+     * {@link #getReferenceListIterator(int, org.pebble.core.decoding.InputBitStream)}. Extending classes can override
+     * this method to reuse <code>previous</code> instead.
+     * @param previous iterator returned by the previous invocation of this method, or null when there is none.
+     * @param listIndex index of the reference list.
+     * @return iterator of reference list.
+     * @throws IOException in case there is an exception reading from the input stream when initializing the
+     *                     specific reference iterator.
+     */
+    protected IntIterator getReferenceListIterator(
+        final IntIterator previous,
+        final int listIndex
+    ) throws IOException {
+        if (cache == null) {
+            return getReferenceListIterator(listIndex, bytesStore.getInputBitStream(listIndex));
+        }
+        int[] list = cache.get(listIndex);
+        if (list == null) {
+            list = IntIterators.unwrap(getReferenceListIterator(listIndex, bytesStore.getInputBitStream(listIndex)));
+            cache.put(listIndex, list);
+        }
+        if (cachedListIterator == null) {
+            cachedListIterator = new CachedListIterator();
+        }
+        cachedListIterator.reset(list);
+        return cachedListIterator;
+    }
+
     /**
      * {@inheritDoc}
      */
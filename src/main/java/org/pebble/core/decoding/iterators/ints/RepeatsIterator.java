@@ -36,6 +36,19 @@ class RepeatsIterator extends CompressionIterator {
      */
     public RepeatsIterator(final InputBitStream inputBitStream) throws IOException {
         super(inputBitStream);
+        initialize();
+    }
+
+    /**
+     * Reuses the iterator to iterate over the section starting at the current position of the input bit stream.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public void reset() throws IOException {
+        readRemainingElements();
+        initialize();
+    }
+
+    private void initialize() throws IOException {
         if (remainingElements > 0) {
             currentValue = inputBitStream.readDelta();
             repetitions = inputBitStream.readDelta() + 1;
@@ -0,0 +1,36 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.ints;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+/**
+ * Iterator over a strictly incremental sequence of <code>int</code>s, which can therefore jump forward to a given
+ * element. Iterators over lists that are not sorted do not implement it.
+ */
+public interface StrictlyIncrementalIntIterator extends IntIterator {
+
+    /**
+     * Returns the first element in the iteration greater or equal than <code>target</code>, skipping all the previous
+     * ones. The following invocations of {@link #nextInt()} continue from the returned element.
+     * @param target lower bound of the returned element.
+     * @return the first element greater or equal than <code>target</code>, or -1 when there is no such element.
+     */
+    int advance(int target);
+
+}
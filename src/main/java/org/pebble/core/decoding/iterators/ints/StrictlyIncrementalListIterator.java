@@ -18,6 +18,8 @@ package org.pebble.core.decoding.iterators.ints;
 
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.ints.IntListsCache;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -28,7 +30,7 @@ import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_MIN_INTER
  * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeStrictlyIncrementalList}
  * for details regarding the compressed representation.
  */
-public class StrictlyIncrementalListIterator extends BaseListIterator {
+public class StrictlyIncrementalListIterator extends BaseListIterator implements StrictlyIncrementalIntIterator {
 
     /**
      * Creates an iterator over the compressed representation of an strictly incremental list of <code>int</code>s.
@@ -38,6 +40,7 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
      * @param minIntervalSize min size of intervals used to encode the compressed list.
      * @param inputBitStream input bit stream used to read the compressed lists representations.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
      */
     protected StrictlyIncrementalListIterator(
@@ -45,9 +48,59 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
         final int valueBitSize,
         final int minIntervalSize,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
+    ) throws IOException {
+        this(listIndex, valueBitSize, minIntervalSize, EncodingOptions.DEFAULT, inputBitStream, bytesStore, cache);
+    }
+
+    /**
+     * Creates an iterator over the compressed representation of an strictly incremental list of <code>int</code>s
+     * encoded with the given encoding <code>options</code>.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param minIntervalSize min size of intervals used to encode the compressed list.
+     * @param options encoding options used to encode the compressed list. Only the skip interval and the section
+     *                lengths are used. When it has section lengths, the iterator jumps over the sections instead of
+     *                skipping their elements one by one.
+     * @param inputBitStream input bit stream used to read the compressed lists representations.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    protected StrictlyIncrementalListIterator(
+        final int listIndex,
+        final int valueBitSize,
+        final int minIntervalSize,
+        final EncodingOptions options,
+        final InputBitStream inputBitStream,
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        super(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            options,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Returns the first element in the iteration greater or equal than <code>target</code>, skipping all the previous
+     * ones. The following invocations of {@link #nextInt()} continue from the returned element. When the list was
+     * encoded with skip pointers (see
+     * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeStrictlyIncrementalList}),
+     * they are used to jump over the skipped intervals and deltas instead of decoding them.
+     * @param target lower bound of the returned element.
+     * @return the first element greater or equal than <code>target</code>, or -1 when there is no such element.
+     */
+    @Override
+    public int advance(final int target) {
+        return advanceTo(target);
     }
 
     /**
@@ -63,8 +116,10 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
             listIndex,
             valueBitSize,
             minIntervalSize,
+            options,
             inputBitStream,
-            bytesStore
+            bytesStore,
+            cache
         );
     }
 
@@ -107,7 +162,69 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
             valueBitSize,
             DEFAULT_MIN_INTERVAL_SIZE,
             inputBitStream,
-            bytesStore
+            bytesStore,
+            null
+        );
+    }
+
+    /**
+     * Instance builder that takes the reference lists from <code>cache</code> when available, decoding and storing
+     * them in the cache otherwise.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     * @return built instance.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public static StrictlyIncrementalListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
+    ) throws IOException {
+        return new StrictlyIncrementalListIterator(
+            listIndex,
+            valueBitSize,
+            DEFAULT_MIN_INTERVAL_SIZE,
+            bytesStore.getInputBitStream(listIndex),
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Instance builder for lists encoded with the given encoding <code>options</code> (see
+     * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeStrictlyIncrementalList}),
+     * that takes the reference lists from <code>cache</code> when available, decoding and storing them in the cache
+     * otherwise.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param options encoding options used to encode the compressed list. Only the skip interval and the section
+     *                lengths are used.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>, or null to
+     *              always decode reference lists.
+     * @return built instance.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public static StrictlyIncrementalListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
+    ) throws IOException {
+        return new StrictlyIncrementalListIterator(
+            listIndex,
+            valueBitSize,
+            DEFAULT_MIN_INTERVAL_SIZE,
+            options,
+            bytesStore.getInputBitStream(listIndex),
+            bytesStore,
+            cache
         );
     }
 
@@ -19,6 +19,8 @@ package org.pebble.core.decoding.iterators.ints;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.ints.IntListsCache;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -32,18 +34,30 @@ class StrictlyIncrementalReferenceIterator extends ReferenceIterator {
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 31 bits.
      * @param minIntervalSize min size of intervals used to encode the compressed list.
+     * @param options encoding options used to encode the compressed lists.
      * @param inputBitStream input bit stream used to read the compressed lists representations.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
      */
     public StrictlyIncrementalReferenceIterator(
         final int listIndex,
         final int valueBitSize,
         final int minIntervalSize,
+        final EncodingOptions options,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final IntListsCache cache
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        super(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            options,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
     }
 
     /**
@@ -51,7 +65,36 @@ class StrictlyIncrementalReferenceIterator extends ReferenceIterator {
      */
     @Override
     public IntIterator getReferenceListIterator(final int listIndex, final InputBitStream inputBitStream) throws IOException {
-        return new StrictlyIncrementalListIterator(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        return new StrictlyIncrementalListIterator(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            options,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Reuses <code>previous</code>, when available and there is no cache, to iterate over the reference list
+     * <code>listIndex</code>.
+     * @param previous iterator returned by the previous invocation of this method, or null when there is none.
+     * @param listIndex index of the reference list.
+     * @return iterator of reference list.
+     * @throws IOException in case there is an exception reading from the input stream when initializing the
+     *                     specific reference iterator.
+     */
+    @Override
+    protected IntIterator getReferenceListIterator(
+        final IntIterator previous,
+        final int listIndex
+    ) throws IOException {
+        if (previous == null || cache != null) {
+            return super.getReferenceListIterator(previous, listIndex);
+        }
+        ((StrictlyIncrementalListIterator) previous).reset(listIndex);
+        return previous;
     }
 
 }
@@ -19,6 +19,8 @@ package org.pebble.core.decoding.iterators.longs;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.longs.LongListsCache;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -37,6 +39,11 @@ abstract class BaseListIterator implements LongIterator {
      */
     protected final int minIntervalSize;
 
+    /**
+     * Encoding options used to encode the compressed list.
+     */
+    protected final EncodingOptions options;
+
     /**
      * Input bit stream used to read the compressed list representation.
      */
@@ -47,9 +54,14 @@ abstract class BaseListIterator implements LongIterator {
      */
     protected final PebbleBytesStore bytesStore;
 
-    private final CompressionIterator referenceIt;
-    private final CompressionIterator intervalIt;
-    private final CompressionIterator deltaIt;
+    /**
+     * Cache of decoded reference lists, or null when reference lists are always decoded.
+     */
+    protected final LongListsCache cache;
+
+    private final ReferenceIterator referenceIt;
+    private final IntervalIterator intervalIt;
+    private final DeltaIterator deltaIt;
 
     /**
      * Initializes the iterators of each piece of the compressed representation of a list.
@@ -62,27 +74,60 @@ abstract class BaseListIterator implements LongIterator {
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 63 bits.
      * @param minIntervalSize min interval size to be encoded as interval.
+     * @param options encoding options used to encode the compressed list.
      * @param inputBitStream input bit stream used to read the compressed list representation.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @throws java.io.IOException when there is an exception reading from <code>inputBitStream</code>
      */
     public BaseListIterator(
         final int listIndex,
         final int valueBitSize,
         final int minIntervalSize,
+        final EncodingOptions options,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
     ) throws IOException {
         this.valueBitSize = valueBitSize;
         this.minIntervalSize = minIntervalSize;
+        this.options = options;
         this.inputBitStream = inputBitStream;
         this.bytesStore = bytesStore;
+        this.cache = cache;
         referenceIt = initializeReferenceIterator(listIndex, inputBitStream);
-        inputBitStream.skipDeltas(referenceIt.remainingElements);
-        intervalIt = new IntervalIterator(valueBitSize, minIntervalSize, inputBitStream);
-        inputBitStream.skipDeltas(intervalIt.remainingElements * 2);
-        deltaIt = new DeltaIterator(valueBitSize, inputBitStream);
-        inputBitStream.skipDeltas(deltaIt.remainingElements);
+        referenceIt.skipToEnd();
+        intervalIt = new IntervalIterator(valueBitSize, minIntervalSize, options, inputBitStream);
+        intervalIt.skipToEnd();
+        deltaIt = new DeltaIterator(valueBitSize, options, inputBitStream);
+        deltaIt.skipToEnd();
+    }
+
+    /**
+     * Reuses the iterator to iterate over the compressed list <code>listIndex</code>, stored in the same bytes store.
+     * The input bit stream and the iterators of each piece of the compressed representation, including the iterators
+     * of the reference lists, are reused. Therefore no allocation is performed in the steady state.
+     * @param listIndex index of the list.
+     * @throws java.io.IOException when there is an exception reading from the input bit stream.
+     */
+    public void reset(final int listIndex) throws IOException {
+        bytesStore.resetInputBitStream(listIndex, inputBitStream);
+        initialize(listIndex);
+    }
+
+    /**
+     * Initializes the iterators of each piece of the compressed representation of the list <code>listIndex</code>
+     * starting at the current position of the input bit stream.
+     * @param listIndex index of the list.
+     * @throws java.io.IOException when there is an exception reading from the input bit stream.
+     */
+    protected void initialize(final int listIndex) throws IOException {
+        referenceIt.reset(listIndex);
+        referenceIt.skipToEnd();
+        intervalIt.reset();
+        intervalIt.skipToEnd();
+        deltaIt.reset();
+        deltaIt.skipToEnd();
     }
 
     /**
@@ -111,6 +156,24 @@ abstract class BaseListIterator implements LongIterator {
         }
     }
 
+    /**
+     * Moves the iterators of each piece of the compressed representation forward to their first element greater or
+     * equal than <code>target</code>, and returns the next <code>long</code> in the iteration. It is only meaningful
+     * for lists whose pieces are sorted.
+     * @param target lower bound of the returned element.
+     * @return the first element greater or equal than <code>target</code>, or -1 when there is no such element.
+     */
+    protected long advanceTo(final long target) {
+        try {
+            referenceIt.advance(target);
+            intervalIt.advance(target);
+            deltaIt.advance(target);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception.getMessage());
+        }
+        return hasNext() ? nextLong() : -1L;
+    }
+
     /**
      * checks whether the iteration has remaining elements or not.
      * @return true if there is remaining elements in the iteration and false whether not.
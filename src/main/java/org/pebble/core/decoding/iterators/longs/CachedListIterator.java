@@ -0,0 +1,66 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.longs;
+
+import it.unimi.dsi.fastutil.longs.AbstractLongIterator;
+
+/**
+ * Iterator over a reference list taken from a {@link org.pebble.core.decoding.longs.LongListsCache}. It can be reset to
+ * iterate over another list, so a single instance is used by each reference iterator.
+ */
+class CachedListIterator extends AbstractLongIterator {
+
+    private long[] list;
+    private int position;
+
+    /**
+     * Restarts the iteration over <code>list</code>.
+     * @param list elements of the list.
+     */
+    public void reset(final long[] list) {
+        this.list = list;
+        position = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return position < list.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextLong() {
+        return list[position++];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int skip(final int n) {
+        final int skipped = Math.min(n, list.length - position);
+        position += skipped;
+        return skipped;
+    }
+
+}
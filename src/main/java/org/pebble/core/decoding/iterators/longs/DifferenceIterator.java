@@ -0,0 +1,63 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.longs;
+
+/**
+ * Lazy difference between two compressed strictly incremental lists of <code>long</code>s. Each element of the first
+ * list is looked up in the second one with {@link StrictlyIncrementalLongIterator#advance(long) advance}, so when the
+ * second list is encoded with skip pointers its elements lower than the looked up ones are not decoded.
+ */
+public class DifferenceIterator extends SetOperationIterator {
+
+    private final StrictlyIncrementalLongIterator minuend;
+    private final StrictlyIncrementalLongIterator subtrahend;
+    private long subtrahendValue;
+
+    /**
+     * Creates an iterator over the elements of <code>minuend</code> that are not present in <code>subtrahend</code>.
+     * @param minuend iterator over the list whose elements are returned. It is consumed by this iterator.
+     * @param subtrahend iterator over the list whose elements are removed. It is consumed by this iterator.
+     */
+    public DifferenceIterator(
+        final StrictlyIncrementalLongIterator minuend,
+        final StrictlyIncrementalLongIterator subtrahend
+    ) {
+        this.minuend = minuend;
+        this.subtrahend = subtrahend;
+        subtrahendValue = subtrahend.hasNext() ? subtrahend.nextLong() : -1L;
+        initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long computeNext() {
+        while (minuend.hasNext()) {
+            final long value = minuend.nextLong();
+            if (subtrahendValue != -1L && subtrahendValue < value) {
+                subtrahendValue = subtrahend.advance(value);
+            }
+            if (subtrahendValue != value) {
+                return value;
+            }
+        }
+        return -1L;
+    }
+
+}
@@ -18,6 +18,7 @@ package org.pebble.core.decoding.iterators.longs;
 
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.longs.LongListsCache;
 import org.pebble.core.encoding.DefaultParametersValues;
 
 import java.io.IOException;
@@ -39,13 +40,26 @@ public class IncrementalListIterator extends IncrementalListUniqueIterator {
         final int minIntervalSize,
         final InputBitStream inputBitStream,
         final PebbleBytesStore bytesStore,
+        final LongListsCache cache,
         final RepeatsIterator repeatsIterator
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore, cache);
         this.repeatsIterator = repeatsIterator;
         currentValue = super.nextLong();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void initialize(final int listIndex) throws IOException {
+        final long offset = inputBitStream.position();
+        repeatsIterator.reset();
+        inputBitStream.position(offset);
+        super.initialize(listIndex);
+        currentValue = super.nextLong();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -83,6 +97,26 @@ public class IncrementalListIterator extends IncrementalListUniqueIterator {
         final int listIndex,
         final int valueBitSize,
         final PebbleBytesStore bytesStore
+    ) throws IOException {
+        return build(listIndex, valueBitSize, bytesStore, null);
+    }
+
+    /**
+     * Instance builder that takes the reference lists from <code>cache</code> when available, decoding and storing
+     * them in the cache otherwise.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     * @return built instance.
+     * @throws java.io.IOException when there is an exception reading from the input bit stream.
+     */
+    public static IncrementalListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
     ) throws IOException {
         final InputBitStream inputBitStream = bytesStore.getInputBitStream(listIndex);
         final RepeatsIterator repeatsIterator = new RepeatsIterator(inputBitStream);
@@ -93,6 +127,7 @@ public class IncrementalListIterator extends IncrementalListUniqueIterator {
             DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
             inputBitStream,
             bytesStore,
+            cache,
             repeatsIterator
         );
     }
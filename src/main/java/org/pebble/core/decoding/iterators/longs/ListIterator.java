@@ -20,7 +20,9 @@ import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.longs.LongListsCache;
 import org.pebble.core.encoding.DefaultParametersValues;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -29,29 +31,52 @@ import java.io.IOException;
  * {@link org.pebble.core.encoding.OutputSuccinctStream#writeList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeList}
  * for details regarding the compressed representation.
  */
-public class ListIterator extends StrictlyIncrementalListIterator {
+public class ListIterator extends BaseListIterator {
 
     private int index;
     private int remainingElements;
     private int lastIndex;
     private final LongList valuesMap;
+    private final int checkpointInterval;
 
     private ListIterator(
         final int listIndex,
         final int valueBitSize,
         final int minIntervalSize,
+        final EncodingOptions options,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
-        final long offset = inputBitStream.position();
+        super(listIndex, valueBitSize, minIntervalSize, EncodingOptions.DEFAULT, inputBitStream, bytesStore, cache);
+        checkpointInterval = options.getCheckpointInterval();
         valuesMap = new LongArrayList();
+        readValues();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void initialize(final int listIndex) throws IOException {
+        super.initialize(listIndex);
+        readValues();
+    }
+
+    private void readValues() throws IOException {
+        final long offset = inputBitStream.position();
+        valuesMap.clear();
         long value;
         while ((value = super.nextLong()) != -1) {
             valuesMap.add(value);
         }
         inputBitStream.position(offset);
         remainingElements = inputBitStream.readDelta() + valuesMap.size();
+        if (checkpointInterval > 0 && remainingElements > checkpointInterval) {
+            final int checkpoints = (remainingElements - 1) / checkpointInterval;
+            final int checkpointSize = inputBitStream.readDelta() + inputBitStream.readDelta();
+            inputBitStream.position(inputBitStream.position() + (long) checkpoints * checkpointSize);
+        }
         lastIndex = 0;
     }
 
@@ -85,6 +110,25 @@ public class ListIterator extends StrictlyIncrementalListIterator {
         return remainingElements > 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ReferenceIterator initializeReferenceIterator(
+        final int listIndex,
+        final InputBitStream inputBitStream
+    ) throws IOException {
+        return new StrictlyIncrementalReferenceIterator(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            options,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
+    }
+
     /**
      * Instance builder.
      * @param listIndex index of the current list.
@@ -103,8 +147,71 @@ public class ListIterator extends StrictlyIncrementalListIterator {
             listIndex,
             valueBitSize,
             DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            EncodingOptions.DEFAULT,
+            bytesStore.getInputBitStream(listIndex),
+            bytesStore,
+            null
+        );
+    }
+
+    /**
+     * Instance builder that takes the reference lists from <code>cache</code> when available, decoding and storing
+     * them in the cache otherwise.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     * @return built instance.
+     * @throws java.io.IOException when there is an exception reading from the input bit stream.
+     */
+    public static ListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) throws IOException {
+        return new ListIterator(
+            listIndex,
+            valueBitSize,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            EncodingOptions.DEFAULT,
+            bytesStore.getInputBitStream(listIndex),
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Instance builder for lists encoded with the given encoding <code>options</code> (see
+     * {@link org.pebble.core.encoding.OutputSuccinctStream#writeList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeList}),
+     * that takes the reference lists from <code>cache</code> when available, decoding and storing them in the cache
+     * otherwise. Checkpoints are not needed to iterate over the whole list, so they are skipped.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options used to encode the compressed list. Only the checkpoint interval is used.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>, or null to
+     *              always decode reference lists.
+     * @return built instance.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public static ListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) throws IOException {
+        return new ListIterator(
+            listIndex,
+            valueBitSize,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            options,
             bytesStore.getInputBitStream(listIndex),
-            bytesStore
+            bytesStore,
+            cache
         );
     }
 
@@ -0,0 +1,81 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.longs;
+
+import it.unimi.dsi.fastutil.longs.AbstractLongIterator;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Base class for iterators that lazily combine several compressed strictly incremental lists of <code>long</code>s.
+ * Elements are computed one step ahead, so the combined lists are only decoded as far as the iteration requires.
+ */
+public abstract class SetOperationIterator extends AbstractLongIterator {
+
+    private long next;
+
+    /**
+     * Computes the first element of the iteration. Must be invoked by subclasses once they are initialized.
+     */
+    protected void initialize() {
+        next = computeNext();
+    }
+
+    /**
+     * Computes the next element of the iteration, consuming as few elements of the combined lists as possible.
+     * @return next element of the iteration, or -1 when there are no more elements.
+     */
+    protected abstract long computeNext();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return next != -1L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextLong() {
+        if (next == -1L) {
+            throw new NoSuchElementException();
+        }
+        final long value = next;
+        next = computeNext();
+        return value;
+    }
+
+    /**
+     * Writes the following elements of the iteration into <code>dest</code>, starting at its first position, until
+     * either the iteration or <code>dest</code> are exhausted. The same array can be reused across invocations.
+     * @param dest array where the elements are written.
+     * @return number of elements written into <code>dest</code>.
+     */
+    public int nextLongs(final long[] dest) {
+        int size = 0;
+        while (size < dest.length && next != -1L) {
+            dest[size++] = next;
+            next = computeNext();
+        }
+        return size;
+    }
+
+}
@@ -18,7 +18,9 @@ package org.pebble.core.decoding.iterators.longs;
 
 import org.pebble.core.PebbleBytesStore;
 import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.decoding.longs.LongListsCache;
 import org.pebble.core.encoding.DefaultParametersValues;
+import org.pebble.core.encoding.EncodingOptions;
 
 import java.io.IOException;
 
@@ -27,7 +29,7 @@ import java.io.IOException;
  * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}
  * for details regarding the compressed representation.
  */
-public class StrictlyIncrementalListIterator extends BaseListIterator {
+public class StrictlyIncrementalListIterator extends BaseListIterator implements StrictlyIncrementalLongIterator {
 
     /**
      * Creates an iterator over the compressed representation of an strictly incremental list of <code>long</code>s.
@@ -37,6 +39,7 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
      * @param minIntervalSize min size of intervals used to encode the compressed list.
      * @param inputBitStream input bit stream used to read the compressed lists representations.
      * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
      * @throws java.io.IOException when there is an exception reading from <code>inputBitStream</code>.
      */
     protected StrictlyIncrementalListIterator(
@@ -44,9 +47,67 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
         final int valueBitSize,
         final int minIntervalSize,
         final InputBitStream inputBitStream,
-        final PebbleBytesStore bytesStore
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
     ) throws IOException {
-        super(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        this(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            EncodingOptions.DEFAULT,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Creates an iterator over the compressed representation of an strictly incremental list of <code>long</code>s
+     * encoded with the given encoding <code>options</code>.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param minIntervalSize min size of intervals used to encode the compressed list.
+     * @param options encoding options used to encode the compressed list. Only the skip interval and the section
+     *                lengths are used. When it has section lengths, the iterator jumps over the sections instead of
+     *                skipping their elements one by one.
+     * @param inputBitStream input bit stream used to read the compressed lists representations.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists, or null to always decode reference lists.
+     * @throws IOException when there is an exception reading from <code>inputBitStream</code>.
+     */
+    protected StrictlyIncrementalListIterator(
+        final int listIndex,
+        final int valueBitSize,
+        final int minIntervalSize,
+        final EncodingOptions options,
+        final InputBitStream inputBitStream,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) throws IOException {
+        super(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            options,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Returns the first element in the iteration greater or equal than <code>target</code>, skipping all the previous
+     * ones. The following invocations of {@link #nextLong()} continue from the returned element. When the list was
+     * encoded with skip pointers (see
+     * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}),
+     * they are used to jump over the skipped intervals and deltas instead of decoding them.
+     * @param target lower bound of the returned element.
+     * @return the first element greater or equal than <code>target</code>, or -1 when there is no such element.
+     */
+    @Override
+    public long advance(final long target) {
+        return advanceTo(target);
     }
 
     /**
@@ -54,7 +115,15 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
      */
     @Override
     protected ReferenceIterator initializeReferenceIterator(final int listIndex, final InputBitStream inputBitStream) throws IOException {
-        return new StrictlyIncrementalReferenceIterator(listIndex, valueBitSize, minIntervalSize, inputBitStream, bytesStore);
+        return new StrictlyIncrementalReferenceIterator(
+            listIndex,
+            valueBitSize,
+            minIntervalSize,
+            options,
+            inputBitStream,
+            bytesStore,
+            cache
+        );
     }
 
     /**
@@ -76,7 +145,69 @@ public class StrictlyIncrementalListIterator extends BaseListIterator {
             valueBitSize,
             DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
             bytesStore.getInputBitStream(listIndex),
-            bytesStore
+            bytesStore,
+            null
+        );
+    }
+
+    /**
+     * Instance builder that takes the reference lists from <code>cache</code> when available, decoding and storing
+     * them in the cache otherwise.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     * @return built instance.
+     * @throws java.io.IOException when there is an exception reading from the input bit stream.
+     */
+    public static StrictlyIncrementalListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) throws IOException {
+        return new StrictlyIncrementalListIterator(
+            listIndex,
+            valueBitSize,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            bytesStore.getInputBitStream(listIndex),
+            bytesStore,
+            cache
+        );
+    }
+
+    /**
+     * Instance builder for lists encoded with the given encoding <code>options</code> (see
+     * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}),
+     * that takes the reference lists from <code>cache</code> when available, decoding and storing them in the cache
+     * otherwise.
+     * @param listIndex index of the current list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options used to encode the compressed list. Only the skip interval and the section
+     *                lengths are used.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>, or null to
+     *              always decode reference lists.
+     * @return built instance.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public static StrictlyIncrementalListIterator build(
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) throws IOException {
+        return new StrictlyIncrementalListIterator(
+            listIndex,
+            valueBitSize,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            options,
+            bytesStore.getInputBitStream(listIndex),
+            bytesStore,
+            cache
         );
     }
 
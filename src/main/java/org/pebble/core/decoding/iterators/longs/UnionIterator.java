@@ -0,0 +1,70 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.longs;
+
+import it.unimi.dsi.fastutil.longs.LongHeapSemiIndirectPriorityQueue;
+
+/**
+ * Lazy union of compressed strictly incremental lists of <code>long</code>s. The lists are merged through a heap
+ * indexed by their current elements, so each element of the union costs logarithmic time on the number of lists.
+ */
+public class UnionIterator extends SetOperationIterator {
+
+    private final StrictlyIncrementalLongIterator[] iterators;
+    private final long[] heads;
+    private final LongHeapSemiIndirectPriorityQueue queue;
+
+    /**
+     * Creates an iterator over the elements present in any of the given lists.
+     * @param iterators iterators over the lists to merge. They are consumed by this iterator.
+     */
+    public UnionIterator(final StrictlyIncrementalLongIterator... iterators) {
+        this.iterators = iterators;
+        heads = new long[iterators.length];
+        queue = new LongHeapSemiIndirectPriorityQueue(heads, iterators.length);
+        for (int i = 0; i < iterators.length; i++) {
+            if (iterators[i].hasNext()) {
+                heads[i] = iterators[i].nextLong();
+                queue.enqueue(i);
+            }
+        }
+        initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long computeNext() {
+        if (queue.isEmpty()) {
+            return -1L;
+        }
+        final long value = heads[queue.first()];
+        while (!queue.isEmpty() && heads[queue.first()] == value) {
+            final int i = queue.first();
+            if (iterators[i].hasNext()) {
+                heads[i] = iterators[i].nextLong();
+                queue.changed();
+            } else {
+                queue.dequeue();
+            }
+        }
+        return value;
+    }
+
+}
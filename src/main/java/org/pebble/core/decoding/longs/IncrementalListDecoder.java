@@ -0,0 +1,116 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.longs;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE;
+
+/**
+ * Bulk decoder of compressed incremental lists of <code>long</code>s. See
+ * {@link org.pebble.core.encoding.OutputSuccinctStream#writeIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeIncrementalList}
+ * for details regarding the compressed representation. The repetitions are read first, then the unique elements of
+ * the list are decoded and finally they are expanded with its repetitions into the destination array.
+ */
+public class IncrementalListDecoder extends BaseListDecoder {
+
+    private int[] repetitions;
+
+    /**
+     * Creates a decoder of the compressed incremental lists stored in <code>bytesStore</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     */
+    public IncrementalListDecoder(final int valueBitSize, final PebbleBytesStore bytesStore) {
+        this(valueBitSize, bytesStore, null);
+    }
+
+    /**
+     * Creates a decoder of the compressed incremental lists stored in <code>bytesStore</code>, taking the reference
+     * lists from <code>cache</code> when available.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     */
+    public IncrementalListDecoder(
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) {
+        super(valueBitSize, DEFAULT_MIN_INTERVAL_SIZE, EncodingOptions.DEFAULT, bytesStore, cache);
+        repetitions = IntArrays.EMPTY_ARRAY;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int decodeInto(final int listIndex, final long[] dest) throws IOException {
+        position(listIndex);
+        final int repetitionsSize = 2 * inputBitStream.readDelta();
+        if (repetitions.length < repetitionsSize) {
+            repetitions = new int[Math.max(repetitionsSize, 2 * repetitions.length)];
+        }
+        int size = 0;
+        int index = -1;
+        for (int i = 0; i < repetitionsSize; i += 2) {
+            index += inputBitStream.readDelta() + 1;
+            repetitions[i] = index;
+            repetitions[i + 1] = inputBitStream.readDelta() + 1;
+            size += repetitions[i + 1];
+        }
+        final int uniqueSize = decodeBody(listIndex, 0, null);
+        size += uniqueSize;
+        checkSize(listIndex, size, dest);
+        final long[] unique = body(0);
+        int o = 0;
+        int r = 0;
+        for (int i = 0; i < uniqueSize; i++) {
+            final long value = unique[i];
+            dest[o++] = value;
+            if (r < repetitionsSize && repetitions[r] == i) {
+                for (int j = repetitions[r + 1]; j > 0; j--) {
+                    dest[o++] = value;
+                }
+                r += 2;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Skips the repetitions of the reference list, given only its unique elements are used as reference.
+     * @param listIndex index of the reference list.
+     * @param depth number of references followed to reach the reference list.
+     * @return number of unique elements of the reference list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    @Override
+    protected int readReferenceList(final int listIndex, final int depth) throws IOException {
+        position(listIndex, depth);
+        inputBitStream.skipDeltas(inputBitStream.readDelta() * 2);
+        return decodeBody(listIndex, depth, null);
+    }
+
+}
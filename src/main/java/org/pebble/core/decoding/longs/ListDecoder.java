@@ -0,0 +1,165 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.longs;
+
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE;
+
+/**
+ * Bulk decoder of compressed lists of <code>long</code>s. See
+ * {@link org.pebble.core.encoding.OutputSuccinctStream#writeList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeList}
+ * for details regarding the compressed representation. The distinct elements of the list are decoded first, and then
+ * the elements are written into the destination array following the encoded indexes.
+ */
+public class ListDecoder extends BaseListDecoder {
+
+    private final int checkpointInterval;
+
+    /**
+     * Creates a decoder of the compressed lists stored in <code>bytesStore</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     */
+    public ListDecoder(final int valueBitSize, final PebbleBytesStore bytesStore) {
+        this(valueBitSize, bytesStore, null);
+    }
+
+    /**
+     * Creates a decoder of the compressed lists stored in <code>bytesStore</code>, taking the reference lists from
+     * <code>cache</code> when available.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     */
+    public ListDecoder(final int valueBitSize, final PebbleBytesStore bytesStore, final LongListsCache cache) {
+        this(valueBitSize, EncodingOptions.DEFAULT, bytesStore, cache);
+    }
+
+    /**
+     * Creates a decoder of the compressed lists stored in <code>bytesStore</code>, encoded with the given encoding
+     * <code>options</code>, taking the reference lists from <code>cache</code> when available. Checkpoints let
+     * {@link #get(int, int)} decode the indexes starting from the closest previous checkpoint.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options used to encode the compressed lists. Only the checkpoint interval is used.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>, or null to
+     *              always decode reference lists.
+     */
+    public ListDecoder(
+        final int valueBitSize,
+        final EncodingOptions options,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) {
+        super(valueBitSize, DEFAULT_MIN_INTERVAL_SIZE, EncodingOptions.DEFAULT, bytesStore, cache);
+        checkpointInterval = options.getCheckpointInterval();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int decodeInto(final int listIndex, final long[] dest) throws IOException {
+        position(listIndex);
+        final int distinctSize = decodeBody(listIndex, 0, null);
+        final int size = inputBitStream.readDelta() + distinctSize;
+        checkSize(listIndex, size, dest);
+        skipCheckpoints(size);
+        final long[] values = body(0);
+        int index;
+        int lastIndex = 0;
+        for (int i = 0; i < size; i++) {
+            index = inputBitStream.readDelta();
+            if ((index & 1) == 0) {
+                lastIndex += index >>> 1;
+            } else {
+                lastIndex -= (index + 1) >>> 1;
+            }
+            dest[i] = values[lastIndex];
+        }
+        return size;
+    }
+
+    /**
+     * Returns the element on position <code>k</code> of the list <code>listIndex</code>. The distinct elements of the
+     * list are decoded as a whole on every call, given the strictly incremental list of distinct values has no
+     * positional index, so each call pays for decoding them. Then the indexes are decoded starting from the closest
+     * checkpoint before <code>k</code>, which is reached without reading the previous checkpoints when the lists were
+     * encoded with checkpoints, or from the beginning of the list otherwise. The buffers of the decoder are reused, so
+     * no memory is allocated once they are big enough.
+     * @param listIndex index of the list.
+     * @param k position of the element on the list.
+     * @return element on position <code>k</code>.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     * @throws IndexOutOfBoundsException when <code>k</code> is not a position of the list.
+     */
+    public long get(final int listIndex, final int k) throws IOException {
+        position(listIndex);
+        final int distinctSize = decodeBody(listIndex, 0, null);
+        final int size = inputBitStream.readDelta() + distinctSize;
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException(
+                String.format("Position %d is out of list %d of %d elements", k, listIndex, size)
+            );
+        }
+        int lastIndex = 0;
+        int position = 0;
+        if (checkpointInterval > 0 && size > checkpointInterval) {
+            final int checkpoints = (size - 1) / checkpointInterval;
+            final int checkpoint = k / checkpointInterval;
+            final int indexSize = inputBitStream.readDelta();
+            final int bitsSize = inputBitStream.readDelta();
+            final long checkpointsPosition = inputBitStream.position();
+            final long indexesPosition = checkpointsPosition + (long) checkpoints * (indexSize + bitsSize);
+            if (checkpoint > 0) {
+                inputBitStream.position(checkpointsPosition + (long) (checkpoint - 1) * (indexSize + bitsSize));
+                lastIndex = inputBitStream.readInt(indexSize);
+                inputBitStream.position(indexesPosition + inputBitStream.readInt(bitsSize));
+            } else {
+                inputBitStream.position(indexesPosition);
+            }
+            position = checkpoint * checkpointInterval;
+        }
+        int index;
+        for (; position <= k; position++) {
+            index = inputBitStream.readDelta();
+            if ((index & 1) == 0) {
+                lastIndex += index >>> 1;
+            } else {
+                lastIndex -= (index + 1) >>> 1;
+            }
+        }
+        return body(0)[lastIndex];
+    }
+
+    private void skipCheckpoints(final int size) throws IOException {
+        if (checkpointInterval > 0 && size > checkpointInterval) {
+            final int checkpoints = (size - 1) / checkpointInterval;
+            final int checkpointSize = inputBitStream.readDelta() + inputBitStream.readDelta();
+            inputBitStream.position(inputBitStream.position() + (long) checkpoints * checkpointSize);
+        }
+    }
+
+}
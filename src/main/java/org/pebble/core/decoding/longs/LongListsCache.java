@@ -0,0 +1,216 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.longs;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2ObjectLinkedOpenHashMap;
+
+/**
+ * Bounded cache of decoded lists of <code>long</code>s keyed by list index, used to resolve reference lists without
+ * decoding them again. Lists used as reference by many other lists, and the chains of references behind them, are
+ * decoded once and then copied from the cache.
+ * <p>
+ * The cache can be shared across threads. Entries are split by list index into segments, each one guarded by its own
+ * lock and holding a share of the bytes bound. When a segment exceeds its share, its least recently used lists are
+ * evicted.
+ * </p>
+ * <p>
+ * Cached lists are the strictly incremental version of the lists, which is the one used when they are referenced.
+ * Therefore an instance must be shared only by readers of the same bytes store and the same type of lists.
+ * </p>
+ */
+public class LongListsCache {
+
+    /**
+     * Approximate number of bytes used by each entry of the cache, besides the elements of the list.
+     */
+    public static final int ENTRY_OVERHEAD_BYTES = 48;
+
+    /**
+     * Number of segments used by default.
+     */
+    public static final int DEFAULT_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int mask;
+
+    /**
+     * Creates an empty cache using {@link #DEFAULT_SEGMENTS} segments.
+     * @param maxBytes max number of bytes used by the cached lists.
+     */
+    public LongListsCache(final long maxBytes) {
+        this(maxBytes, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Creates an empty cache.
+     * @param maxBytes max number of bytes used by the cached lists. Each segment holds up to
+     *                 <code>maxBytes / segments</code> bytes.
+     * @param segments number of segments, which bounds the number of threads accessing the cache concurrently. It must
+     *                 be a power of two.
+     */
+    public LongListsCache(final long maxBytes, final int segments) {
+        if (maxBytes <= 0L) {
+            throw new IllegalArgumentException(String.format("Max bytes %d must be positive", maxBytes));
+        }
+        if (segments <= 0 || (segments & (segments - 1)) != 0) {
+            throw new IllegalArgumentException(String.format("Segments %d is not a power of two", segments));
+        }
+        this.segments = new Segment[segments];
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment(maxBytes / segments);
+        }
+        mask = segments - 1;
+    }
+
+    /**
+     * Returns the cached list <code>listIndex</code>, marking it as the most recently used. The returned array must
+     * not be modified.
+     * @param listIndex index of the list.
+     * @return cached list or null when the list is not in the cache.
+     */
+    public long[] get(final int listIndex) {
+        return segment(listIndex).get(listIndex);
+    }
+
+    /**
+     * Stores the list <code>listIndex</code>, evicting least recently used lists when needed. Lists bigger than the
+     * share of bytes of a segment are not stored. The array must not be modified once stored.
+     * @param listIndex index of the list.
+     * @param list elements of the list.
+     */
+    public void put(final int listIndex, final long[] list) {
+        segment(listIndex).put(listIndex, list);
+    }
+
+    /**
+     * @return number of lookups that found the list in the cache.
+     */
+    public long hits() {
+        long hits = 0L;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                hits += segment.hits;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * @return number of lookups that did not find the list in the cache.
+     */
+    public long misses() {
+        long misses = 0L;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                misses += segment.misses;
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * @return number of lists evicted from the cache.
+     */
+    public long evictions() {
+        long evictions = 0L;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                evictions += segment.evictions;
+            }
+        }
+        return evictions;
+    }
+
+    /**
+     * @return number of cached lists.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.lists.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return approximate number of bytes used by the cached lists.
+     */
+    public long sizeInBytes() {
+        long bytes = 0L;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes += segment.bytes;
+            }
+        }
+        return bytes;
+    }
+
+    private Segment segment(final int listIndex) {
+        return segments[HashCommon.mix(listIndex) & mask];
+    }
+
+    private static long bytes(final long[] list) {
+        return ENTRY_OVERHEAD_BYTES + 8L * list.length;
+    }
+
+    private static class Segment {
+
+        private final Int2ObjectLinkedOpenHashMap<long[]> lists;
+        private final long maxBytes;
+        private long bytes;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        private Segment(final long maxBytes) {
+            lists = new Int2ObjectLinkedOpenHashMap<long[]>();
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized long[] get(final int listIndex) {
+            final long[] list = lists.getAndMoveToLast(listIndex);
+            if (list == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+            return list;
+        }
+
+        private synchronized void put(final int listIndex, final long[] list) {
+            final long listBytes = bytes(list);
+            if (listBytes > maxBytes) {
+                return;
+            }
+            final long[] previous = lists.putAndMoveToLast(listIndex, list);
+            if (previous != null) {
+                bytes -= bytes(previous);
+            }
+            bytes += listBytes;
+            while (bytes > maxBytes) {
+                bytes -= bytes(lists.removeFirst());
+                evictions++;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,232 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.longs;
+
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE;
+
+/**
+ * Bulk decoder of compressed strictly incremental lists of <code>long</code>s. See
+ * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}
+ * for details regarding the compressed representation.
+ */
+public class StrictlyIncrementalListDecoder extends BaseListDecoder {
+
+    private boolean found;
+
+    /**
+     * Creates a decoder of the compressed strictly incremental lists stored in <code>bytesStore</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     */
+    public StrictlyIncrementalListDecoder(final int valueBitSize, final PebbleBytesStore bytesStore) {
+        this(valueBitSize, bytesStore, null);
+    }
+
+    /**
+     * Creates a decoder of the compressed strictly incremental lists stored in <code>bytesStore</code>, taking the
+     * reference lists from <code>cache</code> when available.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>.
+     */
+    public StrictlyIncrementalListDecoder(
+        final int valueBitSize,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) {
+        this(valueBitSize, EncodingOptions.DEFAULT, bytesStore, cache);
+    }
+
+    /**
+     * Creates a decoder of the compressed strictly incremental lists stored in <code>bytesStore</code>, encoded with
+     * the given encoding <code>options</code>, taking the reference lists from <code>cache</code> when available.
+     * Section lengths let {@link #contains(int, long)} jump over the sections it does not need to read.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options used to encode the compressed lists. Only the skip interval and the section
+     *                lengths are used.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @param cache cache of decoded reference lists shared with other readers of <code>bytesStore</code>, or null to
+     *              always decode reference lists.
+     */
+    public StrictlyIncrementalListDecoder(
+        final int valueBitSize,
+        final EncodingOptions options,
+        final PebbleBytesStore bytesStore,
+        final LongListsCache cache
+    ) {
+        super(valueBitSize, DEFAULT_MIN_INTERVAL_SIZE, options, bytesStore, cache);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int decodeInto(final int listIndex, final long[] dest) throws IOException {
+        position(listIndex);
+        return decodeBody(listIndex, 0, dest);
+    }
+
+    /**
+     * Checks whether <code>value</code> is an element of the list <code>listIndex</code> without decoding it. Intervals
+     * are checked arithmetically, deltas are read only up to <code>value</code>, and the reference list is resolved
+     * only on the copy block that covers the position of <code>value</code>, recursively. Reference lists available in
+     * the cache are binary searched instead. No memory is allocated.
+     * @param listIndex index of the list.
+     * @param value element to look for.
+     * @return true when <code>value</code> is an element of the list and false otherwise.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public boolean contains(final int listIndex, final long value) throws IOException {
+        position(listIndex);
+        rank(listIndex, value, 0);
+        return found;
+    }
+
+    /**
+     * Counts the elements of the list lower than <code>value</code>, starting at the current position of the input bit
+     * stream, and records on {@link #found} whether <code>value</code> is an element of the list.
+     * @param listIndex index of the list.
+     * @param value element to look for.
+     * @param depth number of references followed to reach the list.
+     * @return number of elements of the list lower than <code>value</code>.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    private int rank(final int listIndex, final long value, final int depth) throws IOException {
+        final int referenceOffset = inputBitStream.readDelta();
+        long blocksPosition = 0L;
+        if (referenceOffset > 0) {
+            blocksPosition = inputBitStream.position();
+            final int blocks = inputBitStream.readDelta();
+            inputBitStream.readBit();
+            final int blocksBits = readBlocksBits();
+            if (options.hasSectionLengths()) {
+                inputBitStream.position(inputBitStream.position() + blocksBits);
+            } else {
+                inputBitStream.skipDeltas(blocks);
+            }
+        }
+        int rank = rankIntervals(value);
+        boolean isElement = found;
+        rank += rankDeltas(value);
+        isElement |= found;
+        if (referenceOffset > 0) {
+            final InputBitStream inputBitStream = this.inputBitStream;
+            final int referenceRank = rankReferenceList(listIndex - referenceOffset, value, depth + 1);
+            final boolean isReferenceElement = found;
+            this.inputBitStream = inputBitStream;
+            inputBitStream.position(blocksPosition);
+            rank += selectRank(referenceRank, isReferenceElement);
+            isElement |= found;
+        }
+        found = isElement;
+        return rank;
+    }
+
+    private int rankReferenceList(final int listIndex, final long value, final int depth) throws IOException {
+        if (cache != null) {
+            final long[] list = cache.get(listIndex);
+            if (list != null) {
+                final int index = Arrays.binarySearch(list, value);
+                found = index >= 0;
+                return found ? index : -index - 1;
+            }
+        }
+        position(listIndex, depth);
+        return rank(listIndex, value, depth);
+    }
+
+    private int selectRank(final int referenceRank, final boolean isReferenceElement) throws IOException {
+        final int blocks = inputBitStream.readDelta();
+        boolean copy = inputBitStream.readBit() == 0;
+        readBlocksBits();
+        int from = 0;
+        int to = 0;
+        int length;
+        for (int i = 0; i < blocks; i++) {
+            copy = !copy;
+            length = inputBitStream.readDelta() + 1;
+            if (from + length > referenceRank) {
+                found = copy && isReferenceElement;
+                return copy ? to + referenceRank - from : to;
+            }
+            if (copy) {
+                to += length;
+            }
+            from += length;
+        }
+        found = !copy && isReferenceElement;
+        return copy ? to : to + referenceRank - from;
+    }
+
+    private int rankIntervals(final long value) throws IOException {
+        int remaining = inputBitStream.readDelta();
+        int rank = 0;
+        found = false;
+        if (remaining > 0) {
+            long start = inputBitStream.readLong(valueBitSize);
+            int length = inputBitStream.readDelta() + minIntervalSize;
+            final int sectionBits = skipPointers(remaining, 3);
+            final long sectionEnd = inputBitStream.position() + sectionBits;
+            while (value >= start) {
+                if (value < start + length) {
+                    found = true;
+                    rank += (int) (value - start);
+                    break;
+                }
+                rank += length;
+                if (--remaining == 0) {
+                    break;
+                }
+                start += length + inputBitStream.readDelta() + 1;
+                length = inputBitStream.readDelta() + minIntervalSize;
+            }
+            if (options.hasSectionLengths()) {
+                inputBitStream.position(sectionEnd);
+            } else if (remaining > 1) {
+                inputBitStream.skipDeltas(2 * (remaining - 1));
+            }
+        }
+        return rank;
+    }
+
+    private int rankDeltas(final long value) throws IOException {
+        final int size = inputBitStream.readDelta();
+        int rank = 0;
+        found = false;
+        if (size > 0) {
+            long current = inputBitStream.readLong(valueBitSize);
+            skipPointers(size, 2);
+            while (current < value && ++rank < size) {
+                current += inputBitStream.readDelta() + 1;
+            }
+            found = current == value;
+        }
+        return rank;
+    }
+
+}
@@ -0,0 +1,300 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.decoding.longs;
+
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Sequential decoder of compressed strictly incremental lists of <code>long</code>s, intended for full scans over
+ * <code>bytesStore</code>. The last <code>windowSize</code> decoded lists are kept in a ring buffer, so when lists are
+ * decoded in order, and <code>windowSize</code> is at least the reference window size used to encode them, every
+ * reference list is copied from the ring buffer instead of being decoded again from the bytes store. A full scan then
+ * reads the bits of each list exactly once, with no recursion. Reference lists out of the ring buffer are decoded
+ * from the bytes store, as {@link org.pebble.core.decoding.longs.StrictlyIncrementalListDecoder} does, and kept in
+ * the ring buffer too. Batches of lists requested in any order are decoded sorted by index with {@link #getLists}.
+ * See
+ * {@link org.pebble.core.encoding.OutputSuccinctStream#writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}
+ * for details regarding the compressed representation.
+ */
+public class StrictlyIncrementalListScanner extends StrictlyIncrementalListDecoder {
+
+    private final long[][] window;
+    private final int[] windowSizes;
+    private final int[] windowIndexes;
+    private int nextListIndex;
+
+    /**
+     * Creates a scanner of the compressed strictly incremental lists stored in <code>bytesStore</code>, starting at
+     * the first list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param windowSize number of decoded lists kept to resolve references. It should not be lower than the reference
+     *                   window size used to encode the compressed lists.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     */
+    public StrictlyIncrementalListScanner(
+        final int valueBitSize,
+        final int windowSize,
+        final PebbleBytesStore bytesStore
+    ) {
+        this(valueBitSize, EncodingOptions.DEFAULT, windowSize, bytesStore);
+    }
+
+    /**
+     * Creates a scanner of the compressed strictly incremental lists stored in <code>bytesStore</code>, encoded with
+     * the given encoding <code>options</code>, starting at the first list.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options used to encode the compressed lists. Only the skip interval and the section
+     *                lengths are used.
+     * @param windowSize number of decoded lists kept to resolve references. It should not be lower than the reference
+     *                   window size used to encode the compressed lists.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @throws IllegalArgumentException when <code>windowSize</code> is lower than one.
+     */
+    public StrictlyIncrementalListScanner(
+        final int valueBitSize,
+        final EncodingOptions options,
+        final int windowSize,
+        final PebbleBytesStore bytesStore
+    ) {
+        super(valueBitSize, options, bytesStore, null);
+        if (windowSize < 1) {
+            throw new IllegalArgumentException(String.format("Window size %d must be positive", windowSize));
+        }
+        window = new long[windowSize][];
+        Arrays.fill(window, LongArrays.EMPTY_ARRAY);
+        windowSizes = new int[windowSize];
+        windowIndexes = new int[windowSize];
+        Arrays.fill(windowIndexes, -1);
+    }
+
+    /**
+     * Returns the index of the list decoded by the next call to {@link #nextInto(long[])} or {@link #next()}.
+     * @return index of the next list.
+     */
+    public int nextListIndex() {
+        return nextListIndex;
+    }
+
+    /**
+     * Moves the scan to the list <code>listIndex</code>. The decoded lists kept in the ring buffer are still used to
+     * resolve references.
+     * @param listIndex index of the next list to decode.
+     */
+    public void reset(final int listIndex) {
+        nextListIndex = listIndex;
+    }
+
+    /**
+     * Decodes the next list of the scan into <code>dest</code>, which is the list following the last decoded list.
+     * @param dest array where the list is written.
+     * @return number of elements of the list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     * @throws IndexOutOfBoundsException when <code>dest</code> can not hold the decoded list.
+     */
+    public int nextInto(final long[] dest) throws IOException {
+        return decodeInto(nextListIndex, dest);
+    }
+
+    /**
+     * Decodes the list <code>listIndex</code> into <code>dest</code>, keeping a copy of it in the ring buffer, and
+     * moves the scan to the following list.
+     * @param listIndex index of the list.
+     * @param dest array where the list is written.
+     * @return number of elements of the list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     * @throws IndexOutOfBoundsException when <code>dest</code> can not hold the decoded list.
+     */
+    @Override
+    public int decodeInto(final int listIndex, final long[] dest) throws IOException {
+        final int size = super.decodeInto(listIndex, dest);
+        keep(listIndex, dest, size);
+        nextListIndex = listIndex + 1;
+        return size;
+    }
+
+    /**
+     * Decodes the next list of the scan into a new array holding exactly its elements, which is the list following
+     * the last decoded list.
+     * @return decoded list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public long[] next() throws IOException {
+        return decode(nextListIndex);
+    }
+
+    /**
+     * Decodes the lists <code>listIndexes</code> and passes each of them to <code>consumer</code>, together with its
+     * position on <code>listIndexes</code>, in the order of <code>listIndexes</code>. Lists are read sorted by index,
+     * which is the order of their offsets on the bytes store, so the reads move forward on it, and the reference
+     * lists shared by the requested lists are copied from the ring buffer instead of being decoded again. Equal list
+     * indexes are decoded once and share the same array.
+     * @param listIndexes indexes of the lists.
+     * @param consumer consumer of each decoded list and its position on <code>listIndexes</code>.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    public void getLists(final int[] listIndexes, final ObjIntConsumer<long[]> consumer) throws IOException {
+        final long[] reads = reads(listIndexes);
+        final long[][] lists = new long[listIndexes.length][];
+        read(reads, 0, reads.length, lists);
+        accept(lists, consumer);
+    }
+
+    /**
+     * Decodes the lists <code>listIndexes</code> on <code>tasks</code> tasks run by <code>executor</code>, and passes
+     * each of them to <code>consumer</code>, together with its position on <code>listIndexes</code>, in the order of
+     * <code>listIndexes</code>. The reads, sorted by list index, are split into <code>tasks</code> consecutive ranges,
+     * and each range is decoded by its own scanner as {@link #getLists(int[], java.util.function.ObjIntConsumer)}
+     * does. The consumer is called from the calling thread once every task is done.
+     * @param listIndexes indexes of the lists.
+     * @param consumer consumer of each decoded list and its position on <code>listIndexes</code>.
+     * @param executor executor running the tasks, like a fork join pool or a virtual thread per task executor.
+     * @param tasks number of tasks the reads are split into.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     * @throws InterruptedException when the calling thread is interrupted while waiting for the tasks.
+     * @throws IllegalArgumentException when <code>tasks</code> is lower than one.
+     */
+    public void getLists(
+        final int[] listIndexes,
+        final ObjIntConsumer<long[]> consumer,
+        final ExecutorService executor,
+        final int tasks
+    ) throws IOException, InterruptedException {
+        if (tasks < 1) {
+            throw new IllegalArgumentException(String.format("Tasks %d must be positive", tasks));
+        }
+        final long[] reads = reads(listIndexes);
+        final long[][] lists = new long[listIndexes.length][];
+        final List<Callable<Void>> callables = new ArrayList<Callable<Void>>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            final int from = (int) ((long) reads.length * i / tasks);
+            final int to = (int) ((long) reads.length * (i + 1) / tasks);
+            final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+                valueBitSize,
+                options,
+                window.length,
+                bytesStore
+            );
+            callables.add(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    scanner.read(reads, from, to, lists);
+                    return null;
+                }
+            });
+        }
+        for (Future<Void> future : executor.invokeAll(callables)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+        accept(lists, consumer);
+    }
+
+    /**
+     * Writes the reference list <code>listIndex</code> into the body buffer of <code>depth</code>, copying it from
+     * the ring buffer when available, or reading it from the bytes store and keeping it in the ring buffer otherwise.
+     * @param listIndex index of the reference list.
+     * @param depth number of references followed to reach the reference list.
+     * @return number of elements of the reference list.
+     * @throws IOException when there is an exception reading from the input bit stream.
+     */
+    @Override
+    protected int decodeReferenceList(final int listIndex, final int depth) throws IOException {
+        final int slot = listIndex % window.length;
+        if (windowIndexes[slot] != listIndex) {
+            final int size = super.decodeReferenceList(listIndex, depth);
+            keep(listIndex, body(depth), size);
+            return size;
+        }
+        final int size = windowSizes[slot];
+        System.arraycopy(window[slot], 0, body(depth, size), 0, size);
+        return size;
+    }
+
+    private void keep(final int listIndex, final long[] list, final int size) {
+        final int slot = listIndex % window.length;
+        if (window[slot].length < size) {
+            window[slot] = new long[Math.max(size, 2 * window[slot].length)];
+        }
+        System.arraycopy(list, 0, window[slot], 0, size);
+        windowSizes[slot] = size;
+        windowIndexes[slot] = listIndex;
+    }
+
+    private long[] decode(final int listIndex) throws IOException {
+        position(listIndex);
+        final int size = decodeBody(listIndex, 0, null);
+        keep(listIndex, body(0), size);
+        nextListIndex = listIndex + 1;
+        return Arrays.copyOf(body(0), size);
+    }
+
+    private void read(final long[] reads, final int from, final int to, final long[][] lists) throws IOException {
+        int previousListIndex = -1;
+        int previousPosition = -1;
+        for (int i = from; i < to; i++) {
+            final int listIndex = (int) (reads[i] >>> 32);
+            final int position = (int) reads[i];
+            if (listIndex == previousListIndex) {
+                lists[position] = lists[previousPosition];
+            } else {
+                lists[position] = decode(listIndex);
+            }
+            previousListIndex = listIndex;
+            previousPosition = position;
+        }
+    }
+
+    private static long[] reads(final int[] listIndexes) {
+        final long[] reads = new long[listIndexes.length];
+        for (int i = 0; i < listIndexes.length; i++) {
+            reads[i] = (long) listIndexes[i] << 32 | i;
+        }
+        Arrays.sort(reads);
+        return reads;
+    }
+
+    private static void accept(final long[][] lists, final ObjIntConsumer<long[]> consumer) {
+        for (int i = 0; i < lists.length; i++) {
+            consumer.accept(lists[i], i);
+        }
+    }
+
+}
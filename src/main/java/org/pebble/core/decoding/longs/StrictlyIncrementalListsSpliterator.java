@@ -0,0 +1,253 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.decoding.longs;
+
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator over a range of compressed strictly incremental lists of <code>long</code>s stored in
+ * <code>bytesStore</code>, which allows processing them with the streams of the JDK, in parallel when desired. Lists
+ * are traversed in order with a {@link org.pebble.core.decoding.longs.StrictlyIncrementalListScanner}, so reference
+ * lists are copied from its window of decoded lists. Ranges are split at multiples of <code>chunkSize</code>, and
+ * each split sets up its own scanner, so only the first lists of a chunk decode their reference lists from the bytes
+ * store. Each element is an array holding exactly the elements of a list.
+ */
+public class StrictlyIncrementalListsSpliterator implements Spliterator<long[]> {
+
+    private final int valueBitSize;
+    private final EncodingOptions options;
+    private final int windowSize;
+    private final int chunkSize;
+    private final PebbleBytesStore bytesStore;
+    private int fromListIndex;
+    private final int toListIndex;
+    private StrictlyIncrementalListScanner scanner;
+
+    /**
+     * Creates a spliterator over the first <code>listsCount</code> compressed strictly incremental lists stored in
+     * <code>bytesStore</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param windowSize number of decoded lists kept to resolve references. It should not be lower than the reference
+     *                   window size used to encode the compressed lists.
+     * @param chunkSize number of lists that splits are multiple of.
+     * @param listsCount number of lists to traverse.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @throws IllegalArgumentException when <code>windowSize</code> or <code>chunkSize</code> are lower than one.
+     */
+    public StrictlyIncrementalListsSpliterator(
+        final int valueBitSize,
+        final int windowSize,
+        final int chunkSize,
+        final int listsCount,
+        final PebbleBytesStore bytesStore
+    ) {
+        this(
+            valueBitSize,
+            EncodingOptions.DEFAULT,
+            windowSize,
+            chunkSize,
+            0,
+            listsCount,
+            bytesStore
+        );
+    }
+
+    /**
+     * Creates a spliterator over the compressed strictly incremental lists stored in <code>bytesStore</code>, encoded
+     * with the given encoding <code>options</code>, from <code>fromListIndex</code> inclusive to
+     * <code>toListIndex</code> exclusive.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options used to encode the compressed lists. Only the skip interval and the section
+     *                lengths are used.
+     * @param windowSize number of decoded lists kept to resolve references. It should not be lower than the reference
+     *                   window size used to encode the compressed lists.
+     * @param chunkSize number of lists that splits are multiple of.
+     * @param fromListIndex index of the first list to traverse.
+     * @param toListIndex index following the last list to traverse.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @throws IllegalArgumentException when <code>windowSize</code> or <code>chunkSize</code> are lower than one.
+     */
+    public StrictlyIncrementalListsSpliterator(
+        final int valueBitSize,
+        final EncodingOptions options,
+        final int windowSize,
+        final int chunkSize,
+        final int fromListIndex,
+        final int toListIndex,
+        final PebbleBytesStore bytesStore
+    ) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException(String.format("Window size %d must be positive", windowSize));
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(String.format("Chunk size %d must be positive", chunkSize));
+        }
+        this.valueBitSize = valueBitSize;
+        this.options = options;
+        this.windowSize = windowSize;
+        this.chunkSize = chunkSize;
+        this.fromListIndex = fromListIndex;
+        this.toListIndex = toListIndex;
+        this.bytesStore = bytesStore;
+    }
+
+    /**
+     * Returns a stream of the first <code>listsCount</code> compressed strictly incremental lists stored in
+     * <code>bytesStore</code>, which can be made parallel with {@link java.util.stream.Stream#parallel()}.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param windowSize number of decoded lists kept to resolve references. It should not be lower than the reference
+     *                   window size used to encode the compressed lists.
+     * @param chunkSize number of lists that splits are multiple of.
+     * @param listsCount number of lists to traverse.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @return sequential stream of lists.
+     */
+    public static Stream<long[]> lists(
+        final int valueBitSize,
+        final int windowSize,
+        final int chunkSize,
+        final int listsCount,
+        final PebbleBytesStore bytesStore
+    ) {
+        return StreamSupport.stream(
+            new StrictlyIncrementalListsSpliterator(valueBitSize, windowSize, chunkSize, listsCount, bytesStore),
+            false
+        );
+    }
+
+    /**
+     * Returns a stream of the elements of the first <code>listsCount</code> compressed strictly incremental lists
+     * stored in <code>bytesStore</code>, list after list, which can be made parallel with
+     * {@link java.util.stream.LongStream#parallel()}.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param windowSize number of decoded lists kept to resolve references. It should not be lower than the reference
+     *                   window size used to encode the compressed lists.
+     * @param chunkSize number of lists that splits are multiple of.
+     * @param listsCount number of lists to traverse.
+     * @param bytesStore mapping between list offsets and data bytes arrays and bytes offsets.
+     * @return sequential stream of elements.
+     */
+    public static LongStream values(
+        final int valueBitSize,
+        final int windowSize,
+        final int chunkSize,
+        final int listsCount,
+        final PebbleBytesStore bytesStore
+    ) {
+        return lists(valueBitSize, windowSize, chunkSize, listsCount, bytesStore).flatMapToLong(
+            new Function<long[], LongStream>() {
+                @Override
+                public LongStream apply(final long[] list) {
+                    return Arrays.stream(list);
+                }
+            }
+        );
+    }
+
+    /**
+     * Decodes the next list and passes it to <code>action</code>.
+     * @param action action to perform on the list.
+     * @return false when there are no remaining lists and true otherwise.
+     * @throws UncheckedIOException when there is an exception reading from the input bit stream.
+     */
+    @Override
+    public boolean tryAdvance(final Consumer<? super long[]> action) {
+        if (fromListIndex >= toListIndex) {
+            return false;
+        }
+        if (scanner == null) {
+            scanner = new StrictlyIncrementalListScanner(
+                valueBitSize,
+                options,
+                windowSize,
+                bytesStore
+            );
+            scanner.reset(fromListIndex);
+        }
+        final long[] list;
+        try {
+            list = scanner.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        fromListIndex++;
+        action.accept(list);
+        return true;
+    }
+
+    /**
+     * Splits off the lists before the multiple of <code>chunkSize</code> closest to the middle of the remaining
+     * lists.
+     * @return spliterator over the prefix of the remaining lists, or null when they are within a single chunk.
+     */
+    @Override
+    public Spliterator<long[]> trySplit() {
+        int splitListIndex = (int) (((long) fromListIndex + toListIndex) >>> 1) / chunkSize * chunkSize;
+        if (splitListIndex <= fromListIndex) {
+            splitListIndex += chunkSize;
+        }
+        if (splitListIndex >= toListIndex) {
+            return null;
+        }
+        final Spliterator<long[]> prefix = new StrictlyIncrementalListsSpliterator(
+            valueBitSize,
+            options,
+            windowSize,
+            chunkSize,
+            fromListIndex,
+            splitListIndex,
+            bytesStore
+        );
+        fromListIndex = splitListIndex;
+        if (scanner != null) {
+            scanner.reset(fromListIndex);
+        }
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long estimateSize() {
+        return toListIndex - fromListIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+}
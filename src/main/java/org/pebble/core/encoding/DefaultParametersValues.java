@@ -36,6 +36,24 @@ public class DefaultParametersValues {
      */
     public static final int DEFAULT_MIN_INTERVAL_SIZE = 4;
 
+    /**
+     * Number of elements between skip pointers of the intervals and deltas sections of strictly incremental lists. By
+     * default it is zero, meaning that no skip pointers are written.
+     */
+    public static final int DEFAULT_SKIP_INTERVAL = 0;
+
+    /**
+     * Whether the sections of strictly incremental lists are written with the number of bits of their bodies, which
+     * allows readers to jump over them. By default it is false, meaning that section lengths are not written.
+     */
+    public static final boolean DEFAULT_SECTION_LENGTHS = false;
+
+    /**
+     * Number of positions between checkpoints of the indexes of lists that are not strictly incremental. By default it
+     * is zero, meaning that no checkpoints are written.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 0;
+
     /**
      * Past list reference buffer size. If this value gets bigger, more lists are kept on the buffer, increasing
      * the chances of finding a better reference candidate and therefor increasing compression. But it will
@@ -55,6 +73,27 @@ public class DefaultParametersValues {
      */
     public static final int DEFAULT_MAX_RECURSIVE_REFERENCES = 3;
 
+    /**
+     * Maximum number of reference list candidates, sharing the most values with the list to be referenced, whose
+     * compression is fully evaluated by the MinHash reference lists indexes. Increasing this number increases the
+     * chances of finding a better reference candidate, but it will increase the time required to find it when many
+     * lists share values.
+     */
+    public static final int DEFAULT_MAX_REFERENCE_CANDIDATES = 64;
+
+    /**
+     * Number of bands of the MinHash signatures used to find reference list candidates. Increasing this number
+     * increases the chances of finding lists sharing few values with the list to be referenced, but it will increase
+     * the memory used by each stored list and the time required to find the candidates.
+     */
+    public static final int DEFAULT_MIN_HASH_BANDS = 16;
+
+    /**
+     * Number of MinHash values of each band of the signatures used to find reference list candidates. Increasing this
+     * number restricts the candidates to the lists sharing more values with the list to be referenced.
+     */
+    public static final int DEFAULT_MIN_HASH_ROWS = 2;
+
     private DefaultParametersValues() {
 
     }
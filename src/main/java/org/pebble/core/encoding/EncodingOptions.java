@@ -0,0 +1,129 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding;
+
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_CHECKPOINT_INTERVAL;
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_SECTION_LENGTHS;
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_SKIP_INTERVAL;
+
+/**
+ * Immutable set of optional parameters of the compressed lists representation. The same options used by
+ * {@link OutputSuccinctStream} to write the compressed lists must be used by the decoders and iterators to read them
+ * back.
+ * <ul>
+ *     <li>
+ *         Skip interval: number of intervals and deltas between skip pointers of strictly incremental lists, or zero
+ *         to write no skip pointers.
+ *     </li>
+ *     <li>
+ *         Section lengths: whether the sections of strictly incremental lists are written with the number of bits of
+ *         their bodies or not.
+ *     </li>
+ *     <li>
+ *         Checkpoint interval: number of positions between checkpoints of the indexes of lists that are not strictly
+ *         incremental, or zero to write no checkpoints.
+ *     </li>
+ * </ul>
+ */
+public final class EncodingOptions {
+
+    /**
+     * Options with the values of {@link DefaultParametersValues}, which write neither skip pointers, section lengths
+     * nor checkpoints.
+     */
+    public static final EncodingOptions DEFAULT = new EncodingOptions(
+        DEFAULT_SKIP_INTERVAL,
+        DEFAULT_SECTION_LENGTHS,
+        DEFAULT_CHECKPOINT_INTERVAL
+    );
+
+    private final int skipInterval;
+    private final boolean sectionLengths;
+    private final int checkpointInterval;
+
+    /**
+     * Initializes the options.
+     * @param skipInterval number of intervals and deltas between skip pointers, or zero to write no skip pointers.
+     * @param sectionLengths whether the number of bits of the body of each section is written or not.
+     * @param checkpointInterval number of positions between checkpoints, or zero to write no checkpoints.
+     * @throws IllegalArgumentException when <code>skipInterval</code> or <code>checkpointInterval</code> is negative.
+     */
+    public EncodingOptions(final int skipInterval, final boolean sectionLengths, final int checkpointInterval) {
+        if (skipInterval < 0) {
+            throw new IllegalArgumentException(String.format("Skip interval %d must not be negative", skipInterval));
+        }
+        if (checkpointInterval < 0) {
+            throw new IllegalArgumentException(
+                String.format("Checkpoint interval %d must not be negative", checkpointInterval)
+            );
+        }
+        this.skipInterval = skipInterval;
+        this.sectionLengths = sectionLengths;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * @return number of intervals and deltas between skip pointers, or zero when no skip pointers are written.
+     */
+    public int getSkipInterval() {
+        return skipInterval;
+    }
+
+    /**
+     * @return whether the number of bits of the body of each section is written or not.
+     */
+    public boolean hasSectionLengths() {
+        return sectionLengths;
+    }
+
+    /**
+     * @return number of positions between checkpoints, or zero when no checkpoints are written.
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Returns a copy of these options with the given <code>skipInterval</code>.
+     * @param skipInterval number of intervals and deltas between skip pointers, or zero to write no skip pointers.
+     * @return options with the given <code>skipInterval</code>.
+     * @throws IllegalArgumentException when <code>skipInterval</code> is negative.
+     */
+    public EncodingOptions withSkipInterval(final int skipInterval) {
+        return new EncodingOptions(skipInterval, sectionLengths, checkpointInterval);
+    }
+
+    /**
+     * Returns a copy of these options with the given <code>sectionLengths</code>.
+     * @param sectionLengths whether the number of bits of the body of each section is written or not.
+     * @return options with the given <code>sectionLengths</code>.
+     */
+    public EncodingOptions withSectionLengths(final boolean sectionLengths) {
+        return new EncodingOptions(skipInterval, sectionLengths, checkpointInterval);
+    }
+
+    /**
+     * Returns a copy of these options with the given <code>checkpointInterval</code>.
+     * @param checkpointInterval number of positions between checkpoints, or zero to write no checkpoints.
+     * @return options with the given <code>checkpointInterval</code>.
+     * @throws IllegalArgumentException when <code>checkpointInterval</code> is negative.
+     */
+    public EncodingOptions withCheckpointInterval(final int checkpointInterval) {
+        return new EncodingOptions(skipInterval, sectionLengths, checkpointInterval);
+    }
+
+}
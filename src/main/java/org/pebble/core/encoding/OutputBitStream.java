@@ -16,19 +16,31 @@
 
 package org.pebble.core.encoding;
 
-import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
- * Output stream that contains useful method to write data at bit level.
+ * Output stream that contains useful method to write data at bit level. Bits are accumulated into a 64 bits word,
+ * which is written as a whole into a bytes buffer once it is full. When the stream is associated to an
+ * {@link java.io.OutputStream}, the bytes buffer is an internal staging buffer that is handed to the output stream
+ * once it is full.
  */
 public class OutputBitStream implements Flushable, Closeable {
 
-    private byte free;
-    private int buffer;
+    /**
+     * Size in bytes of the staging buffer used when writing into an output stream.
+     */
+    private static final int STAGING_BUFFER_SIZE = 8192;
+
+    private static final int WORD_BYTES = Long.SIZE / Byte.SIZE;
+
+    private int free;
+    private long buffer;
+    private final ByteBuffer out;
     private final OutputStream os;
 
     /**
@@ -36,19 +48,32 @@ public class OutputBitStream implements Flushable, Closeable {
      * @param os where data will be written.
      */
     public OutputBitStream(final OutputStream os) {
-        free = 8;
-        buffer = 0;
-        this.os = new BufferedOutputStream(os);
+        free = Long.SIZE;
+        buffer = 0L;
+        out = ByteBuffer.allocate(STAGING_BUFFER_SIZE);
+        this.os = os;
     }
 
     /**
-     * Initializes empty output stream associated to <code>buffer</code>.
+     * Initializes empty output stream associated to <code>buffer</code>. Data is written straight into
+     * <code>buffer</code>, starting from its first byte.
      * @param buffer where data will be written.
      */
     public OutputBitStream(final byte[] buffer) {
-        free = 8;
-        this.buffer = 0;
-        os = new ArrayOutputStream(buffer);
+        this(ByteBuffer.wrap(buffer));
+    }
+
+    /**
+     * Initializes empty output stream associated to <code>buffer</code>. Data is written straight into
+     * <code>buffer</code>, starting from its current position, which is moved forward as whole bytes are written.
+     * The byte order of <code>buffer</code> is set to big endian.
+     * @param buffer where data will be written.
+     */
+    public OutputBitStream(final ByteBuffer buffer) {
+        free = Long.SIZE;
+        this.buffer = 0L;
+        out = buffer.order(ByteOrder.BIG_ENDIAN);
+        os = null;
     }
 
     /**
@@ -91,6 +116,30 @@ public class OutputBitStream implements Flushable, Closeable {
         return writeGamma(size) + writeLong(x, size);
     }
 
+    /**
+     * Returns the number of bits used by the delta coding of value <code>x</code>, without writing it (see
+     * {@link #writeDelta(int)}).
+     * @param x value to be encoded.
+     * @return number of bits of the delta coding.
+     */
+    public static int deltaLength(int x) {
+        x++;
+        final int size = 31 - Integer.numberOfLeadingZeros(x);
+        return 2 * (31 - Integer.numberOfLeadingZeros(size + 1)) + 1 + size;
+    }
+
+    /**
+     * Returns the number of bits used by the delta coding of value <code>x</code>, without writing it (see
+     * {@link #writeDelta(long)}).
+     * @param x value to be encoded.
+     * @return number of bits of the delta coding.
+     */
+    public static int deltaLength(long x) {
+        x++;
+        final int size = 63 - Long.numberOfLeadingZeros(x);
+        return 2 * (31 - Integer.numberOfLeadingZeros(size + 1)) + 1 + size;
+    }
+
     /**
      * Writes gamma coding of value <code>x</code>. For the example value: 5
      * <pre>
@@ -247,28 +296,13 @@ public class OutputBitStream implements Flushable, Closeable {
      * @return number of written bits.
      * @throws IOException in case there is an exception writing into output stream.
      */
-    public int writeInBuffer(int x, int size) throws IOException {
-        final int writtenBits = size;
-        if (free == 0) {
-            os.write(buffer);
-            buffer = 0;
-            free = 8;
-        }
-        while (size > free) {
-            buffer |= (x >> (size - free));
-            size -= free;
-            x &= ~(0xFFFFFFFF << size);
-            os.write(buffer);
-            buffer = 0;
-            free = 8;
-        }
-        buffer |= x << (32 - size + free);
-        free -= size;
-        return writtenBits;
+    public int writeInBuffer(final int x, final int size) throws IOException {
+        return writeInBuffer(x & 0xFFFFFFFFL, size);
     }
 
     /**
-     * Writes the <code>size</code> least significant bits from value <code>x</code>.
+     * Writes the <code>size</code> least significant bits from value <code>x</code>. When <code>size</code> is
+     * bigger than 64, <code>x</code> is preceded by <code>size - 64</code> zeros.
      * @param x value to be encoded.
      * @param size number of least significant bits to be encoded.
      * @return number of written bits.
@@ -276,21 +310,23 @@ public class OutputBitStream implements Flushable, Closeable {
      */
     public int writeInBuffer(long x, int size) throws IOException {
         final int writtenBits = size;
-        if (free == 0) {
-            os.write(buffer);
-            buffer = 0;
-            free = 8;
+        if (size > Long.SIZE) {
+            writeInBuffer(0L, size - Long.SIZE);
+            size = Long.SIZE;
+        }
+        if (size == 0) {
+            return writtenBits;
         }
-        while (size > free) {
-            buffer |= (int)(x >> (size - free));
-            size -= free;
-            x &= ~(0xFFFFFFFFFFFFFFFFL << size);
-            os.write(buffer);
-            buffer = 0;
-            free = 8;
+        x &= -1L >>> (Long.SIZE - size);
+        if (size < free) {
+            free -= size;
+            buffer |= x << free;
+            return writtenBits;
         }
-        buffer |= (int) (x << (64 - size + free));
-        free -= size;
+        size -= free;
+        writeWord(buffer | (x >>> size));
+        buffer = size == 0 ? 0L : x << (Long.SIZE - size);
+        free = Long.SIZE - size;
         return writtenBits;
     }
 
@@ -300,20 +336,59 @@ public class OutputBitStream implements Flushable, Closeable {
      */
     public void close() throws IOException {
         flush();
-        os.close();
+        if (os != null) {
+            os.close();
+        }
     }
 
     /**
-     * Flushes buffer content into output stream and clears buffer content.
+     * Flushes buffer content into output stream and clears buffer content. Incomplete bytes are padded with zeros,
+     * so next written bit starts a new byte.
      * @throws IOException in case there is an exception writing into output stream.
      */
     public void flush() throws IOException {
-        if (free < 8) {
-            os.write(buffer);
-            buffer = 0;
-            free = 8;
+        if (free < Long.SIZE) {
+            for (int shift = Long.SIZE - Byte.SIZE; shift >= free - Byte.SIZE + 1; shift -= Byte.SIZE) {
+                writeByte((byte) (buffer >>> shift));
+            }
+            buffer = 0L;
+            free = Long.SIZE;
+        }
+        if (os != null) {
+            drain();
+            os.flush();
+        }
+    }
+
+    /**
+     * Writes a full 64 bits word.
+     */
+    private void writeWord(final long word) throws IOException {
+        if (out.remaining() < WORD_BYTES) {
+            drain();
+        }
+        out.putLong(word);
+    }
+
+    /**
+     * Writes a single byte.
+     */
+    private void writeByte(final byte b) throws IOException {
+        if (!out.hasRemaining()) {
+            drain();
+        }
+        out.put(b);
+    }
+
+    /**
+     * Hands the content of the staging buffer to the output stream. Nothing is done when writing straight into a
+     * bytes buffer.
+     */
+    private void drain() throws IOException {
+        if (os != null) {
+            os.write(out.array(), 0, out.position());
+            out.clear();
         }
-        os.flush();
     }
 
 }
@@ -16,20 +16,14 @@
 
 package org.pebble.core.encoding;
 
-import it.unimi.dsi.fastutil.ints.Int2IntMap;
-import it.unimi.dsi.fastutil.ints.Int2IntRBTreeMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
-import it.unimi.dsi.fastutil.ints.IntSortedSet;
-import it.unimi.dsi.fastutil.longs.Long2IntMap;
-import it.unimi.dsi.fastutil.longs.Long2IntRBTreeMap;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrays;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongList;
-import it.unimi.dsi.fastutil.longs.LongRBTreeSet;
-import it.unimi.dsi.fastutil.longs.LongSortedSet;
 import org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore;
 import org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore;
 import org.pebble.core.exceptions.DeltaValueIsTooBigException;
@@ -37,6 +31,7 @@ import org.pebble.core.exceptions.NotStrictlyIncrementalListException;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 /**
  * Implements Pebble's core lists compression algorithms.
@@ -44,9 +39,17 @@ import java.io.OutputStream;
 public class OutputSuccinctStream extends OutputBitStream {
 
     private final int minIntervalSize;
-    private final IntList repeatsBuffer;
-    private final IntList blocksBuffer;
-    private final IntList intervalsBuffer;
+    private final IntList repeatsBuffer = new IntArrayList();
+    private final IntList blocksBuffer = new IntArrayList();
+    private final IntList intervalsBuffer = new IntArrayList();
+    private final LongList skipPointersBuffer = new LongArrayList();
+    private final IntArrayList intListBuffer = new IntArrayList();
+    private final LongArrayList longListBuffer = new LongArrayList();
+    private final IntArrayList intValuesBuffer = new IntArrayList();
+    private final LongArrayList longValuesBuffer = new LongArrayList();
+    private int[] sortedIntValues = IntArrays.EMPTY_ARRAY;
+    private long[] sortedLongValues = LongArrays.EMPTY_ARRAY;
+    private int[] indexes = IntArrays.EMPTY_ARRAY;
 
     /**
      * Initialize a stream that will write into the bytes array <code>a</code>.
@@ -55,9 +58,6 @@ public class OutputSuccinctStream extends OutputBitStream {
     public OutputSuccinctStream(final byte[] buffer) {
         super(buffer);
         minIntervalSize = DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE;
-        repeatsBuffer = new IntArrayList();
-        blocksBuffer = new IntArrayList();
-        intervalsBuffer = new IntArrayList();
     }
 
     /**
@@ -67,9 +67,6 @@ public class OutputSuccinctStream extends OutputBitStream {
     public OutputSuccinctStream(final OutputStream os) {
         super(os);
         minIntervalSize = DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE;
-        repeatsBuffer = new IntArrayList();
-        blocksBuffer = new IntArrayList();
-        intervalsBuffer = new IntArrayList();
     }
 
     /**
@@ -118,17 +115,16 @@ public class OutputSuccinctStream extends OutputBitStream {
         int repetitionStartIndex = -1;
         int lastRepetitionStartIndex;
         int numberOfRepetitions = 0;
-        final IntIterator listIterator = list.iterator();
+        final int size = list.size();
         repeatsBuffer.clear();
-        while (listIterator.hasNext()) {
+        for (int i = 0; i < size; i++) {
             lastValue = value;
-            value = listIterator.nextInt();
+            value = list.getInt(i);
             if (lastValue == value) {
                 if (numberOfRepetitions == 0) {
                     repetitionStartIndex = index;
                 }
                 numberOfRepetitions++;
-                listIterator.remove();
             } else {
                 if (numberOfRepetitions > 0) {
                     repeatsBuffer.add(repetitionStartIndex);
@@ -136,8 +132,10 @@ public class OutputSuccinctStream extends OutputBitStream {
                     numberOfRepetitions = 0;
                 }
                 index++;
+                list.set(index, value);
             }
         }
+        list.size(index + 1);
         if (numberOfRepetitions > 0) {
             repeatsBuffer.add(repetitionStartIndex);
             repeatsBuffer.add(numberOfRepetitions);
@@ -200,17 +198,16 @@ public class OutputSuccinctStream extends OutputBitStream {
         int repetitionStartIndex = -1;
         int lastRepetitionStartIndex;
         int numberOfRepetitions = 0;
-        final LongIterator listIterator = list.iterator();
+        final int size = list.size();
         repeatsBuffer.clear();
-        while (listIterator.hasNext()) {
+        for (int i = 0; i < size; i++) {
             lastValue = value;
-            value = listIterator.nextLong();
+            value = list.getLong(i);
             if (lastValue == value) {
                 if (numberOfRepetitions == 0) {
                     repetitionStartIndex = index;
                 }
                 numberOfRepetitions++;
-                listIterator.remove();
             } else {
                 if (numberOfRepetitions > 0) {
                     repeatsBuffer.add(repetitionStartIndex);
@@ -218,8 +215,10 @@ public class OutputSuccinctStream extends OutputBitStream {
                     numberOfRepetitions = 0;
                 }
                 index++;
+                list.set(index, value);
             }
         }
+        list.size(index + 1);
         if (numberOfRepetitions > 0) {
             repeatsBuffer.add(repetitionStartIndex);
             repeatsBuffer.add(numberOfRepetitions);
@@ -284,6 +283,38 @@ public class OutputSuccinctStream extends OutputBitStream {
         final IntList list,
         final int listIndex, final int valueBitSize,
         final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeReference(
+            list,
+            listIndex,
+            valueBitSize,
+            EncodingOptions.DEFAULT,
+            referenceListsStore
+        );
+    }
+
+    /**
+     * Writes the succinct reference representation of the given strictly incremental <code>list</code>, as
+     * {@link #writeReference(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeReference}
+     * does, writing the difference with the section length when <code>options</code> has section lengths (see
+     * {@link #writeDifference(it.unimi.dsi.fastutil.ints.IntList, it.unimi.dsi.fastutil.ints.IntList, org.pebble.core.encoding.EncodingOptions) writeDifference}).
+     * @param list from which it will encode the difference with the closest reference. List must be strictly
+     *             incremental with positives (including zero) values.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param options encoding options of the list. Only the section lengths are used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeReference(
+        final IntList list,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final IntReferenceListsStore referenceListsStore
     ) throws IOException {
         int offset = 0;
         IntReferenceListsStore.ReferenceList referenceList = referenceListsStore.get(list, valueBitSize, listIndex);
@@ -296,7 +327,11 @@ public class OutputSuccinctStream extends OutputBitStream {
             }
             referenceListsStore.add(listIndex, referenceList.getRecursiveReferences() + 1, list);
             offset += writeDelta(listIndex - referenceList.getOffset());
-            offset += writeDifference(list, referenceList.getList());
+            if (options.hasSectionLengths()) {
+                offset += writeDifference(list, referenceList.getList(), options);
+            } else {
+                offset += writeDifference(list, referenceList.getList());
+            }
         }
         return offset;
     }
@@ -349,6 +384,38 @@ public class OutputSuccinctStream extends OutputBitStream {
         final LongList list,
         final int listIndex, final int valueBitSize,
         final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeReference(
+            list,
+            listIndex,
+            valueBitSize,
+            EncodingOptions.DEFAULT,
+            referenceListsStore
+        );
+    }
+
+    /**
+     * Writes the succinct reference representation of the given strictly incremental <code>list</code>, as
+     * {@link #writeReference(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeReference}
+     * does, writing the difference with the section length when <code>options</code> has section lengths (see
+     * {@link #writeDifference(it.unimi.dsi.fastutil.longs.LongList, it.unimi.dsi.fastutil.longs.LongList, org.pebble.core.encoding.EncodingOptions) writeDifference}).
+     * @param list from which it will encode the difference with the closest reference. List must be strictly
+     *             incremental with positives (including zero) values.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options of the list. Only the section lengths are used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeReference(
+        final LongList list,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final LongReferenceListsStore referenceListsStore
     ) throws IOException {
         int offset = 0;
         LongReferenceListsStore.ReferenceList referenceList = referenceListsStore.get(list, valueBitSize, listIndex);
@@ -361,7 +428,11 @@ public class OutputSuccinctStream extends OutputBitStream {
             }
             referenceListsStore.add(listIndex, referenceList.getRecursiveReferences() + 1, list);
             offset += writeDelta(listIndex - referenceList.getOffset());
-            offset += writeDifference(list, referenceList.getList());
+            if (options.hasSectionLengths()) {
+                offset += writeDifference(list, referenceList.getList(), options);
+            } else {
+                offset += writeDifference(list, referenceList.getList());
+            }
         }
         return offset;
     }
@@ -407,11 +478,35 @@ public class OutputSuccinctStream extends OutputBitStream {
     protected int writeDifference(
         final LongList list,
         final LongList referenceList
+    ) throws IOException {
+        return writeDifference(list, referenceList, EncodingOptions.DEFAULT);
+    }
+
+    /**
+     * Writes the succinct difference representation between the given strictly incremental <code>list</code>
+     * and <code>referenceList</code>, as
+     * {@link #writeDifference(it.unimi.dsi.fastutil.longs.LongList, it.unimi.dsi.fastutil.longs.LongList) writeDifference}
+     * does. When <code>options</code> has section lengths, the number of bits used by the blocks sizes is written right
+     * after the bit of the first block, so readers can jump over the blocks.
+     * @param list from which it will encode the difference with the closest reference. List must be strictly
+     *             incremental with positives (including zero) values.
+     * @param referenceList reference list from which the difference will be computed.
+     * @param options encoding options of the list. Only the section lengths are used.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeDifference(
+        final LongList list,
+        final LongList referenceList,
+        final EncodingOptions options
     ) throws IOException {
         int offset = 0;
-        final LongIterator listIterator = list.listIterator();
+        final int size = list.size();
         final LongIterator referenceListIterator = referenceList.listIterator();
-        long listValue = listIterator.nextLong();
+        int index = 0;
+        int remainingSize = 0;
+        long listValue = list.getLong(index);
         long lastListValue;
         long referenceListValue = referenceListIterator.nextLong();
         int blockSize = 0;
@@ -428,23 +523,25 @@ public class OutputSuccinctStream extends OutputBitStream {
                     intersected = true;
                 }
                 pendingReference = false;
-                listIterator.remove();
-                if (!listIterator.hasNext() || !referenceListIterator.hasNext()) {
+                index++;
+                if (index == size || !referenceListIterator.hasNext()) {
                     break;
                 }
                 lastListValue = listValue;
-                listValue = listIterator.nextLong();
+                listValue = list.getLong(index);
                 if (lastListValue >= listValue) {
                     throw new NotStrictlyIncrementalListException(lastListValue, listValue);
                 }
                 referenceListValue = referenceListIterator.nextLong();
                 pendingReference = true;
             } else if (listValue < referenceListValue) {
-                if (!listIterator.hasNext()) {
+                list.set(remainingSize++, listValue);
+                index++;
+                if (index == size) {
                     break;
                 }
                 lastListValue = listValue;
-                listValue = listIterator.nextLong();
+                listValue = list.getLong(index);
                 if (lastListValue >= listValue) {
                     throw new NotStrictlyIncrementalListException(lastListValue, listValue);
                 }
@@ -465,6 +562,11 @@ public class OutputSuccinctStream extends OutputBitStream {
             }
         }
 
+        while (index < size) {
+            list.set(remainingSize++, list.getLong(index++));
+        }
+        list.size(remainingSize);
+
         while (referenceListIterator.hasNext()) {
             if (intersected) {
                 blocksBuffer.add(blockSize);
@@ -488,6 +590,9 @@ public class OutputSuccinctStream extends OutputBitStream {
         final boolean initialBit = (blocksBuffer.size() & 1) == 0 ? intersected : !intersected;
         offset += writeDelta(blocksBuffer.size());
         offset += writeBit(initialBit);
+        if (options.hasSectionLengths()) {
+            offset += writeDelta(blocksBits());
+        }
         final IntIterator blocksIterator = blocksBuffer.iterator();
         while (blocksIterator.hasNext()) {
             offset += writeDelta(blocksIterator.nextInt() - 1);
@@ -536,11 +641,35 @@ public class OutputSuccinctStream extends OutputBitStream {
     protected int writeDifference(
         final IntList list,
         final IntList referenceList
+    ) throws IOException {
+        return writeDifference(list, referenceList, EncodingOptions.DEFAULT);
+    }
+
+    /**
+     * Writes the succinct difference representation between the given strictly incremental <code>list</code>
+     * and <code>referenceList</code>, as
+     * {@link #writeDifference(it.unimi.dsi.fastutil.ints.IntList, it.unimi.dsi.fastutil.ints.IntList) writeDifference}
+     * does. When <code>options</code> has section lengths, the number of bits used by the blocks sizes is written right
+     * after the bit of the first block, so readers can jump over the blocks.
+     * @param list from which it will encode the difference with the closest reference. List must be strictly
+     *             incremental with positives (including zero) values.
+     * @param referenceList reference list from which the difference will be computed.
+     * @param options encoding options of the list. Only the section lengths are used.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeDifference(
+        final IntList list,
+        final IntList referenceList,
+        final EncodingOptions options
     ) throws IOException {
         int offset = 0;
-        final IntIterator listIterator = list.listIterator();
+        final int size = list.size();
         final IntIterator referenceListIterator = referenceList.listIterator();
-        int listValue = listIterator.nextInt();
+        int index = 0;
+        int remainingSize = 0;
+        int listValue = list.getInt(index);
         int lastListValue;
         int referenceListValue = referenceListIterator.nextInt();
         int blockSize = 0;
@@ -557,23 +686,25 @@ public class OutputSuccinctStream extends OutputBitStream {
                     intersected = true;
                 }
                 pendingReference = false;
-                listIterator.remove();
-                if (!listIterator.hasNext() || !referenceListIterator.hasNext()) {
+                index++;
+                if (index == size || !referenceListIterator.hasNext()) {
                     break;
                 }
                 lastListValue = listValue;
-                listValue = listIterator.nextInt();
+                listValue = list.getInt(index);
                 if (lastListValue >= listValue) {
                     throw new NotStrictlyIncrementalListException(lastListValue, listValue);
                 }
                 referenceListValue = referenceListIterator.nextInt();
                 pendingReference = true;
             } else if (listValue < referenceListValue) {
-                if (!listIterator.hasNext()) {
+                list.set(remainingSize++, listValue);
+                index++;
+                if (index == size) {
                     break;
                 }
                 lastListValue = listValue;
-                listValue = listIterator.nextInt();
+                listValue = list.getInt(index);
                 if (lastListValue >= listValue) {
                     throw new NotStrictlyIncrementalListException(lastListValue, listValue);
                 }
@@ -594,6 +725,11 @@ public class OutputSuccinctStream extends OutputBitStream {
             }
         }
 
+        while (index < size) {
+            list.set(remainingSize++, list.getInt(index++));
+        }
+        list.size(remainingSize);
+
         while (referenceListIterator.hasNext()) {
             if (intersected) {
                 blocksBuffer.add(blockSize);
@@ -617,6 +753,9 @@ public class OutputSuccinctStream extends OutputBitStream {
         final boolean initialBit = (blocksBuffer.size() & 1) == 0 ? intersected : !intersected;
         offset += writeDelta(blocksBuffer.size());
         offset += writeBit(initialBit);
+        if (options.hasSectionLengths()) {
+            offset += writeDelta(blocksBits());
+        }
         final IntIterator blocksIterator = blocksBuffer.iterator();
         while (blocksIterator.hasNext()) {
             offset += writeDelta(blocksIterator.nextInt() - 1);
@@ -624,6 +763,22 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    /**
+     * Writes the succinct intervals representation from strictly incremental <code>list</code>, as
+     * {@link #writeIntervals(it.unimi.dsi.fastutil.ints.IntList, int, org.pebble.core.encoding.EncodingOptions) writeIntervals} does, without skip
+     * pointers.
+     * @param list from which it will extracts the intervals to encode. List must be strictly incremental with
+     *             positives (including zero) values.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeIntervals(final IntList list, final int valueBitSize) throws IOException {
+        return writeIntervals(list, valueBitSize, EncodingOptions.DEFAULT);
+    }
+
     /**
      * Writes the succinct intervals representation from strictly incremental <code>list</code>. Where an interval
      * is an incremental consecutive sequence of numbers.
@@ -657,19 +812,41 @@ public class OutputSuccinctStream extends OutputBitStream {
      *     11-00 111 1 01-1 1 1 01-1                                 Binary Gamma Prefix and Binary Gamma Suffix.
      *     01100 111 1 0101 1 1 0101                                 Delta Encoding.
      * </pre>
+     * When the skip interval <code>skipInterval</code> of <code>options</code> is positive, skip pointers are written
+     * right after the first interval. There is a skip pointer for each interval at position
+     * <code>j * skipInterval</code>, containing:
+     * <ul>
+     *     <li>
+     *         The value on the beginning of the interval minus the value on the beginning of the interval of the
+     *         previous skip pointer minus <code>skipInterval</code>. The first skip pointer uses the first interval as
+     *         previous.
+     *     </li>
+     *     <li>The length of the interval minus the min interval size.</li>
+     *     <li>Number of bits used by the <code>skipInterval</code> intervals up to the interval, itself included.</li>
+     * </ul>
+     * Each number is stored using delta encoding. Skip pointers allow readers to jump over intervals.
+     * When <code>options</code> has section lengths, two more numbers are written right after the first interval,
+     * before the skip pointers: the number of bits used by the skip pointers and the number of bits used by the
+     * remaining intervals. Each number is stored using delta encoding. They allow readers to jump over the skip
+     * pointers and over the whole section.
      * @param list from which it will extracts the intervals to encode. List must be strictly incremental with
      *             positives (including zero) values.
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 31 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
      * @return number of written bits.
      * @throws IOException when there is an exception writing into <code>out</code>.
      * @throws IllegalArgumentException when the list is not strictly incremental.
      */
-    protected int writeIntervals(final IntList list, final int valueBitSize) throws IOException {
+    protected int writeIntervals(
+        final IntList list,
+        final int valueBitSize,
+        final EncodingOptions options
+    ) throws IOException {
         int offset = 0;
         intervalsBuffer.clear();
         if (list.size() >= minIntervalSize) {
-            IntIterator listIterator = list.iterator();
+            final IntIterator listIterator = list.iterator();
             int intervalInitialIndex = 0;
             int index = 1;
             int lastValue = listIterator.nextInt();
@@ -697,37 +874,42 @@ public class OutputSuccinctStream extends OutputBitStream {
             }
             offset += writeDelta(intervalsBuffer.size() / 2);
             if (!intervalsBuffer.isEmpty()) {
-                IntIterator intervalIterator = intervalsBuffer.iterator();
-                intervalInitialIndex = intervalIterator.nextInt();
+                skipPointersBuffer.clear();
+                if (options.getSkipInterval() > 0) {
+                    bufferIntervalsSkipPointers(list, options.getSkipInterval());
+                }
+                final int intervalsBits = options.hasSectionLengths() ? intervalsBits(list) : 0;
+                final int size = list.size();
+                int remainingSize = 0;
+                int intervalLength;
                 index = 0;
-                listIterator = list.iterator();
-                boolean firstWrite = true;
-                while (true) {
-                    value = listIterator.nextInt();
-                    if (index == intervalInitialIndex) {
-                        listIterator.remove();
-                        if (firstWrite) {
-                            offset += writeInt(value, valueBitSize);
-                            firstWrite = false;
-                        } else {
-                            deltaValue = value - lastValue - 2;
-                            offset += writeDelta(deltaValue);
-                        }
-                        intervalInitialIndex = intervalIterator.nextInt();
-                        offset += writeDelta(intervalInitialIndex - minIntervalSize);
-                        while (--intervalInitialIndex > 0) {
-                            value = listIterator.nextInt();
-                            listIterator.remove();
-                            index++;
-                        }
-                        lastValue = value;
-                        if (!intervalIterator.hasNext()) {
-                            break;
+                for (int i = 0; i < intervalsBuffer.size(); i += 2) {
+                    intervalInitialIndex = intervalsBuffer.getInt(i);
+                    intervalLength = intervalsBuffer.getInt(i + 1);
+                    while (index < intervalInitialIndex) {
+                        list.set(remainingSize++, list.getInt(index++));
+                    }
+                    value = list.getInt(intervalInitialIndex);
+                    if (i == 0) {
+                        offset += writeInt(value, valueBitSize);
+                    } else {
+                        offset += writeDelta(value - lastValue - 2);
+                    }
+                    offset += writeDelta(intervalLength - minIntervalSize);
+                    if (i == 0) {
+                        if (options.hasSectionLengths()) {
+                            offset += writeDelta(skipPointersBits());
+                            offset += writeDelta(intervalsBits);
                         }
-                        intervalInitialIndex = intervalIterator.nextInt();
+                        offset += writeSkipPointers();
                     }
-                    index++;
+                    index = intervalInitialIndex + intervalLength;
+                    lastValue = list.getInt(index - 1);
+                }
+                while (index < size) {
+                    list.set(remainingSize++, list.getInt(index++));
                 }
+                list.size(remainingSize);
             }
         } else {
             offset += writeDelta(0);
@@ -735,6 +917,43 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    private void bufferIntervalsSkipPointers(final IntList list, final int skipInterval) {
+        int bits = 0;
+        int sample = list.getInt(intervalsBuffer.getInt(0));
+        int lastValue = sample + intervalsBuffer.getInt(1) - 1;
+        int value;
+        int length;
+        for (int i = 1; i < intervalsBuffer.size() / 2; i++) {
+            value = list.getInt(intervalsBuffer.getInt(2 * i));
+            length = intervalsBuffer.getInt(2 * i + 1);
+            bits += deltaLength(value - lastValue - 2) + deltaLength(length - minIntervalSize);
+            if (i % skipInterval == 0) {
+                skipPointersBuffer.add(value - sample - skipInterval);
+                skipPointersBuffer.add(length - minIntervalSize);
+                skipPointersBuffer.add(bits);
+                sample = value;
+                bits = 0;
+            }
+            lastValue = value + length - 1;
+        }
+    }
+
+    /**
+     * Writes the succinct intervals representation from strictly incremental <code>list</code>, as
+     * {@link #writeIntervals(it.unimi.dsi.fastutil.longs.LongList, int, org.pebble.core.encoding.EncodingOptions) writeIntervals} does, without skip
+     * pointers.
+     * @param list from which it will extracts the intervals to encode. List must be strictly incremental with
+     *             positives (including zero) values.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeIntervals(final LongList list, final int valueBitSize) throws IOException {
+        return writeIntervals(list, valueBitSize, EncodingOptions.DEFAULT);
+    }
+
     /**
      * Writes the succinct intervals representation from strictly incremental <code>list</code>. Where an interval
      * is an incremental consecutive sequence of numbers.
@@ -768,19 +987,41 @@ public class OutputSuccinctStream extends OutputBitStream {
      *     11-00 111 1 01-1 1 1 01-1                                 Binary Gamma Prefix and Binary Gamma Suffix.
      *     01100 111 1 0101 1 1 0101                                 Delta Encoding.
      * </pre>
+     * When the skip interval <code>skipInterval</code> of <code>options</code> is positive, skip pointers are written
+     * right after the first interval. There is a skip pointer for each interval at position
+     * <code>j * skipInterval</code>, containing:
+     * <ul>
+     *     <li>
+     *         The value on the beginning of the interval minus the value on the beginning of the interval of the
+     *         previous skip pointer minus <code>skipInterval</code>. The first skip pointer uses the first interval as
+     *         previous.
+     *     </li>
+     *     <li>The length of the interval minus the min interval size.</li>
+     *     <li>Number of bits used by the <code>skipInterval</code> intervals up to the interval, itself included.</li>
+     * </ul>
+     * Each number is stored using delta encoding. Skip pointers allow readers to jump over intervals.
+     * When <code>options</code> has section lengths, two more numbers are written right after the first interval,
+     * before the skip pointers: the number of bits used by the skip pointers and the number of bits used by the
+     * remaining intervals. Each number is stored using delta encoding. They allow readers to jump over the skip
+     * pointers and over the whole section.
      * @param list from which it will extracts the intervals to encode. List must be strictly incremental with
      *             positives (including zero) values.
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 63 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
      * @return number of written bits.
      * @throws IOException when there is an exception writing into <code>out</code>.
      * @throws IllegalArgumentException when the list is not strictly incremental.
      */
-    protected int writeIntervals(final LongList list, final int valueBitSize) throws IOException {
+    protected int writeIntervals(
+        final LongList list,
+        final int valueBitSize,
+        final EncodingOptions options
+    ) throws IOException {
         int offset = 0;
         intervalsBuffer.clear();
         if (list.size() >= minIntervalSize) {
-            LongIterator listIterator = list.iterator();
+            final LongIterator listIterator = list.iterator();
             int intervalInitialIndex = 0;
             int index = 1;
             long lastValue = listIterator.nextLong();
@@ -808,40 +1049,46 @@ public class OutputSuccinctStream extends OutputBitStream {
             }
             offset += writeDelta(intervalsBuffer.size() / 2);
             if (!intervalsBuffer.isEmpty()) {
-                IntIterator intervalIterator = intervalsBuffer.iterator();
-                intervalInitialIndex = intervalIterator.nextInt();
+                skipPointersBuffer.clear();
+                if (options.getSkipInterval() > 0) {
+                    bufferIntervalsSkipPointers(list, options.getSkipInterval());
+                }
+                final int intervalsBits = options.hasSectionLengths() ? intervalsBits(list) : 0;
+                final int size = list.size();
+                int remainingSize = 0;
+                int intervalLength;
                 index = 0;
-                listIterator = list.iterator();
-                boolean firstWrite = true;
-                while (true) {
-                    value = listIterator.nextLong();
-                    if (index == intervalInitialIndex) {
-                        listIterator.remove();
-                        if (firstWrite) {
-                            offset += writeLong(value, valueBitSize);
-                            firstWrite = false;
-                        } else {
-                            deltaValue = value - lastValue - 2;
-                            if (deltaValue > Integer.MAX_VALUE) {
-                                throw new DeltaValueIsTooBigException(lastValue, value);
-                            }
-                            offset += writeDelta((int) deltaValue);
-                        }
-                        intervalInitialIndex = intervalIterator.nextInt();
-                        offset += writeDelta(intervalInitialIndex - minIntervalSize);
-                        while (--intervalInitialIndex > 0) {
-                            value = listIterator.nextLong();
-                            listIterator.remove();
-                            index++;
+                for (int i = 0; i < intervalsBuffer.size(); i += 2) {
+                    intervalInitialIndex = intervalsBuffer.getInt(i);
+                    intervalLength = intervalsBuffer.getInt(i + 1);
+                    while (index < intervalInitialIndex) {
+                        list.set(remainingSize++, list.getLong(index++));
+                    }
+                    value = list.getLong(intervalInitialIndex);
+                    if (i == 0) {
+                        offset += writeLong(value, valueBitSize);
+                    } else {
+                        deltaValue = value - lastValue - 2;
+                        if (deltaValue > Integer.MAX_VALUE) {
+                            throw new DeltaValueIsTooBigException(lastValue, value);
                         }
-                        lastValue = value;
-                        if (!intervalIterator.hasNext()) {
-                            break;
+                        offset += writeDelta((int) deltaValue);
+                    }
+                    offset += writeDelta(intervalLength - minIntervalSize);
+                    if (i == 0) {
+                        if (options.hasSectionLengths()) {
+                            offset += writeDelta(skipPointersBits());
+                            offset += writeDelta(intervalsBits);
                         }
-                        intervalInitialIndex = intervalIterator.nextInt();
+                        offset += writeSkipPointers();
                     }
-                    index++;
+                    index = intervalInitialIndex + intervalLength;
+                    lastValue = list.getLong(index - 1);
                 }
+                while (index < size) {
+                    list.set(remainingSize++, list.getLong(index++));
+                }
+                list.size(remainingSize);
             }
         } else {
             offset += writeDelta(0);
@@ -849,6 +1096,41 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    private void bufferIntervalsSkipPointers(final LongList list, final int skipInterval) {
+        int bits = 0;
+        long sample = list.getLong(intervalsBuffer.getInt(0));
+        long lastValue = sample + intervalsBuffer.getInt(1) - 1;
+        long value;
+        int length;
+        for (int i = 1; i < intervalsBuffer.size() / 2; i++) {
+            value = list.getLong(intervalsBuffer.getInt(2 * i));
+            length = intervalsBuffer.getInt(2 * i + 1);
+            bits += deltaLength(value - lastValue - 2) + deltaLength(length - minIntervalSize);
+            if (i % skipInterval == 0) {
+                skipPointersBuffer.add(value - sample - skipInterval);
+                skipPointersBuffer.add(length - minIntervalSize);
+                skipPointersBuffer.add(bits);
+                sample = value;
+                bits = 0;
+            }
+            lastValue = value + length - 1;
+        }
+    }
+
+    /**
+     * Writes the succinct delta representation for an strictly incremental <code>list</code>, as
+     * {@link #writeDelta(it.unimi.dsi.fastutil.ints.IntList, int, org.pebble.core.encoding.EncodingOptions) writeDelta} does, without skip pointers.
+     * @param list to encode. List must be strictly incremental with positives (including zero) values.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeDelta(final IntList list, final int valueBitSize) throws IOException {
+        return writeDelta(list, valueBitSize, EncodingOptions.DEFAULT);
+    }
+
     /**
      * Writes the succinct delta representation for an strictly incremental <code>list</code>.
      * <ul>
@@ -875,14 +1157,45 @@ public class OutputSuccinctStream extends OutputBitStream {
      *      11-11 1 1 1 01-0 01-0 01-1 Binary Gamma Prefix and Binary Gamma Suffix.
      *      01111 1 1 1 0100 0100 0101 Delta Encoding.
      * </pre>
+     * When the skip interval <code>skipInterval</code> of <code>options</code> is positive, skip pointers are written
+     * right after the first element. There is a skip pointer for each element at position
+     * <code>j * skipInterval</code>, containing:
+     * <ul>
+     *     <li>
+     *         The element minus the element of the previous skip pointer minus <code>skipInterval</code>. The first
+     *         skip pointer uses the first element as previous.
+     *     </li>
+     *     <li>Number of bits used by the deltas of the <code>skipInterval</code> elements up to the element.</li>
+     * </ul>
+     * Each number is stored using delta encoding. Skip pointers allow readers to jump over deltas when looking for
+     * the first element greater or equal than a given value. For the previous example and <code>skipInterval</code>
+     * = 2, the skip pointers are written after the first element:
+     * <pre>
+     *      0 2    2    8        Skip pointers: 3 - 1 - 2, 2 bits, 7 - 3 - 2, 8 bits.
+     *      1 0101 0101 00100001 Delta Encoding.
+     * </pre>
+     * When <code>options</code> has section lengths, two more numbers are written right after the first element,
+     * before the skip pointers: the number of bits used by the skip pointers and the number of bits used by the
+     * remaining deltas. Each number is stored using delta encoding. For the example <code>list</code>
+     * <pre>    {1, 2, 3, 5, 7, 10}</pre>
+     * , <code>valueBitSize</code> = 1 and no skip pointers, it will generate the following encoding:
+     * <pre>
+     *      6     1 0 14       0 0 1    1    2    Length, first element, section lengths and delta list.
+     *      01111 1 1 00100111 1 1 0100 0100 0101 Delta Encoding.
+     * </pre>
      * @param list to encode. List must be strictly incremental with positives (including zero) values.
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 31 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
      * @return number of written bits.
      * @throws IOException when there is an exception writing into <code>out</code>.
      * @throws IllegalArgumentException when the list is not strictly incremental.
      */
-    protected int writeDelta(final IntList list, final int valueBitSize) throws IOException {
+    protected int writeDelta(
+        final IntList list,
+        final int valueBitSize,
+        final EncodingOptions options
+    ) throws IOException {
         final IntIterator listIterator = list.iterator();
         int offset = writeDelta(list.size());
         if (listIterator.hasNext()) {
@@ -890,6 +1203,15 @@ public class OutputSuccinctStream extends OutputBitStream {
             int deltaValue;
             int lastValue = listIterator.nextInt();
             offset += writeInt(lastValue, valueBitSize);
+            skipPointersBuffer.clear();
+            if (options.getSkipInterval() > 0) {
+                bufferDeltaSkipPointers(list, options.getSkipInterval());
+            }
+            if (options.hasSectionLengths()) {
+                offset += writeDelta(skipPointersBits());
+                offset += writeDelta(deltasBits(list));
+            }
+            offset += writeSkipPointers();
             while (listIterator.hasNext()) {
                 value = listIterator.nextInt();
                 deltaValue = value - lastValue - 1;
@@ -903,6 +1225,42 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    private void bufferDeltaSkipPointers(final IntList list, final int skipInterval) {
+        skipPointersBuffer.clear();
+        int bits = 0;
+        int sample = list.getInt(0);
+        int lastValue = sample;
+        int value;
+        for (int i = 1; i < list.size(); i++) {
+            value = list.getInt(i);
+            if (value <= lastValue) {
+                throw new NotStrictlyIncrementalListException(lastValue, value);
+            }
+            bits += deltaLength(value - lastValue - 1);
+            if (i % skipInterval == 0) {
+                skipPointersBuffer.add(value - sample - skipInterval);
+                skipPointersBuffer.add(bits);
+                sample = value;
+                bits = 0;
+            }
+            lastValue = value;
+        }
+    }
+
+    /**
+     * Writes the succinct delta representation for an strictly incremental <code>list</code>, as
+     * {@link #writeDelta(it.unimi.dsi.fastutil.longs.LongList, int, org.pebble.core.encoding.EncodingOptions) writeDelta} does, without skip pointers.
+     * @param list to encode. List must be strictly incremental with positives (including zero) values.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @return number of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     * @throws IllegalArgumentException when the list is not strictly incremental.
+     */
+    protected int writeDelta(final LongList list, final int valueBitSize) throws IOException {
+        return writeDelta(list, valueBitSize, EncodingOptions.DEFAULT);
+    }
+
     /**
      * Writes the succinct delta representation for an strictly incremental <code>list</code>.
      * <ul>
@@ -929,14 +1287,45 @@ public class OutputSuccinctStream extends OutputBitStream {
      *      11-11 1 1 1 01-0 01-0 01-1 Binary Gamma Prefix and Binary Gamma Suffix.
      *      01111 1 1 1 0100 0100 0101 Delta Encoding.
      * </pre>
+     * When the skip interval <code>skipInterval</code> of <code>options</code> is positive, skip pointers are written
+     * right after the first element. There is a skip pointer for each element at position
+     * <code>j * skipInterval</code>, containing:
+     * <ul>
+     *     <li>
+     *         The element minus the element of the previous skip pointer minus <code>skipInterval</code>. The first
+     *         skip pointer uses the first element as previous.
+     *     </li>
+     *     <li>Number of bits used by the deltas of the <code>skipInterval</code> elements up to the element.</li>
+     * </ul>
+     * Each number is stored using delta encoding. Skip pointers allow readers to jump over deltas when looking for
+     * the first element greater or equal than a given value. For the previous example and <code>skipInterval</code>
+     * = 2, the skip pointers are written after the first element:
+     * <pre>
+     *      0 2    2    8        Skip pointers: 3 - 1 - 2, 2 bits, 7 - 3 - 2, 8 bits.
+     *      1 0101 0101 00100001 Delta Encoding.
+     * </pre>
+     * When <code>options</code> has section lengths, two more numbers are written right after the first element,
+     * before the skip pointers: the number of bits used by the skip pointers and the number of bits used by the
+     * remaining deltas. Each number is stored using delta encoding. For the example <code>list</code>
+     * <pre>    {1, 2, 3, 5, 7, 10}</pre>
+     * , <code>valueBitSize</code> = 1 and no skip pointers, it will generate the following encoding:
+     * <pre>
+     *      6     1 0 14       0 0 1    1    2    Length, first element, section lengths and delta list.
+     *      01111 1 1 00100111 1 1 0100 0100 0101 Delta Encoding.
+     * </pre>
      * @param list to encode. List must be strictly incremental with positives (including zero) values.
      * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
      *                     between 1bit and 63 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
      * @return number of written bits.
      * @throws IOException when there is an exception writing into <code>out</code>.
      * @throws IllegalArgumentException when the list is not strictly incremental.
      */
-    protected int writeDelta(final LongList list, final int valueBitSize) throws IOException {
+    protected int writeDelta(
+        final LongList list,
+        final int valueBitSize,
+        final EncodingOptions options
+    ) throws IOException {
         final LongIterator listIterator = list.iterator();
         int offset = writeDelta(list.size());
         if (listIterator.hasNext()) {
@@ -944,6 +1333,15 @@ public class OutputSuccinctStream extends OutputBitStream {
             long deltaValue;
             long lastValue = listIterator.nextLong();
             offset += writeLong(lastValue, valueBitSize);
+            skipPointersBuffer.clear();
+            if (options.getSkipInterval() > 0) {
+                bufferDeltaSkipPointers(list, options.getSkipInterval());
+            }
+            if (options.hasSectionLengths()) {
+                offset += writeDelta(skipPointersBits());
+                offset += writeDelta(deltasBits(list));
+            }
+            offset += writeSkipPointers();
             while (listIterator.hasNext()) {
                 value = listIterator.nextLong();
                 deltaValue = value - lastValue - 1;
@@ -959,6 +1357,110 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    private void bufferDeltaSkipPointers(final LongList list, final int skipInterval) {
+        skipPointersBuffer.clear();
+        int bits = 0;
+        long sample = list.getLong(0);
+        long lastValue = sample;
+        long value;
+        for (int i = 1; i < list.size(); i++) {
+            value = list.getLong(i);
+            if (value <= lastValue) {
+                throw new NotStrictlyIncrementalListException(lastValue, value);
+            }
+            bits += deltaLength(value - lastValue - 1);
+            if (i % skipInterval == 0) {
+                skipPointersBuffer.add(value - sample - skipInterval);
+                skipPointersBuffer.add(bits);
+                sample = value;
+                bits = 0;
+            }
+            lastValue = value;
+        }
+    }
+
+    private int writeSkipPointers() throws IOException {
+        int offset = 0;
+        for (int i = 0; i < skipPointersBuffer.size(); i++) {
+            offset += writeDelta(skipPointersBuffer.getLong(i));
+        }
+        return offset;
+    }
+
+    private int skipPointersBits() {
+        int bits = 0;
+        for (int i = 0; i < skipPointersBuffer.size(); i++) {
+            bits += deltaLength(skipPointersBuffer.getLong(i));
+        }
+        return bits;
+    }
+
+    private int blocksBits() {
+        int bits = 0;
+        for (int i = 0; i < blocksBuffer.size(); i++) {
+            bits += deltaLength(blocksBuffer.getInt(i) - 1);
+        }
+        return bits;
+    }
+
+    private int intervalsBits(final IntList list) {
+        int bits = 0;
+        int lastValue = list.getInt(intervalsBuffer.getInt(0)) + intervalsBuffer.getInt(1) - 1;
+        int value;
+        int length;
+        for (int i = 1; i < intervalsBuffer.size() / 2; i++) {
+            value = list.getInt(intervalsBuffer.getInt(2 * i));
+            length = intervalsBuffer.getInt(2 * i + 1);
+            bits += deltaLength(value - lastValue - 2) + deltaLength(length - minIntervalSize);
+            lastValue = value + length - 1;
+        }
+        return bits;
+    }
+
+    private int intervalsBits(final LongList list) {
+        int bits = 0;
+        long lastValue = list.getLong(intervalsBuffer.getInt(0)) + intervalsBuffer.getInt(1) - 1;
+        long value;
+        int length;
+        for (int i = 1; i < intervalsBuffer.size() / 2; i++) {
+            value = list.getLong(intervalsBuffer.getInt(2 * i));
+            length = intervalsBuffer.getInt(2 * i + 1);
+            bits += deltaLength(value - lastValue - 2) + deltaLength(length - minIntervalSize);
+            lastValue = value + length - 1;
+        }
+        return bits;
+    }
+
+    private static int deltasBits(final IntList list) {
+        int bits = 0;
+        int lastValue = list.getInt(0);
+        int value;
+        for (int i = 1; i < list.size(); i++) {
+            value = list.getInt(i);
+            if (value <= lastValue) {
+                throw new NotStrictlyIncrementalListException(lastValue, value);
+            }
+            bits += deltaLength(value - lastValue - 1);
+            lastValue = value;
+        }
+        return bits;
+    }
+
+    private static int deltasBits(final LongList list) {
+        int bits = 0;
+        long lastValue = list.getLong(0);
+        long value;
+        for (int i = 1; i < list.size(); i++) {
+            value = list.getLong(i);
+            if (value <= lastValue) {
+                throw new NotStrictlyIncrementalListException(lastValue, value);
+            }
+            bits += deltaLength(value - lastValue - 1);
+            lastValue = value;
+        }
+        return bits;
+    }
+
     /**
      * Writes the compressed representation of an strictly incremental list with positive numbers, including zero.
      * <ul>
@@ -990,20 +1492,126 @@ public class OutputSuccinctStream extends OutputBitStream {
         final int valueBitSize,
         final IntReferenceListsStore referenceListsStore
     ) throws IOException {
-        int offset = writeReference(list, listIndex, valueBitSize, referenceListsStore);
-        offset += writeIntervals(list, valueBitSize);
-        offset += writeDelta(list, valueBitSize);
-        return offset;
+        return writeStrictlyIncrementalList(
+            list,
+            listIndex,
+            valueBitSize,
+            EncodingOptions.DEFAULT,
+            referenceListsStore
+        );
     }
 
     /**
-     * Writes the compressed representation of an strictly incremental list with positive numbers, including zero.
-     * <ul>
-     *     <li>
-     *         Writes the reference (see
-     *         {@link #writeReference(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeReference}).
-     *     </li>
-     *     <li>
+     * Writes the compressed representation of the strictly incremental list given by the <code>length</code> elements
+     * of <code>values</code> starting at <code>from</code>, as
+     * {@link #writeStrictlyIncrementalList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeStrictlyIncrementalList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be strictly incremental with positives
+     *               (including zero) values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeStrictlyIncrementalList(
+        final int[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeStrictlyIncrementalList(
+            bufferIntList(values, from, length),
+            listIndex,
+            valueBitSize,
+            referenceListsStore
+        );
+    }
+
+    /**
+     * Writes the compressed representation of an strictly incremental list with positive numbers, including zero, as
+     * {@link #writeStrictlyIncrementalList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeStrictlyIncrementalList}
+     * does, using the given encoding <code>options</code>. When the skip interval of <code>options</code> is positive,
+     * skip pointers are written every skip interval intervals and deltas (see
+     * {@link #writeIntervals(it.unimi.dsi.fastutil.ints.IntList, int, org.pebble.core.encoding.EncodingOptions) writeIntervals} and
+     * {@link #writeDelta(it.unimi.dsi.fastutil.ints.IntList, int, org.pebble.core.encoding.EncodingOptions) writeDelta}). When <code>options</code> has
+     * section lengths, each section is written with the number of bits of its body (see
+     * {@link #writeDifference(it.unimi.dsi.fastutil.ints.IntList, it.unimi.dsi.fastutil.ints.IntList, org.pebble.core.encoding.EncodingOptions) writeDifference}), so readers can place
+     * the cursor of each section without reading the previous ones. The same <code>options</code> must be used to
+     * read the list back.
+     *
+     * @param list list to be written. The list must be strictly incremental with positives (including zero) values.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeStrictlyIncrementalList(
+        final IntList list,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        int offset = writeReference(list, listIndex, valueBitSize, options, referenceListsStore);
+        offset += writeIntervals(list, valueBitSize, options);
+        offset += writeDelta(list, valueBitSize, options);
+        return offset;
+    }
+
+    /**
+     * Writes the compressed representation of the strictly incremental list given by the <code>length</code> elements
+     * of <code>values</code> starting at <code>from</code>, as
+     * {@link #writeStrictlyIncrementalList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeStrictlyIncrementalList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be strictly incremental with positives
+     *               (including zero) values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeStrictlyIncrementalList(
+        final int[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeStrictlyIncrementalList(
+            bufferIntList(values, from, length),
+            listIndex,
+            valueBitSize,
+            options,
+            referenceListsStore
+        );
+    }
+
+    /**
+     * Writes the compressed representation of an strictly incremental list with positive numbers, including zero.
+     * <ul>
+     *     <li>
+     *         Writes the reference (see
+     *         {@link #writeReference(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeReference}).
+     *     </li>
+     *     <li>
      *         Writes the intervals from remaining list (see
      *         {@link #writeIntervals(it.unimi.dsi.fastutil.longs.LongList, int) writeIntervals}).
      *     </li>
@@ -1027,12 +1635,118 @@ public class OutputSuccinctStream extends OutputBitStream {
         final int valueBitSize,
         final LongReferenceListsStore referenceListsStore
     ) throws IOException {
-        int offset = writeReference(list, listIndex, valueBitSize, referenceListsStore);
-        offset += writeIntervals(list, valueBitSize);
-        offset += writeDelta(list, valueBitSize);
+        return writeStrictlyIncrementalList(
+            list,
+            listIndex,
+            valueBitSize,
+            EncodingOptions.DEFAULT,
+            referenceListsStore
+        );
+    }
+
+    /**
+     * Writes the compressed representation of the strictly incremental list given by the <code>length</code> elements
+     * of <code>values</code> starting at <code>from</code>, as
+     * {@link #writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be strictly incremental with positives
+     *               (including zero) values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeStrictlyIncrementalList(
+        final long[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeStrictlyIncrementalList(
+            bufferLongList(values, from, length),
+            listIndex,
+            valueBitSize,
+            referenceListsStore
+        );
+    }
+
+    /**
+     * Writes the compressed representation of an strictly incremental list with positive numbers, including zero, as
+     * {@link #writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}
+     * does, using the given encoding <code>options</code>. When the skip interval of <code>options</code> is positive,
+     * skip pointers are written every skip interval intervals and deltas (see
+     * {@link #writeIntervals(it.unimi.dsi.fastutil.longs.LongList, int, org.pebble.core.encoding.EncodingOptions) writeIntervals} and
+     * {@link #writeDelta(it.unimi.dsi.fastutil.longs.LongList, int, org.pebble.core.encoding.EncodingOptions) writeDelta}). When <code>options</code> has
+     * section lengths, each section is written with the number of bits of its body (see
+     * {@link #writeDifference(it.unimi.dsi.fastutil.longs.LongList, it.unimi.dsi.fastutil.longs.LongList, org.pebble.core.encoding.EncodingOptions) writeDifference}), so readers can place
+     * the cursor of each section without reading the previous ones. The same <code>options</code> must be used to
+     * read the list back.
+     *
+     * @param list list to be written. The list must be strictly incremental with positives (including zero) values.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeStrictlyIncrementalList(
+        final LongList list,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        int offset = writeReference(list, listIndex, valueBitSize, options, referenceListsStore);
+        offset += writeIntervals(list, valueBitSize, options);
+        offset += writeDelta(list, valueBitSize, options);
         return offset;
     }
 
+    /**
+     * Writes the compressed representation of the strictly incremental list given by the <code>length</code> elements
+     * of <code>values</code> starting at <code>from</code>, as
+     * {@link #writeStrictlyIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeStrictlyIncrementalList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be strictly incremental with positives
+     *               (including zero) values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options of the list. Only the skip interval and the section lengths are used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeStrictlyIncrementalList(
+        final long[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeStrictlyIncrementalList(
+            bufferLongList(values, from, length),
+            listIndex,
+            valueBitSize,
+            options,
+            referenceListsStore
+        );
+    }
+
     /**
      * Writes the compressed representation of an incremental list with positive numbers, including zero.
      * <ul>
@@ -1075,6 +1789,34 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    /**
+     * Writes the compressed representation of the incremental list given by the <code>length</code> elements of
+     * <code>values</code> starting at <code>from</code>, as
+     * {@link #writeIncrementalList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeIncrementalList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be an incremental with positives (including
+     *               zero) values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeIncrementalList(
+        final int[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeIncrementalList(bufferIntList(values, from, length), listIndex, valueBitSize, referenceListsStore);
+    }
+
     /**
      * Writes the compressed representation of an incremental list with positive numbers, including zero.
      * <ul>
@@ -1117,6 +1859,34 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    /**
+     * Writes the compressed representation of the incremental list given by the <code>length</code> elements of
+     * <code>values</code> starting at <code>from</code>, as
+     * {@link #writeIncrementalList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeIncrementalList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be an incremental with positives (including
+     *               zero) values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeIncrementalList(
+        final long[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeIncrementalList(bufferLongList(values, from, length), listIndex, valueBitSize, referenceListsStore);
+    }
+
     /**
      * Writes the compressed representation of a list with positive numbers, including zero.
      * <ul>
@@ -1173,26 +1943,97 @@ public class OutputSuccinctStream extends OutputBitStream {
         final int listIndex,
         final int valueBitSize,
         final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeList(list, listIndex, valueBitSize, EncodingOptions.DEFAULT, referenceListsStore);
+    }
+
+    /**
+     * Writes the compressed representation of the list given by the <code>length</code> elements of <code>values</code>
+     * starting at <code>from</code>, as
+     * {@link #writeList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be contains positives (including zero)
+     *               values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeList(
+        final int[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeList(bufferIntList(values, from, length), listIndex, valueBitSize, referenceListsStore);
+    }
+
+    /**
+     * Writes the compressed representation of a list with positive numbers, including zero, as
+     * {@link #writeList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeList}
+     * does, using the given encoding <code>options</code>. When the checkpoint interval <code>checkpointInterval</code>
+     * of <code>options</code> is positive, checkpoints are written right after the difference between the size of the
+     * list of values and the size of the list of indexes, before the indexes. There is a checkpoint for each position
+     * <code>j * checkpointInterval</code> of the list, containing:
+     * <ul>
+     *     <li>The index, on the list of values, of the element on the previous position.</li>
+     *     <li>Number of bits used by the indexes from the beginning of the list up to the previous position.</li>
+     * </ul>
+     * Both numbers are stored in binary representation, with the same number of bits on every checkpoint of the list.
+     * These two numbers of bits are written first using delta encoding. So readers can jump straight into any
+     * checkpoint, and from it into its index, decoding the element on a given position starting from the closest
+     * previous checkpoint, instead of from the beginning of the list. For the example <code>list</code>
+     * <pre>    {13, 13, 5, 8, 5, 8, 12, 13, 12, 12}</pre>
+     * and <code>checkpointInterval</code> = 4, the following checkpoints are written before the indexes:
+     * <pre>
+     *     2    5     1  15    3  31    Numbers of bits 2 and 5, index 1 and 15 bits, index 3 and 31 bits.
+     *     0101 01110 01 01111 11 11111 Delta encoding and binary representation.
+     * </pre>
+     * @param list to be written. The list must be contains positives (including zero) values.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param options encoding options of the list. Only the checkpoint interval is used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeList(
+        final IntList list,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final IntReferenceListsStore referenceListsStore
     ) throws IOException {
         final int listSize = list.size();
-        final IntSortedSet values = new IntRBTreeSet(list);
-        int offset = writeStrictlyIncrementalList(
-            new IntArrayList(values),
-            listIndex,
-            valueBitSize,
-            referenceListsStore
-        );
-        final Int2IntMap valuesIndex = new Int2IntRBTreeMap();
-        final IntIterator valuesIterator = values.iterator();
-        int index = 0;
-        while (valuesIterator.hasNext()) {
-            valuesIndex.put(valuesIterator.nextInt(), index++);
+        sortedIntValues = IntArrays.grow(sortedIntValues, listSize);
+        list.getElements(0, sortedIntValues, 0, listSize);
+        IntArrays.radixSort(sortedIntValues, 0, listSize);
+        final int valuesSize = removeRepetitions(sortedIntValues, listSize);
+        intValuesBuffer.size(0);
+        intValuesBuffer.addElements(0, sortedIntValues, 0, valuesSize);
+        int offset = writeStrictlyIncrementalList(intValuesBuffer, listIndex, valueBitSize, referenceListsStore);
+        indexes = IntArrays.grow(indexes, listSize);
+        for (int i = 0; i < listSize; i++) {
+            indexes[i] = Arrays.binarySearch(sortedIntValues, 0, valuesSize, list.getInt(i));
         }
-        offset += writeDelta(listSize - values.size());
-        final IntIterator listIterator = list.iterator();
+        offset += writeDelta(listSize - valuesSize);
+        skipPointersBuffer.clear();
+        if (options.getCheckpointInterval() > 0) {
+            bufferCheckpoints(listSize, options.getCheckpointInterval());
+        }
+        offset += writeCheckpoints();
         int lastIndex = 0;
-        while (listIterator.hasNext()) {
-            index = valuesIndex.get(listIterator.nextInt());
+        int index;
+        for (int i = 0; i < listSize; i++) {
+            index = indexes[i];
             if (lastIndex <= index) {
                 offset += writeDelta(2 * (index - lastIndex));
             } else {
@@ -1203,6 +2044,42 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    /**
+     * Writes the compressed representation of the list given by the <code>length</code> elements of <code>values</code>
+     * starting at <code>from</code>, as
+     * {@link #writeList(it.unimi.dsi.fastutil.ints.IntList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore) writeList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be contains positives (including zero)
+     *               values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param options encoding options of the list. Only the checkpoint interval is used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeList(
+        final int[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final IntReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeList(
+            bufferIntList(values, from, length),
+            listIndex,
+            valueBitSize,
+            options,
+            referenceListsStore
+        );
+    }
+
     /**
      * Writes the compressed representation of a list with positive numbers, including zero.
      * <ul>
@@ -1259,26 +2136,97 @@ public class OutputSuccinctStream extends OutputBitStream {
         final int listIndex,
         final int valueBitSize,
         final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeList(list, listIndex, valueBitSize, EncodingOptions.DEFAULT, referenceListsStore);
+    }
+
+    /**
+     * Writes the compressed representation of the list given by the <code>length</code> elements of <code>values</code>
+     * starting at <code>from</code>, as
+     * {@link #writeList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be contains positives (including zero)
+     *               values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeList(
+        final long[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeList(bufferLongList(values, from, length), listIndex, valueBitSize, referenceListsStore);
+    }
+
+    /**
+     * Writes the compressed representation of a list with positive numbers, including zero, as
+     * {@link #writeList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeList}
+     * does, using the given encoding <code>options</code>. When the checkpoint interval <code>checkpointInterval</code>
+     * of <code>options</code> is positive, checkpoints are written right after the difference between the size of the
+     * list of values and the size of the list of indexes, before the indexes. There is a checkpoint for each position
+     * <code>j * checkpointInterval</code> of the list, containing:
+     * <ul>
+     *     <li>The index, on the list of values, of the element on the previous position.</li>
+     *     <li>Number of bits used by the indexes from the beginning of the list up to the previous position.</li>
+     * </ul>
+     * Both numbers are stored in binary representation, with the same number of bits on every checkpoint of the list.
+     * These two numbers of bits are written first using delta encoding. So readers can jump straight into any
+     * checkpoint, and from it into its index, decoding the element on a given position starting from the closest
+     * previous checkpoint, instead of from the beginning of the list. For the example <code>list</code>
+     * <pre>    {13, 13, 5, 8, 5, 8, 12, 13, 12, 12}</pre>
+     * and <code>checkpointInterval</code> = 4, the following checkpoints are written before the indexes:
+     * <pre>
+     *     2    5     1  15    3  31    Numbers of bits 2 and 5, index 1 and 15 bits, index 3 and 31 bits.
+     *     0101 01110 01 01111 11 11111 Delta encoding and binary representation.
+     * </pre>
+     * @param list to be written. The list must be contains positives (including zero) values.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options of the list. Only the checkpoint interval is used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeList(
+        final LongList list,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final LongReferenceListsStore referenceListsStore
     ) throws IOException {
         final int listSize = list.size();
-        final LongSortedSet values = new LongRBTreeSet(list);
-        int offset = writeStrictlyIncrementalList(
-            new LongArrayList(values),
-            listIndex,
-            valueBitSize,
-            referenceListsStore
-        );
-        final Long2IntMap valuesIndex = new Long2IntRBTreeMap();
-        final LongIterator valuesIterator = values.iterator();
-        int index = 0;
-        while (valuesIterator.hasNext()) {
-            valuesIndex.put(valuesIterator.nextLong(), index++);
+        sortedLongValues = LongArrays.grow(sortedLongValues, listSize);
+        list.getElements(0, sortedLongValues, 0, listSize);
+        LongArrays.radixSort(sortedLongValues, 0, listSize);
+        final int valuesSize = removeRepetitions(sortedLongValues, listSize);
+        longValuesBuffer.size(0);
+        longValuesBuffer.addElements(0, sortedLongValues, 0, valuesSize);
+        int offset = writeStrictlyIncrementalList(longValuesBuffer, listIndex, valueBitSize, referenceListsStore);
+        indexes = IntArrays.grow(indexes, listSize);
+        for (int i = 0; i < listSize; i++) {
+            indexes[i] = Arrays.binarySearch(sortedLongValues, 0, valuesSize, list.getLong(i));
         }
-        offset += writeDelta(listSize - values.size());
-        final LongIterator listIterator = list.iterator();
+        offset += writeDelta(listSize - valuesSize);
+        skipPointersBuffer.clear();
+        if (options.getCheckpointInterval() > 0) {
+            bufferCheckpoints(listSize, options.getCheckpointInterval());
+        }
+        offset += writeCheckpoints();
         int lastIndex = 0;
-        while (listIterator.hasNext()) {
-            index = valuesIndex.get(listIterator.nextLong());
+        int index;
+        for (int i = 0; i < listSize; i++) {
+            index = indexes[i];
             if (lastIndex <= index) {
                 offset += writeDelta(2 * (index - lastIndex));
             } else {
@@ -1289,4 +2237,106 @@ public class OutputSuccinctStream extends OutputBitStream {
         return offset;
     }
 
+    /**
+     * Writes the compressed representation of the list given by the <code>length</code> elements of <code>values</code>
+     * starting at <code>from</code>, as
+     * {@link #writeList(it.unimi.dsi.fastutil.longs.LongList, int, int, org.pebble.core.encoding.EncodingOptions, org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore) writeList}
+     * does. <code>values</code> is not modified, the elements are copied into a buffer reused between calls, so there
+     * is no need to copy the list before writing it, and the output is the same.
+     * @param values array containing the list to be written. The list must be contains positives (including zero)
+     *               values.
+     * @param from position of the first element of the list on <code>values</code>.
+     * @param length number of elements of the list.
+     * @param listIndex offset of the given <code>list</code>.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 63 bits.
+     * @param options encoding options of the list. Only the checkpoint interval is used.
+     * @param referenceListsStore store that contains all available references lists.
+     * @return numbers of written bits.
+     * @throws IOException when there is an exception writing into <code>out</code>.
+     */
+    public int writeList(
+        final long[] values,
+        final int from,
+        final int length,
+        final int listIndex,
+        final int valueBitSize,
+        final EncodingOptions options,
+        final LongReferenceListsStore referenceListsStore
+    ) throws IOException {
+        return writeList(
+            bufferLongList(values, from, length),
+            listIndex,
+            valueBitSize,
+            options,
+            referenceListsStore
+        );
+    }
+
+    private IntList bufferIntList(final int[] values, final int from, final int length) {
+        intListBuffer.size(0);
+        intListBuffer.addElements(0, values, from, length);
+        return intListBuffer;
+    }
+
+    private LongList bufferLongList(final long[] values, final int from, final int length) {
+        longListBuffer.size(0);
+        longListBuffer.addElements(0, values, from, length);
+        return longListBuffer;
+    }
+
+    private void bufferCheckpoints(final int listSize, final int checkpointInterval) {
+        int bits = 0;
+        int lastIndex = 0;
+        int index;
+        for (int i = 0; i < listSize; i++) {
+            if (i > 0 && i % checkpointInterval == 0) {
+                skipPointersBuffer.add(lastIndex);
+                skipPointersBuffer.add(bits);
+            }
+            index = indexes[i];
+            bits += deltaLength(lastIndex <= index ? 2 * (index - lastIndex) : 2 * (lastIndex - index) - 1);
+            lastIndex = index;
+        }
+    }
+
+    private int writeCheckpoints() throws IOException {
+        int offset = 0;
+        if (!skipPointersBuffer.isEmpty()) {
+            int indexSize = 1;
+            int bitsSize = 1;
+            for (int i = 0; i < skipPointersBuffer.size(); i += 2) {
+                indexSize = Math.max(indexSize, Long.SIZE - Long.numberOfLeadingZeros(skipPointersBuffer.getLong(i)));
+                bitsSize = Math.max(bitsSize, Long.SIZE - Long.numberOfLeadingZeros(skipPointersBuffer.getLong(i + 1)));
+            }
+            offset += writeDelta(indexSize);
+            offset += writeDelta(bitsSize);
+            for (int i = 0; i < skipPointersBuffer.size(); i += 2) {
+                offset += writeLong(skipPointersBuffer.getLong(i), indexSize);
+                offset += writeLong(skipPointersBuffer.getLong(i + 1), bitsSize);
+            }
+        }
+        return offset;
+    }
+
+    private static int removeRepetitions(final int[] values, final int size) {
+        int distinctSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinctSize == 0 || values[distinctSize - 1] != values[i]) {
+                values[distinctSize++] = values[i];
+            }
+        }
+        return distinctSize;
+    }
+
+    private static int removeRepetitions(final long[] values, final int size) {
+        int distinctSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinctSize == 0 || values[distinctSize - 1] != values[i]) {
+                values[distinctSize++] = values[i];
+            }
+        }
+        return distinctSize;
+    }
+
 }
@@ -286,6 +286,33 @@ public class OutputOffset {
         18, 18, 18, 18, 18, 18, 18, 18, 18, 18, 18, 18, 18, 18, 18, 18
     };
 
+    /**
+     * min number of bits of a difference representation, given by the delta encoded number of blocks and the initial
+     * bit.
+     */
+    protected static final int MIN_DIFFERENCE_OFFSET = 2;
+
+    /**
+     * position of the number of bits of the difference representation on the offsets filled by the estimations.
+     */
+    public static final int DIFFERENCE_OFFSET = 0;
+
+    /**
+     * position of the number of bits of the intervals representation on the offsets filled by the estimations.
+     */
+    public static final int INTERVALS_OFFSET = 1;
+
+    /**
+     * position of the number of bits of the delta representation of the residual elements, the ones that are neither
+     * in the reference list nor in the intervals, on the offsets filled by the estimations.
+     */
+    public static final int RESIDUALS_OFFSET = 2;
+
+    /**
+     * number of offsets filled by the estimations.
+     */
+    public static final int OFFSETS_SIZE = 3;
+
     /**
      * min size of intervals used to encode the compressed list.
      */
@@ -45,7 +45,23 @@ public class IntOutputOffset extends OutputOffset {
      * @return number of representation bits.
      */
     public int getWriteDifferenceOffset(final IntList list, final IntList referenceList) {
+        return getWriteDifferenceOffset(list, referenceList, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Estimates the number of bits required for the succinct difference representation between the given strictly
+     * incremental <code>list</code> and <code>referenceList</code>, stopping as soon as the estimation is greater
+     * than <code>maxOffset</code>. In that case the elements of <code>list</code> after the last one compared are not
+     * removed, and the returned value is only a lower bound greater than <code>maxOffset</code>.
+     * @param list from which it will encode the difference with the closest reference.
+     * @param referenceList reference list from which the difference will be computed. List must be strictly incremental
+     *                      with positives (including zero) values.
+     * @param maxOffset number of bits from which the estimation is stopped.
+     * @return number of representation bits, or a lower bound of it greater than <code>maxOffset</code>.
+     */
+    public int getWriteDifferenceOffset(final IntList list, final IntList referenceList, final int maxOffset) {
         int offset = 0;
+        int blocksOffset = 0;
         final IntIterator listIterator = list.listIterator();
         final IntIterator referenceListIterator = referenceList.listIterator();
         int listValue = listIterator.nextInt();
@@ -55,11 +71,14 @@ public class IntOutputOffset extends OutputOffset {
         boolean intersected = true;
         blocksBuffer.clear();
         while (true) {
+            if (blocksOffset + MIN_DIFFERENCE_OFFSET > maxOffset) {
+                return blocksOffset + MIN_DIFFERENCE_OFFSET;
+            }
             if (listValue == referenceListValue) {
                 if (intersected) {
                     blockSize++;
                 } else {
-                    blocksBuffer.add(blockSize);
+                    blocksOffset += addBlock(blockSize);
                     blockSize = 1;
                     intersected = true;
                 }
@@ -78,7 +97,7 @@ public class IntOutputOffset extends OutputOffset {
                 listValue = listIterator.nextInt();
             } else {
                 if (intersected) {
-                    blocksBuffer.add(blockSize);
+                    blocksOffset += addBlock(blockSize);
                     blockSize = 1;
                     intersected = false;
                 } else {
@@ -94,8 +113,11 @@ public class IntOutputOffset extends OutputOffset {
         }
 
         while (referenceListIterator.hasNext()) {
+            if (blocksOffset + MIN_DIFFERENCE_OFFSET > maxOffset) {
+                return blocksOffset + MIN_DIFFERENCE_OFFSET;
+            }
             if (intersected) {
-                blocksBuffer.add(blockSize);
+                blocksOffset += addBlock(blockSize);
                 blockSize = 1;
                 intersected = false;
             } else {
@@ -105,7 +127,7 @@ public class IntOutputOffset extends OutputOffset {
         }
 
         if (pendingReference && intersected) {
-            blocksBuffer.add(blockSize);
+            blocksOffset += addBlock(blockSize);
             intersected = false;
         }
 
@@ -116,10 +138,7 @@ public class IntOutputOffset extends OutputOffset {
         final boolean initialBit = (blocksBuffer.size() & 1) == 0 ? intersected : !intersected;
         offset += getWriteDeltaOffset(blocksBuffer.size());
         offset += writeBitOffset(initialBit);
-        final IntIterator blocksIterator = blocksBuffer.iterator();
-        while (blocksIterator.hasNext()) {
-            offset += getWriteDeltaOffset(blocksIterator.nextInt() - 1);
-        }
+        offset += blocksOffset;
         return offset;
     }
 
@@ -228,6 +247,159 @@ public class IntOutputOffset extends OutputOffset {
         return offset;
     }
 
+    /**
+     * Estimates the number of bits required for the succinct intervals and delta representations of the strictly
+     * incremental slice of <code>list</code> starting at <code>from</code>, as
+     * {@link #getWriteIntervalsOffset(it.unimi.dsi.fastutil.ints.IntList, int) getWriteIntervalsOffset} followed by
+     * {@link #getWriteDeltaOffset(it.unimi.dsi.fastutil.ints.IntList, int) getWriteDeltaOffset} do, in a single pass
+     * that neither modifies <code>list</code> nor allocates memory.
+     * @param list from which it will extracts the intervals and the residual elements to encode. List must be
+     *             strictly incremental with positives (including zero) values.
+     * @param from position of the first element of the slice.
+     * @param length number of elements of the slice.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param offsets array of at least {@link #OFFSETS_SIZE} elements where the number of bits of each
+     *                representation is stored, in {@link #DIFFERENCE_OFFSET} (always zero), {@link #INTERVALS_OFFSET}
+     *                and {@link #RESIDUALS_OFFSET}.
+     * @return number of representation bits.
+     */
+    public int getWriteOffsets(
+        final int[] list,
+        final int from,
+        final int length,
+        final int valueBitSize,
+        final int[] offsets
+    ) {
+        offsets[DIFFERENCE_OFFSET] = 0;
+        return getWriteOffsets(list, from, length, valueBitSize, 0, Integer.MAX_VALUE, offsets);
+    }
+
+    /**
+     * Estimates the number of bits required for the succinct difference representation between the strictly
+     * incremental slices of <code>list</code> and <code>referenceList</code>, and the succinct intervals and delta
+     * representations of the elements of <code>list</code> that are not in <code>referenceList</code>. This is the
+     * same estimation given by
+     * {@link #getWriteDifferenceOffset(it.unimi.dsi.fastutil.ints.IntList, it.unimi.dsi.fastutil.ints.IntList, int) getWriteDifferenceOffset},
+     * {@link #getWriteIntervalsOffset(it.unimi.dsi.fastutil.ints.IntList, int) getWriteIntervalsOffset} and
+     * {@link #getWriteDeltaOffset(it.unimi.dsi.fastutil.ints.IntList, int) getWriteDeltaOffset} on a copy of the list,
+     * but <code>list</code> is not modified and no memory is allocated, the elements not in
+     * <code>referenceList</code> are copied into <code>residuals</code> instead. The estimation is stopped as soon as
+     * it is greater than <code>maxOffset</code>, in which case the returned value is only a lower bound greater than
+     * <code>maxOffset</code>.
+     * @param list from which it will encode the difference with the closest reference. List must be strictly
+     *             incremental with positives (including zero) values.
+     * @param from position of the first element of the slice of <code>list</code>.
+     * @param length number of elements of the slice of <code>list</code>. It must be positive.
+     * @param referenceList reference list from which the difference will be computed. List must be strictly incremental
+     *                      with positives (including zero) values.
+     * @param referenceFrom position of the first element of the slice of <code>referenceList</code>.
+     * @param referenceLength number of elements of the slice of <code>referenceList</code>. It must be positive.
+     * @param valueBitSize fixed number of bits used to represent value in list to be encoded. It can be any value
+     *                     between 1bit and 31 bits.
+     * @param maxOffset number of bits from which the estimation is stopped.
+     * @param residuals scratch buffer of at least <code>length</code> elements.
+     * @param offsets array of at least {@link #OFFSETS_SIZE} elements where the number of bits of each
+     *                representation is stored, in {@link #DIFFERENCE_OFFSET}, {@link #INTERVALS_OFFSET} and
+     *                {@link #RESIDUALS_OFFSET}.
+     * @return number of representation bits, or a lower bound of it greater than <code>maxOffset</code>.
+     */
+    public int getWriteOffsets(
+        final int[] list,
+        final int from,
+        final int length,
+        final int[] referenceList,
+        final int referenceFrom,
+        final int referenceLength,
+        final int valueBitSize,
+        final int maxOffset,
+        final int[] residuals,
+        final int[] offsets
+    ) {
+        final int to = from + length;
+        final int referenceTo = referenceFrom + referenceLength;
+        int index = from;
+        int referenceIndex = referenceFrom;
+        int residualsLength = 0;
+        int blocks = 0;
+        int blocksOffset = 0;
+        int blockSize = 0;
+        boolean pendingReference = false;
+        boolean intersected = true;
+        while (true) {
+            if (blocksOffset + MIN_DIFFERENCE_OFFSET > maxOffset) {
+                return stopOffsets(blocksOffset + MIN_DIFFERENCE_OFFSET, offsets);
+            }
+            if (list[index] == referenceList[referenceIndex]) {
+                if (!intersected) {
+                    blocksOffset += getBlockOffset(blockSize);
+                    blocks++;
+                    blockSize = 0;
+                    intersected = true;
+                }
+                blockSize++;
+                pendingReference = false;
+                index++;
+                if (index == to || referenceIndex + 1 == referenceTo) {
+                    break;
+                }
+                referenceIndex++;
+                pendingReference = true;
+            } else if (list[index] < referenceList[referenceIndex]) {
+                residuals[residualsLength++] = list[index++];
+                if (index == to) {
+                    break;
+                }
+            } else {
+                if (intersected) {
+                    blocksOffset += getBlockOffset(blockSize);
+                    blocks += blockSize == 0 ? 0 : 1;
+                    blockSize = 0;
+                    intersected = false;
+                }
+                blockSize++;
+                pendingReference = false;
+                if (referenceIndex + 1 == referenceTo) {
+                    break;
+                }
+                referenceIndex++;
+                pendingReference = true;
+            }
+        }
+
+        for (referenceIndex++; referenceIndex < referenceTo; referenceIndex++) {
+            if (blocksOffset + MIN_DIFFERENCE_OFFSET > maxOffset) {
+                return stopOffsets(blocksOffset + MIN_DIFFERENCE_OFFSET, offsets);
+            }
+            if (intersected) {
+                blocksOffset += getBlockOffset(blockSize);
+                blocks += blockSize == 0 ? 0 : 1;
+                blockSize = 0;
+                intersected = false;
+            }
+            blockSize++;
+        }
+
+        if (pendingReference && intersected) {
+            blocksOffset += getBlockOffset(blockSize);
+            blocks++;
+        }
+
+        final int differenceOffset = getWriteDeltaOffset(blocks) + writeBitOffset(intersected) + blocksOffset;
+        System.arraycopy(list, index, residuals, residualsLength, to - index);
+        residualsLength += to - index;
+        offsets[DIFFERENCE_OFFSET] = differenceOffset;
+        return differenceOffset + getWriteOffsets(
+            residuals,
+            0,
+            residualsLength,
+            valueBitSize,
+            differenceOffset,
+            maxOffset,
+            offsets
+        );
+    }
+
     /**
      * Estimates the number of bits required for the delta encoding of <code>x</code>.
      * @param x positive number (including zero).
@@ -241,6 +413,73 @@ public class IntOutputOffset extends OutputOffset {
         return log2x + 2 * lowerBoundLog2(log2x + 1) + 1;
     }
 
+    private int addBlock(final int blockSize) {
+        blocksBuffer.add(blockSize);
+        return getBlockOffset(blockSize);
+    }
+
+    private int getWriteOffsets(
+        final int[] list,
+        final int from,
+        final int length,
+        final int valueBitSize,
+        final int offset,
+        final int maxOffset,
+        final int[] offsets
+    ) {
+        final int to = from + length;
+        int intervals = 0;
+        int intervalsOffset = 0;
+        int residuals = 0;
+        int residualsOffset = 0;
+        int lastIntervalValue = 0;
+        int lastResidualValue = 0;
+        int intervalInitialIndex = from;
+        for (int index = from + 1; index <= to; index++) {
+            if (index < to && list[index] - list[index - 1] == 1) {
+                continue;
+            }
+            if (index - intervalInitialIndex >= minIntervalSize) {
+                if (intervals == 0) {
+                    intervalsOffset += writeIntOffset(list[intervalInitialIndex], valueBitSize);
+                } else {
+                    intervalsOffset += getWriteDeltaOffset(list[intervalInitialIndex] - lastIntervalValue - 2);
+                }
+                intervalsOffset += getWriteDeltaOffset(index - intervalInitialIndex - minIntervalSize);
+                lastIntervalValue = list[index - 1];
+                intervals++;
+            } else {
+                for (int i = intervalInitialIndex; i < index; i++) {
+                    if (residuals == 0) {
+                        residualsOffset += writeIntOffset(list[i], valueBitSize);
+                    } else {
+                        residualsOffset += getWriteDeltaOffset(list[i] - lastResidualValue - 1);
+                    }
+                    lastResidualValue = list[i];
+                    residuals++;
+                }
+            }
+            if (offset + intervalsOffset + residualsOffset > maxOffset) {
+                break;
+            }
+            intervalInitialIndex = index;
+        }
+        offsets[INTERVALS_OFFSET] = getWriteDeltaOffset(intervals) + intervalsOffset;
+        offsets[RESIDUALS_OFFSET] = getWriteDeltaOffset(residuals) + residualsOffset;
+        return offsets[INTERVALS_OFFSET] + offsets[RESIDUALS_OFFSET];
+    }
+
+    private static int stopOffsets(final int differenceOffset, final int[] offsets) {
+        offsets[DIFFERENCE_OFFSET] = differenceOffset;
+        offsets[INTERVALS_OFFSET] = 0;
+        offsets[RESIDUALS_OFFSET] = 0;
+        return differenceOffset;
+    }
+
+    private static int getBlockOffset(final int blockSize) {
+        return blockSize == 0 ? 0 : getWriteDeltaOffset(blockSize - 1);
+    }
+
     private static int writeIntOffset(final int x, final int valueBitSize) {
         return valueBitSize;
     }
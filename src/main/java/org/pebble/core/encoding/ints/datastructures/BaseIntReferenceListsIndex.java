@@ -0,0 +1,155 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding.ints.datastructures;
+
+import it.unimi.dsi.fastutil.ints.AbstractIntComparator;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.pebble.core.encoding.commons.OutputOffset;
+import org.pebble.core.encoding.ints.IntOutputOffset;
+
+/**
+ * Base implementation of the reference lists indexes that evaluate a set of reference list candidates. Subclasses
+ * find the candidates of a list, adding each one once per value or bucket shared with the list, and this class
+ * selects the candidate that generates the minimal number of bits. Only the <code>maxCandidates</code> candidates
+ * with the most shared values or buckets are evaluated.
+ */
+abstract class BaseIntReferenceListsIndex implements IntReferenceListsIndex {
+
+    private final int maxCandidates;
+    private final IntArrayList candidates;
+    private final IntComparator candidatesComparator;
+    private final IntOutputOffset outputOffset;
+    private final int[] estimatedOffsets;
+    private int[] shared;
+    private int[] listValues;
+    private int[] referenceValues;
+    private int[] residuals;
+
+    /**
+     * Initializes the candidates evaluation.
+     * @param maxCandidates maximum number of reference list candidates evaluated.
+     */
+    protected BaseIntReferenceListsIndex(final int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+        candidates = new IntArrayList();
+        candidatesComparator = new AbstractIntComparator() {
+            @Override
+            public int compare(final int a, final int b) {
+                return Integer.compare(shared[b], shared[a]);
+            }
+        };
+        outputOffset = new IntOutputOffset();
+        estimatedOffsets = new int[OutputOffset.OFFSETS_SIZE];
+        shared = new int[0];
+        listValues = IntArrays.EMPTY_ARRAY;
+        referenceValues = IntArrays.EMPTY_ARRAY;
+        residuals = IntArrays.EMPTY_ARRAY;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getIndexOfReferenceList(
+        final IntList list,
+        final int valueBitSize,
+        final int listIndex,
+        final IntList[] lists,
+        final int[] offsets,
+        final int[] recursiveReferences
+    ) {
+        if (shared.length < lists.length) {
+            shared = new int[lists.length];
+        }
+        setCandidates(list);
+        final int candidatesSize = rankCandidates();
+        final int length = list.size();
+        listValues = IntArrays.grow(listValues, length);
+        residuals = IntArrays.grow(residuals, length);
+        list.getElements(0, listValues, 0, length);
+        int size;
+        int minSize = 1 + outputOffset.getWriteOffsets(listValues, 0, length, valueBitSize, estimatedOffsets);
+        int bestReferenceIndex = -1;
+        int bestRecursiveReferences = 0;
+        int candidateIndex;
+        IntList referenceList;
+        for (int i = 0; i < candidatesSize; i++) {
+            candidateIndex = candidates.getInt(i);
+            referenceList = lists[candidateIndex];
+            referenceValues = IntArrays.grow(referenceValues, referenceList.size());
+            referenceList.getElements(0, referenceValues, 0, referenceList.size());
+            size = IntOutputOffset.getWriteDeltaOffset(listIndex - offsets[candidateIndex]);
+            size += outputOffset.getWriteOffsets(
+                listValues,
+                0,
+                length,
+                referenceValues,
+                0,
+                referenceList.size(),
+                valueBitSize,
+                minSize - size,
+                residuals,
+                estimatedOffsets
+            );
+            if (
+                size < minSize ||
+                (size == minSize && bestRecursiveReferences > recursiveReferences[candidateIndex])
+            ) {
+                bestReferenceIndex = candidateIndex;
+                minSize = size;
+                bestRecursiveReferences = recursiveReferences[candidateIndex];
+            }
+        }
+        clearCandidates();
+        return bestReferenceIndex;
+    }
+
+    /**
+     * Adds the reference list candidates of <code>list</code>, by calling {@link #addCandidate(int)} once per value or
+     * bucket each candidate shares with the list.
+     * @param list to be referenced.
+     */
+    protected abstract void setCandidates(IntList list);
+
+    /**
+     * Adds a reference list candidate, or increases its number of shared values or buckets if it was already added.
+     * @param candidateIndex index of the reference list candidate within the reference window.
+     */
+    protected void addCandidate(final int candidateIndex) {
+        if (shared[candidateIndex]++ == 0) {
+            candidates.add(candidateIndex);
+        }
+    }
+
+    private int rankCandidates() {
+        if (candidates.size() <= maxCandidates) {
+            return candidates.size();
+        }
+        IntArrays.quickSort(candidates.elements(), 0, candidates.size(), candidatesComparator);
+        return maxCandidates;
+    }
+
+    private void clearCandidates() {
+        for (int i = 0; i < candidates.size(); i++) {
+            shared[candidates.getInt(i)] = 0;
+        }
+        candidates.clear();
+    }
+
+}
@@ -21,9 +21,6 @@ import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
-import org.pebble.core.encoding.ints.IntOutputOffset;
 
 /**
  * Implements an inverted list index used to find reference lists that at least has one matching value with the list
@@ -33,61 +30,30 @@ import org.pebble.core.encoding.ints.IntOutputOffset;
  * each potential candidate and selects the one that generates the minimal number of bits. In case the minimal number
  * of bits is achieved without using a reference list, none reference list index will be returned. In the case of
  * many reference list candidates generates the same number of bits, the candidate with the minimal number of recursive
- * references will be selected to increase reading speed.
+ * references will be selected to increase reading speed, and among those the first one sharing a value with the list,
+ * in the order of the list values. The evaluation of a candidate stops as soon as its number of bits passes the best
+ * found so far. Optionally, candidates are ranked by the number of values they share with the list, counted over the
+ * reference window positions, and only a maximum number of top ranked ones are evaluated.
  */
-public class InvertedListIntReferenceListsIndex implements IntReferenceListsIndex {
+public class InvertedListIntReferenceListsIndex extends BaseIntReferenceListsIndex {
 
     protected final Int2ReferenceMap<IntList> listsInvertedIndex;
-    private final IntSet candidates;
-    private final IntOutputOffset outputOffset;
 
+    /**
+     * Initializes an index that evaluates all the reference list candidates.
+     */
     public InvertedListIntReferenceListsIndex() {
-        listsInvertedIndex = new Int2ReferenceOpenHashMap<IntList>();
-        candidates = new IntOpenHashSet();
-        outputOffset = new IntOutputOffset();
+        this(Integer.MAX_VALUE);
     }
 
     /**
-     * {@inheritDoc}
+     * Initializes an index that evaluates at most <code>maxCandidates</code> reference list candidates, the ones
+     * sharing the most values with the list to be referenced.
+     * @param maxCandidates maximum number of reference list candidates evaluated.
      */
-    public int getIndexOfReferenceList(
-        final IntList list,
-        final int valueBitSize,
-        final int listIndex,
-        final IntList[] lists,
-        final int[] offsets,
-        final int[] recursiveReferences
-    ) {
-        setCandidates(list);
-        int size;
-        IntList cloneList = new IntArrayList(list);
-        int minSize = 1 + outputOffset.getWriteIntervalsOffset(cloneList, valueBitSize);
-        minSize += outputOffset.getWriteDeltaOffset(cloneList, valueBitSize);
-        int bestReferenceIndex = -1;
-        int bestRecursiveReferences = 0;
-        IntIterator candidatesIterator = candidates.iterator();
-        int candidateIndex;
-        while (candidatesIterator.hasNext()) {
-            candidateIndex = candidatesIterator.nextInt();
-            cloneList = new IntArrayList(list);
-            size = IntOutputOffset.getWriteDeltaOffset(listIndex - offsets[candidateIndex]);
-            size += outputOffset.getWriteDifferenceOffset(cloneList, lists[candidateIndex]);
-            if (size < minSize) {
-                size += outputOffset.getWriteIntervalsOffset(cloneList, valueBitSize);
-                if (size < minSize) {
-                    size += outputOffset.getWriteDeltaOffset(cloneList, valueBitSize);
-                    if (
-                        size < minSize ||
-                        (size == minSize && bestRecursiveReferences > recursiveReferences[candidateIndex])
-                    ) {
-                        bestReferenceIndex = candidateIndex;
-                        minSize = size;
-                        bestRecursiveReferences = recursiveReferences[candidateIndex];
-                    }
-                }
-            }
-        }
-        return bestReferenceIndex;
+    public InvertedListIntReferenceListsIndex(final int maxCandidates) {
+        super(maxCandidates);
+        listsInvertedIndex = new Int2ReferenceOpenHashMap<IntList>();
     }
 
     /**
@@ -125,17 +91,17 @@ public class InvertedListIntReferenceListsIndex implements IntReferenceListsInde
         }
     }
 
-    private void setCandidates(final IntList list) {
+    /**
+     * {@inheritDoc}
+     */
+    protected void setCandidates(final IntList list) {
         IntList listsIndexes;
-        IntIterator indexesIterator;
         final IntIterator listIterator = list.iterator();
-        candidates.clear();
         while (listIterator.hasNext()) {
             listsIndexes = listsInvertedIndex.get(listIterator.nextInt());
             if (listsIndexes != null) {
-                indexesIterator = listsIndexes.iterator();
-                while (indexesIterator.hasNext()) {
-                    candidates.add(indexesIterator.nextInt());
+                for (int i = 0; i < listsIndexes.size(); i++) {
+                    addCandidate(listsIndexes.getInt(i));
                 }
             }
         }
@@ -0,0 +1,182 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding.ints.datastructures;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceMap;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_MAX_REFERENCE_CANDIDATES;
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_MIN_HASH_BANDS;
+import static org.pebble.core.encoding.DefaultParametersValues.DEFAULT_MIN_HASH_ROWS;
+
+/**
+ * Implements a locality sensitive hashing index used to find reference lists similar to the list to be referenced,
+ * intended for reference windows too big for {@link InvertedListIntReferenceListsIndex}. Each list is described by a
+ * MinHash signature of <code>bands</code> times <code>rows</code> values, where each value is the minimum of the
+ * hashes of the elements of the list given by a different hash function. The probability of two lists having the same
+ * value is the Jaccard similarity of their elements. The signature is split in <code>bands</code> bands of
+ * <code>rows</code> values, and each list is stored in one bucket per band, given by the hash of its band values.
+ * Lists sharing at least one bucket with the list to be referenced are the candidates, which are ranked by the number
+ * of shared buckets. Only the top ranked ones are evaluated, computing the number of bits required to describe the
+ * representation, as {@link InvertedListIntReferenceListsIndex} does. Finding the candidates takes
+ * <code>bands</code> bucket lookups, regardless of the number of stored lists sharing values with the list, and each
+ * stored list takes <code>bands</code> bucket entries.
+ */
+public class MinHashIntReferenceListsIndex extends BaseIntReferenceListsIndex {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+    private final long[] signature;
+    private final long[] keys;
+    private final Long2ReferenceMap<IntList> buckets;
+    private long[][] listsKeys;
+
+    /**
+     * Initializes an index with {@link org.pebble.core.encoding.DefaultParametersValues#DEFAULT_MIN_HASH_BANDS} bands
+     * of {@link org.pebble.core.encoding.DefaultParametersValues#DEFAULT_MIN_HASH_ROWS} rows.
+     */
+    public MinHashIntReferenceListsIndex() {
+        this(DEFAULT_MIN_HASH_BANDS, DEFAULT_MIN_HASH_ROWS, DEFAULT_MAX_REFERENCE_CANDIDATES);
+    }
+
+    /**
+     * Initializes an index with signatures of <code>bands</code> bands of <code>rows</code> values, that evaluates at
+     * most <code>maxCandidates</code> reference list candidates, the ones sharing the most buckets with the list to be
+     * referenced.
+     * @param bands number of bands of the signatures.
+     * @param rows number of values of each band.
+     * @param maxCandidates maximum number of reference list candidates evaluated.
+     */
+    public MinHashIntReferenceListsIndex(final int bands, final int rows, final int maxCandidates) {
+        super(maxCandidates);
+        this.bands = bands;
+        this.rows = rows;
+        seeds = new long[bands * rows];
+        final Random random = new Random(SEED);
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+        signature = new long[bands * rows];
+        keys = new long[bands];
+        buckets = new Long2ReferenceOpenHashMap<IntList>();
+        listsKeys = new long[0][];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void addListIntoListsInvertedIndex(final int index, final IntList list) {
+        if (list.isEmpty()) {
+            return;
+        }
+        if (index >= listsKeys.length) {
+            listsKeys = Arrays.copyOf(listsKeys, Math.max(index + 1, 2 * listsKeys.length));
+        }
+        setKeys(list);
+        listsKeys[index] = Arrays.copyOf(keys, bands);
+        IntList bucket;
+        for (int i = 0; i < bands; i++) {
+            bucket = buckets.get(keys[i]);
+            if (bucket == null) {
+                bucket = new IntArrayList();
+                buckets.put(keys[i], bucket);
+            }
+            bucket.add(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void removeListFromListsInvertedIndex(final int index, final IntList list) {
+        if (list.isEmpty()) {
+            return;
+        }
+        final long[] listKeys = listsKeys[index];
+        IntList bucket;
+        for (int i = 0; i < bands; i++) {
+            bucket = buckets.get(listKeys[i]);
+            bucket.rem(index);
+            if (bucket.isEmpty()) {
+                buckets.remove(listKeys[i]);
+            }
+        }
+        listsKeys[index] = null;
+    }
+
+    /**
+     * Returns the number of buckets holding at least one list.
+     * @return number of buckets.
+     */
+    public int bucketsSize() {
+        return buckets.size();
+    }
+
+    private void setKeys(final IntList list) {
+        Arrays.fill(signature, Long.MAX_VALUE);
+        final IntIterator listIterator = list.iterator();
+        int value;
+        long hash;
+        while (listIterator.hasNext()) {
+            value = listIterator.nextInt();
+            for (int i = 0; i < signature.length; i++) {
+                hash = HashCommon.mix(value ^ seeds[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        long key;
+        for (int i = 0; i < bands; i++) {
+            key = i;
+            for (int j = i * rows; j < (i + 1) * rows; j++) {
+                key = HashCommon.mix(key ^ signature[j]);
+            }
+            keys[i] = key;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected void setCandidates(final IntList list) {
+        if (list.isEmpty()) {
+            return;
+        }
+        setKeys(list);
+        IntList bucket;
+        for (int i = 0; i < bands; i++) {
+            bucket = buckets.get(keys[i]);
+            if (bucket != null) {
+                for (int j = 0; j < bucket.size(); j++) {
+                    addCandidate(bucket.getInt(j));
+                }
+            }
+        }
+    }
+
+}
@@ -17,16 +17,11 @@ package org.pebble.core.encoding.longs.datastructures;
  */
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.longs.Long2ReferenceMap;
 import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
-import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongIterator;
 import it.unimi.dsi.fastutil.longs.LongList;
-import org.pebble.core.encoding.longs.LongOutputOffset;
 
 /**
  * Implements an inverted list index used to find reference lists that at least has one matching value with the list
@@ -36,61 +31,30 @@ import org.pebble.core.encoding.longs.LongOutputOffset;
  * each potential candidate and selects the one that generates the minimal number of bits. In case the minimal number
  * of bits is achieved without using a reference list, none reference list index will be returned. In the case of
  * many reference list candidates generates the same number of bits, the candidate with the minimal number of recursive
- * references will be selected to increase reading speed.
+ * references will be selected to increase reading speed, and among those the first one sharing a value with the list,
+ * in the order of the list values. The evaluation of a candidate stops as soon as its number of bits passes the best
+ * found so far. Optionally, candidates are ranked by the number of values they share with the list, counted over the
+ * reference window positions, and only a maximum number of top ranked ones are evaluated.
  */
-public class InvertedListLongReferenceListsIndex implements LongReferenceListsIndex {
+public class InvertedListLongReferenceListsIndex extends BaseLongReferenceListsIndex {
 
     protected final Long2ReferenceMap<IntList> listsInvertedIndex;
-    private final IntSet candidates;
-    private final LongOutputOffset outputOffset;
 
+    /**
+     * Initializes an index that evaluates all the reference list candidates.
+     */
     public InvertedListLongReferenceListsIndex() {
-        listsInvertedIndex = new Long2ReferenceOpenHashMap<IntList>();
-        candidates = new IntOpenHashSet();
-        outputOffset = new LongOutputOffset();
+        this(Integer.MAX_VALUE);
     }
 
     /**
-     * {@inheritDoc}
+     * Initializes an index that evaluates at most <code>maxCandidates</code> reference list candidates, the ones
+     * sharing the most values with the list to be referenced.
+     * @param maxCandidates maximum number of reference list candidates evaluated.
      */
-    public int getIndexOfReferenceList(
-        final LongList list,
-        final int valueBitSize,
-        final int listIndex,
-        final LongList[] lists,
-        final int[] offsets,
-        final int[] recursiveReferences
-    ) {
-        setCandidates(list);
-        int size;
-        LongList cloneList = new LongArrayList(list);
-        int minSize = 1 + outputOffset.getWriteIntervalsOffset(cloneList, valueBitSize);
-        minSize += outputOffset.getWriteDeltaOffset(cloneList, valueBitSize);
-        int bestReferenceIndex = -1;
-        int bestRecursiveReferences = 0;
-        IntIterator candidatesIterator = candidates.iterator();
-        int candidateIndex;
-        while (candidatesIterator.hasNext()) {
-            candidateIndex = candidatesIterator.nextInt();
-            cloneList = new LongArrayList(list);
-            size = LongOutputOffset.getWriteDeltaOffset(listIndex - offsets[candidateIndex]);
-            size += outputOffset.getWriteDifferenceOffset(cloneList, lists[candidateIndex]);
-            if (size < minSize) {
-                size += outputOffset.getWriteIntervalsOffset(cloneList, valueBitSize);
-                if (size < minSize) {
-                    size += outputOffset.getWriteDeltaOffset(cloneList, valueBitSize);
-                    if (
-                        size < minSize ||
-                        (size == minSize && bestRecursiveReferences > recursiveReferences[candidateIndex])
-                    ) {
-                        bestReferenceIndex = candidateIndex;
-                        minSize = size;
-                        bestRecursiveReferences = recursiveReferences[candidateIndex];
-                    }
-                }
-            }
-        }
-        return bestReferenceIndex;
+    public InvertedListLongReferenceListsIndex(final int maxCandidates) {
+        super(maxCandidates);
+        listsInvertedIndex = new Long2ReferenceOpenHashMap<IntList>();
     }
 
     /**
@@ -128,17 +92,17 @@ public class InvertedListLongReferenceListsIndex implements LongReferenceListsIn
         }
     }
 
-    private void setCandidates(final LongList list) {
+    /**
+     * {@inheritDoc}
+     */
+    protected void setCandidates(final LongList list) {
         IntList listsIndexes;
-        IntIterator indexesIterator;
         final LongIterator listIterator = list.iterator();
-        candidates.clear();
         while (listIterator.hasNext()) {
             listsIndexes = listsInvertedIndex.get(listIterator.nextLong());
             if (listsIndexes != null) {
-                indexesIterator = listsIndexes.iterator();
-                while (indexesIterator.hasNext()) {
-                    candidates.add(indexesIterator.nextInt());
+                for (int i = 0; i < listsIndexes.size(); i++) {
+                    addCandidate(listsIndexes.getInt(i));
                 }
             }
         }
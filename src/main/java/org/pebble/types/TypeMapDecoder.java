@@ -60,6 +60,8 @@ public abstract class TypeMapDecoder<T> extends TypeIntDecoder<T> {
      */
     protected class MappedTypeIterator extends TypeIterator {
 
+        private InputBitStream inputBitStream;
+
         /**
          *
          * @param iterator over the list contained the integers resulting from the encoding of complex types.
@@ -71,14 +73,21 @@ public abstract class TypeMapDecoder<T> extends TypeIntDecoder<T> {
         /**
          * Decodes current element by using the index list stored in current element value, positions the cursor
          * where the encoding starts for the encoded element and decode its value by calling
-         * {@link org.pebble.types.TypeMapDecoder#read(org.pebble.core.decoding.InputBitStream)}.
+         * {@link org.pebble.types.TypeMapDecoder#read(org.pebble.core.decoding.InputBitStream)}. The same input bit
+         * stream is reused to decode every element.
          * @return current decoded element.
          * @throws java.lang.IllegalStateException in case there is an exception reading encoded element.
          */
         @Override
         public T next() {
             try {
-                return read(bytesStore.getInputBitStream(iterator.nextInt()));
+                final int listIndex = iterator.nextInt();
+                if (inputBitStream == null) {
+                    inputBitStream = bytesStore.getInputBitStream(listIndex);
+                } else {
+                    bytesStore.resetInputBitStream(listIndex, inputBitStream);
+                }
+                return read(inputBitStream);
             } catch (IOException e) {
                 throw new IllegalStateException(e.getMessage());
             }
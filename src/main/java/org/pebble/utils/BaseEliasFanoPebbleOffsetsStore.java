@@ -0,0 +1,187 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.utils;
+
+import org.pebble.core.PebbleOffsetsStore;
+
+/**
+ * Base class for implementing offsets stores compressed with Elias-Fano codes. Offsets are split in blocks of
+ * {@link #BLOCK_SIZE} consecutive entries and each block is encoded independently:
+ * <ul>
+ *     <li>The first offset of the block is kept as the block base.</li>
+ *     <li>The difference of each offset with the base is split in <code>width</code> lower bits, stored verbatim,
+ *     and the remaining upper bits, stored in unary as a bit set where the <code>i</code>-th entry of the block
+ *     sets the bit at position <code>(upper bits) + i</code>.</li>
+ * </ul>
+ * The width is chosen per block as <code>floor(log2(range / entries))</code>, which needs around
+ * <code>2 + log2(average gap)</code> bits per entry, plus two longs per block to keep the base and the pointer to the
+ * block bits. Given the blocks are small, retrieving an entry requires reading a bounded number of words.
+ * Bits are stored in 64 bits words, starting from the least significant bit, and each block starts at a new word.
+ */
+abstract class BaseEliasFanoPebbleOffsetsStore implements PebbleOffsetsStore {
+
+    /**
+     * Number of entries encoded on each block.
+     */
+    static final int BLOCK_SIZE = 128;
+
+    /**
+     * Maximum number of words needed to encode a block.
+     */
+    static final int MAX_BLOCK_WORDS = BLOCK_SIZE + 4 * BLOCK_SIZE / 64 + 1;
+
+    private static final int BLOCK_SHIFT = 7;
+    private static final int WIDTH_BITS = 6;
+
+    /**
+     * Returns the number of offsets in the store.
+     * @return number of offsets in the store.
+     */
+    public abstract int size();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long get(final int index) {
+        checkIndex(index);
+        final int block = index >>> BLOCK_SHIFT;
+        final int i = index & (BLOCK_SIZE - 1);
+        final long pointer = pointer(block);
+        final int width = (int) (pointer & ((1 << WIDTH_BITS) - 1));
+        final long start = (pointer >>> WIDTH_BITS) << 6;
+        final long lower = width == 0 ? 0L : bits(start + (long) i * width, width);
+        final long upperStart = start + (long) Math.min(BLOCK_SIZE, size() - (block << BLOCK_SHIFT)) * width;
+        final long upper = select(upperStart, i) - upperStart - i;
+        return base(block) + (upper << width | lower);
+    }
+
+    /**
+     * Checks <code>index</code> is lower than the number of offsets in the store.
+     * @param index of offset.
+     * @throws IndexOutOfBoundsException when <code>index</code> is equal or greater than the number of offsets.
+     */
+    protected void checkIndex(final int index) {
+        if (index >= size()) {
+            throw new IndexOutOfBoundsException(String.format("Index %d is out of bounds for size %d", index, size()));
+        }
+    }
+
+    /**
+     * Returns the <code>index</code>-th word of the encoded blocks.
+     * @param index of word.
+     * @return 64 bits word.
+     */
+    protected abstract long word(long index);
+
+    /**
+     * Returns the first offset of the <code>block</code>-th block.
+     * @param block index of block.
+     * @return first offset of the block.
+     */
+    protected abstract long base(int block);
+
+    /**
+     * Returns the index of the first word of the <code>block</code>-th block, shifted 6 bits to the left, together
+     * with the width of lower bits used by the block, stored in the 6 least significant bits.
+     * @param block index of block.
+     * @return pointer of block packed with its lower bits width.
+     */
+    protected abstract long pointer(int block);
+
+    /**
+     * Returns the pointer of a block, packing the index of its first word together with its lower bits width.
+     * @param firstWord index of the first word of the block, in the whole sequence of words.
+     * @param width number of lower bits used by the block.
+     * @return pointer of block, as returned by {@link #pointer(int)}.
+     */
+    static long pointer(final long firstWord, final int width) {
+        return firstWord << WIDTH_BITS | width;
+    }
+
+    /**
+     * Returns the number of lower bits used to encode the first <code>count</code> offsets in <code>offsets</code>.
+     * @param offsets block offsets.
+     * @param count number of offsets on block. Must be between 1 and {@link #BLOCK_SIZE}.
+     * @return number of lower bits.
+     */
+    static int width(final long[] offsets, final int count) {
+        final long average = (offsets[count - 1] - offsets[0]) / count;
+        return average == 0L ? 0 : 63 - Long.numberOfLeadingZeros(average);
+    }
+
+    /**
+     * Encodes the first <code>count</code> offsets in <code>offsets</code> as a block, into <code>words</code>
+     * starting at position <code>from</code>. Offsets must be non decreasing.
+     * @param offsets block offsets.
+     * @param count number of offsets on block. Must be between 1 and {@link #BLOCK_SIZE}.
+     * @param width number of lower bits, as returned by {@link #width(long[], int)}.
+     * @param words array where the block bits are written. It must hold at least {@link #MAX_BLOCK_WORDS} words
+     *              after <code>from</code>.
+     * @param from position of <code>words</code> where the first word of the block is written.
+     * @return number of words used by the block.
+     */
+    static int encode(final long[] offsets, final int count, final int width, final long[] words, final int from) {
+        final long lowerMask = width == 0 ? 0L : -1L >>> (64 - width);
+        final long upperStart = (long) count * width;
+        final int length = (int) ((upperStart + ((offsets[count - 1] - offsets[0]) >>> width) + count + 63) >>> 6);
+        for (int i = 0; i < length; i++) {
+            words[from + i] = 0L;
+        }
+        for (int i = 0; i < count; i++) {
+            final long value = offsets[i] - offsets[0];
+            if (width != 0) {
+                final long position = (long) i * width;
+                final int shift = (int) (position & 63);
+                final long lower = value & lowerMask;
+                words[from + (int) (position >>> 6)] |= lower << shift;
+                if (shift + width > 64) {
+                    words[from + (int) (position >>> 6) + 1] |= lower >>> (64 - shift);
+                }
+            }
+            final long position = upperStart + (value >>> width) + i;
+            words[from + (int) (position >>> 6)] |= 1L << position;
+        }
+        return length;
+    }
+
+    private long bits(final long position, final int width) {
+        final long index = position >>> 6;
+        final int shift = (int) (position & 63);
+        long bits = word(index) >>> shift;
+        if (shift + width > 64) {
+            bits |= word(index + 1) << (64 - shift);
+        }
+        return bits & (-1L >>> (64 - width));
+    }
+
+    private long select(final long start, int rank) {
+        long index = start >>> 6;
+        long bits = word(index) & (-1L << start);
+        int ones;
+        while ((ones = Long.bitCount(bits)) <= rank) {
+            rank -= ones;
+            bits = word(++index);
+        }
+        for (; rank > 0; rank--) {
+            bits &= bits - 1;
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+}
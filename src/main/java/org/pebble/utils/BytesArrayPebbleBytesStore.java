@@ -23,7 +23,8 @@ import org.pebble.core.PebbleOffsetsStore;
  * Wrapper of a single byte array which implements the {@link org.pebble.core.PebbleBytesStore}
  * interface. This implementation loads into main memory the full compressed data stored at <code>store</code> byte
  * array. Given the maximum number of an array 2^31-1 in java, this implementation is limited to compressed data sets
- * that fit in a single array. Approximately not bigger than 1.9[Gb].
+ * that fit in a single array. Approximately not bigger than 1.9[Gb]. Bigger data sets can be stored with
+ * {@link org.pebble.utils.ChunksPebbleBytesStore} or {@link org.pebble.utils.MappedPebbleBytesStore}.
  */
 public class BytesArrayPebbleBytesStore extends PebbleBytesStore {
 
@@ -0,0 +1,80 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import org.pebble.core.decoding.InputBitStream;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link org.pebble.core.decoding.InputBitStream} that reads from a sequence of big endian byte buffers of the same
+ * size, which is a power of two. Words that span two buffers are assembled byte by byte.
+ */
+public class ChunksInputBitStream extends InputBitStream {
+
+    private static final int WORD_BYTES = Long.SIZE / Byte.SIZE;
+
+    private final ByteBuffer[] chunks;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final long size;
+
+    /**
+     * Initializes a stream over the first <code>size</code> bytes of <code>chunks</code>.
+     * @param chunks buffers containing the input bits. Every chunk, but the last one, must have
+     *               <code>2^chunkShift</code> bytes.
+     * @param chunkShift base two logarithm of the chunks size.
+     * @param size number of bytes of the input.
+     */
+    public ChunksInputBitStream(final ByteBuffer[] chunks, final int chunkShift, final long size) {
+        super(size);
+        this.chunks = chunks;
+        this.chunkShift = chunkShift;
+        chunkMask = (1 << chunkShift) - 1;
+        this.size = size;
+    }
+
+    /**
+     * Not supported, given the stream reads from chunks. Use {@link #position(long)} to reuse the stream.
+     * @param buffer input bits.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void reset(final byte[] buffer) {
+        throw new UnsupportedOperationException("Stream reads from chunks and can not be reset to an array");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long word(final long index) {
+        final int offset = (int) (index & chunkMask);
+        if (offset + WORD_BYTES <= chunkMask + 1 && index + WORD_BYTES <= size) {
+            return chunks[(int) (index >>> chunkShift)].getLong(offset);
+        }
+        long x = 0L;
+        for (long i = index; i < index + WORD_BYTES; i++) {
+            x <<= Byte.SIZE;
+            if (i < size) {
+                x |= chunks[(int) (i >>> chunkShift)].get((int) (i & chunkMask)) & 0xFFL;
+            }
+        }
+        return x;
+    }
+
+}
@@ -0,0 +1,134 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import org.pebble.core.PebbleOffsetsStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Growable output stream that stores the written bytes in a list of fixed size chunks. No size needs to be guessed
+ * upfront and written bytes are never copied to grow the stream. Once all the data has been written, the stream can be
+ * turned into a read-only {@link org.pebble.core.PebbleBytesStore} that shares the chunks, with no final copy (see
+ * {@link #toPebbleBytesStore(org.pebble.core.PebbleOffsetsStore)}).
+ * The way chunks are allocated is defined by the extending classes.
+ */
+public abstract class ChunksOutputStream extends OutputStream {
+
+    /**
+     * Default size in bytes of each chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks;
+    private ByteBuffer chunk;
+    private long size;
+    private boolean converted;
+
+    /**
+     * Initializes an empty stream that will allocate chunks of <code>chunkSize</code> bytes.
+     * @param chunkSize size in bytes of each chunk. Must be a power of two.
+     */
+    protected ChunksOutputStream(final int chunkSize) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException(String.format("Chunk size %d is not a power of two", chunkSize));
+        }
+        this.chunkSize = chunkSize;
+        chunks = new ArrayList<ByteBuffer>();
+        chunk = null;
+        size = 0L;
+        converted = false;
+    }
+
+    /**
+     * Allocates a new chunk of <code>chunkSize</code> bytes.
+     * @param chunkSize size in bytes of the chunk.
+     * @return allocated chunk.
+     */
+    protected abstract ByteBuffer allocate(final int chunkSize);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        nextChunk().put((byte) b);
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException {
+        ByteBuffer chunk;
+        int length;
+        while (len > 0) {
+            chunk = nextChunk();
+            length = Math.min(len, chunk.remaining());
+            chunk.put(b, off, length);
+            off += length;
+            len -= length;
+            size += length;
+        }
+    }
+
+    /**
+     * Returns number of bytes written into the stream.
+     * @return number of bytes written into the stream.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Turns the written data into a read-only {@link org.pebble.core.PebbleBytesStore}. The returned store shares the
+     * chunks with this stream, so no data is copied. After this method is called no more data can be written into the
+     * stream.
+     * @param offsetsStore store containing the offsets indicating the start in bits of each compressed list
+     *                     representation written into the stream.
+     * @return store containing the data written into the stream.
+     */
+    public ChunksPebbleBytesStore toPebbleBytesStore(final PebbleOffsetsStore offsetsStore) {
+        converted = true;
+        final ByteBuffer[] buffers = new ByteBuffer[chunks.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = (ByteBuffer) chunks.get(i).asReadOnlyBuffer().flip();
+        }
+        return new ChunksPebbleBytesStore(buffers, chunkSize, offsetsStore);
+    }
+
+    /**
+     * Returns the chunk where next byte must be written, allocating a new one when the current chunk is full.
+     */
+    private ByteBuffer nextChunk() throws IOException {
+        if (converted) {
+            throw new IOException("Stream was already turned into a bytes store");
+        }
+        if (chunk == null || !chunk.hasRemaining()) {
+            chunk = allocate(chunkSize);
+            chunks.add(chunk);
+        }
+        return chunk;
+    }
+
+}
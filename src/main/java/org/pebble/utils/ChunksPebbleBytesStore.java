@@ -0,0 +1,115 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.PebbleOffsetsStore;
+import org.pebble.core.decoding.InputBitStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Implementation of {@link org.pebble.core.PebbleBytesStore} over a sequence of byte buffers of the same size, called
+ * chunks. Compressed lists can span several chunks, so the data set is not limited by the maximum size of a single
+ * array. Bits are addressed with a <code>long</code> position, so a single store can hold up to
+ * <code>2^31 - 1</code> chunks. The chunks are only read, therefore the store can be shared between threads.
+ */
+public class ChunksPebbleBytesStore extends PebbleBytesStore {
+
+    private final ByteBuffer[] chunks;
+    private final int chunkShift;
+    private final long size;
+    private final PebbleOffsetsStore offsetsStore;
+
+    /**
+     * Initialize a pebble byte store containing the compressed lists stored on <code>chunks</code> and its respective
+     * offsets contained at <code>offsetsStore</code>. The data of each chunk goes from its position zero to its limit.
+     * @param chunks buffers containing the bits of the compressed lists. Every chunk, but the last one, must have
+     *               <code>chunkSize</code> bytes.
+     * @param chunkSize size in bytes of each chunk. Must be a power of two.
+     * @param offsetsStore store containing the offsets indicating the start in bits of each compressed list
+     *                     representation stored in <code>chunks</code>.
+     */
+    public ChunksPebbleBytesStore(final ByteBuffer[] chunks, final int chunkSize, final PebbleOffsetsStore offsetsStore) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException(String.format("Chunk size %d is not a power of two", chunkSize));
+        }
+        this.chunks = new ByteBuffer[chunks.length];
+        long size = 0L;
+        for (int i = 0; i < chunks.length; i++) {
+            if (i < chunks.length - 1 && chunks[i].limit() != chunkSize) {
+                throw new IllegalArgumentException(
+                    String.format("Chunk %d has %d bytes instead of %d", i, chunks[i].limit(), chunkSize)
+                );
+            }
+            this.chunks[i] = chunks[i].asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+            size += chunks[i].limit();
+        }
+        chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.size = size;
+        this.offsetsStore = offsetsStore;
+    }
+
+    /**
+     * Returns number of bytes in the store.
+     * @return number of bytes in the store.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputBitStream getInputBitStream(final int listIndex) throws IOException {
+        final InputBitStream inputBitStream = new ChunksInputBitStream(chunks, chunkShift, size);
+        inputBitStream.position(offset(listIndex));
+        return inputBitStream;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void resetInputBitStream(final int listIndex, final InputBitStream inputBitStream) throws IOException {
+        inputBitStream.position(offset(listIndex));
+    }
+
+    /**
+     * Not supported, given the compressed data is not stored in a single array. Use
+     * {@link #getInputBitStream(int)} instead.
+     * @param listIndex index of list.
+     * @return nothing.
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    protected byte[] get(final int listIndex) {
+        throw new UnsupportedOperationException("Compressed data is split in chunks and can not be returned as array");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long offset(final int listIndex) {
+        return offsetsStore.get(listIndex);
+    }
+
+}
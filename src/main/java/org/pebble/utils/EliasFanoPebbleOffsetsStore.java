@@ -0,0 +1,143 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.utils;
+
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import org.pebble.core.PebbleOffsetsStoreWriter;
+
+/**
+ * Class that implements offsets store for reading and writing offsets interfaces, keeping the offsets in memory
+ * compressed with Elias-Fano codes. Offsets are appended in a streaming way and are encoded every
+ * {@link #BLOCK_SIZE} entries, while the latest entries are kept uncompressed until their block is complete.
+ * Retrieving any offset takes constant time. Offsets must be appended in non decreasing order. Reads can be
+ * performed concurrently, once all offsets are appended.
+ */
+public class EliasFanoPebbleOffsetsStore extends BaseEliasFanoPebbleOffsetsStore implements PebbleOffsetsStoreWriter {
+
+    private final long[] pending;
+    private int pendingSize;
+    private long[] words;
+    private int wordsSize;
+    private long[] blocks;
+    private int blocksSize;
+    private long last;
+
+    /**
+     * Initializes and empty offsets store
+     */
+    public EliasFanoPebbleOffsetsStore() {
+        pending = new long[BLOCK_SIZE];
+        pendingSize = 0;
+        words = new long[MAX_BLOCK_WORDS];
+        wordsSize = 0;
+        blocks = new long[2];
+        blocksSize = 0;
+        last = 0L;
+    }
+
+    /**
+     * Initializes an store containing the offsets provided in <code>offsets</code>.
+     * @param offsets array containing offsets in non decreasing order.
+     */
+    public EliasFanoPebbleOffsetsStore(final long[] offsets) {
+        this();
+        for (long offset : offsets) {
+            append(offset);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException when <code>offset</code> is smaller than the latest appended offset.
+     */
+    @Override
+    public void append(final long offset) {
+        if (offset < last) {
+            throw new IllegalArgumentException(
+                String.format("Offsets must be non decreasing, found %d after %d", offset, last)
+            );
+        }
+        last = offset;
+        pending[pendingSize++] = offset;
+        if (pendingSize == BLOCK_SIZE) {
+            final int width = width(pending, BLOCK_SIZE);
+            words = LongArrays.grow(words, wordsSize + MAX_BLOCK_WORDS, wordsSize);
+            final int length = encode(pending, BLOCK_SIZE, width, words, wordsSize);
+            blocks = LongArrays.grow(blocks, 2 * blocksSize + 2, 2 * blocksSize);
+            blocks[2 * blocksSize] = pending[0];
+            blocks[2 * blocksSize + 1] = pointer(wordsSize, width);
+            blocksSize++;
+            wordsSize += length;
+            pendingSize = 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return blocksSize * BLOCK_SIZE + pendingSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long get(final int index) {
+        if (index >= blocksSize * BLOCK_SIZE) {
+            checkIndex(index);
+            return pending[index - blocksSize * BLOCK_SIZE];
+        }
+        return super.get(index);
+    }
+
+    /**
+     * Returns the number of bytes used to keep the offsets, without taking into account the unused capacity of the
+     * underlying arrays.
+     * @return number of bytes used to keep the offsets.
+     */
+    public long sizeInBytes() {
+        return 8L * (wordsSize + 2L * blocksSize + BLOCK_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long word(final long index) {
+        return words[(int) index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long base(final int block) {
+        return blocks[2 * block];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long pointer(final int block) {
+        return blocks[2 * block + 1];
+    }
+
+}
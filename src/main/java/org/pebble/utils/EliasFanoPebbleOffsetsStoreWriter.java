@@ -0,0 +1,131 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.utils;
+
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import org.pebble.core.PebbleOffsetsStoreWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Offsets store writer that streams the offsets into an output stream, compressed with the same Elias-Fano blocks
+ * used by {@link org.pebble.utils.EliasFanoPebbleOffsetsStore}. The written data can be opened with
+ * {@link org.pebble.utils.MappedEliasFanoPebbleOffsetsStore}. The format is a sequence of big endian longs:
+ * <ul>
+ *     <li>The words of every block, in order.</li>
+ *     <li>The block index, containing two longs for each block: its first offset and its pointer.</li>
+ *     <li>A trailer containing the number of words, the number of blocks, the number of offsets and
+ *     {@link #MAGIC}.</li>
+ * </ul>
+ * Blocks are written as soon as they are complete. Only the block index, two longs every
+ * {@link org.pebble.utils.BaseEliasFanoPebbleOffsetsStore#BLOCK_SIZE} offsets, is kept in memory until the writer is
+ * closed.
+ */
+public class EliasFanoPebbleOffsetsStoreWriter implements PebbleOffsetsStoreWriter, Closeable {
+
+    /**
+     * Value of the last long of the written data, used to identify the format.
+     */
+    public static final long MAGIC = 0x504542424c454631L;
+
+    /**
+     * Number of longs in the trailer.
+     */
+    static final int TRAILER_SIZE = 4;
+
+    private final DataOutputStream outputStream;
+    private final long[] pending;
+    private final long[] words;
+    private int pendingSize;
+    private long wordsSize;
+    private long[] blocks;
+    private int blocksSize;
+    private long last;
+
+    /**
+     * Initializes a writer streaming the compressed offsets into <code>outputStream</code>.
+     * @param outputStream stream where the compressed offsets are written.
+     */
+    public EliasFanoPebbleOffsetsStoreWriter(final OutputStream outputStream) {
+        this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+        pending = new long[BaseEliasFanoPebbleOffsetsStore.BLOCK_SIZE];
+        words = new long[BaseEliasFanoPebbleOffsetsStore.MAX_BLOCK_WORDS];
+        pendingSize = 0;
+        wordsSize = 0L;
+        blocks = new long[2];
+        blocksSize = 0;
+        last = 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalArgumentException when <code>offset</code> is smaller than the latest appended offset.
+     */
+    @Override
+    public void append(final long offset) throws IOException {
+        if (offset < last) {
+            throw new IllegalArgumentException(
+                String.format("Offsets must be non decreasing, found %d after %d", offset, last)
+            );
+        }
+        last = offset;
+        pending[pendingSize++] = offset;
+        if (pendingSize == BaseEliasFanoPebbleOffsetsStore.BLOCK_SIZE) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Writes the latest incomplete block, the block index and the trailer, and closes the underlying stream.
+     * @throws IOException in case there is an exception writing or closing the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        final long size = (long) blocksSize * BaseEliasFanoPebbleOffsetsStore.BLOCK_SIZE + pendingSize;
+        if (pendingSize > 0) {
+            writeBlock();
+        }
+        for (int i = 0; i < 2 * blocksSize; i++) {
+            outputStream.writeLong(blocks[i]);
+        }
+        outputStream.writeLong(wordsSize);
+        outputStream.writeLong(blocksSize);
+        outputStream.writeLong(size);
+        outputStream.writeLong(MAGIC);
+        outputStream.close();
+    }
+
+    private void writeBlock() throws IOException {
+        final int width = BaseEliasFanoPebbleOffsetsStore.width(pending, pendingSize);
+        final int length = BaseEliasFanoPebbleOffsetsStore.encode(pending, pendingSize, width, words, 0);
+        for (int i = 0; i < length; i++) {
+            outputStream.writeLong(words[i]);
+        }
+        blocks = LongArrays.grow(blocks, 2 * blocksSize + 2, 2 * blocksSize);
+        blocks[2 * blocksSize] = pending[0];
+        blocks[2 * blocksSize + 1] = BaseEliasFanoPebbleOffsetsStore.pointer(wordsSize, width);
+        blocksSize++;
+        wordsSize += length;
+        pendingSize = 0;
+    }
+
+}
@@ -0,0 +1,50 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link org.pebble.utils.ChunksOutputStream} that allocates its chunks on the java heap.
+ */
+public class HeapChunksOutputStream extends ChunksOutputStream {
+
+    /**
+     * Initializes an empty stream that will allocate chunks of
+     * {@link org.pebble.utils.ChunksOutputStream#DEFAULT_CHUNK_SIZE} bytes.
+     */
+    public HeapChunksOutputStream() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Initializes an empty stream that will allocate chunks of <code>chunkSize</code> bytes.
+     * @param chunkSize size in bytes of each chunk. Must be a power of two.
+     */
+    public HeapChunksOutputStream(final int chunkSize) {
+        super(chunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ByteBuffer allocate(final int chunkSize) {
+        return ByteBuffer.allocate(chunkSize);
+    }
+
+}
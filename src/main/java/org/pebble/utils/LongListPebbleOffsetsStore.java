@@ -28,7 +28,8 @@ import java.io.IOException;
  * stores the offsets in a {@link it.unimi.dsi.fastutil.longs.LongList} and therefore any compression is performed
  * on the data. This is just a simple implementation that works as an example on how the
  * {@link org.pebble.core.PebbleOffsetsStore} and {@link org.pebble.core.PebbleOffsetsStoreWriter} can be implemented.
- * Though it should not be used on big data sets.
+ * Though it should not be used on big data sets, for which {@link org.pebble.utils.EliasFanoPebbleOffsetsStore}
+ * is better suited.
  */
 public class LongListPebbleOffsetsStore implements PebbleOffsetsStore, PebbleOffsetsStoreWriter {
 
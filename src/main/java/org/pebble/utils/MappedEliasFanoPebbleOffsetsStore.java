@@ -0,0 +1,149 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Implementation of {@link org.pebble.core.PebbleOffsetsStore} backed by a memory mapped file written by
+ * {@link org.pebble.utils.EliasFanoPebbleOffsetsStoreWriter}. Opening the store only maps the file and reads its
+ * trailer, so it takes constant time regardless the number of offsets. Offsets are decoded on demand from the mapped
+ * segments, in constant time. The segments are only read, therefore the store can be shared between threads.
+ */
+public class MappedEliasFanoPebbleOffsetsStore extends BaseEliasFanoPebbleOffsetsStore {
+
+    /**
+     * Default size in bytes of each mapped segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = MappedPebbleBytesStore.DEFAULT_SEGMENT_SIZE;
+
+    private final ByteBuffer[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final long blocksStart;
+    private final int size;
+
+    /**
+     * Initializes a store mapping the offsets contained on <code>file</code>, using segments of
+     * {@link #DEFAULT_SEGMENT_SIZE} bytes.
+     * @param file file containing the compressed offsets.
+     * @throws IOException in case there is an exception opening or mapping the file, or the file is not a valid
+     * offsets file.
+     */
+    public MappedEliasFanoPebbleOffsetsStore(final File file) throws IOException {
+        this(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Initializes a store mapping the offsets contained on <code>file</code>, using segments of
+     * <code>segmentSize</code> bytes.
+     * @param file file containing the compressed offsets.
+     * @param segmentSize size in bytes of each mapped segment. Must be a power of two of at least 8 bytes.
+     * @throws IOException in case there is an exception opening or mapping the file, or the file is not a valid
+     * offsets file.
+     */
+    public MappedEliasFanoPebbleOffsetsStore(final File file, final int segmentSize) throws IOException {
+        this(MappedPebbleBytesStore.map(file, checkSegmentSize(segmentSize)), segmentSize);
+    }
+
+    /**
+     * Initializes a store mapping the offsets contained on <code>channel</code>, using segments of
+     * <code>segmentSize</code> bytes. The mapped segments remain valid after <code>channel</code> is closed.
+     * @param channel channel of the file containing the compressed offsets.
+     * @param segmentSize size in bytes of each mapped segment. Must be a power of two of at least 8 bytes.
+     * @throws IOException in case there is an exception mapping the file, or the file is not a valid offsets file.
+     */
+    public MappedEliasFanoPebbleOffsetsStore(final FileChannel channel, final int segmentSize) throws IOException {
+        this(MappedPebbleBytesStore.map(channel, checkSegmentSize(segmentSize)), segmentSize);
+    }
+
+    private MappedEliasFanoPebbleOffsetsStore(final ByteBuffer[] segments, final int segmentSize) throws IOException {
+        long length = 0L;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i].order(ByteOrder.BIG_ENDIAN);
+            length += segments[i].limit();
+        }
+        this.segments = segments;
+        segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+        segmentMask = segmentSize - 1;
+        final long longs = length >>> 3;
+        final int trailer = EliasFanoPebbleOffsetsStoreWriter.TRAILER_SIZE;
+        if ((length & 7) != 0 || longs < trailer || word(longs - 1) != EliasFanoPebbleOffsetsStoreWriter.MAGIC) {
+            throw new IOException("File is not a valid offsets file");
+        }
+        final long words = word(longs - trailer);
+        final long blocks = word(longs - trailer + 1);
+        final long size = word(longs - trailer + 2);
+        if (words + 2 * blocks + trailer != longs) {
+            throw new IOException(
+                String.format(
+                    "Offsets file is truncated, expected %d bytes but found %d",
+                    8 * (words + 2 * blocks + trailer),
+                    length
+                )
+            );
+        }
+        blocksStart = words;
+        this.size = (int) size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long word(final long index) {
+        final long position = index << 3;
+        return segments[(int) (position >>> segmentShift)].getLong((int) (position & segmentMask));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long base(final int block) {
+        return word(blocksStart + 2L * block);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long pointer(final int block) {
+        return word(blocksStart + 2L * block + 1);
+    }
+
+    private static int checkSegmentSize(final int segmentSize) {
+        if (segmentSize < 8) {
+            throw new IllegalArgumentException(String.format("Segment size %d is smaller than 8 bytes", segmentSize));
+        }
+        return segmentSize;
+    }
+
+}
@@ -0,0 +1,124 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import org.pebble.core.PebbleOffsetsStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Implementation of {@link org.pebble.core.PebbleBytesStore} backed by a memory mapped file. The file is mapped as a
+ * sequence of read only segments with {@link java.nio.channels.FileChannel#map}, so opening the store does not read
+ * the compressed data. The data is loaded on demand by the operating system into its page cache, which is outside of
+ * the java heap and is shared by all the processes that map the same file. Lists are read through a
+ * {@link org.pebble.utils.ChunksInputBitStream} over the mapped segments.
+ */
+public class MappedPebbleBytesStore extends ChunksPebbleBytesStore {
+
+    /**
+     * Default size in bytes of each mapped segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * Initializes a store mapping the compressed lists contained on <code>file</code>, using segments of
+     * {@link #DEFAULT_SEGMENT_SIZE} bytes.
+     * @param file file containing the bits of the compressed lists.
+     * @param offsetsStore store containing the offsets indicating the start in bits of each compressed list
+     *                     representation stored in <code>file</code>.
+     * @throws IOException in case there is an exception opening or mapping the file.
+     */
+    public MappedPebbleBytesStore(final File file, final PebbleOffsetsStore offsetsStore) throws IOException {
+        this(file, DEFAULT_SEGMENT_SIZE, offsetsStore);
+    }
+
+    /**
+     * Initializes a store mapping the compressed lists contained on <code>file</code>, using segments of
+     * <code>segmentSize</code> bytes.
+     * @param file file containing the bits of the compressed lists.
+     * @param segmentSize size in bytes of each mapped segment. Must be a power of two.
+     * @param offsetsStore store containing the offsets indicating the start in bits of each compressed list
+     *                     representation stored in <code>file</code>.
+     * @throws IOException in case there is an exception opening or mapping the file.
+     */
+    public MappedPebbleBytesStore(
+        final File file,
+        final int segmentSize,
+        final PebbleOffsetsStore offsetsStore
+    ) throws IOException {
+        super(map(file, segmentSize), segmentSize, offsetsStore);
+    }
+
+    /**
+     * Initializes a store mapping the compressed lists contained on <code>channel</code>, using segments of
+     * <code>segmentSize</code> bytes. The mapped segments remain valid after <code>channel</code> is closed.
+     * @param channel channel of the file containing the bits of the compressed lists.
+     * @param segmentSize size in bytes of each mapped segment. Must be a power of two.
+     * @param offsetsStore store containing the offsets indicating the start in bits of each compressed list
+     *                     representation stored in <code>channel</code>.
+     * @throws IOException in case there is an exception mapping the file.
+     */
+    public MappedPebbleBytesStore(
+        final FileChannel channel,
+        final int segmentSize,
+        final PebbleOffsetsStore offsetsStore
+    ) throws IOException {
+        super(map(channel, segmentSize), segmentSize, offsetsStore);
+    }
+
+    /**
+     * Maps the whole content of <code>file</code> as a sequence of read only segments.
+     * @param file file to be mapped.
+     * @param segmentSize size in bytes of each mapped segment. Must be a power of two.
+     * @return mapped segments.
+     * @throws IOException in case there is an exception opening or mapping the file.
+     */
+    static ByteBuffer[] map(final File file, final int segmentSize) throws IOException {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            return map(randomAccessFile.getChannel(), segmentSize);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Maps the whole content of <code>channel</code> as a sequence of read only segments.
+     * @param channel channel of the file to be mapped.
+     * @param segmentSize size in bytes of each mapped segment. Must be a power of two.
+     * @return mapped segments.
+     * @throws IOException in case there is an exception mapping the file.
+     */
+    static ByteBuffer[] map(final FileChannel channel, final int segmentSize) throws IOException {
+        if (segmentSize <= 0 || Integer.bitCount(segmentSize) != 1) {
+            throw new IllegalArgumentException(String.format("Segment size %d is not a power of two", segmentSize));
+        }
+        final long size = channel.size();
+        final ByteBuffer[] segments = new ByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+        long position;
+        for (int i = 0; i < segments.length; i++) {
+            position = (long) i * segmentSize;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position));
+        }
+        return segments;
+    }
+
+}
@@ -22,6 +22,7 @@ import it.unimi.dsi.fastutil.ints.IntList;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.pebble.FastIntegrationTest;
+import org.pebble.core.decoding.ints.IntListsCache;
 import org.pebble.core.decoding.iterators.Helper.Input;
 import org.pebble.core.decoding.iterators.ints.IncrementalListIterator;
 import org.pebble.core.encoding.Helper;
@@ -123,4 +124,69 @@ public class IncrementalIntListsTest {
         );
     }
 
+    @Test
+    public void itShouldDecompressListsReusingIterator() throws IOException {
+        final Input input = getInput(
+            "1 1 1 01101 00101 0101 01100 1" +
+            "0101 1 0100 0100 01100 0100 1 1 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 23L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {5, 5, 5, 8, 12, 12, 12, 12, 12, 13})
+        };
+        final IntList[] lists = new IntList[expectedLists.length];
+        IntList list;
+        final IncrementalListIterator iterator = IncrementalListIterator.build(lists.length - 1, valueBitSize, bytesStore);
+
+        for(int i = lists.length - 1; i >= 0; i--) {
+            iterator.reset(i);
+            lists[i] = list = new IntArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+        }
+
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(expectedLists),
+            Helper.<Integer, IntList>translateToUtilsCollection(lists)
+        );
+    }
+
+    @Test
+    public void itShouldDecompressListsUsingCache() throws IOException {
+        final Input input = getInput(
+            "1 1 1 01101 00101 0101 01100 1" +
+            "0101 1 0100 0100 01100 0100 1 1 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 23L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {5, 5, 5, 8, 12, 12, 12, 12, 12, 13})
+        };
+        final IntList[] lists = new IntList[expectedLists.length];
+        IntList list;
+        final IntListsCache cache = new IntListsCache(1L << 16);
+        final IncrementalListIterator iterator = IncrementalListIterator.build(0, valueBitSize, bytesStore, cache);
+
+        for (int i = 0; i < 2 * lists.length; i++) {
+            iterator.reset(i % lists.length);
+            lists[i % lists.length] = list = new IntArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+        }
+
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(expectedLists),
+            Helper.<Integer, IntList>translateToUtilsCollection(lists)
+        );
+        assertEquals(1L, cache.misses());
+        assertEquals(1L, cache.hits());
+    }
+
 }
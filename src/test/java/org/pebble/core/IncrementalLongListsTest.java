@@ -24,6 +24,7 @@ import org.junit.experimental.categories.Category;
 import org.pebble.FastIntegrationTest;
 import org.pebble.core.decoding.iterators.Helper.Input;
 import org.pebble.core.decoding.iterators.longs.IncrementalListIterator;
+import org.pebble.core.decoding.longs.LongListsCache;
 import org.pebble.core.encoding.Helper;
 import org.pebble.core.encoding.OutputSuccinctStream;
 import org.pebble.core.encoding.longs.datastructures.InvertedListLongReferenceListsIndex;
@@ -123,4 +124,69 @@ public class IncrementalLongListsTest {
         );
     }
 
+    @Test
+    public void itShouldDecompressListsReusingIterator() throws IOException {
+        final Input input = getInput(
+            "1 1 1 01101 00101 0101 01100 1" +
+            "0101 1 0100 0100 01100 0100 1 1 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 23L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final LongList[] expectedLists = new LongList[] {
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {5L, 5L, 5L, 8L, 12L, 12L, 12L, 12L, 12L, 13L})
+        };
+        final LongList[] lists = new LongList[expectedLists.length];
+        LongList list;
+        final IncrementalListIterator iterator = IncrementalListIterator.build(lists.length - 1, valueBitSize, bytesStore);
+
+        for(int i = lists.length - 1; i >= 0; i--) {
+            iterator.reset(i);
+            lists[i] = list = new LongArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+        }
+
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(expectedLists),
+            Helper.<Long, LongList>translateToUtilsCollection(lists)
+        );
+    }
+
+    @Test
+    public void itShouldDecompressListsUsingCache() throws IOException {
+        final Input input = getInput(
+            "1 1 1 01101 00101 0101 01100 1" +
+            "0101 1 0100 0100 01100 0100 1 1 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 23L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final LongList[] expectedLists = new LongList[] {
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {5L, 5L, 5L, 8L, 12L, 12L, 12L, 12L, 12L, 13L})
+        };
+        final LongList[] lists = new LongList[expectedLists.length];
+        LongList list;
+        final LongListsCache cache = new LongListsCache(1L << 16);
+        final IncrementalListIterator iterator = IncrementalListIterator.build(0, valueBitSize, bytesStore, cache);
+
+        for (int i = 0; i < 2 * lists.length; i++) {
+            iterator.reset(i % lists.length);
+            lists[i % lists.length] = list = new LongArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+        }
+
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(expectedLists),
+            Helper.<Long, LongList>translateToUtilsCollection(lists)
+        );
+        assertEquals(1L, cache.misses());
+        assertEquals(1L, cache.hits());
+    }
+
 }
@@ -22,8 +22,10 @@ import it.unimi.dsi.fastutil.ints.IntList;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.pebble.FastIntegrationTest;
+import org.pebble.core.decoding.ints.IntListsCache;
 import org.pebble.core.decoding.iterators.Helper.Input;
 import org.pebble.core.decoding.iterators.ints.ListIterator;
+import org.pebble.core.encoding.EncodingOptions;
 import org.pebble.core.encoding.Helper;
 import org.pebble.core.encoding.OutputSuccinctStream;
 import org.pebble.core.encoding.ints.datastructures.IntReferenceListsIndex;
@@ -94,6 +96,46 @@ public class IntListsTest {
         assertEquals(expectedTotalOffset, totalOffset);
     }
 
+    @Test
+    public void itShouldCompressListsWithCheckpoints() throws IOException {
+        final int valueBitSize = 5;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withCheckpointInterval(4);
+        final Helper.Output out = getOutput();
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            3,
+            1,
+            3,
+            new InvertedListIntReferenceListsIndex()
+        );
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(out.buffer);
+        final IntList list = new IntArrayList(new int[] {13, 13, 5, 8, 5, 8, 12, 13, 12, 12});
+        /**
+         * values=[5, 8, 12, 13] indexes=[3, 3, 0, 1, 0, 1, 2, 3, 2, 2]
+         * reference=[0], intervals=[0], delta=[4, 5, 2, 3, 0], repetitions=[6]
+         * checkpoints=[2 and 5 bits, 1, 15 bits, 3, 31 bits], indexes=[6, 0, 5, 2, 1, 2, 2, 2, 1, 0]
+         * 1 1 01101 00101 0101 01100 1 01111 0101 01110 01 01111 11 11111
+         * 01111 1 01110 0101 0100 0101 0101 0101 0100 1
+         */
+        final String expectedOutput = (
+            "1 1 01101 00101 0101 01100 1 01111 0101 01110 01 01111 11 11111" +
+            "01111 1 01110 0101 0100 0101 0101 0101 0100 1"
+        ).replace(" ", "");
+        final int expectedOffset = 86;
+
+        final int offset = outputSuccinctStream.writeList(
+            list,
+            0,
+            valueBitSize,
+            options,
+            referenceListsStore
+        );
+
+        outputSuccinctStream.flush();
+        out.close();
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
     @Test
     public void itShouldDecompressLists() throws IOException {
         final Input input = getInput(
@@ -125,4 +167,69 @@ public class IntListsTest {
         );
     }
 
+    @Test
+    public void itShouldDecompressListsReusingIterator() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1 01101 01101 0100 0100 01101 0101 01110 01111 01100" +
+            "0100 1 1 1 1 01111 01111 1 01110 0101 0100 0101 0101 0101 0100 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 64L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {12, 8, 5, 12, 13, 5, 13, 8}),
+            new IntArrayList(new int[] {13, 13, 5, 8, 5, 8, 12, 13, 12, 12})
+        };
+        final IntList[] lists = new IntList[expectedLists.length];
+        IntList list;
+        final ListIterator iterator = ListIterator.build(lists.length - 1, valueBitSize, bytesStore);
+
+        for(int i = lists.length - 1; i >= 0; i--) {
+            iterator.reset(i);
+            lists[i] = list = new IntArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+        }
+
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(expectedLists),
+            Helper.<Integer, IntList>translateToUtilsCollection(lists)
+        );
+    }
+
+    @Test
+    public void itShouldDecompressListsUsingCache() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1 01101 01101 0100 0100 01101 0101 01110 01111 01100" +
+            "0100 1 1 1 1 01111 01111 1 01110 0101 0100 0101 0101 0101 0100 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 64L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {12, 8, 5, 12, 13, 5, 13, 8}),
+            new IntArrayList(new int[] {13, 13, 5, 8, 5, 8, 12, 13, 12, 12})
+        };
+        final IntList[] lists = new IntList[expectedLists.length];
+        IntList list;
+        final IntListsCache cache = new IntListsCache(1L << 16);
+        final ListIterator iterator = ListIterator.build(0, valueBitSize, bytesStore, cache);
+
+        for (int i = 0; i < 2 * lists.length; i++) {
+            iterator.reset(i % lists.length);
+            lists[i % lists.length] = list = new IntArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+        }
+
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(expectedLists),
+            Helper.<Integer, IntList>translateToUtilsCollection(lists)
+        );
+        assertEquals(1L, cache.misses());
+        assertEquals(1L, cache.hits());
+    }
+
 }
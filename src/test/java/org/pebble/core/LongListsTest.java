@@ -24,6 +24,8 @@ import org.junit.experimental.categories.Category;
 import org.pebble.FastIntegrationTest;
 import org.pebble.core.decoding.iterators.Helper.Input;
 import org.pebble.core.decoding.iterators.longs.ListIterator;
+import org.pebble.core.decoding.longs.LongListsCache;
+import org.pebble.core.encoding.EncodingOptions;
 import org.pebble.core.encoding.Helper;
 import org.pebble.core.encoding.OutputSuccinctStream;
 import org.pebble.core.encoding.longs.datastructures.InvertedListLongReferenceListsIndex;
@@ -94,6 +96,46 @@ public class LongListsTest {
         assertEquals(expectedTotalOffset, totalOffset);
     }
 
+    @Test
+    public void itShouldCompressListsWithCheckpoints() throws IOException {
+        final int valueBitSize = 5;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withCheckpointInterval(4);
+        final Helper.Output out = getOutput();
+        final LongReferenceListsStore referenceListsStore = new LongReferenceListsStore(
+            3,
+            1,
+            3,
+            new InvertedListLongReferenceListsIndex()
+        );
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(out.buffer);
+        final LongList list = new LongArrayList(new long[] {13, 13, 5, 8, 5, 8, 12, 13, 12, 12});
+        /**
+         * values=[5, 8, 12, 13] indexes=[3, 3, 0, 1, 0, 1, 2, 3, 2, 2]
+         * reference=[0], intervals=[0], delta=[4, 5, 2, 3, 0], repetitions=[6]
+         * checkpoints=[2 and 5 bits, 1, 15 bits, 3, 31 bits], indexes=[6, 0, 5, 2, 1, 2, 2, 2, 1, 0]
+         * 1 1 01101 00101 0101 01100 1 01111 0101 01110 01 01111 11 11111
+         * 01111 1 01110 0101 0100 0101 0101 0101 0100 1
+         */
+        final String expectedOutput = (
+            "1 1 01101 00101 0101 01100 1 01111 0101 01110 01 01111 11 11111" +
+            "01111 1 01110 0101 0100 0101 0101 0101 0100 1"
+        ).replace(" ", "");
+        final int expectedOffset = 86;
+
+        final int offset = outputSuccinctStream.writeList(
+            list,
+            0,
+            valueBitSize,
+            options,
+            referenceListsStore
+        );
+
+        outputSuccinctStream.flush();
+        out.close();
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
     @Test
     public void itShouldDecompressLists() throws IOException {
         final Input input = getInput(
@@ -125,4 +167,69 @@ public class LongListsTest {
         );
     }
 
+    @Test
+    public void itShouldDecompressListsReusingIterator() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1 01101 01101 0100 0100 01101 0101 01110 01111 01100" +
+            "0100 1 1 1 1 01111 01111 1 01110 0101 0100 0101 0101 0101 0100 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 64L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final LongList[] expectedLists = new LongList[] {
+            new LongArrayList(new long[] {12L, 8L, 5L, 12L, 13L, 5L, 13L, 8L}),
+            new LongArrayList(new long[] {13L, 13L, 5L, 8L, 5L, 8L, 12L, 13L, 12L, 12L})
+        };
+        final LongList[] lists = new LongList[expectedLists.length];
+        LongList list;
+        final ListIterator iterator = ListIterator.build(lists.length - 1, valueBitSize, bytesStore);
+
+        for(int i = lists.length - 1; i >= 0; i--) {
+            iterator.reset(i);
+            lists[i] = list = new LongArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+        }
+
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(expectedLists),
+            Helper.<Long, LongList>translateToUtilsCollection(lists)
+        );
+    }
+
+    @Test
+    public void itShouldDecompressListsUsingCache() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1 01101 01101 0100 0100 01101 0101 01110 01111 01100" +
+            "0100 1 1 1 1 01111 01111 1 01110 0101 0100 0101 0101 0101 0100 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 64L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final LongList[] expectedLists = new LongList[] {
+            new LongArrayList(new long[] {12L, 8L, 5L, 12L, 13L, 5L, 13L, 8L}),
+            new LongArrayList(new long[] {13L, 13L, 5L, 8L, 5L, 8L, 12L, 13L, 12L, 12L})
+        };
+        final LongList[] lists = new LongList[expectedLists.length];
+        LongList list;
+        final LongListsCache cache = new LongListsCache(1L << 16);
+        final ListIterator iterator = ListIterator.build(0, valueBitSize, bytesStore, cache);
+
+        for (int i = 0; i < 2 * lists.length; i++) {
+            iterator.reset(i % lists.length);
+            lists[i % lists.length] = list = new LongArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+        }
+
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(expectedLists),
+            Helper.<Long, LongList>translateToUtilsCollection(lists)
+        );
+        assertEquals(1L, cache.misses());
+        assertEquals(1L, cache.hits());
+    }
+
 }
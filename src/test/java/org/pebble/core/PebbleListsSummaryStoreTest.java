@@ -0,0 +1,199 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.utils.EliasFanoPebbleOffsetsStore;
+import org.pebble.utils.EliasFanoPebbleOffsetsStoreWriter;
+import org.pebble.utils.LongListPebbleOffsetsStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Category(UnitTest.class)
+public class PebbleListsSummaryStoreTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenIntListsAreAppendedItShouldReturnTheirSizesAndBounds() throws IOException {
+        final EliasFanoPebbleOffsetsStore sizesStore = new EliasFanoPebbleOffsetsStore();
+        final LongListPebbleOffsetsStore minsStore = new LongListPebbleOffsetsStore();
+        final LongListPebbleOffsetsStore maxsStore = new LongListPebbleOffsetsStore();
+        final PebbleListsSummaryStoreWriter writer = new PebbleListsSummaryStoreWriter(
+            sizesStore,
+            minsStore,
+            maxsStore
+        );
+        writer.append(new IntArrayList(new int[] {5, 8, 12, 13}));
+        writer.append(new IntArrayList(new int[] {}));
+        writer.append(new IntArrayList(new int[] {7, 3, 9, 3}));
+
+        final PebbleListsSummaryStore summaryStore = new PebbleListsSummaryStore(sizesStore, minsStore, maxsStore);
+
+        assertTrue(summaryStore.hasBounds());
+        assertEquals(4, summaryStore.size(0));
+        assertEquals(5L, summaryStore.min(0));
+        assertEquals(13L, summaryStore.max(0));
+        assertEquals(0, summaryStore.size(1));
+        assertEquals(-1L, summaryStore.min(1));
+        assertEquals(-1L, summaryStore.max(1));
+        assertEquals(4, summaryStore.size(2));
+        assertEquals(3L, summaryStore.min(2));
+        assertEquals(9L, summaryStore.max(2));
+    }
+
+    @Test
+    public void whenLongListsAreAppendedItShouldReturnTheirSizesAndBounds() throws IOException {
+        final EliasFanoPebbleOffsetsStore sizesStore = new EliasFanoPebbleOffsetsStore();
+        final LongListPebbleOffsetsStore minsStore = new LongListPebbleOffsetsStore();
+        final LongListPebbleOffsetsStore maxsStore = new LongListPebbleOffsetsStore();
+        final PebbleListsSummaryStoreWriter writer = new PebbleListsSummaryStoreWriter(
+            sizesStore,
+            minsStore,
+            maxsStore
+        );
+        writer.append(new LongArrayList(new long[] {}));
+        writer.append(new LongArrayList(new long[] {1L << 40, 3L, 1L << 35}));
+
+        final PebbleListsSummaryStore summaryStore = new PebbleListsSummaryStore(sizesStore, minsStore, maxsStore);
+
+        assertEquals(0, summaryStore.size(0));
+        assertEquals(-1L, summaryStore.min(0));
+        assertEquals(-1L, summaryStore.max(0));
+        assertEquals(3, summaryStore.size(1));
+        assertEquals(3L, summaryStore.min(1));
+        assertEquals(1L << 40, summaryStore.max(1));
+    }
+
+    @Test
+    public void whenBoundsAreNotStoredItShouldOnlyReturnSizes() throws IOException {
+        final LongListPebbleOffsetsStore sizesStore = new LongListPebbleOffsetsStore();
+        final PebbleListsSummaryStoreWriter writer = new PebbleListsSummaryStoreWriter(sizesStore);
+        writer.append(new IntArrayList(new int[] {1, 2}));
+        writer.append(new LongArrayList(new long[] {1L, 2L, 3L}));
+        writer.append(5, 1L, 9L);
+
+        final PebbleListsSummaryStore summaryStore = new PebbleListsSummaryStore(sizesStore);
+
+        assertFalse(summaryStore.hasBounds());
+        assertEquals(2, summaryStore.size(0));
+        assertEquals(3, summaryStore.size(1));
+        assertEquals(5, summaryStore.size(2));
+    }
+
+    @Test
+    public void whenBoundsAreNotStoredMinShouldThrowUnsupportedOperationException() throws IOException {
+        final LongListPebbleOffsetsStore sizesStore = new LongListPebbleOffsetsStore();
+        final LongListPebbleOffsetsStore minsStore = new LongListPebbleOffsetsStore();
+        new PebbleListsSummaryStoreWriter(sizesStore).append(new IntArrayList(new int[] {1, 2}));
+        final PebbleListsSummaryStore summaryStore = new PebbleListsSummaryStore(sizesStore, minsStore, null);
+        expectedException.expect(UnsupportedOperationException.class);
+        expectedException.expectMessage("Bounds of the lists were not stored");
+
+        summaryStore.min(0);
+    }
+
+    @Test
+    public void whenBoundsAreNotStoredMaxShouldThrowUnsupportedOperationException() throws IOException {
+        final LongListPebbleOffsetsStore sizesStore = new LongListPebbleOffsetsStore();
+        new PebbleListsSummaryStoreWriter(sizesStore).append(new IntArrayList(new int[] {1, 2}));
+        final PebbleListsSummaryStore summaryStore = new PebbleListsSummaryStore(sizesStore);
+        expectedException.expect(UnsupportedOperationException.class);
+        expectedException.expectMessage("Bounds of the lists were not stored");
+
+        summaryStore.max(0);
+    }
+
+    @Test
+    public void whenOnlyMinsWriterIsProvidedItShouldThrowIllegalArgumentException() throws IOException {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Mins and maxs writers must be both provided or both null");
+
+        new PebbleListsSummaryStoreWriter(new LongListPebbleOffsetsStore(), new LongListPebbleOffsetsStore(), null);
+    }
+
+    @Test
+    public void whenOnlyMaxsWriterIsProvidedItShouldThrowIllegalArgumentException() throws IOException {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Mins and maxs writers must be both provided or both null");
+
+        new PebbleListsSummaryStoreWriter(new LongListPebbleOffsetsStore(), null, new LongListPebbleOffsetsStore());
+    }
+
+    @Test
+    public void whenBoundsWriterIsEliasFanoStoreItShouldThrowIllegalArgumentException() throws IOException {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(
+            "Bounds writer EliasFanoPebbleOffsetsStore does not accept negative and non monotone values"
+        );
+
+        new PebbleListsSummaryStoreWriter(
+            new LongListPebbleOffsetsStore(),
+            new EliasFanoPebbleOffsetsStore(),
+            new LongListPebbleOffsetsStore()
+        );
+    }
+
+    @Test
+    public void whenBoundsWriterIsEliasFanoWriterItShouldThrowIllegalArgumentException() throws IOException {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage(
+            "Bounds writer EliasFanoPebbleOffsetsStoreWriter does not accept negative and non monotone values"
+        );
+
+        new PebbleListsSummaryStoreWriter(
+            new LongListPebbleOffsetsStore(),
+            new LongListPebbleOffsetsStore(),
+            new EliasFanoPebbleOffsetsStoreWriter(new ByteArrayOutputStream())
+        );
+    }
+
+    @Test
+    public void whenListsHaveNegativeElementsItShouldReturnNegativeBounds() throws IOException {
+        final LongListPebbleOffsetsStore sizesStore = new LongListPebbleOffsetsStore();
+        final LongListPebbleOffsetsStore minsStore = new LongListPebbleOffsetsStore();
+        final LongListPebbleOffsetsStore maxsStore = new LongListPebbleOffsetsStore();
+        final PebbleListsSummaryStoreWriter writer = new PebbleListsSummaryStoreWriter(
+            sizesStore,
+            minsStore,
+            maxsStore
+        );
+        writer.append(new IntArrayList(new int[] {-3, 4, -9}));
+        writer.append(new LongArrayList(new long[] {-1L << 40, -2L}));
+
+        final PebbleListsSummaryStore summaryStore = new PebbleListsSummaryStore(sizesStore, minsStore, maxsStore);
+
+        assertEquals(-9L, summaryStore.min(0));
+        assertEquals(4L, summaryStore.max(0));
+        assertEquals(-1L << 40, summaryStore.min(1));
+        assertEquals(-2L, summaryStore.max(1));
+    }
+
+}
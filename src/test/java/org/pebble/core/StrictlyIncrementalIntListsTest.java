@@ -22,8 +22,11 @@ import it.unimi.dsi.fastutil.ints.IntList;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.pebble.FastIntegrationTest;
+import org.pebble.core.decoding.ints.IntListsCache;
+import org.pebble.core.decoding.ints.StrictlyIncrementalListDecoder;
 import org.pebble.core.decoding.iterators.Helper.Input;
 import org.pebble.core.decoding.iterators.ints.StrictlyIncrementalListIterator;
+import org.pebble.core.encoding.EncodingOptions;
 import org.pebble.core.encoding.Helper;
 import org.pebble.core.encoding.Helper.Output;
 import org.pebble.core.encoding.OutputSuccinctStream;
@@ -36,6 +39,7 @@ import org.pebble.utils.LongListPebbleOffsetsStore;
 import java.io.IOException;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static org.pebble.core.decoding.iterators.Helper.getInput;
 import static org.pebble.core.encoding.Helper.getOutput;
 import static org.pebble.core.encoding.Helper.toBinaryString;
@@ -163,4 +167,269 @@ public class StrictlyIncrementalIntListsTest {
             Helper.<Integer, IntList>translateToUtilsCollection(lists)
         );
     }
+    @Test
+    public void itShouldDecompressListsReusingIterator() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1" +
+            "0100 1 1 1 01101 00001 1 1 00100011" +
+            "0101 1 1 1 1" +
+            "1 0100 00001 001000111" +
+            "0101 1 1 1 1" +
+            "01101 0101 0 0101 01100 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 22L, 49L, 57L, 76L, 84L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {1, 2, 3, 5, 8, 12, 13, 14}),
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14}),
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {5, 8, 12, 13})
+        };
+        final IntList[] lists = new IntList[expectedLists.length];
+        IntList list;
+        final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(lists.length - 1, valueBitSize, bytesStore);
+
+        for(int i = lists.length - 1; i >= 0; i--) {
+            iterator.reset(i);
+            lists[i] = list = new IntArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+        }
+
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(expectedLists),
+            Helper.<Integer, IntList>translateToUtilsCollection(lists)
+        );
+    }
+
+    @Test
+    public void itShouldDecompressListsUsingCache() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1" +
+            "0100 1 1 1 01101 00001 1 1 00100011" +
+            "0101 1 1 1 1" +
+            "1 0100 00001 001000111" +
+            "0101 1 1 1 1" +
+            "01101 0101 0 0101 01100 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 22L, 49L, 57L, 76L, 84L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {1, 2, 3, 5, 8, 12, 13, 14}),
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14}),
+            new IntArrayList(new int[] {5, 8, 12, 13}),
+            new IntArrayList(new int[] {5, 8, 12, 13})
+        };
+        final IntList[] lists = new IntList[expectedLists.length];
+        IntList list;
+        final IntListsCache cache = new IntListsCache(1L << 16);
+        final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(0, valueBitSize, bytesStore, cache);
+
+        for (int i = 0; i < 2 * lists.length; i++) {
+            iterator.reset(i % lists.length);
+            lists[i % lists.length] = list = new IntArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+        }
+
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(expectedLists),
+            Helper.<Integer, IntList>translateToUtilsCollection(lists)
+        );
+        assertEquals(3L, cache.misses());
+        assertEquals(7L, cache.hits());
+    }
+
+    @Test
+    public void itShouldCompressAndDecompressListsWithSkipPointers() throws IOException {
+        final int valueBitSize = 7;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(2);
+        final IntList[] lists = getSkipPointersLists();
+        final PebbleBytesStore bytesStore = writeSkipPointersLists(lists, valueBitSize, options);
+        final IntList[] decodedLists = new IntList[lists.length];
+        final IntList[] bulkDecodedLists = new IntList[lists.length];
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+            valueBitSize,
+            options,
+            bytesStore,
+            null
+        );
+        final int[] buffer = new int[128];
+        IntList list;
+        IntIterator iterator;
+
+        for (int i = 0; i < lists.length; i++) {
+            iterator = StrictlyIncrementalListIterator.build(i, valueBitSize, options, bytesStore, null);
+            decodedLists[i] = list = new IntArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+            bulkDecodedLists[i] = new IntArrayList(buffer, 0, decoder.decodeInto(i, buffer));
+        }
+
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(lists),
+            Helper.<Integer, IntList>translateToUtilsCollection(decodedLists)
+        );
+        assertEquals(
+            Helper.<Integer, IntList>translateToUtilsCollection(lists),
+            Helper.<Integer, IntList>translateToUtilsCollection(bulkDecodedLists)
+        );
+    }
+
+    @Test
+    public void itShouldAdvanceToFirstGreaterOrEqualElement() throws IOException {
+        final int valueBitSize = 7;
+        final IntList[] lists = getSkipPointersLists();
+        for (final int skipInterval : new int[] {0, 1, 2, 3}) {
+            final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(skipInterval);
+            final PebbleBytesStore bytesStore = writeSkipPointersLists(lists, valueBitSize, options);
+            final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(
+                0,
+                valueBitSize,
+                options,
+                bytesStore,
+                null
+            );
+            for (int i = 0; i < lists.length; i++) {
+                for (int target = 0; target < 100; target++) {
+                    iterator.reset(i);
+                    final int index = firstGreaterOrEqual(lists[i], 0, target);
+                    assertEquals(index < lists[i].size() ? lists[i].getInt(index) : -1, iterator.advance(target));
+                    for (int j = index + 1; j < lists[i].size(); j++) {
+                        assertEquals(lists[i].getInt(j), iterator.nextInt());
+                    }
+                    assertFalse(iterator.hasNext());
+                }
+                for (int step = 1; step < 8; step++) {
+                    iterator.reset(i);
+                    int index = 0;
+                    for (int target = 0; target < 100; target += step) {
+                        index = firstGreaterOrEqual(lists[i], index, target);
+                        assertEquals(index < lists[i].size() ? lists[i].getInt(index) : -1, iterator.advance(target));
+                        index++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void itShouldCompressAndDecompressListsWithSectionLengths() throws IOException {
+        final int valueBitSize = 7;
+        final IntList[] lists = getSkipPointersLists();
+        final EncodingOptions sectionLengths = EncodingOptions.DEFAULT.withSectionLengths(true);
+        for (final int skipInterval : new int[] {0, 2}) {
+            final EncodingOptions options = sectionLengths.withSkipInterval(skipInterval);
+            final PebbleBytesStore bytesStore = writeSkipPointersLists(lists, valueBitSize, options);
+            final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+                valueBitSize,
+                options,
+                bytesStore,
+                null
+            );
+            final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(
+                0,
+                valueBitSize,
+                options,
+                bytesStore,
+                null
+            );
+            final int[] buffer = new int[128];
+            for (int i = 0; i < lists.length; i++) {
+                final IntList list = new IntArrayList();
+                iterator.reset(i);
+                while (iterator.hasNext()) {
+                    list.add(iterator.nextInt());
+                }
+                assertEquals(lists[i], list);
+                assertEquals(lists[i], new IntArrayList(buffer, 0, decoder.decodeInto(i, buffer)));
+                for (int target = 0; target < 100; target++) {
+                    iterator.reset(i);
+                    final int index = firstGreaterOrEqual(lists[i], 0, target);
+                    assertEquals(index < lists[i].size() ? lists[i].getInt(index) : -1, iterator.advance(target));
+                    assertEquals(lists[i].contains(target), decoder.contains(i, target));
+                }
+            }
+        }
+    }
+
+    private static int firstGreaterOrEqual(final IntList list, int index, final int target) {
+        while (index < list.size() && list.getInt(index) < target) {
+            index++;
+        }
+        return index;
+    }
+
+    private static IntList[] getSkipPointersLists() {
+        return new IntList[] {
+            new IntArrayList(
+                new int[] {
+                    0, 3, 4, 5, 6, 7, 9, 12, 13, 14, 15, 16,
+                    20, 22, 25, 27, 30, 31, 32, 33, 34, 40
+                }
+            ),
+            new IntArrayList(
+                new int[] {
+                    0, 3, 4, 5, 6, 7, 9, 12, 13, 14, 15, 16,
+                    20, 22, 25, 27, 30, 31, 32, 33, 34, 40, 41, 45,
+                    50, 51, 52, 53, 54, 60, 61, 62, 63, 64
+                }
+            ),
+            new IntArrayList(
+                new int[] {
+                    1, 2, 5, 9, 10, 11, 12, 13, 17, 19, 23, 29,
+                    30, 31, 32, 33, 34, 35, 40, 41, 42, 43, 48, 49,
+                    50, 51, 60, 70, 80
+                }
+            ),
+            new IntArrayList(
+                new int[] {
+                    0, 3, 4, 5, 6, 7, 9, 12, 13, 14, 15, 16,
+                    20, 22, 25, 27, 30, 31, 32, 33, 34, 40, 41, 45,
+                    50, 51, 52, 53, 54, 60, 61, 62, 63, 64, 70, 71,
+                    72, 73, 75, 90
+                }
+            ),
+            new IntArrayList(new int[] {}),
+            new IntArrayList(new int[] {90})
+        };
+    }
+
+    private static PebbleBytesStore writeSkipPointersLists(
+        final IntList[] lists,
+        final int valueBitSize,
+        final EncodingOptions options
+    ) throws IOException {
+        final Output out = getOutput();
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            3,
+            1,
+            3,
+            new InvertedListIntReferenceListsIndex()
+        );
+        final long[] offsets = new long[lists.length];
+        long offset = 0L;
+        for (int i = 0; i < lists.length; i++) {
+            offsets[i] = offset;
+            offset += out.stream.writeStrictlyIncrementalList(
+                new IntArrayList(lists[i]),
+                i,
+                valueBitSize,
+                options,
+                referenceListsStore
+            );
+        }
+        out.close();
+        return new BytesArrayPebbleBytesStore(out.buffer, new LongListPebbleOffsetsStore(offsets));
+    }
+
 }
@@ -24,6 +24,9 @@ import org.junit.experimental.categories.Category;
 import org.pebble.FastIntegrationTest;
 import org.pebble.core.decoding.iterators.Helper.Input;
 import org.pebble.core.decoding.iterators.longs.StrictlyIncrementalListIterator;
+import org.pebble.core.decoding.longs.LongListsCache;
+import org.pebble.core.decoding.longs.StrictlyIncrementalListDecoder;
+import org.pebble.core.encoding.EncodingOptions;
 import org.pebble.core.encoding.Helper;
 import org.pebble.core.encoding.Helper.Output;
 import org.pebble.core.encoding.OutputSuccinctStream;
@@ -36,6 +39,7 @@ import org.pebble.utils.LongListPebbleOffsetsStore;
 import java.io.IOException;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static org.pebble.core.decoding.iterators.Helper.getInput;
 import static org.pebble.core.encoding.Helper.getOutput;
 import static org.pebble.core.encoding.Helper.toBinaryString;
@@ -163,4 +167,269 @@ public class StrictlyIncrementalLongListsTest {
             Helper.<Long, LongList>translateToUtilsCollection(lists)
         );
     }
+    @Test
+    public void itShouldDecompressListsReusingIterator() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1" +
+            "0100 1 1 1 01101 00001 1 1 00100011" +
+            "0101 1 1 1 1" +
+            "1 0100 00001 001000111" +
+            "0101 1 1 1 1" +
+            "01101 0101 0 0101 01100 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 22L, 49L, 57L, 76L, 84L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final LongList[] expectedLists = new LongList[] {
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {1L, 2L, 3L, 5L, 8L, 12L, 13L, 14L}),
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L}),
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L})
+        };
+        final LongList[] lists = new LongList[expectedLists.length];
+        LongList list;
+        final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(lists.length - 1, valueBitSize, bytesStore);
+
+        for(int i = lists.length - 1; i >= 0; i--) {
+            iterator.reset(i);
+            lists[i] = list = new LongArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+        }
+
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(expectedLists),
+            Helper.<Long, LongList>translateToUtilsCollection(lists)
+        );
+    }
+
+    @Test
+    public void itShouldDecompressListsUsingCache() throws IOException {
+        final Input input = getInput(
+            "1 1 01101 00101 0101 01100 1" +
+            "0100 1 1 1 01101 00001 1 1 00100011" +
+            "0101 1 1 1 1" +
+            "1 0100 00001 001000111" +
+            "0101 1 1 1 1" +
+            "01101 0101 0 0101 01100 1 1"
+        );
+        final PebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore(new long[] {0L, 22L, 49L, 57L, 76L, 84L});
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(input.buffer, offsetsStore);
+        final int valueBitSize = 5;
+        final LongList[] expectedLists = new LongList[] {
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {1L, 2L, 3L, 5L, 8L, 12L, 13L, 14L}),
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L}),
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L}),
+            new LongArrayList(new long[] {5L, 8L, 12L, 13L})
+        };
+        final LongList[] lists = new LongList[expectedLists.length];
+        LongList list;
+        final LongListsCache cache = new LongListsCache(1L << 16);
+        final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(0, valueBitSize, bytesStore, cache);
+
+        for (int i = 0; i < 2 * lists.length; i++) {
+            iterator.reset(i % lists.length);
+            lists[i % lists.length] = list = new LongArrayList();
+            while(iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+        }
+
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(expectedLists),
+            Helper.<Long, LongList>translateToUtilsCollection(lists)
+        );
+        assertEquals(3L, cache.misses());
+        assertEquals(7L, cache.hits());
+    }
+
+    @Test
+    public void itShouldCompressAndDecompressListsWithSkipPointers() throws IOException {
+        final int valueBitSize = 7;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(2);
+        final LongList[] lists = getSkipPointersLists();
+        final PebbleBytesStore bytesStore = writeSkipPointersLists(lists, valueBitSize, options);
+        final LongList[] decodedLists = new LongList[lists.length];
+        final LongList[] bulkDecodedLists = new LongList[lists.length];
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+            valueBitSize,
+            options,
+            bytesStore,
+            null
+        );
+        final long[] buffer = new long[128];
+        LongList list;
+        LongIterator iterator;
+
+        for (int i = 0; i < lists.length; i++) {
+            iterator = StrictlyIncrementalListIterator.build(i, valueBitSize, options, bytesStore, null);
+            decodedLists[i] = list = new LongArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+            bulkDecodedLists[i] = new LongArrayList(buffer, 0, decoder.decodeInto(i, buffer));
+        }
+
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(lists),
+            Helper.<Long, LongList>translateToUtilsCollection(decodedLists)
+        );
+        assertEquals(
+            Helper.<Long, LongList>translateToUtilsCollection(lists),
+            Helper.<Long, LongList>translateToUtilsCollection(bulkDecodedLists)
+        );
+    }
+
+    @Test
+    public void itShouldAdvanceToFirstGreaterOrEqualElement() throws IOException {
+        final int valueBitSize = 7;
+        final LongList[] lists = getSkipPointersLists();
+        for (final int skipInterval : new int[] {0, 1, 2, 3}) {
+            final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(skipInterval);
+            final PebbleBytesStore bytesStore = writeSkipPointersLists(lists, valueBitSize, options);
+            final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(
+                0,
+                valueBitSize,
+                options,
+                bytesStore,
+                null
+            );
+            for (int i = 0; i < lists.length; i++) {
+                for (long target = 0; target < 100; target++) {
+                    iterator.reset(i);
+                    final int index = firstGreaterOrEqual(lists[i], 0, target);
+                    assertEquals(index < lists[i].size() ? lists[i].getLong(index) : -1L, iterator.advance(target));
+                    for (int j = index + 1; j < lists[i].size(); j++) {
+                        assertEquals(lists[i].getLong(j), iterator.nextLong());
+                    }
+                    assertFalse(iterator.hasNext());
+                }
+                for (int step = 1; step < 8; step++) {
+                    iterator.reset(i);
+                    int index = 0;
+                    for (long target = 0; target < 100; target += step) {
+                        index = firstGreaterOrEqual(lists[i], index, target);
+                        assertEquals(index < lists[i].size() ? lists[i].getLong(index) : -1L, iterator.advance(target));
+                        index++;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void itShouldCompressAndDecompressListsWithSectionLengths() throws IOException {
+        final int valueBitSize = 7;
+        final LongList[] lists = getSkipPointersLists();
+        final EncodingOptions sectionLengths = EncodingOptions.DEFAULT.withSectionLengths(true);
+        for (final int skipInterval : new int[] {0, 2}) {
+            final EncodingOptions options = sectionLengths.withSkipInterval(skipInterval);
+            final PebbleBytesStore bytesStore = writeSkipPointersLists(lists, valueBitSize, options);
+            final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+                valueBitSize,
+                options,
+                bytesStore,
+                null
+            );
+            final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(
+                0,
+                valueBitSize,
+                options,
+                bytesStore,
+                null
+            );
+            final long[] buffer = new long[128];
+            for (int i = 0; i < lists.length; i++) {
+                final LongList list = new LongArrayList();
+                iterator.reset(i);
+                while (iterator.hasNext()) {
+                    list.add(iterator.nextLong());
+                }
+                assertEquals(lists[i], list);
+                assertEquals(lists[i], new LongArrayList(buffer, 0, decoder.decodeInto(i, buffer)));
+                for (int target = 0; target < 100; target++) {
+                    iterator.reset(i);
+                    final int index = firstGreaterOrEqual(lists[i], 0, target);
+                    assertEquals(index < lists[i].size() ? lists[i].getLong(index) : -1, iterator.advance(target));
+                    assertEquals(lists[i].contains(target), decoder.contains(i, target));
+                }
+            }
+        }
+    }
+
+    private static int firstGreaterOrEqual(final LongList list, int index, final long target) {
+        while (index < list.size() && list.getLong(index) < target) {
+            index++;
+        }
+        return index;
+    }
+
+    private static LongList[] getSkipPointersLists() {
+        return new LongList[] {
+            new LongArrayList(
+                new long[] {
+                    0L, 3L, 4L, 5L, 6L, 7L, 9L, 12L, 13L, 14L, 15L, 16L,
+                    20L, 22L, 25L, 27L, 30L, 31L, 32L, 33L, 34L, 40L
+                }
+            ),
+            new LongArrayList(
+                new long[] {
+                    0L, 3L, 4L, 5L, 6L, 7L, 9L, 12L, 13L, 14L, 15L, 16L,
+                    20L, 22L, 25L, 27L, 30L, 31L, 32L, 33L, 34L, 40L, 41L, 45L,
+                    50L, 51L, 52L, 53L, 54L, 60L, 61L, 62L, 63L, 64L
+                }
+            ),
+            new LongArrayList(
+                new long[] {
+                    1L, 2L, 5L, 9L, 10L, 11L, 12L, 13L, 17L, 19L, 23L, 29L,
+                    30L, 31L, 32L, 33L, 34L, 35L, 40L, 41L, 42L, 43L, 48L, 49L,
+                    50L, 51L, 60L, 70L, 80L
+                }
+            ),
+            new LongArrayList(
+                new long[] {
+                    0L, 3L, 4L, 5L, 6L, 7L, 9L, 12L, 13L, 14L, 15L, 16L,
+                    20L, 22L, 25L, 27L, 30L, 31L, 32L, 33L, 34L, 40L, 41L, 45L,
+                    50L, 51L, 52L, 53L, 54L, 60L, 61L, 62L, 63L, 64L, 70L, 71L,
+                    72L, 73L, 75L, 90L
+                }
+            ),
+            new LongArrayList(new long[] {}),
+            new LongArrayList(new long[] {90L})
+        };
+    }
+
+    private static PebbleBytesStore writeSkipPointersLists(
+        final LongList[] lists,
+        final int valueBitSize,
+        final EncodingOptions options
+    ) throws IOException {
+        final Output out = getOutput();
+        final LongReferenceListsStore referenceListsStore = new LongReferenceListsStore(
+            3,
+            1,
+            3,
+            new InvertedListLongReferenceListsIndex()
+        );
+        final long[] offsets = new long[lists.length];
+        long offset = 0L;
+        for (int i = 0; i < lists.length; i++) {
+            offsets[i] = offset;
+            offset += out.stream.writeStrictlyIncrementalList(
+                new LongArrayList(lists[i]),
+                i,
+                valueBitSize,
+                options,
+                referenceListsStore
+            );
+        }
+        out.close();
+        return new BytesArrayPebbleBytesStore(out.buffer, new LongListPebbleOffsetsStore(offsets));
+    }
+
 }
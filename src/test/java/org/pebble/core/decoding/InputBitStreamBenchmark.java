@@ -0,0 +1,140 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.decoding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pebble.core.encoding.OutputBitStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the decoding throughput of {@link InputBitStream} over a buffer of codes with a skewed distribution of
+ * values, similar to the gaps found on compressed lists. Values are scaled by a random power of two lower than
+ * <code>2^scale</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputBitStreamBenchmark {
+
+    private static final int CODES = 1 << 16;
+    private static final int INT_SIZE = 20;
+
+    @Param({"4", "12"})
+    public int scale;
+
+    private byte[] gammas;
+    private byte[] deltas;
+    private byte[] ints;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(42L);
+        final int[] values = new int[CODES];
+        for (int i = 0; i < CODES; i++) {
+            values[i] = (int) Math.min(Integer.MAX_VALUE - 1, Math.abs(random.nextGaussian()) * (1 << random.nextInt(scale)));
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        for (int value : values) {
+            outputBitStream.writeGamma(value);
+        }
+        outputBitStream.close();
+        gammas = outputStream.toByteArray();
+        outputStream = new ByteArrayOutputStream();
+        outputBitStream = new OutputBitStream(outputStream);
+        for (int value : values) {
+            outputBitStream.writeDelta(value);
+        }
+        outputBitStream.close();
+        deltas = outputStream.toByteArray();
+        outputStream = new ByteArrayOutputStream();
+        outputBitStream = new OutputBitStream(outputStream);
+        for (int value : values) {
+            outputBitStream.writeInt(value, INT_SIZE);
+        }
+        outputBitStream.close();
+        ints = outputStream.toByteArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int readGamma() throws IOException {
+        final InputBitStream inputBitStream = new InputBitStream(gammas);
+        int sum = 0;
+        for (int i = 0; i < CODES; i++) {
+            sum += inputBitStream.readGamma();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int readDelta() throws IOException {
+        final InputBitStream inputBitStream = new InputBitStream(deltas);
+        int sum = 0;
+        for (int i = 0; i < CODES; i++) {
+            sum += inputBitStream.readDelta();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int readInt() throws IOException {
+        final InputBitStream inputBitStream = new InputBitStream(ints);
+        int sum = 0;
+        for (int i = 0; i < CODES; i++) {
+            sum += inputBitStream.readInt(INT_SIZE);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public long skipDeltas() throws IOException {
+        final InputBitStream inputBitStream = new InputBitStream(deltas);
+        inputBitStream.skipDeltas(CODES);
+        return inputBitStream.position();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public long skipGammas() throws IOException {
+        final InputBitStream inputBitStream = new InputBitStream(gammas);
+        inputBitStream.skipGammas(CODES);
+        return inputBitStream.position();
+    }
+
+}
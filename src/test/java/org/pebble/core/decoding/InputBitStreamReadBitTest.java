@@ -18,8 +18,10 @@ package org.pebble.core.decoding;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
 import org.pebble.UnitTest;
 import org.pebble.core.decoding.iterators.Helper;
 
@@ -31,6 +33,9 @@ import static org.pebble.core.decoding.iterators.Helper.getInput;
 @Category(UnitTest.class)
 public class InputBitStreamReadBitTest {
 
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
     @Test
     public void itShouldReadExpectedValues() throws IOException {
         final IntList expectedValues = new IntArrayList(new int[] {1, 1, 0, 1, 0, 0, 1, 0, 0, 0, 0, 1});
@@ -45,4 +50,14 @@ public class InputBitStreamReadBitTest {
         assertEquals(expectedValues, values);
     }
 
+    @Test
+    public void whenReadingBeyondEndOfBufferItShouldThrowIOException() throws IOException {
+        final Helper.Input input = getInput("10101010");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        inputStream.position(8);
+        expectedException.expect(IOException.class);
+
+        inputStream.readBit();
+    }
+
 }
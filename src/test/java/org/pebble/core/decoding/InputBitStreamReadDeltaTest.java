@@ -24,7 +24,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.pebble.UnitTest;
 import org.pebble.core.decoding.iterators.Helper;
+import org.pebble.core.encoding.OutputBitStream;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
@@ -75,4 +77,61 @@ public class InputBitStreamReadDeltaTest {
         assertEquals(expectedValues, values);
     }
 
+    @Test
+    public void whenCodesDoNotFitOnDecodingTablesReadDeltaItShouldReadExpectedValues() throws IOException {
+        final IntList expectedValues = new IntArrayList(new int[] {2000, 1000, 0});
+        /**
+         * 2001              1001             1 Increment one.
+         * 11111010001       1111101001       1 Binary representation.
+         * 11-1111010001     10-111101001     1 Decimal Gamma Prefix and Binary Gamma Suffix.
+         * 1011-1111010001   1010-111101001   1 Binary Gamma Prefix and Binary Gamma Suffix.
+         * 00010111111010001 0001010111101001 1 Delta Encoding.
+         */
+        final Helper.Input input = getInput("00010111111010001 0001010111101001 1");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        final IntList values = new IntArrayList();
+
+        for (int i = 0; i < expectedValues.size(); i++) {
+            values.add(inputStream.readDelta());
+        }
+
+        assertEquals(expectedValues, values);
+    }
+
+    @Test
+    public void whenCodesDoNotFitOnDecodingTablesReadLongDeltaItShouldReadExpectedValues() throws IOException {
+        final LongList expectedValues = new LongArrayList(new long[] {2000L, 1000L, 0L});
+        /**
+         * 2001              1001             1 Increment one.
+         * 11111010001       1111101001       1 Binary representation.
+         * 11-1111010001     10-111101001     1 Decimal Gamma Prefix and Binary Gamma Suffix.
+         * 1011-1111010001   1010-111101001   1 Binary Gamma Prefix and Binary Gamma Suffix.
+         * 00010111111010001 0001010111101001 1 Delta Encoding.
+         */
+        final Helper.Input input = getInput("00010111111010001 0001010111101001 1");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        final LongList values = new LongArrayList();
+
+        for (int i = 0; i < expectedValues.size(); i++) {
+            values.add(inputStream.readLongDelta());
+        }
+
+        assertEquals(expectedValues, values);
+    }
+
+    @Test
+    public void whenCodesAreWrittenWithOutputBitStreamItShouldReadDeltaWrittenValues() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        for (int i = 0; i < 5000; i++) {
+            outputBitStream.writeDelta(i * i % 4099);
+        }
+        outputBitStream.close();
+        final InputBitStream inputStream = new InputBitStream(outputStream.toByteArray());
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i * i % 4099, inputStream.readDelta());
+        }
+    }
+
 }
@@ -24,7 +24,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.pebble.UnitTest;
 import org.pebble.core.decoding.iterators.Helper;
+import org.pebble.core.encoding.OutputBitStream;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
@@ -73,4 +75,82 @@ public class InputBitStreamReadGammaTest {
         assertEquals(expectedValues, values);
     }
 
+    @Test
+    public void whenCodesDoNotFitOnDecodingTablesReadGammaItShouldReadExpectedValues() throws IOException {
+        final IntList expectedValues = new IntArrayList(new int[] {1000, 0, 3});
+        /**
+         * 1001                1     4     Increment one.
+         * 1111101001          1     100   Binary representation.
+         * 10-111101001        1-    3-00  Decimal Gamma Prefix and Binary Gamma Suffix.
+         * 0000000001111101001 1     00100 Gamma Encoding.
+         */
+        final Helper.Input input = getInput("0000000001111101001 1 00100");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        final IntList values = new IntArrayList();
+
+        for (int i = 0; i < expectedValues.size(); i++) {
+            values.add(inputStream.readGamma());
+        }
+
+        assertEquals(expectedValues, values);
+    }
+
+    @Test
+    public void whenCodesDoNotFitOnDecodingTablesReadLongGammaItShouldReadExpectedValues() throws IOException {
+        final LongList expectedValues = new LongArrayList(new long[] {1000L, 0L, 3L});
+        /**
+         * 1001                1     4     Increment one.
+         * 1111101001          1     100   Binary representation.
+         * 10-111101001        1-    3-00  Decimal Gamma Prefix and Binary Gamma Suffix.
+         * 0000000001111101001 1     00100 Gamma Encoding.
+         */
+        final Helper.Input input = getInput("0000000001111101001 1 00100");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        final LongList values = new LongArrayList();
+
+        for (int i = 0; i < expectedValues.size(); i++) {
+            values.add(inputStream.readLongGamma());
+        }
+
+        assertEquals(expectedValues, values);
+    }
+
+    @Test
+    public void whenCodesAreWrittenWithOutputBitStreamItShouldReadGammaWrittenValues() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        for (int i = 0; i < 5000; i++) {
+            outputBitStream.writeGamma(i * i % 4099);
+        }
+        outputBitStream.close();
+        final InputBitStream inputStream = new InputBitStream(outputStream.toByteArray());
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i * i % 4099, inputStream.readGamma());
+        }
+    }
+
+    @Test
+    public void whenCodesDoNotFitOnLoadedWordReadLongGammaItShouldReadExpectedValues() throws IOException {
+        final LongList expectedValues = new LongArrayList(new long[] {(1L << 40) - 1L, 0L});
+        final StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            data.append('0');
+        }
+        data.append('1');
+        for (int i = 0; i < 40; i++) {
+            data.append('0');
+        }
+        data.append('1');
+        final Helper.Input input = getInput(data.toString());
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        final LongList values = new LongArrayList();
+
+        for (int i = 0; i < expectedValues.size(); i++) {
+            values.add(inputStream.readLongGamma());
+        }
+
+        assertEquals(expectedValues, values);
+    }
+
 }
@@ -46,4 +46,30 @@ public class InputBitStreamReadIntTest {
         assertEquals(expectedValues, values);
     }
 
+    @Test
+    public void whenValuesCrossLoadedWindowsItShouldReadExpectedValues() throws IOException {
+        final IntList expectedValues = new IntArrayList(new int[] {5, 1431655765, 1073741824, 3});
+        final int[] sizes = new int[] {3, 31, 31, 2};
+        final Helper.Input input = getInput(
+            "101 1010101010101010101010101010101 1000000000000000000000000000000 11"
+        );
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        final IntList values = new IntArrayList();
+
+        for (int i = 0; i < sizes.length; i++) {
+            values.add(inputStream.readInt(sizes[i]));
+        }
+
+        assertEquals(expectedValues, values);
+    }
+
+    @Test
+    public void whenSizeIsZeroItShouldReadZeroWithoutMovingTheCursor() throws IOException {
+        final Helper.Input input = getInput("1");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+
+        assertEquals(0, inputStream.readInt(0));
+        assertEquals(0L, inputStream.position());
+    }
+
 }
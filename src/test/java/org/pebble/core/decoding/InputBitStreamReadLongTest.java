@@ -50,4 +50,23 @@ public class InputBitStreamReadLongTest {
         assertEquals(expectedValues, values);
     }
 
+    @Test
+    public void whenValuesAreNotByteAlignedItShouldReadExpectedValues() throws IOException {
+        final LongList expectedValues = new LongArrayList(new long[] {5L, 0x5555555555555555L, 1L});
+        final int[] sizes = new int[] {3, 64, 60};
+        final Helper.Input input = getInput(
+            "101" +
+            "0101010101010101010101010101010101010101010101010101010101010101" +
+            "000000000000000000000000000000000000000000000000000000000001"
+        );
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        final LongList values = new LongArrayList();
+
+        for (int i = 0; i < sizes.length; i++) {
+            values.add(inputStream.readLong(sizes[i]));
+        }
+
+        assertEquals(expectedValues, values);
+    }
+
 }
@@ -23,6 +23,7 @@ import org.pebble.core.decoding.iterators.Helper;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.pebble.core.decoding.iterators.Helper.getInput;
 
@@ -42,4 +43,19 @@ public class InputBitStreamReadTest {
         assertEquals(expectedValue, new String(value));
     }
 
+    @Test
+    public void whenSizeIsNotMultipleOfByteSizeItShouldReadExpectedValues() throws IOException {
+        final byte[] expectedValue = new byte[] {(byte) 0xA5, (byte) 0xB0};
+        final Helper.Input input = getInput("111 10100101 1011 1");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        inputStream.position(3);
+        final int size = 12;
+        final byte[] value = new byte[2];
+
+        inputStream.read(value, size);
+
+        assertArrayEquals(expectedValue, value);
+        assertEquals(15L, inputStream.position());
+    }
+
 }
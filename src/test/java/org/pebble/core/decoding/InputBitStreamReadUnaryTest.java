@@ -20,8 +20,10 @@ import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
 import org.pebble.UnitTest;
 import org.pebble.core.decoding.iterators.Helper;
 
@@ -33,6 +35,9 @@ import static org.pebble.core.decoding.iterators.Helper.getInput;
 @Category(UnitTest.class)
 public class InputBitStreamReadUnaryTest {
 
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
     @Test
     public void readUnaryItShouldReadExpectedValues() throws IOException {
         final IntList expectedValues = new IntArrayList(new int[] {17, 4, 6});
@@ -61,4 +66,29 @@ public class InputBitStreamReadUnaryTest {
         assertEquals(expectedValues, values);
     }
 
+    @Test
+    public void whenCodeCrossLoadedWindowsItShouldReadExpectedValue() throws IOException {
+        final int expectedValue = 150;
+        final StringBuilder data = new StringBuilder("011");
+        for (int i = 1; i < expectedValue; i++) {
+            data.append('0');
+        }
+        data.append('1');
+        final Helper.Input input = getInput(data.toString());
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        inputStream.position(3);
+
+        assertEquals(expectedValue, inputStream.readUnary());
+        assertEquals(3L + expectedValue, inputStream.position());
+    }
+
+    @Test
+    public void whenCodeIsNotTerminatedBeforeEndOfBufferItShouldThrowIOException() throws IOException {
+        final Helper.Input input = getInput("00000000 00000000 00000000 00000000 00000000 00000000 00000000 00000000 0000");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+        expectedException.expect(IOException.class);
+
+        inputStream.readUnary();
+    }
+
 }
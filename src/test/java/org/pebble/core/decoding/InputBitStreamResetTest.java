@@ -0,0 +1,63 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class InputBitStreamResetTest {
+
+    @Test
+    public void whenResetToSameArrayItShouldReadFromTheBeginning() throws IOException {
+        final byte[] buffer = new byte[] {(byte) 0xA5, (byte) 0xF0};
+        final InputBitStream inputBitStream = new InputBitStream(buffer);
+        inputBitStream.readInt(12);
+
+        inputBitStream.reset(buffer);
+
+        assertEquals(0L, inputBitStream.position());
+        assertEquals(0xA5F0, inputBitStream.readInt(16));
+    }
+
+    @Test
+    public void whenResetToOtherArrayItShouldReadFromOtherArray() throws IOException {
+        final InputBitStream inputBitStream = new InputBitStream(new byte[] {(byte) 0xA5});
+        inputBitStream.readInt(4);
+
+        inputBitStream.reset(new byte[] {(byte) 0x0F, (byte) 0x3C});
+
+        assertEquals(0L, inputBitStream.position());
+        assertEquals(0x0F3C, inputBitStream.readInt(16));
+    }
+
+    @Test
+    public void whenStreamWasNotReadingFromArrayResetItShouldReadFromArray() throws IOException {
+        final InputBitStream inputBitStream = new InputBitStream(1L) { };
+
+        inputBitStream.reset(new byte[] {(byte) 0x81});
+
+        assertEquals(0x81, inputBitStream.readInt(8));
+    }
+
+}
@@ -46,4 +46,29 @@ public class InputBitStreamSkipDeltasTest {
         assertEquals(expectedPosition, inputStream.position());
     }
 
+    @Test
+    public void whenSkippingRunsOfShortCodesAndLongCodesItShouldSkipExpectedBits() throws IOException {
+        final int expectedPosition = 37;
+        /**
+         * 20 codes of 0 followed by 2000 and 0.
+         */
+        final Helper.Input input = getInput("11111111111111111111 00010111111010001 1");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+
+        inputStream.skipDeltas(21);
+
+        assertEquals(expectedPosition, inputStream.position());
+    }
+
+    @Test
+    public void whenSkippingLessCodesThanTheRunOfShortCodesItShouldSkipExpectedBits() throws IOException {
+        final int expectedPosition = 3;
+        final Helper.Input input = getInput("11111111111111111111");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+
+        inputStream.skipDeltas(3);
+
+        assertEquals(expectedPosition, inputStream.position());
+    }
+
 }
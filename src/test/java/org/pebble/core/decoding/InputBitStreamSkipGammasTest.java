@@ -51,4 +51,49 @@ public class InputBitStreamSkipGammasTest {
         assertEquals(expectedPosition, inputStream.position());
     }
 
+    @Test
+    public void whenSkippingRunsOfShortCodesAndLongCodesItShouldSkipExpectedBits() throws IOException {
+        final int expectedPosition = 39;
+        /**
+         * 20 codes of 0 followed by 1000 and 0.
+         */
+        final Helper.Input input = getInput("11111111111111111111 0000000001111101001 1");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+
+        inputStream.skipGammas(21);
+
+        assertEquals(expectedPosition, inputStream.position());
+    }
+
+    @Test
+    public void whenSkippingLessCodesThanTheRunOfShortCodesItShouldSkipExpectedBits() throws IOException {
+        final int expectedPosition = 3;
+        final Helper.Input input = getInput("11111111111111111111");
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+
+        inputStream.skipGammas(3);
+
+        assertEquals(expectedPosition, inputStream.position());
+    }
+
+    @Test
+    public void whenCodesDoNotFitOnLoadedWordItShouldSkipExpectedBits() throws IOException {
+        final int expectedPosition = 82;
+        final StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            data.append('0');
+        }
+        data.append('1');
+        for (int i = 0; i < 40; i++) {
+            data.append('0');
+        }
+        data.append('1');
+        final Helper.Input input = getInput(data.toString());
+        final InputBitStream inputStream = new InputBitStream(input.buffer);
+
+        inputStream.skipGammas(2);
+
+        assertEquals(expectedPosition, inputStream.position());
+    }
+
 }
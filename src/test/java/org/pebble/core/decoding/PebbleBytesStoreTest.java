@@ -50,4 +50,30 @@ public class PebbleBytesStoreTest {
         assertEquals(expectedOffset, inputBitStream.position());
     }
 
+    @Test
+    public void resetInputBitStreamItShouldPositionCursorOnListFromExpectedArray() throws Exception {
+        final Input first = getInput("1 1 1 1 1");
+        final Input second = getInput("0 1");
+        final PebbleBytesStore bytesStore = new PebbleBytesStore() {
+            @Override
+            protected byte[] get(int listIndex) {
+                return listIndex < 2 ? first.buffer : second.buffer;
+            }
+
+            @Override
+            protected long offset(int listIndex) {
+                return listIndex == 1 ? 3L : 0L;
+            }
+        };
+        final InputBitStream inputBitStream = bytesStore.getInputBitStream(0);
+
+        bytesStore.resetInputBitStream(1, inputBitStream);
+        assertEquals(3L, inputBitStream.position());
+        assertEquals(1, inputBitStream.readBit());
+
+        bytesStore.resetInputBitStream(2, inputBitStream);
+        assertEquals(0L, inputBitStream.position());
+        assertEquals(0, inputBitStream.readBit());
+    }
+
 }
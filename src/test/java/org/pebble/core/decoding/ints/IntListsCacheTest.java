@@ -0,0 +1,164 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.ints;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@Category(UnitTest.class)
+public class IntListsCacheTest {
+
+    private static final long LIST_BYTES = IntListsCache.ENTRY_OVERHEAD_BYTES + 4L * 4;
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenListIsNotCachedItShouldReturnNullAndCountMiss() {
+        final IntListsCache cache = new IntListsCache(1L << 16);
+
+        assertNull(cache.get(3));
+        assertEquals(0L, cache.hits());
+        assertEquals(1L, cache.misses());
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.sizeInBytes());
+    }
+
+    @Test
+    public void whenListIsCachedItShouldReturnItAndCountHit() {
+        final IntListsCache cache = new IntListsCache(1L << 16);
+        final int[] list = new int[] {1, 2, 3, 4};
+
+        cache.put(3, list);
+
+        assertSame(list, cache.get(3));
+        assertEquals(1L, cache.hits());
+        assertEquals(0L, cache.misses());
+        assertEquals(1, cache.size());
+        assertEquals(LIST_BYTES, cache.sizeInBytes());
+    }
+
+    @Test
+    public void whenCacheIsFullItShouldEvictLeastRecentlyUsedList() {
+        final IntListsCache cache = new IntListsCache(2 * LIST_BYTES, 1);
+        cache.put(1, new int[] {1, 2, 3, 4});
+        cache.put(2, new int[] {2, 3, 4, 5});
+        cache.get(1);
+
+        cache.put(3, new int[] {3, 4, 5, 6});
+
+        assertArrayEquals(new int[] {1, 2, 3, 4}, cache.get(1));
+        assertNull(cache.get(2));
+        assertArrayEquals(new int[] {3, 4, 5, 6}, cache.get(3));
+        assertEquals(1L, cache.evictions());
+        assertEquals(2, cache.size());
+        assertEquals(2 * LIST_BYTES, cache.sizeInBytes());
+    }
+
+    @Test
+    public void whenListIsCachedAgainItShouldReplacePreviousList() {
+        final IntListsCache cache = new IntListsCache(1L << 16, 1);
+        cache.put(1, new int[] {1, 2});
+
+        cache.put(1, new int[] {1, 2, 3, 4});
+
+        assertArrayEquals(new int[] {1, 2, 3, 4}, cache.get(1));
+        assertEquals(1, cache.size());
+        assertEquals(LIST_BYTES, cache.sizeInBytes());
+        assertEquals(0L, cache.evictions());
+    }
+
+    @Test
+    public void whenListIsBiggerThanSegmentItShouldNotBeCached() {
+        final IntListsCache cache = new IntListsCache(2 * LIST_BYTES - 2, 2);
+
+        cache.put(1, new int[] {1, 2, 3, 4});
+
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void whenCacheIsSharedByThreadsItShouldKeepBound() throws InterruptedException {
+        final IntListsCache cache = new IntListsCache(16 * LIST_BYTES, 4);
+        final AtomicInteger errors = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final int seed = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        final int listIndex = (j * 31 + seed) % 97;
+                        final int[] list = cache.get(listIndex);
+                        if (list == null) {
+                            cache.put(listIndex, new int[] {listIndex, listIndex + 1, listIndex + 2, listIndex + 3});
+                        } else if (list[0] != listIndex) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, errors.get());
+        assertEquals(40000L, cache.hits() + cache.misses());
+        assertEquals(cache.size() * LIST_BYTES, cache.sizeInBytes());
+        assertTrue(cache.sizeInBytes() <= 16 * LIST_BYTES);
+    }
+
+    @Test
+    public void whenMaxBytesIsNotPositiveItShouldThrowIllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Max bytes 0 must be positive");
+
+        new IntListsCache(0L);
+    }
+
+    @Test
+    public void whenSegmentsIsNotPowerOfTwoItShouldThrowIllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Segments 3 is not a power of two");
+
+        new IntListsCache(1L << 16, 3);
+    }
+
+    @Test
+    public void whenSegmentsIsNotPositiveItShouldThrowIllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Segments 0 is not a power of two");
+
+        new IntListsCache(1L << 16, 0);
+    }
+
+}
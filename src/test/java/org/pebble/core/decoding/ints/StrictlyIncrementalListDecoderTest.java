@@ -0,0 +1,187 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.ints;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.iterators.ints.StrictlyIncrementalListIterator;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.ListType;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.VALUE_BIT_SIZE;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.getBytesStore;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.getListArraysBytesStore;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.getLists;
+
+@Category(UnitTest.class)
+public class StrictlyIncrementalListDecoderTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenListsAreDecodedItShouldReturnExpectedLists() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new IntArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenListsAreDecodedWithCacheItShouldReturnExpectedLists() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final IntListsCache cache = new IntListsCache(1L << 20);
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+            VALUE_BIT_SIZE,
+            bytesStore,
+            cache
+        );
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new IntArrayList(dest, 0, size));
+        }
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(
+                i,
+                VALUE_BIT_SIZE,
+                bytesStore,
+                cache
+            );
+            final IntArrayList list = new IntArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+            assertEquals(expectedLists[i], list);
+        }
+
+        assertTrue(cache.hits() > 0L);
+    }
+
+    @Test
+    public void whenListsAreStoredOnDifferentBytesArraysItShouldReturnExpectedLists() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 40, 42L);
+        final PebbleBytesStore bytesStore = getListArraysBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new IntArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenDestinationIsTooSmallItShouldThrowIndexOutOfBoundsException() throws IOException {
+        final IntList[] lists = getLists(ListType.STRICTLY_INCREMENTAL, 3, 7L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, lists);
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        expectedException.expect(IndexOutOfBoundsException.class);
+        expectedException.expectMessage(
+            String.format("List 2 has %d elements, which do not fit into array of length 1", lists[2].size())
+        );
+
+        decoder.decodeInto(2, new int[1]);
+    }
+
+    @Test
+    public void whenCheckingMembershipItShouldMatchListElements() throws IOException {
+        final IntList[] lists = getLists(ListType.STRICTLY_INCREMENTAL, 40, 42L);
+        for (final int skipInterval : new int[] {0, 2}) {
+            final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(skipInterval);
+            final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, lists, options);
+            final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+                VALUE_BIT_SIZE,
+                options,
+                bytesStore,
+                null
+            );
+            assertMembership(lists, decoder);
+        }
+    }
+
+    @Test
+    public void whenCheckingMembershipWithCacheItShouldMatchListElements() throws IOException {
+        final IntList[] lists = getLists(ListType.STRICTLY_INCREMENTAL, 40, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, lists);
+        final IntListsCache cache = new IntListsCache(1L << 20);
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+            VALUE_BIT_SIZE,
+            bytesStore,
+            cache
+        );
+        assertMembership(lists, decoder);
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+        for (int i = 0; i < lists.length; i++) {
+            decoder.decodeInto(i, dest);
+        }
+        assertMembership(lists, decoder);
+    }
+
+    @Test
+    public void whenCheckingMembershipOnListsStoredOnDifferentBytesArraysItShouldMatchListElements()
+        throws IOException
+    {
+        final IntList[] lists = getLists(ListType.STRICTLY_INCREMENTAL, 40, 42L);
+        for (final int skipInterval : new int[] {0, 2}) {
+            final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(skipInterval);
+            final PebbleBytesStore bytesStore = getListArraysBytesStore(ListType.STRICTLY_INCREMENTAL, lists, options);
+            final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(
+                VALUE_BIT_SIZE,
+                options,
+                bytesStore,
+                null
+            );
+            assertMembership(lists, decoder);
+        }
+    }
+
+    private static void assertMembership(
+        final IntList[] lists,
+        final StrictlyIncrementalListDecoder decoder
+    ) throws IOException {
+        for (int i = 0; i < lists.length; i++) {
+            int index = 0;
+            for (int value = 0; value <= 1 << VALUE_BIT_SIZE; value++) {
+                final boolean expected = index < lists[i].size() && lists[i].getInt(index) == value;
+                assertEquals(expected, decoder.contains(i, value));
+                if (expected) {
+                    index++;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,321 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.decoding.ints;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.InputBitStream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ObjIntConsumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.ListType;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.VALUE_BIT_SIZE;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.getBytesStore;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.getListArraysBytesStore;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.getLists;
+
+@Category(UnitTest.class)
+public class StrictlyIncrementalListScannerTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenListsAreScannedItShouldReadEachListOnceAndReturnExpectedLists() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = spy(getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists));
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = 0; i < expectedLists.length; i++) {
+            assertEquals(i, scanner.nextListIndex());
+            final int size = scanner.nextInto(dest);
+            assertEquals(expectedLists[i], new IntArrayList(dest, 0, size));
+        }
+        assertEquals(expectedLists.length, scanner.nextListIndex());
+        verify(bytesStore, times(1)).getInputBitStream(anyInt());
+        verify(bytesStore, times(expectedLists.length - 1)).resetInputBitStream(anyInt(), any(InputBitStream.class));
+    }
+
+    @Test
+    public void whenScanIsResetItShouldReturnExpectedListsFromResetList() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+
+        scanner.reset(100);
+
+        for (int i = 100; i < expectedLists.length; i++) {
+            assertEquals(i, scanner.nextListIndex());
+            assertEquals(expectedLists[i], new IntArrayList(scanner.next()));
+        }
+    }
+
+    @Test
+    public void whenReferencesAreOutOfWindowItShouldReturnExpectedLists() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            1,
+            bytesStore
+        );
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = 0; i < expectedLists.length; i++) {
+            final int size = scanner.nextInto(dest);
+            assertEquals(expectedLists[i], new IntArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenListsAreDecodedOutOfOrderItShouldReturnExpectedLists() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = scanner.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new IntArrayList(dest, 0, size));
+            assertEquals(i + 1, scanner.nextListIndex());
+        }
+    }
+
+    @Test
+    public void whenListsAreStoredOnDifferentBytesArraysItShouldReturnExpectedLists() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 40, 42L);
+        final PebbleBytesStore bytesStore = getListArraysBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            1,
+            bytesStore
+        );
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = 0; i < expectedLists.length; i++) {
+            final int size = scanner.nextInto(dest);
+            assertEquals(expectedLists[i], new IntArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenWindowSizeIsNotPositiveItShouldThrowException() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Window size 0 must be positive");
+
+        new StrictlyIncrementalListScanner(VALUE_BIT_SIZE, 0, bytesStore);
+    }
+
+    @Test
+    public void whenListsAreReadInBatchItShouldReadEachListOnceAndPassListsInRequestOrder() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = spy(getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists));
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        final int[] listIndexes = new int[expectedLists.length];
+        for (int i = 0; i < listIndexes.length; i++) {
+            listIndexes[i] = listIndexes.length - 1 - i;
+        }
+        final Collector collector = new Collector();
+
+        scanner.getLists(listIndexes, collector);
+
+        collector.assertLists(expectedLists, listIndexes);
+        verify(bytesStore, times(1)).getInputBitStream(anyInt());
+        verify(bytesStore, times(expectedLists.length - 1)).resetInputBitStream(anyInt(), any(InputBitStream.class));
+    }
+
+    @Test
+    public void whenListsAreRepeatedInBatchItShouldPassTheSameList() throws IOException {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        final int[] listIndexes = new int[] {150, 3, 77, 3, 199, 0, 78, 150, 3};
+        final Collector collector = new Collector();
+
+        scanner.getLists(listIndexes, collector);
+
+        collector.assertLists(expectedLists, listIndexes);
+        assertSame(collector.lists.get(1), collector.lists.get(3));
+        assertSame(collector.lists.get(1), collector.lists.get(8));
+        assertSame(collector.lists.get(0), collector.lists.get(7));
+    }
+
+    @Test
+    public void whenListsAreReadInBatchWithExecutorItShouldPassListsInRequestOrder() throws Exception {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        final int[] listIndexes = new int[2 * expectedLists.length];
+        for (int i = 0; i < listIndexes.length; i++) {
+            listIndexes[i] = (i * 37) % expectedLists.length;
+        }
+        final Collector collector = new Collector();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            scanner.getLists(listIndexes, collector, executor, 4);
+        } finally {
+            executor.shutdown();
+        }
+
+        collector.assertLists(expectedLists, listIndexes);
+    }
+
+    @Test
+    public void whenBytesStoreFailsOnBatchWithExecutorItShouldThrowIOException() throws Exception {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = spy(getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists));
+        doThrow(new IOException("Unreadable")).when(bytesStore).getInputBitStream(anyInt());
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("Unreadable");
+
+        getListsWithExecutor(scanner, new int[] {1, 2});
+    }
+
+    @Test
+    public void whenListIsMissingOnBatchWithExecutorItShouldThrowIndexOutOfBoundsException() throws Exception {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        expectedException.expect(IndexOutOfBoundsException.class);
+
+        getListsWithExecutor(scanner, new int[] {1, 20});
+    }
+
+    @Test
+    public void whenBytesStoreBreaksOnBatchWithExecutorItShouldThrowError() throws Exception {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = spy(getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists));
+        doThrow(new AssertionError("Broken")).when(bytesStore).getInputBitStream(anyInt());
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        expectedException.expect(AssertionError.class);
+        expectedException.expectMessage("Broken");
+
+        getListsWithExecutor(scanner, new int[] {1, 2});
+    }
+
+    @Test
+    public void whenTasksIsNotPositiveOnBatchWithExecutorItShouldThrowException() throws Exception {
+        final IntList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final StrictlyIncrementalListScanner scanner = new StrictlyIncrementalListScanner(
+            VALUE_BIT_SIZE,
+            8,
+            bytesStore
+        );
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Tasks 0 must be positive");
+
+        try {
+            scanner.getLists(new int[] {1, 2}, new Collector(), executor, 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void getListsWithExecutor(
+        final StrictlyIncrementalListScanner scanner,
+        final int[] listIndexes
+    ) throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            scanner.getLists(listIndexes, new Collector(), executor, 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class Collector implements ObjIntConsumer<int[]> {
+
+        private final List<int[]> lists = new ArrayList<int[]>();
+
+        @Override
+        public void accept(final int[] list, final int position) {
+            assertEquals(lists.size(), position);
+            lists.add(list);
+        }
+
+        private void assertLists(final IntList[] expectedLists, final int[] listIndexes) {
+            assertEquals(listIndexes.length, lists.size());
+            for (int i = 0; i < listIndexes.length; i++) {
+                assertEquals(expectedLists[listIndexes[i]], new IntArrayList(lists.get(i)));
+            }
+        }
+
+    }
+
+}
@@ -23,13 +23,22 @@ import org.junit.experimental.categories.Category;
 import org.pebble.UnitTest;
 import org.pebble.core.decoding.iterators.Helper;
 import org.pebble.core.encoding.DefaultParametersValues;
+import org.pebble.core.encoding.EncodingOptions;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.pebble.core.decoding.iterators.Helper.getInput;
 
 @Category(UnitTest.class)
 public class DeltaIteratorTest {
 
+    private static final EncodingOptions SKIP_POINTERS = EncodingOptions.DEFAULT.withSkipInterval(2);
+    private static final EncodingOptions SECTION_LENGTHS = SKIP_POINTERS.withSectionLengths(true);
+    private static final String SKIP_POINTERS_INPUT =
+        "01111 0000000000000000000000000000001 1 0101 0101 00100001 1 1 0100 0100 0101";
+    private static final String SECTION_LENGTHS_INPUT =
+        "01111 0000000000000000000000000000001 001010010 00100111 1 0101 0101 00100001 1 1 0100 0100 0101";
+
     @Test
     public void whenThereIsAnEncodedNonEmptyListItShouldRecoverOriginalListSuccessfully() throws Exception {
         Helper.Input input = getInput("01111 0000000000000000000000000000001 1 1 0100 0100 0101");
@@ -58,4 +67,151 @@ public class DeltaIteratorTest {
         assertEquals(expectedList, list);
     }
 
+    @Test
+    public void whenThereIsAnEncodedListWithSkipPointersItShouldRecoverOriginalListSuccessfully() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+        final IntList expectedList = new IntArrayList(new int[] {1, 2, 3, 5, 7, 10});
+        final IntList list = new IntArrayList();
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, SKIP_POINTERS, input.stream);
+        while (deltaIterator.hasNext()) {
+            list.add(deltaIterator.next());
+        }
+
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenAdvancingItShouldUseSkipPointersToReachFirstGreaterOrEqualElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, SKIP_POINTERS, input.stream);
+        deltaIterator.advance(6);
+
+        assertEquals(7, deltaIterator.next());
+        assertEquals(10, deltaIterator.next());
+        assertFalse(deltaIterator.hasNext());
+    }
+
+    @Test
+    public void whenAdvancingBetweenSkipPointersItShouldContinueLinearlyFromPreviousSkipPointer() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, SKIP_POINTERS, input.stream);
+        deltaIterator.advance(4);
+
+        assertEquals(5, deltaIterator.next());
+        assertEquals(7, deltaIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingAfterPassingSkipPointersItShouldContinueFromCurrentElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, SKIP_POINTERS, input.stream);
+        deltaIterator.next();
+        deltaIterator.next();
+        deltaIterator.next();
+        deltaIterator.next();
+        deltaIterator.advance(8);
+
+        assertEquals(10, deltaIterator.next());
+        assertFalse(deltaIterator.hasNext());
+    }
+
+    @Test
+    public void whenAdvancingToCurrentOrSmallerElementItShouldNotMove() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, SKIP_POINTERS, input.stream);
+        deltaIterator.next();
+        deltaIterator.advance(1);
+
+        assertEquals(2, deltaIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingBeyondLastElementItShouldEndTheIteration() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, SKIP_POINTERS, input.stream);
+        deltaIterator.advance(11);
+
+        assertFalse(deltaIterator.hasNext());
+        deltaIterator.advance(12);
+        assertFalse(deltaIterator.hasNext());
+    }
+
+    @Test
+    public void whenSkippingToEndItShouldUseSkipPointersToPositionAtTheEndOfSection() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT + " 1");
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, SKIP_POINTERS, input.stream);
+        deltaIterator.skipToEnd();
+
+        assertEquals(67L, input.stream.position());
+    }
+
+    @Test
+    public void whenSkippingToEndWithoutSkipPointersItShouldPositionAtTheEndOfSection() throws Exception {
+        Helper.Input input = getInput(
+            "01111 0000000000000000000000000000001 1 1 0100 0100 0101 1"
+        );
+
+        DeltaIterator deltaIterator = new DeltaIterator(DefaultParametersValues.INT_BITS, input.stream);
+        deltaIterator.skipToEnd();
+
+        assertEquals(50L, input.stream.position());
+    }
+
+    @Test
+    public void whenThereIsAnEncodedListWithSectionLengthsItShouldRecoverOriginalListSuccessfully() throws Exception {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT);
+        final IntList expectedList = new IntArrayList(new int[] {1, 2, 3, 5, 7, 10});
+        final IntList list = new IntArrayList();
+
+        DeltaIterator deltaIterator = new DeltaIterator(
+            DefaultParametersValues.INT_BITS,
+            SECTION_LENGTHS,
+            input.stream
+        );
+        while (deltaIterator.hasNext()) {
+            list.add(deltaIterator.next());
+        }
+
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenAdvancingWithSectionLengthsItShouldUseSkipPointersToReachFirstGreaterOrEqualElement()
+        throws Exception
+    {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT);
+
+        DeltaIterator deltaIterator = new DeltaIterator(
+            DefaultParametersValues.INT_BITS,
+            SECTION_LENGTHS,
+            input.stream
+        );
+        deltaIterator.advance(6);
+
+        assertEquals(7, deltaIterator.next());
+        assertEquals(10, deltaIterator.next());
+        assertFalse(deltaIterator.hasNext());
+    }
+
+    @Test
+    public void whenSkippingToEndWithSectionLengthsItShouldJumpToTheEndOfSection() throws Exception {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT + " 1");
+
+        DeltaIterator deltaIterator = new DeltaIterator(
+            DefaultParametersValues.INT_BITS,
+            SECTION_LENGTHS,
+            input.stream
+        );
+        deltaIterator.skipToEnd();
+
+        assertEquals(84L, input.stream.position());
+    }
+
 }
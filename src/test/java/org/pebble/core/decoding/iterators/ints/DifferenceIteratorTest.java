@@ -0,0 +1,60 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.ints;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.pebble.core.decoding.iterators.ints.SetOperationIteratorHelper.getIterators;
+import static org.pebble.core.decoding.iterators.ints.SetOperationIteratorHelper.toArray;
+
+@Category(UnitTest.class)
+public class DifferenceIteratorTest {
+
+    @Test
+    public void whenListsShareElementsItShouldRemoveThemFromFirstList() throws IOException {
+        for (final int skipInterval : new int[] {0, 1, 2, 3}) {
+            final StrictlyIncrementalListIterator[] iterators = getIterators(
+                skipInterval,
+                new int[] {0, 1, 3, 4, 5, 6, 7, 9, 12, 20, 21, 22, 23, 40},
+                new int[] {0, 2, 3, 5, 6, 7, 8, 9, 10, 11, 12, 13, 22, 23}
+            );
+            assertArrayEquals(
+                new int[] {1, 4, 20, 21, 40},
+                toArray(new DifferenceIterator(iterators[0], iterators[1]))
+            );
+        }
+    }
+
+    @Test
+    public void whenSecondListIsEmptyItShouldReturnAllElementsOfFirstList() throws IOException {
+        final StrictlyIncrementalListIterator[] iterators = getIterators(0, new int[] {1, 3, 5}, new int[] {});
+        assertArrayEquals(new int[] {1, 3, 5}, toArray(new DifferenceIterator(iterators[0], iterators[1])));
+    }
+
+    @Test
+    public void whenFirstListIsEmptyItShouldBeEmpty() throws IOException {
+        final StrictlyIncrementalListIterator[] iterators = getIterators(0, new int[] {}, new int[] {1, 3, 5});
+        assertArrayEquals(new int[] {}, toArray(new DifferenceIterator(iterators[0], iterators[1])));
+    }
+
+}
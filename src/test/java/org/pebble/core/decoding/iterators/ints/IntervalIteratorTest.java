@@ -23,13 +23,22 @@ import org.junit.experimental.categories.Category;
 import org.pebble.UnitTest;
 import org.pebble.core.decoding.iterators.Helper;
 import org.pebble.core.encoding.DefaultParametersValues;
+import org.pebble.core.encoding.EncodingOptions;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.pebble.core.decoding.iterators.Helper.getInput;
 
 @Category(UnitTest.class)
 public class IntervalIteratorTest {
 
+    private static final EncodingOptions SKIP_POINTERS = EncodingOptions.DEFAULT.withSkipInterval(1);
+    private static final EncodingOptions SECTION_LENGTHS = SKIP_POINTERS.withSectionLengths(true);
+    private static final String SKIP_POINTERS_INPUT =
+        "01100 0000000000000000000000000000111 1 01111 1 01110 01101 0101 01110 0101 1 1 0101";
+    private static final String SECTION_LENGTHS_INPUT =
+        "01100 0000000000000000000000000000111 1 001011010 00100011 01111 1 01110 01101 0101 01110 0101 1 1 0101";
+
     @Test
     public void whenThereIsAnEncodedNonEmptyIntervalsListItShouldRecoverOriginalIntervalsSuccessfully()
         throws Exception
@@ -68,4 +77,167 @@ public class IntervalIteratorTest {
         assertEquals(expectedList, list);
     }
 
+    @Test
+    public void whenThereIsAnEncodedIntervalsListWithSkipPointersItShouldRecoverOriginalIntervalsSuccessfully()
+        throws Exception
+    {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+        final IntList expectedList = new IntArrayList(
+            new int[] {7, 8, 9, 10, 14, 15, 16, 17, 19, 20, 21, 22, 23, 24}
+        );
+        final IntList list = new IntArrayList();
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        while (intervalIterator.hasNext()) {
+            list.add(intervalIterator.next());
+        }
+
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenAdvancingInsideCurrentIntervalItShouldReachTargetElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(9);
+
+        assertEquals(9, intervalIterator.next());
+        assertEquals(10, intervalIterator.next());
+        assertEquals(14, intervalIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingItShouldUseSkipPointersToReachTargetElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(15);
+
+        assertEquals(15, intervalIterator.next());
+        assertEquals(16, intervalIterator.next());
+        assertEquals(17, intervalIterator.next());
+        assertEquals(19, intervalIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingBetweenIntervalsItShouldReachBeginningOfNextInterval() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(18);
+
+        assertEquals(19, intervalIterator.next());
+        assertEquals(20, intervalIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingAfterPassingSkipPointersItShouldContinueFromCurrentElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(20);
+        intervalIterator.next();
+        intervalIterator.advance(23);
+
+        assertEquals(23, intervalIterator.next());
+        assertEquals(24, intervalIterator.next());
+        assertFalse(intervalIterator.hasNext());
+    }
+
+    @Test
+    public void whenAdvancingBeyondLastElementItShouldEndTheIteration() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(25);
+
+        assertFalse(intervalIterator.hasNext());
+        intervalIterator.advance(26);
+        assertFalse(intervalIterator.hasNext());
+    }
+
+    @Test
+    public void whenAdvancingWithoutSkipPointersItShouldReachTargetElement() throws Exception {
+        Helper.Input input = getInput(
+            "01100 0000000000000000000000000000111 1 0101 1 1 0101"
+        );
+
+        IntervalIterator intervalIterator = new IntervalIterator(
+            DefaultParametersValues.INT_BITS,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            input.stream
+        );
+        intervalIterator.advance(21);
+
+        assertEquals(21, intervalIterator.next());
+    }
+
+    @Test
+    public void whenThereIsAnEncodedIntervalsListWithSectionLengthsItShouldRecoverOriginalIntervalsSuccessfully()
+        throws Exception
+    {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT);
+        final IntList expectedList = new IntArrayList(
+            new int[] {7, 8, 9, 10, 14, 15, 16, 17, 19, 20, 21, 22, 23, 24}
+        );
+        final IntList list = new IntArrayList();
+
+        IntervalIterator intervalIterator = buildSectionLengthsIterator(input);
+        while (intervalIterator.hasNext()) {
+            list.add(intervalIterator.next());
+        }
+
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenAdvancingWithSectionLengthsItShouldUseSkipPointersToReachTargetElement() throws Exception {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT);
+
+        IntervalIterator intervalIterator = buildSectionLengthsIterator(input);
+        intervalIterator.advance(15);
+
+        assertEquals(15, intervalIterator.next());
+        assertEquals(16, intervalIterator.next());
+    }
+
+    @Test
+    public void whenSkippingToEndWithSectionLengthsItShouldJumpToTheEndOfSection() throws Exception {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT + " 1");
+
+        IntervalIterator intervalIterator = buildSectionLengthsIterator(input);
+        intervalIterator.skipToEnd();
+
+        assertEquals(89L, input.stream.position());
+    }
+
+    @Test
+    public void whenSkippingToEndWithoutSectionLengthsItShouldPositionAtTheEndOfSection() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT + " 1");
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.skipToEnd();
+
+        assertEquals(72L, input.stream.position());
+    }
+
+    private static IntervalIterator buildSkipPointersIterator(final Helper.Input input) throws Exception {
+        return new IntervalIterator(
+            DefaultParametersValues.INT_BITS,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            SKIP_POINTERS,
+            input.stream
+        );
+    }
+
+    private static IntervalIterator buildSectionLengthsIterator(final Helper.Input input) throws Exception {
+        return new IntervalIterator(
+            DefaultParametersValues.INT_BITS,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            SECTION_LENGTHS,
+            input.stream
+        );
+    }
+
 }
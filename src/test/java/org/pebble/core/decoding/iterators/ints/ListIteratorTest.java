@@ -91,6 +91,14 @@ public class ListIteratorTest {
         iterator.nextInt();
     }
 
+    @Test
+    public void whenIteratingUnsortedListItShouldNotBeAStrictlyIncrementalIterator() throws IOException {
+        final Helper.Input input = Helper.getInput("1 1 0100 11 1 1");
+        final ListIterator iterator = buildIterator(input);
+
+        assertFalse(iterator instanceof StrictlyIncrementalIntIterator);
+    }
+
     private static ListIterator buildIterator(final Helper.Input input) throws IOException {
         final int valueBitSize = 2;
         final int listIndex = 0;
@@ -26,6 +26,7 @@ import org.pebble.core.PebbleOffsetsStore;
 import org.pebble.core.decoding.InputBitStream;
 import org.pebble.core.decoding.iterators.Helper;
 import org.pebble.core.encoding.DefaultParametersValues;
+import org.pebble.core.encoding.EncodingOptions;
 import org.pebble.utils.BytesArrayPebbleBytesStore;
 import org.pebble.utils.LongListPebbleOffsetsStore;
 
@@ -56,8 +57,10 @@ public class ReferenceIteratorTest {
                 listIndex,
                 DefaultParametersValues.INT_BITS,
                 DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+                EncodingOptions.DEFAULT,
                 input.stream,
-                new BytesArrayPebbleBytesStore(input.buffer, offsetsStore)
+                new BytesArrayPebbleBytesStore(input.buffer, offsetsStore),
+                null
             ) {
                 @Override
                 public IntIterator getReferenceListIterator(
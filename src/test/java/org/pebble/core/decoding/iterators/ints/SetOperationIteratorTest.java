@@ -0,0 +1,62 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.ints;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+import static org.pebble.core.decoding.iterators.ints.SetOperationIteratorHelper.getIterators;
+
+@Category(UnitTest.class)
+public class SetOperationIteratorTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenWritingIntoArrayItShouldFillItUntilIterationIsExhausted() throws IOException {
+        final SetOperationIterator iterator = new UnionIterator(
+            getIterators(0, new int[] {1, 3, 5, 7, 9}, new int[] {2, 3})
+        );
+        final int[] buffer = new int[4];
+
+        assertEquals(4, iterator.nextInts(buffer));
+        assertArrayEquals(new int[] {1, 2, 3, 5}, buffer);
+        assertEquals(2, iterator.nextInts(buffer));
+        assertArrayEquals(new int[] {7, 9, 3, 5}, buffer);
+        assertEquals(0, iterator.nextInts(buffer));
+    }
+
+    @Test
+    public void whenIterationIsExhaustedNextIntShouldThrowNoSuchElementException() throws IOException {
+        final SetOperationIterator iterator = new UnionIterator(getIterators(0, new int[] {1}));
+        iterator.nextInt();
+        expectedException.expect(NoSuchElementException.class);
+
+        iterator.nextInt();
+    }
+
+}
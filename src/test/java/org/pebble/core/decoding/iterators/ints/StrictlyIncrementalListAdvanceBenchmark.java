@@ -0,0 +1,127 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.ints;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.encoding.EncodingOptions;
+import org.pebble.core.encoding.OutputSuccinctStream;
+import org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore;
+import org.pebble.core.encoding.ints.datastructures.InvertedListIntReferenceListsIndex;
+import org.pebble.utils.HeapChunksOutputStream;
+import org.pebble.utils.LongListPebbleOffsetsStore;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the intersection of a short and a long strictly incremental list, advancing the iterator of the long list
+ * to each element of the short one, with and without skip pointers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrictlyIncrementalListAdvanceBenchmark {
+
+    private static final int LISTS = 64;
+    private static final int SHORT_LIST_SIZE = 32;
+    private static final int LONG_LIST_SIZE = 1 << 14;
+    private static final int VALUE_BIT_SIZE = 20;
+
+    @Param({"0", "64"})
+    public int skipInterval;
+
+    private PebbleBytesStore bytesStore;
+    private StrictlyIncrementalListIterator shortIterator;
+    private StrictlyIncrementalListIterator longIterator;
+
+    @Setup
+    public void setup() throws IOException {
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(skipInterval);
+        final Random random = new Random(42L);
+        final HeapChunksOutputStream outputStream = new HeapChunksOutputStream();
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(outputStream);
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            1,
+            0,
+            1,
+            new InvertedListIntReferenceListsIndex()
+        );
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        long offset = 0L;
+        for (int i = 0; i < LISTS; i++) {
+            final int size = i % 2 == 0 ? SHORT_LIST_SIZE : LONG_LIST_SIZE;
+            final IntArrayList list = new IntArrayList();
+            int value = 0;
+            for (int j = 0; j < size; j++) {
+                value += 1 + random.nextInt((1 << VALUE_BIT_SIZE) / size);
+                list.add(value);
+            }
+            offsetsStore.append(offset);
+            offset += outputSuccinctStream.writeStrictlyIncrementalList(
+                list,
+                i,
+                VALUE_BIT_SIZE,
+                options,
+                referenceListsStore
+            );
+        }
+        outputSuccinctStream.close();
+        bytesStore = outputStream.toPebbleBytesStore(offsetsStore);
+        shortIterator = StrictlyIncrementalListIterator.build(0, VALUE_BIT_SIZE, options, bytesStore, null);
+        longIterator = StrictlyIncrementalListIterator.build(1, VALUE_BIT_SIZE, options, bytesStore, null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LISTS / 2)
+    public long intersect() throws IOException {
+        long count = 0L;
+        for (int i = 0; i < LISTS; i += 2) {
+            shortIterator.reset(i);
+            longIterator.reset(i + 1);
+            int value = longIterator.advance(0);
+            while (shortIterator.hasNext() && value != -1) {
+                final int target = shortIterator.nextInt();
+                if (value < target) {
+                    value = longIterator.advance(target);
+                }
+                if (value == target) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+}
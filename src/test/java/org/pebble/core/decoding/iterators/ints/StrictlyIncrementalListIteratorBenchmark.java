@@ -0,0 +1,176 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.ints;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.ints.IntListsCache;
+import org.pebble.core.decoding.ints.StrictlyIncrementalListDecoder;
+import org.pebble.core.encoding.OutputSuccinctStream;
+import org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore;
+import org.pebble.core.encoding.ints.datastructures.InvertedListIntReferenceListsIndex;
+import org.pebble.utils.HeapChunksOutputStream;
+import org.pebble.utils.LongListPebbleOffsetsStore;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the random access decoding of strictly incremental lists, building a new iterator for each list,
+ * reusing a single iterator or decoding into an array, with and without a cache of reference lists. Lists are similar to each other, so most of them are encoded by reference.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrictlyIncrementalListIteratorBenchmark {
+
+    private static final int LISTS = 1 << 12;
+    private static final int LIST_SIZE = 64;
+    private static final int VALUE_BIT_SIZE = 20;
+    private static final int LOOKUPS = 1 << 10;
+
+    private PebbleBytesStore bytesStore;
+    private int[] lookups;
+    private StrictlyIncrementalListIterator iterator;
+    private StrictlyIncrementalListDecoder decoder;
+    private StrictlyIncrementalListDecoder cachedDecoder;
+    private int[] dest;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(42L);
+        final HeapChunksOutputStream outputStream = new HeapChunksOutputStream();
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(outputStream);
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            32,
+            3,
+            1,
+            new InvertedListIntReferenceListsIndex()
+        );
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        final int[] base = new int[LIST_SIZE];
+        long offset = 0L;
+        for (int i = 0; i < LISTS; i++) {
+            if (i % 16 == 0) {
+                for (int j = 0; j < LIST_SIZE; j++) {
+                    base[j] = random.nextInt(1 << VALUE_BIT_SIZE);
+                }
+            }
+            final IntArrayList list = new IntArrayList();
+            for (int value : base) {
+                if (random.nextInt(8) != 0) {
+                    list.add(value);
+                }
+            }
+            list.add(random.nextInt(1 << VALUE_BIT_SIZE));
+            final int[] values = list.toIntArray();
+            Arrays.sort(values);
+            final IntArrayList sorted = new IntArrayList();
+            for (int j = 0; j < values.length; j++) {
+                if (j == 0 || values[j] != values[j - 1]) {
+                    sorted.add(values[j]);
+                }
+            }
+            offsetsStore.append(offset);
+            offset += outputSuccinctStream.writeStrictlyIncrementalList(sorted, i, VALUE_BIT_SIZE, referenceListsStore);
+        }
+        outputSuccinctStream.close();
+        bytesStore = outputStream.toPebbleBytesStore(offsetsStore);
+        lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random.nextInt(LISTS);
+        }
+        iterator = StrictlyIncrementalListIterator.build(0, VALUE_BIT_SIZE, bytesStore);
+        decoder = new StrictlyIncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        cachedDecoder = new StrictlyIncrementalListDecoder(VALUE_BIT_SIZE, bytesStore, new IntListsCache(1L << 24));
+        dest = new int[2 * LIST_SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long build() throws IOException {
+        long sum = 0L;
+        for (int listIndex : lookups) {
+            final StrictlyIncrementalListIterator iterator = StrictlyIncrementalListIterator.build(
+                listIndex,
+                VALUE_BIT_SIZE,
+                bytesStore
+            );
+            while (iterator.hasNext()) {
+                sum += iterator.nextInt();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long reset() throws IOException {
+        long sum = 0L;
+        for (int listIndex : lookups) {
+            iterator.reset(listIndex);
+            while (iterator.hasNext()) {
+                sum += iterator.nextInt();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long decodeInto() throws IOException {
+        long sum = 0L;
+        for (int listIndex : lookups) {
+            final int size = decoder.decodeInto(listIndex, dest);
+            for (int i = 0; i < size; i++) {
+                sum += dest[i];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long decodeIntoWithCache() throws IOException {
+        long sum = 0L;
+        for (int listIndex : lookups) {
+            final int size = cachedDecoder.decodeInto(listIndex, dest);
+            for (int i = 0; i < size; i++) {
+                sum += dest[i];
+            }
+        }
+        return sum;
+    }
+
+}
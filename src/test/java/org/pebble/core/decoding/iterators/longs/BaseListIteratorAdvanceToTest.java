@@ -0,0 +1,81 @@
+package org.pebble.core.decoding.iterators.longs;
+
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.decoding.iterators.Helper;
+
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.pebble.core.decoding.iterators.Helper.getInput;
+import static org.pebble.core.decoding.iterators.longs.BaseListIteratorHelper.BaseListIteratorBuilder;
+
+@Category(UnitTest.class)
+public class BaseListIteratorAdvanceToTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenThereIsElementGreaterOrEqualThanTargetItShouldReturnIt() throws IOException {
+        final Helper.Input input = getInput(
+            "1" + // Empty Reference list
+            "1" + // Empty intervals list
+            "0101 " +
+            "000000000000000000000000000000000000000000000000000000000000011" +
+            " 0100"    // Delta list [3, 5]
+        );
+        final int listIndex = 1;
+        final BaseListIteratorBuilder baseListIteratorBuilder = new BaseListIteratorBuilder(input, listIndex);
+        baseListIteratorBuilder.getReferenceIterator().currentValue = -1L;
+
+        final BaseListIterator baseListIterator = baseListIteratorBuilder.build();
+
+        assertEquals(5L, baseListIterator.advanceTo(4L));
+        assertEquals(-1L, baseListIterator.advanceTo(6L));
+    }
+
+    @Test
+    public void whenAdvanceToInternallyRaisesIOExceptionItShouldThrowExpectedIllegalStateException()
+        throws IOException
+    {
+        final Helper.Input input = getInput(
+            "0100 1 1" + // Reference list bit=1 blocks=[1]
+            "1" +        // Empty intervals list
+            "1"          // Empty delta list
+        );
+        final int listIndex = 1;
+        final BaseListIteratorBuilder baseListIteratorBuilder = new BaseListIteratorBuilder(input, listIndex);
+        baseListIteratorBuilder.getReferenceIterator().currentValue = 1L;
+        final String expectedExceptionMessage = "exception";
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage(expectedExceptionMessage);
+        doThrow(new IOException(expectedExceptionMessage)).when(baseListIteratorBuilder.getReferenceIterator())
+            .advance(anyLong());
+        final BaseListIterator baseListIterator = baseListIteratorBuilder.build();
+
+        baseListIterator.advanceTo(3L);
+    }
+
+}
@@ -20,6 +20,7 @@ import org.pebble.core.PebbleOffsetsStore;
 import org.pebble.core.decoding.InputBitStream;
 import org.pebble.core.decoding.iterators.Helper;
 import org.pebble.core.encoding.DefaultParametersValues;
+import org.pebble.core.encoding.EncodingOptions;
 import org.pebble.utils.BytesArrayPebbleBytesStore;
 import org.pebble.utils.LongListPebbleOffsetsStore;
 
@@ -51,8 +52,10 @@ public class BaseListIteratorHelper {
                 listIndex,
                 DefaultParametersValues.LONG_BITS,
                 DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+                EncodingOptions.DEFAULT,
                 input.stream,
-                new BytesArrayPebbleBytesStore(input.buffer, offsetsStore)
+                new BytesArrayPebbleBytesStore(input.buffer, offsetsStore),
+                null
             ) {
                 @Override
                 protected ReferenceIterator initializeReferenceIterator(int listIndex, InputBitStream inputBitStream)
@@ -0,0 +1,79 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.longs;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.pebble.core.decoding.iterators.longs.SetOperationIteratorHelper.getIterators;
+import static org.pebble.core.decoding.iterators.longs.SetOperationIteratorHelper.toArray;
+
+@Category(UnitTest.class)
+public class IntersectionIteratorTest {
+
+    private static final long[][] LISTS = new long[][] {
+        {1, 3, 4, 5, 6, 7, 9, 12, 20, 21, 22, 23, 40, 41, 60},
+        {0, 3, 5, 6, 7, 8, 9, 10, 11, 12, 13, 22, 23, 41, 60, 61},
+        {3, 6, 7, 9, 12, 23, 30, 31, 32, 33, 34, 35, 41, 42, 60}
+    };
+
+    @Test
+    public void whenListsShareElementsItShouldReturnThemInOrder() throws IOException {
+        for (final int skipInterval : new int[] {0, 1, 2, 3}) {
+            assertArrayEquals(
+                new long[] {3, 6, 7, 9, 12, 23, 41, 60},
+                toArray(new IntersectionIterator(getIterators(skipInterval, LISTS)))
+            );
+        }
+    }
+
+    @Test
+    public void whenThereIsASingleListItShouldReturnAllItsElements() throws IOException {
+        assertArrayEquals(LISTS[0], toArray(new IntersectionIterator(getIterators(2, LISTS[0]))));
+    }
+
+    @Test
+    public void whenListsDoNotShareElementsItShouldBeEmpty() throws IOException {
+        assertArrayEquals(
+            new long[] {},
+            toArray(new IntersectionIterator(getIterators(2, new long[] {1, 3, 5, 7}, new long[] {0, 2, 4, 6, 8})))
+        );
+    }
+
+    @Test
+    public void whenAnyListIsEmptyItShouldBeEmpty() throws IOException {
+        assertArrayEquals(
+            new long[] {},
+            toArray(new IntersectionIterator(getIterators(0, LISTS[0], new long[] {}, LISTS[1])))
+        );
+        assertArrayEquals(
+            new long[] {},
+            toArray(new IntersectionIterator(getIterators(0, new long[] {}, LISTS[1])))
+        );
+    }
+
+    @Test
+    public void whenThereAreNoListsItShouldBeEmpty() {
+        assertArrayEquals(new long[] {}, toArray(new IntersectionIterator()));
+    }
+
+}
@@ -23,13 +23,24 @@ import org.junit.experimental.categories.Category;
 import org.pebble.UnitTest;
 import org.pebble.core.decoding.iterators.Helper;
 import org.pebble.core.encoding.DefaultParametersValues;
+import org.pebble.core.encoding.EncodingOptions;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.pebble.core.decoding.iterators.Helper.getInput;
 
 @Category(UnitTest.class)
 public class IntervalIteratorTest {
 
+    private static final EncodingOptions SKIP_POINTERS = EncodingOptions.DEFAULT.withSkipInterval(1);
+    private static final EncodingOptions SECTION_LENGTHS = SKIP_POINTERS.withSectionLengths(true);
+    private static final String SKIP_POINTERS_INPUT =
+        "01100 000000000000000000000000000000000000000000000000000000000000111" +
+        " 1 01111 1 01110 01101 0101 01110 0101 1 1 0101";
+    private static final String SECTION_LENGTHS_INPUT =
+        "01100 000000000000000000000000000000000000000000000000000000000000111" +
+        " 1 001011010 00100011 01111 1 01110 01101 0101 01110 0101 1 1 0101";
+
     @Test
     public void whenThereIsAnEncodedNonEmptyIntervalsListItShouldRecoverOriginalIntervalsSuccessfully()
         throws Exception
@@ -72,4 +83,167 @@ public class IntervalIteratorTest {
         assertEquals(expectedList, list);
     }
 
+    @Test
+    public void whenThereIsAnEncodedIntervalsListWithSkipPointersItShouldRecoverOriginalIntervalsSuccessfully()
+        throws Exception
+    {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+        final LongList expectedList = new LongArrayList(
+            new long[] {7L, 8L, 9L, 10L, 14L, 15L, 16L, 17L, 19L, 20L, 21L, 22L, 23L, 24L}
+        );
+        final LongList list = new LongArrayList();
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        while (intervalIterator.hasNext()) {
+            list.add(intervalIterator.next());
+        }
+
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenAdvancingInsideCurrentIntervalItShouldReachTargetElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(9L);
+
+        assertEquals(9L, intervalIterator.next());
+        assertEquals(10L, intervalIterator.next());
+        assertEquals(14L, intervalIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingItShouldUseSkipPointersToReachTargetElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(15L);
+
+        assertEquals(15L, intervalIterator.next());
+        assertEquals(16L, intervalIterator.next());
+        assertEquals(17L, intervalIterator.next());
+        assertEquals(19L, intervalIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingBetweenIntervalsItShouldReachBeginningOfNextInterval() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(18L);
+
+        assertEquals(19L, intervalIterator.next());
+        assertEquals(20L, intervalIterator.next());
+    }
+
+    @Test
+    public void whenAdvancingAfterPassingSkipPointersItShouldContinueFromCurrentElement() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(20L);
+        intervalIterator.next();
+        intervalIterator.advance(23L);
+
+        assertEquals(23L, intervalIterator.next());
+        assertEquals(24L, intervalIterator.next());
+        assertFalse(intervalIterator.hasNext());
+    }
+
+    @Test
+    public void whenAdvancingBeyondLastElementItShouldEndTheIteration() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT);
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.advance(25L);
+
+        assertFalse(intervalIterator.hasNext());
+        intervalIterator.advance(26L);
+        assertFalse(intervalIterator.hasNext());
+    }
+
+    @Test
+    public void whenAdvancingWithoutSkipPointersItShouldReachTargetElement() throws Exception {
+        Helper.Input input = getInput(
+            "01100 000000000000000000000000000000000000000000000000000000000000111 1 0101 1 1 0101"
+        );
+
+        IntervalIterator intervalIterator = new IntervalIterator(
+            DefaultParametersValues.LONG_BITS,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            input.stream
+        );
+        intervalIterator.advance(21L);
+
+        assertEquals(21L, intervalIterator.next());
+    }
+
+    @Test
+    public void whenThereIsAnEncodedIntervalsListWithSectionLengthsItShouldRecoverOriginalIntervalsSuccessfully()
+        throws Exception
+    {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT);
+        final LongList expectedList = new LongArrayList(
+            new long[] {7, 8, 9, 10, 14, 15, 16, 17, 19, 20, 21, 22, 23, 24}
+        );
+        final LongList list = new LongArrayList();
+
+        IntervalIterator intervalIterator = buildSectionLengthsIterator(input);
+        while (intervalIterator.hasNext()) {
+            list.add(intervalIterator.next());
+        }
+
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenAdvancingWithSectionLengthsItShouldUseSkipPointersToReachTargetElement() throws Exception {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT);
+
+        IntervalIterator intervalIterator = buildSectionLengthsIterator(input);
+        intervalIterator.advance(15);
+
+        assertEquals(15, intervalIterator.next());
+        assertEquals(16, intervalIterator.next());
+    }
+
+    @Test
+    public void whenSkippingToEndWithSectionLengthsItShouldJumpToTheEndOfSection() throws Exception {
+        Helper.Input input = getInput(SECTION_LENGTHS_INPUT + " 1");
+
+        IntervalIterator intervalIterator = buildSectionLengthsIterator(input);
+        intervalIterator.skipToEnd();
+
+        assertEquals(121L, input.stream.position());
+    }
+
+    @Test
+    public void whenSkippingToEndWithoutSectionLengthsItShouldPositionAtTheEndOfSection() throws Exception {
+        Helper.Input input = getInput(SKIP_POINTERS_INPUT + " 1");
+
+        IntervalIterator intervalIterator = buildSkipPointersIterator(input);
+        intervalIterator.skipToEnd();
+
+        assertEquals(104L, input.stream.position());
+    }
+
+    private static IntervalIterator buildSkipPointersIterator(final Helper.Input input) throws Exception {
+        return new IntervalIterator(
+            DefaultParametersValues.LONG_BITS,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            SKIP_POINTERS,
+            input.stream
+        );
+    }
+
+    private static IntervalIterator buildSectionLengthsIterator(final Helper.Input input) throws Exception {
+        return new IntervalIterator(
+            DefaultParametersValues.LONG_BITS,
+            DefaultParametersValues.DEFAULT_MIN_INTERVAL_SIZE,
+            SECTION_LENGTHS,
+            input.stream
+        );
+    }
+
 }
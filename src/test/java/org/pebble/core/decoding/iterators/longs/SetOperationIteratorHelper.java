@@ -0,0 +1,80 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.iterators.longs;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.encoding.EncodingOptions;
+import org.pebble.core.encoding.Helper;
+import org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore;
+import org.pebble.core.encoding.longs.datastructures.InvertedListLongReferenceListsIndex;
+import org.pebble.utils.BytesArrayPebbleBytesStore;
+import org.pebble.utils.LongListPebbleOffsetsStore;
+
+import java.io.IOException;
+
+import static org.pebble.core.encoding.Helper.getOutput;
+
+public class SetOperationIteratorHelper {
+
+    public static final int VALUE_BIT_SIZE = 7;
+
+    public static StrictlyIncrementalListIterator[] getIterators(final int skipInterval, final long[]... lists)
+        throws IOException
+    {
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(skipInterval);
+        final Helper.Output out = getOutput();
+        final LongReferenceListsStore referenceListsStore = new LongReferenceListsStore(
+            3,
+            1,
+            3,
+            new InvertedListLongReferenceListsIndex()
+        );
+        final long[] offsets = new long[lists.length];
+        long offset = 0L;
+        for (int i = 0; i < lists.length; i++) {
+            offsets[i] = offset;
+            offset += out.stream.writeStrictlyIncrementalList(
+                new LongArrayList(lists[i]),
+                i,
+                VALUE_BIT_SIZE,
+                options,
+                referenceListsStore
+            );
+        }
+        out.close();
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(
+            out.buffer,
+            new LongListPebbleOffsetsStore(offsets)
+        );
+        final StrictlyIncrementalListIterator[] iterators = new StrictlyIncrementalListIterator[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            iterators[i] = StrictlyIncrementalListIterator.build(i, VALUE_BIT_SIZE, options, bytesStore, null);
+        }
+        return iterators;
+    }
+
+    public static long[] toArray(final SetOperationIterator iterator) {
+        final LongArrayList list = new LongArrayList();
+        while (iterator.hasNext()) {
+            list.add(iterator.nextLong());
+        }
+        return list.toLongArray();
+    }
+
+}
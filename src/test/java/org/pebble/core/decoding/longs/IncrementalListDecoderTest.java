@@ -0,0 +1,115 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.longs;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.iterators.longs.IncrementalListIterator;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.ListType;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.BASE_BIT_SIZE;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.VALUE_BIT_SIZE;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getBytesStore;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getListArraysBytesStore;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getLists;
+
+@Category(UnitTest.class)
+public class IncrementalListDecoderTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenListsAreDecodedItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.INCREMENTAL, expectedLists);
+        final IncrementalListDecoder decoder = new IncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenListsAreDecodedWithCacheItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.INCREMENTAL, expectedLists);
+        final LongListsCache cache = new LongListsCache(1L << 20);
+        final IncrementalListDecoder decoder = new IncrementalListDecoder(VALUE_BIT_SIZE, bytesStore, cache);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+        }
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final IncrementalListIterator iterator = IncrementalListIterator.build(
+                i,
+                VALUE_BIT_SIZE,
+                bytesStore,
+                cache
+            );
+            final LongArrayList list = new LongArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+            assertEquals(expectedLists[i], list);
+        }
+
+        assertTrue(cache.hits() > 0L);
+    }
+
+    @Test
+    public void whenListsAreStoredOnDifferentBytesArraysItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.INCREMENTAL, 40, 42L);
+        final PebbleBytesStore bytesStore = getListArraysBytesStore(ListType.INCREMENTAL, expectedLists);
+        final IncrementalListDecoder decoder = new IncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenDestinationIsTooSmallItShouldThrowIndexOutOfBoundsException() throws IOException {
+        final LongList[] lists = getLists(ListType.INCREMENTAL, 3, 7L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.INCREMENTAL, lists);
+        final IncrementalListDecoder decoder = new IncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        expectedException.expect(IndexOutOfBoundsException.class);
+        expectedException.expectMessage(
+            String.format("List 2 has %d elements, which do not fit into array of length 1", lists[2].size())
+        );
+
+        decoder.decodeInto(2, new long[1]);
+    }
+
+}
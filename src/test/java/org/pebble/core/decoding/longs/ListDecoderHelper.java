@@ -0,0 +1,181 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.longs;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.encoding.EncodingOptions;
+import org.pebble.core.encoding.OutputSuccinctStream;
+import org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore;
+import org.pebble.core.encoding.longs.datastructures.InvertedListLongReferenceListsIndex;
+import org.pebble.utils.BytesArrayPebbleBytesStore;
+import org.pebble.utils.LongListPebbleOffsetsStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+public class ListDecoderHelper {
+
+    public static final int BASE_BIT_SIZE = 12;
+    public static final int VALUE_BIT_SIZE = 40;
+    public static final long OFFSET = 1L << 36;
+
+    public enum ListType {
+        STRICTLY_INCREMENTAL,
+        INCREMENTAL,
+        UNSORTED
+    }
+
+    /**
+     * Generates lists similar to each other, so they are encoded by reference, with runs of consecutive values, so
+     * they are encoded with intervals, and with sparse values, so they are encoded with deltas. All values are
+     * shifted by <code>OFFSET</code> so they do not fit into an <code>int</code>.
+     */
+    public static LongList[] getLists(final ListType type, final int size, final long seed) {
+        final Random random = new Random(seed);
+        final LongList[] lists = new LongList[size];
+        LongList base = new LongArrayList();
+        for (int i = 0; i < size; i++) {
+            if (i % 8 == 0) {
+                base = new LongArrayList();
+                long value = OFFSET + random.nextInt(16);
+                while (value < OFFSET + (1 << BASE_BIT_SIZE)) {
+                    base.add(value);
+                    value += random.nextInt(3) == 0 ? 1 : 1 + random.nextInt(200);
+                }
+            }
+            final SortedSet<Long> values = new TreeSet<Long>();
+            for (int j = 0; j < base.size(); j++) {
+                if (random.nextInt(6) != 0) {
+                    values.add(base.getLong(j));
+                }
+            }
+            final long start = OFFSET + random.nextInt((1 << BASE_BIT_SIZE) - 16);
+            for (int j = random.nextInt(6) + 4; j > 0; j--) {
+                values.add(start + j);
+            }
+            for (int j = 0; j < 3; j++) {
+                values.add(OFFSET + random.nextInt(1 << BASE_BIT_SIZE));
+            }
+            final LongList list = new LongArrayList();
+            for (long value : values) {
+                list.add(value);
+                if (type != ListType.STRICTLY_INCREMENTAL && random.nextInt(5) == 0) {
+                    list.add(value);
+                }
+            }
+            if (type == ListType.UNSORTED) {
+                for (int j = list.size() - 1; j > 0; j--) {
+                    final int k = random.nextInt(j + 1);
+                    final long value = list.getLong(j);
+                    list.set(j, list.getLong(k));
+                    list.set(k, value);
+                }
+            }
+            lists[i] = i % 13 == 5 ? new LongArrayList() : list;
+        }
+        return lists;
+    }
+
+    public static PebbleBytesStore getBytesStore(final ListType type, final LongList[] lists) throws IOException {
+        return getBytesStore(type, lists, EncodingOptions.DEFAULT);
+    }
+
+    /**
+     * Writes the lists with the given encoding <code>options</code>.
+     */
+    public static BytesArrayPebbleBytesStore getBytesStore(
+        final ListType type,
+        final LongList[] lists,
+        final EncodingOptions options
+    ) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(outputStream);
+        final LongReferenceListsStore referenceListsStore = new LongReferenceListsStore(
+            8,
+            3,
+            1,
+            new InvertedListLongReferenceListsIndex()
+        );
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        long offset = 0L;
+        for (int i = 0; i < lists.length; i++) {
+            offsetsStore.append(offset);
+            final LongList list = new LongArrayList(lists[i]);
+            if (type == ListType.STRICTLY_INCREMENTAL) {
+                offset += outputSuccinctStream.writeStrictlyIncrementalList(
+                    list,
+                    i,
+                    VALUE_BIT_SIZE,
+                    options,
+                    referenceListsStore
+                );
+            } else if (type == ListType.INCREMENTAL) {
+                offset += outputSuccinctStream.writeIncrementalList(list, i, VALUE_BIT_SIZE, referenceListsStore);
+            } else {
+                offset += outputSuccinctStream.writeList(list, i, VALUE_BIT_SIZE, options, referenceListsStore);
+            }
+        }
+        outputSuccinctStream.close();
+        return new BytesArrayPebbleBytesStore(outputStream.toByteArray(), offsetsStore);
+    }
+
+    public static PebbleBytesStore getListArraysBytesStore(
+        final ListType type,
+        final LongList[] lists
+    ) throws IOException {
+        return getListArraysBytesStore(type, lists, EncodingOptions.DEFAULT);
+    }
+
+    /**
+     * Writes the lists as {@link #getBytesStore(ListType, LongList[], EncodingOptions)} does, but returns a store that
+     * keeps a different bytes array for each list, starting on the first byte of the list, so the bit positions of a
+     * list are not valid on the bytes arrays of the other lists.
+     */
+    public static PebbleBytesStore getListArraysBytesStore(
+        final ListType type,
+        final LongList[] lists,
+        final EncodingOptions options
+    ) throws IOException {
+        final BytesArrayPebbleBytesStore bytesStore = getBytesStore(type, lists, options);
+        final byte[][] arrays = new byte[lists.length][];
+        final long[] offsets = new long[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            final byte[] bytes = bytesStore.get(i);
+            arrays[i] = Arrays.copyOfRange(bytes, (int) (bytesStore.offset(i) / Byte.SIZE), bytes.length);
+            offsets[i] = bytesStore.offset(i) % Byte.SIZE;
+        }
+        return new PebbleBytesStore() {
+            @Override
+            protected byte[] get(final int listIndex) {
+                return arrays[listIndex];
+            }
+
+            @Override
+            protected long offset(final int listIndex) {
+                return offsets[listIndex];
+            }
+        };
+    }
+
+}
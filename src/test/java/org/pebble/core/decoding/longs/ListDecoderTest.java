@@ -0,0 +1,181 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.core.decoding.longs;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.iterators.longs.ListIterator;
+import org.pebble.core.encoding.EncodingOptions;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.ListType;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.BASE_BIT_SIZE;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.VALUE_BIT_SIZE;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getBytesStore;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getListArraysBytesStore;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getLists;
+
+@Category(UnitTest.class)
+public class ListDecoderTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenListsAreDecodedItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.UNSORTED, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.UNSORTED, expectedLists);
+        final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenListsAreDecodedWithCacheItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.UNSORTED, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.UNSORTED, expectedLists);
+        final LongListsCache cache = new LongListsCache(1L << 20);
+        final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, bytesStore, cache);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+        }
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final ListIterator iterator = ListIterator.build(i, VALUE_BIT_SIZE, bytesStore, cache);
+            final LongArrayList list = new LongArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextLong());
+            }
+            assertEquals(expectedLists[i], list);
+        }
+
+        assertTrue(cache.hits() > 0L);
+    }
+
+    @Test
+    public void whenListsAreStoredOnDifferentBytesArraysItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.UNSORTED, 40, 42L);
+        final PebbleBytesStore bytesStore = getListArraysBytesStore(ListType.UNSORTED, expectedLists);
+        final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenDestinationIsTooSmallItShouldThrowIndexOutOfBoundsException() throws IOException {
+        final LongList[] lists = getLists(ListType.UNSORTED, 3, 7L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.UNSORTED, lists);
+        final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, bytesStore);
+        expectedException.expect(IndexOutOfBoundsException.class);
+        expectedException.expectMessage(
+            String.format("List 2 has %d elements, which do not fit into array of length 1", lists[2].size())
+        );
+
+        decoder.decodeInto(2, new long[1]);
+    }
+
+    @Test
+    public void whenListsAreEncodedWithCheckpointsItShouldGetElementsByPosition() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.UNSORTED, 40, 42L);
+        for (final int checkpointInterval : new int[] {0, 1, 3, 16, 1 << VALUE_BIT_SIZE + 1}) {
+            final EncodingOptions options = EncodingOptions.DEFAULT.withCheckpointInterval(checkpointInterval);
+            final PebbleBytesStore bytesStore = getBytesStore(ListType.UNSORTED, expectedLists, options);
+            final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, options, bytesStore, null);
+            final long[] dest = new long[1 << VALUE_BIT_SIZE + 1];
+
+            for (int i = expectedLists.length - 1; i >= 0; i--) {
+                for (int k = 0; k < expectedLists[i].size(); k++) {
+                    assertEquals(expectedLists[i].getLong(k), decoder.get(i, k));
+                }
+                final int size = decoder.decodeInto(i, dest);
+                assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+                final ListIterator iterator = ListIterator.build(i, VALUE_BIT_SIZE, options, bytesStore, null);
+                final LongArrayList list = new LongArrayList();
+                while (iterator.hasNext()) {
+                    list.add(iterator.nextLong());
+                }
+                assertEquals(expectedLists[i], list);
+            }
+        }
+    }
+
+    @Test
+    public void whenListsAreStoredOnDifferentBytesArraysItShouldGetElementsByPosition() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.UNSORTED, 40, 42L);
+        final EncodingOptions options = EncodingOptions.DEFAULT.withCheckpointInterval(3);
+        final PebbleBytesStore bytesStore = getListArraysBytesStore(ListType.UNSORTED, expectedLists, options);
+        final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, options, bytesStore, null);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            for (int k = 0; k < expectedLists[i].size(); k++) {
+                assertEquals(expectedLists[i].getLong(k), decoder.get(i, k));
+            }
+            final int size = decoder.decodeInto(i, dest);
+            assertEquals(expectedLists[i], new LongArrayList(dest, 0, size));
+        }
+    }
+
+    @Test
+    public void whenPositionIsAfterTheEndOfListItShouldThrowIndexOutOfBoundsException() throws IOException {
+        final LongList[] lists = getLists(ListType.UNSORTED, 3, 7L);
+        final EncodingOptions options = EncodingOptions.DEFAULT.withCheckpointInterval(4);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.UNSORTED, lists, options);
+        final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, options, bytesStore, null);
+        expectedException.expect(IndexOutOfBoundsException.class);
+        expectedException.expectMessage(
+            String.format("Position %d is out of list 2 of %d elements", lists[2].size(), lists[2].size())
+        );
+
+        decoder.get(2, lists[2].size());
+    }
+
+    @Test
+    public void whenPositionIsNegativeItShouldThrowIndexOutOfBoundsException() throws IOException {
+        final LongList[] lists = getLists(ListType.UNSORTED, 3, 7L);
+        final EncodingOptions options = EncodingOptions.DEFAULT.withCheckpointInterval(4);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.UNSORTED, lists, options);
+        final ListDecoder decoder = new ListDecoder(VALUE_BIT_SIZE, options, bytesStore, null);
+        expectedException.expect(IndexOutOfBoundsException.class);
+        expectedException.expectMessage(
+            String.format("Position -1 is out of list 2 of %d elements", lists[2].size())
+        );
+
+        decoder.get(2, -1);
+    }
+
+}
@@ -0,0 +1,211 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.decoding.longs;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.ListType;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.VALUE_BIT_SIZE;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getBytesStore;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getLists;
+
+@Category(UnitTest.class)
+public class StrictlyIncrementalListsSpliteratorTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenListsAreStreamedItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+
+        final List<long[]> lists = StrictlyIncrementalListsSpliterator.lists(
+            VALUE_BIT_SIZE,
+            8,
+            16,
+            expectedLists.length,
+            bytesStore
+        ).collect(Collectors.<long[]>toList());
+
+        assertEquals(expectedLists.length, lists.size());
+        for (int i = 0; i < expectedLists.length; i++) {
+            assertArrayEquals(expectedLists[i].toLongArray(), lists.get(i));
+        }
+    }
+
+    @Test
+    public void whenListsAreStreamedInParallelItShouldReturnExpectedLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+
+        final List<long[]> lists = StrictlyIncrementalListsSpliterator.lists(
+            VALUE_BIT_SIZE,
+            8,
+            16,
+            expectedLists.length,
+            bytesStore
+        ).parallel().collect(Collectors.<long[]>toList());
+
+        assertEquals(expectedLists.length, lists.size());
+        for (int i = 0; i < expectedLists.length; i++) {
+            assertArrayEquals(expectedLists[i].toLongArray(), lists.get(i));
+        }
+    }
+
+    @Test
+    public void whenValuesAreStreamedItShouldReturnElementsOfListsInOrder() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final LongList expectedValues = new LongArrayList();
+        for (LongList list : expectedLists) {
+            expectedValues.addAll(list);
+        }
+
+        final long[] values = StrictlyIncrementalListsSpliterator.values(
+            VALUE_BIT_SIZE,
+            8,
+            16,
+            expectedLists.length,
+            bytesStore
+        ).parallel().toArray();
+
+        assertArrayEquals(expectedValues.toLongArray(), values);
+    }
+
+    @Test
+    public void whenSpliteratorIsSplitItShouldSplitAtMultiplesOfChunkSize() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final Spliterator<long[]> suffix = new StrictlyIncrementalListsSpliterator(
+            VALUE_BIT_SIZE,
+            8,
+            16,
+            expectedLists.length,
+            bytesStore
+        );
+
+        final Spliterator<long[]> prefix = suffix.trySplit();
+
+        assertEquals(96L, prefix.estimateSize());
+        assertEquals(104L, suffix.estimateSize());
+        final Spliterator<long[]> chunk = prefix.trySplit().trySplit();
+        assertEquals(16L, chunk.estimateSize());
+        assertNull(chunk.trySplit());
+        assertTrue(suffix.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertListsEquals(expectedLists, 0, 16, chunk);
+        assertListsEquals(expectedLists, 96, 200, suffix);
+        assertEquals(0L, suffix.estimateSize());
+    }
+
+    @Test
+    public void whenSpliteratorIsSplitAfterAdvancingItShouldSplitRemainingLists() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        final Spliterator<long[]> suffix = new StrictlyIncrementalListsSpliterator(
+            VALUE_BIT_SIZE,
+            8,
+            16,
+            expectedLists.length,
+            bytesStore
+        );
+        assertListsEquals(expectedLists, 0, 3, suffix);
+        assertEquals(197L, suffix.estimateSize());
+
+        final Spliterator<long[]> prefix = suffix.trySplit();
+
+        assertListsEquals(expectedLists, 3, 96, prefix);
+        assertListsEquals(expectedLists, 96, 200, suffix);
+        assertEquals(0L, prefix.estimateSize());
+        assertEquals(0L, suffix.estimateSize());
+    }
+
+    @Test
+    public void whenBytesStoreFailsItShouldThrowUncheckedException() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = spy(getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists));
+        doThrow(new IOException("Unreadable")).when(bytesStore).getInputBitStream(anyInt());
+        expectedException.expect(UncheckedIOException.class);
+        expectedException.expectMessage("Unreadable");
+
+        StrictlyIncrementalListsSpliterator.lists(VALUE_BIT_SIZE, 8, 16, expectedLists.length, bytesStore).toArray();
+    }
+
+    @Test
+    public void whenWindowSizeIsNotPositiveItShouldThrowException() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Window size 0 must be positive");
+
+        new StrictlyIncrementalListsSpliterator(VALUE_BIT_SIZE, 0, 16, expectedLists.length, bytesStore);
+    }
+
+    @Test
+    public void whenChunkSizeIsNotPositiveItShouldThrowException() throws IOException {
+        final LongList[] expectedLists = getLists(ListType.STRICTLY_INCREMENTAL, 8, 42L);
+        final PebbleBytesStore bytesStore = getBytesStore(ListType.STRICTLY_INCREMENTAL, expectedLists);
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Chunk size 0 must be positive");
+
+        new StrictlyIncrementalListsSpliterator(VALUE_BIT_SIZE, 8, 0, expectedLists.length, bytesStore);
+    }
+
+    private static void assertListsEquals(
+        final LongList[] expectedLists,
+        final int from,
+        final int to,
+        final Spliterator<long[]> spliterator
+    ) {
+        final List<long[]> lists = new ArrayList<long[]>();
+        final Consumer<long[]> consumer = new Consumer<long[]>() {
+            @Override
+            public void accept(final long[] list) {
+                lists.add(list);
+            }
+        };
+        for (int i = from; i < to; i++) {
+            assertTrue(spliterator.tryAdvance(consumer));
+        }
+        for (int i = from; i < to; i++) {
+            assertArrayEquals(expectedLists[i].toLongArray(), lists.get(i - from));
+        }
+    }
+
+}
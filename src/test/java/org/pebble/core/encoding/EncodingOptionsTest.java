@@ -0,0 +1,82 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Category(UnitTest.class)
+public class EncodingOptionsTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenUsingDefaultOptionsItShouldHaveDefaultParametersValues() {
+        final EncodingOptions options = EncodingOptions.DEFAULT;
+
+        assertEquals(DefaultParametersValues.DEFAULT_SKIP_INTERVAL, options.getSkipInterval());
+        assertEquals(DefaultParametersValues.DEFAULT_SECTION_LENGTHS, options.hasSectionLengths());
+        assertEquals(DefaultParametersValues.DEFAULT_CHECKPOINT_INTERVAL, options.getCheckpointInterval());
+    }
+
+    @Test
+    public void whenCopyingOptionsItShouldOnlyChangeGivenOptionAndKeepOriginalUnchanged() {
+        final EncodingOptions options = new EncodingOptions(2, false, 3);
+
+        final EncodingOptions skipOptions = options.withSkipInterval(4);
+        final EncodingOptions sectionLengthsOptions = options.withSectionLengths(true);
+        final EncodingOptions checkpointOptions = options.withCheckpointInterval(5);
+
+        assertEquals(4, skipOptions.getSkipInterval());
+        assertFalse(skipOptions.hasSectionLengths());
+        assertEquals(3, skipOptions.getCheckpointInterval());
+        assertEquals(2, sectionLengthsOptions.getSkipInterval());
+        assertTrue(sectionLengthsOptions.hasSectionLengths());
+        assertEquals(3, sectionLengthsOptions.getCheckpointInterval());
+        assertEquals(2, checkpointOptions.getSkipInterval());
+        assertFalse(checkpointOptions.hasSectionLengths());
+        assertEquals(5, checkpointOptions.getCheckpointInterval());
+        assertEquals(2, options.getSkipInterval());
+        assertFalse(options.hasSectionLengths());
+        assertEquals(3, options.getCheckpointInterval());
+    }
+
+    @Test
+    public void whenSkipIntervalIsNegativeItShouldThrowException() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Skip interval -1 must not be negative");
+
+        EncodingOptions.DEFAULT.withSkipInterval(-1);
+    }
+
+    @Test
+    public void whenCheckpointIntervalIsNegativeItShouldThrowException() {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Checkpoint interval -1 must not be negative");
+
+        EncodingOptions.DEFAULT.withCheckpointInterval(-1);
+    }
+
+}
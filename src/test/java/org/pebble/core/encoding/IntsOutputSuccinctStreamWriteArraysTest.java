@@ -0,0 +1,332 @@
+package org.pebble.core.encoding;
+
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+import org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore;
+import org.pebble.core.encoding.ints.datastructures.InvertedListIntReferenceListsIndex;
+
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+import static org.pebble.core.encoding.Helper.getOutput;
+import static org.pebble.core.encoding.Helper.toBinaryString;
+
+@Category(UnitTest.class)
+public class IntsOutputSuccinctStreamWriteArraysTest {
+
+    private static final int VALUE_BIT_SIZE = 6;
+    private static final EncodingOptions SKIP_POINTERS = EncodingOptions.DEFAULT.withSkipInterval(2);
+    private static final EncodingOptions SECTION_LENGTHS = SKIP_POINTERS.withSectionLengths(true);
+    private static final EncodingOptions CHECKPOINTS = EncodingOptions.DEFAULT.withCheckpointInterval(4);
+
+    private static final int[][] STRICTLY_INCREMENTAL_LISTS = new int[][] {
+        new int[] {1, 2, 3, 5, 6, 7, 10, 11, 16, 19},
+        new int[] {1, 2, 3, 4, 5, 6, 7, 10, 11, 16, 19, 20},
+        new int[] {0, 2, 3, 5, 9, 12, 13, 14, 15, 16},
+        new int[] {2, 3, 5, 9, 12, 13, 14, 15, 16, 30, 31, 32, 33}
+    };
+
+    private static final int[][] INCREMENTAL_LISTS = new int[][] {
+        new int[] {1, 1, 2, 3, 3, 3, 5, 6, 6, 7, 10, 11, 11, 12, 12, 12, 16, 19, 19},
+        new int[] {1, 2, 2, 3, 5, 6, 7, 10, 10, 11, 12, 13, 16},
+        new int[] {1, 2, 3, 5, 6, 7, 7, 7, 11, 12, 13, 16, 19, 19}
+    };
+
+    private static final int[][] LISTS = new int[][] {
+        new int[] {13, 13, 5, 8, 5, 8, 12, 13, 12, 12},
+        new int[] {3, 1, 2, 9, 4, 4, 10, 13, 12},
+        new int[] {12, 13, 5, 8, 3, 8, 12, 1, 2}
+    };
+
+    @Test
+    public void whenWritingStrictlyIncrementalListsFromArraysItShouldWriteSameOutputWithoutModifyingArrays()
+        throws Exception
+    {
+        assertSameOutput(STRICTLY_INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final IntList list,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(list, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final int[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingStrictlyIncrementalListsWithSkipPointersFromArraysItShouldWriteSameOutput()
+        throws Exception
+    {
+        assertSameOutput(STRICTLY_INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final IntList list,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    list,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SKIP_POINTERS,
+                    referenceListsStore
+                );
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final int[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SKIP_POINTERS,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingStrictlyIncrementalListsWithSectionLengthsFromArraysItShouldWriteSameOutput()
+        throws Exception
+    {
+        assertSameOutput(STRICTLY_INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final IntList list,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    list,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SECTION_LENGTHS,
+                    referenceListsStore
+                );
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final int[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SECTION_LENGTHS,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingIncrementalListsFromArraysItShouldWriteSameOutputWithoutModifyingArrays()
+        throws Exception
+    {
+        assertSameOutput(INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final IntList list,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeIncrementalList(list, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final int[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingListsFromArraysItShouldWriteSameOutputWithoutModifyingArrays() throws Exception {
+        assertSameOutput(LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final IntList list,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(list, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final int[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(values, from, length, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingListsWithCheckpointsFromArraysItShouldWriteSameOutput() throws Exception {
+        assertSameOutput(LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final IntList list,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(list, listIndex, VALUE_BIT_SIZE, CHECKPOINTS, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final int[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final IntReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    CHECKPOINTS,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    private static void assertSameOutput(final int[][] lists, final Writer writer) throws IOException {
+        final Helper.Output expectedOut = getOutput();
+        final Helper.Output out = getOutput();
+        final IntReferenceListsStore expectedReferenceListsStore = getReferenceListsStore();
+        final IntReferenceListsStore referenceListsStore = getReferenceListsStore();
+        int expectedOffset = 0;
+        int offset = 0;
+        for (int i = 0; i < lists.length; i++) {
+            final int[] values = new int[lists[i].length + 2];
+            System.arraycopy(lists[i], 0, values, 1, lists[i].length);
+            final int[] expectedValues = values.clone();
+            expectedOffset += writer.write(
+                expectedOut.stream,
+                new IntArrayList(lists[i]),
+                i,
+                expectedReferenceListsStore
+            );
+            offset += writer.write(out.stream, values, 1, lists[i].length, i, referenceListsStore);
+            assertArrayEquals(expectedValues, values);
+        }
+        expectedOut.close();
+        out.close();
+
+        assertEquals(expectedOffset, offset);
+        assertEquals(toBinaryString(expectedOut.buffer, expectedOffset), toBinaryString(out.buffer, offset));
+    }
+
+    private static IntReferenceListsStore getReferenceListsStore() {
+        return new IntReferenceListsStore(8, 3, 1, new InvertedListIntReferenceListsIndex());
+    }
+
+    private interface Writer {
+
+        int write(
+            OutputSuccinctStream stream,
+            IntList list,
+            int listIndex,
+            IntReferenceListsStore referenceListsStore
+        ) throws IOException;
+
+        int write(
+            OutputSuccinctStream stream,
+            int[] values,
+            int from,
+            int length,
+            int listIndex,
+            IntReferenceListsStore referenceListsStore
+        ) throws IOException;
+
+    }
+
+}
@@ -125,6 +125,31 @@ public class IntsOutputSuccinctStreamWriteIntervalsTest {
         assertEquals(expectedOffset, offset);
     }
 
+    @Test
+    public void whenThereIsSkipIntervalItShouldWriteIntervalsSuccinctRepresentationWithSkipPointersSuccessfully()
+        throws Exception
+    {
+        final int valueBitSize = 3;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(1);
+        final IntList list = new IntArrayList(
+            new int[] {1, 3, 4, 5, 7, 8, 9, 10, 12, 14, 15, 16, 17, 19, 20, 21, 22, 23, 24, 30}
+        );
+        /**
+         * 3 [7, 10] [14, 17] [19, 24]                                   Interval format.
+         * 3 [7, 0]  [14 - 7 - 1, 0, 5 bits] [19 - 14 - 1, 2, 5 bits] [2, 0] [0, 2] Skip pointers after first interval.
+         * 01100 111 1 01111 1 01110 01101 0101 01110 0101 1 1 0101       Delta Encoding.
+         */
+        final String expectedOutput = "01100 111 1 01111 1 01110 01101 0101 01110 0101 1 1 0101".replace(" ", "");
+        final int expectedOffset = 44;
+        final Helper.Output out = getOutput();
+
+        final int offset = out.stream.writeIntervals(list, valueBitSize, options);
+        out.close();
+
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
     @Test
     public void whenListIsOneSingleIntervalItShouldWriteIntervalsSuccinctRepresentationSuccessfully() throws Exception {
         final int valueBitSize = 3;
@@ -161,4 +186,29 @@ public class IntsOutputSuccinctStreamWriteIntervalsTest {
         out.stream.writeIntervals(list, valueBitSize);
     }
 
+    @Test
+    public void whenThereIsSkipIntervalAndSectionLengthsItShouldWriteIntervalsSuccinctRepresentationSuccessfully()
+        throws Exception
+    {
+        final int valueBitSize = 3;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(1).withSectionLengths(true);
+        final IntList list = new IntArrayList(
+            new int[] {1, 3, 4, 5, 7, 8, 9, 10, 12, 14, 15, 16, 17, 19, 20, 21, 22, 23, 24, 30}
+        );
+        /**
+         * 3     [7, 0] 25        10       [6, 0, 5 bits]   [4, 2, 5 bits]  [2, 0] [0, 2] Section lengths.
+         * 01100 111 1  001011010 00100011 01111 1 01110    01101 0101 01110 0101 1 1 0101 Delta Encoding.
+         */
+        final String expectedOutput =
+            "01100 111 1 001011010 00100011 01111 1 01110 01101 0101 01110 0101 1 1 0101".replace(" ", "");
+        final int expectedOffset = 61;
+        final Helper.Output out = getOutput();
+
+        final int offset = out.stream.writeIntervals(list, valueBitSize, options);
+        out.close();
+
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
 }
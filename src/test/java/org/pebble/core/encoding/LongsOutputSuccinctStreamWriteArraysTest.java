@@ -0,0 +1,332 @@
+package org.pebble.core.encoding;
+
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+import org.pebble.core.encoding.longs.datastructures.LongReferenceListsStore;
+import org.pebble.core.encoding.longs.datastructures.InvertedListLongReferenceListsIndex;
+
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+import static org.pebble.core.encoding.Helper.getOutput;
+import static org.pebble.core.encoding.Helper.toBinaryString;
+
+@Category(UnitTest.class)
+public class LongsOutputSuccinctStreamWriteArraysTest {
+
+    private static final int VALUE_BIT_SIZE = 6;
+    private static final EncodingOptions SKIP_POINTERS = EncodingOptions.DEFAULT.withSkipInterval(2);
+    private static final EncodingOptions SECTION_LENGTHS = SKIP_POINTERS.withSectionLengths(true);
+    private static final EncodingOptions CHECKPOINTS = EncodingOptions.DEFAULT.withCheckpointInterval(4);
+
+    private static final long[][] STRICTLY_INCREMENTAL_LISTS = new long[][] {
+        new long[] {1L, 2L, 3L, 5L, 6L, 7L, 10L, 11L, 16L, 19L},
+        new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 10L, 11L, 16L, 19L, 20L},
+        new long[] {0L, 2L, 3L, 5L, 9L, 12L, 13L, 14L, 15L, 16L},
+        new long[] {2L, 3L, 5L, 9L, 12L, 13L, 14L, 15L, 16L, 30L, 31L, 32L, 33L}
+    };
+
+    private static final long[][] INCREMENTAL_LISTS = new long[][] {
+        new long[] {1L, 1L, 2L, 3L, 3L, 3L, 5L, 6L, 6L, 7L, 10L, 11L, 11L, 12L, 12L, 12L, 16L, 19L, 19L},
+        new long[] {1L, 2L, 2L, 3L, 5L, 6L, 7L, 10L, 10L, 11L, 12L, 13L, 16L},
+        new long[] {1L, 2L, 3L, 5L, 6L, 7L, 7L, 7L, 11L, 12L, 13L, 16L, 19L, 19L}
+    };
+
+    private static final long[][] LISTS = new long[][] {
+        new long[] {13L, 13L, 5L, 8L, 5L, 8L, 12L, 13L, 12L, 12L},
+        new long[] {3L, 1L, 2L, 9L, 4L, 4L, 10L, 13L, 12L},
+        new long[] {12L, 13L, 5L, 8L, 3L, 8L, 12L, 1L, 2L}
+    };
+
+    @Test
+    public void whenWritingStrictlyIncrementalListsFromArraysItShouldWriteSameOutputWithoutModifyingArrays()
+        throws Exception
+    {
+        assertSameOutput(STRICTLY_INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final LongList list,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(list, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final long[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingStrictlyIncrementalListsWithSkipPointersFromArraysItShouldWriteSameOutput()
+        throws Exception
+    {
+        assertSameOutput(STRICTLY_INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final LongList list,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    list,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SKIP_POINTERS,
+                    referenceListsStore
+                );
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final long[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SKIP_POINTERS,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingStrictlyIncrementalListsWithSectionLengthsFromArraysItShouldWriteSameOutput()
+        throws Exception
+    {
+        assertSameOutput(STRICTLY_INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final LongList list,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    list,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SECTION_LENGTHS,
+                    referenceListsStore
+                );
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final long[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeStrictlyIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    SECTION_LENGTHS,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingIncrementalListsFromArraysItShouldWriteSameOutputWithoutModifyingArrays()
+        throws Exception
+    {
+        assertSameOutput(INCREMENTAL_LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final LongList list,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeIncrementalList(list, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final long[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeIncrementalList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingListsFromArraysItShouldWriteSameOutputWithoutModifyingArrays() throws Exception {
+        assertSameOutput(LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final LongList list,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(list, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final long[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(values, from, length, listIndex, VALUE_BIT_SIZE, referenceListsStore);
+            }
+        });
+    }
+
+    @Test
+    public void whenWritingListsWithCheckpointsFromArraysItShouldWriteSameOutput() throws Exception {
+        assertSameOutput(LISTS, new Writer() {
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final LongList list,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(list, listIndex, VALUE_BIT_SIZE, CHECKPOINTS, referenceListsStore);
+            }
+
+            @Override
+            public int write(
+                final OutputSuccinctStream stream,
+                final long[] values,
+                final int from,
+                final int length,
+                final int listIndex,
+                final LongReferenceListsStore referenceListsStore
+            ) throws IOException {
+                return stream.writeList(
+                    values,
+                    from,
+                    length,
+                    listIndex,
+                    VALUE_BIT_SIZE,
+                    CHECKPOINTS,
+                    referenceListsStore
+                );
+            }
+        });
+    }
+
+    private static void assertSameOutput(final long[][] lists, final Writer writer) throws IOException {
+        final Helper.Output expectedOut = getOutput();
+        final Helper.Output out = getOutput();
+        final LongReferenceListsStore expectedReferenceListsStore = getReferenceListsStore();
+        final LongReferenceListsStore referenceListsStore = getReferenceListsStore();
+        int expectedOffset = 0;
+        int offset = 0;
+        for (int i = 0; i < lists.length; i++) {
+            final long[] values = new long[lists[i].length + 2];
+            System.arraycopy(lists[i], 0, values, 1, lists[i].length);
+            final long[] expectedValues = values.clone();
+            expectedOffset += writer.write(
+                expectedOut.stream,
+                new LongArrayList(lists[i]),
+                i,
+                expectedReferenceListsStore
+            );
+            offset += writer.write(out.stream, values, 1, lists[i].length, i, referenceListsStore);
+            assertArrayEquals(expectedValues, values);
+        }
+        expectedOut.close();
+        out.close();
+
+        assertEquals(expectedOffset, offset);
+        assertEquals(toBinaryString(expectedOut.buffer, expectedOffset), toBinaryString(out.buffer, offset));
+    }
+
+    private static LongReferenceListsStore getReferenceListsStore() {
+        return new LongReferenceListsStore(8, 3, 1, new InvertedListLongReferenceListsIndex());
+    }
+
+    private interface Writer {
+
+        int write(
+            OutputSuccinctStream stream,
+            LongList list,
+            int listIndex,
+            LongReferenceListsStore referenceListsStore
+        ) throws IOException;
+
+        int write(
+            OutputSuccinctStream stream,
+            long[] values,
+            int from,
+            int length,
+            int listIndex,
+            LongReferenceListsStore referenceListsStore
+        ) throws IOException;
+
+    }
+
+}
@@ -74,6 +74,40 @@ public class LongsOutputSuccinctStreamWriteDeltaTest {
         assertEquals(expectedOffset, offset);
     }
 
+    @Test
+    public void whenThereIsSkipIntervalItShouldWriteDeltaSuccinctRepresentationWithSkipPointersSuccessfully()
+        throws Exception
+    {
+        final int valueBitSize = 1;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(2);
+        final LongList list = new LongArrayList(new long[] {1L, 2L, 3L, 5L, 7L, 10L});
+        /**
+         * 6     1 0 2    2    8        0 0 1    1    2    Delta list with skip pointers after first element.
+         * 01111 1 1 0101 0101 00100001 1 1 0100 0100 0101 Delta Encoding.
+         */
+        final String expectedOutput = "01111 1 1 0101 0101 00100001 1 1 0100 0100 0101".replace(" ", "");
+        final int expectedOffset = 37;
+        final Helper.Output out = getOutput();
+
+        final int offset = out.stream.writeDelta(list, valueBitSize, options);
+        out.close();
+
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
+    @Test
+    public void whenThereIsSkipIntervalItShouldThrowAnExceptionWhenListIsNonStrictlyIncremental() throws Exception {
+        final int valueBitSize = 1;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(2);
+        final LongList list = new LongArrayList(new long[] {1L, 2L, 3L, 5L, 0L, 7L, 10L, 11L, 16L, 19L});
+        final Helper.Output out = getOutput();
+        expectedException.expect(NotStrictlyIncrementalListException.class);
+        expectedException.expectMessage("List is not strictly incremental, found 0 after 5");
+
+        out.stream.writeDelta(list, valueBitSize, options);
+    }
+
     @Test
     public void itShouldThrowAnExceptionWhenListIsNonStrictlyIncremental() throws Exception {
         final int valueBitSize = 1;
@@ -96,4 +130,61 @@ public class LongsOutputSuccinctStreamWriteDeltaTest {
         out.stream.writeDelta(list, valueBitSize);
     }
 
+    @Test
+    public void whenThereIsSectionLengthsItShouldWriteDeltaSuccinctRepresentationWithSectionLengthsSuccessfully()
+        throws Exception
+    {
+        final int valueBitSize = 1;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(0).withSectionLengths(true);
+        final LongList list = new LongArrayList(new long[] {1, 2, 3, 5, 7, 10});
+        /**
+         * 6     1 0 14       0 0 1    1    2    Delta list with section lengths after first element.
+         * 01111 1 1 00100111 1 1 0100 0100 0101 Delta Encoding.
+         */
+        final String expectedOutput = "01111 1 1 00100111 1 1 0100 0100 0101".replace(" ", "");
+        final int expectedOffset = 29;
+        final Helper.Output out = getOutput();
+
+        final int offset = out.stream.writeDelta(list, valueBitSize, options);
+        out.close();
+
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
+    @Test
+    public void whenThereIsSkipIntervalAndSectionLengthsItShouldWriteDeltaSuccinctRepresentationSuccessfully()
+        throws Exception
+    {
+        final int valueBitSize = 1;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(2).withSectionLengths(true);
+        final LongList list = new LongArrayList(new long[] {1, 2, 3, 5, 7, 10});
+        /**
+         * 6     1 17        14       0 2    2    8        0 0 1    1    2    Section lengths and skip pointers.
+         * 01111 1 001010010 00100111 1 0101 0101 00100001 1 1 0100 0100 0101 Delta Encoding.
+         */
+        final String expectedOutput =
+            "01111 1 001010010 00100111 1 0101 0101 00100001 1 1 0100 0100 0101".replace(" ", "");
+        final int expectedOffset = 54;
+        final Helper.Output out = getOutput();
+
+        final int offset = out.stream.writeDelta(list, valueBitSize, options);
+        out.close();
+
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
+    @Test
+    public void whenThereIsSectionLengthsItShouldThrowAnExceptionWhenListIsNonStrictlyIncremental() throws Exception {
+        final int valueBitSize = 1;
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSkipInterval(0).withSectionLengths(true);
+        final LongList list = new LongArrayList(new long[] {1, 2, 3, 5, 0, 7, 10, 11, 16, 19});
+        final Helper.Output out = getOutput();
+        expectedException.expect(NotStrictlyIncrementalListException.class);
+        expectedException.expectMessage("List is not strictly incremental, found 0 after 5");
+
+        out.stream.writeDelta(list, valueBitSize, options);
+    }
+
 }
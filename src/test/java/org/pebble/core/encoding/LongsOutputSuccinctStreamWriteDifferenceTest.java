@@ -283,4 +283,26 @@ public class LongsOutputSuccinctStreamWriteDifferenceTest {
         out.stream.writeDifference(list, referenceList);
     }
 
+    @Test
+    public void whenThereIsSectionLengthsItShouldWriteItsSuccinctRepresentationWithBlocksLengthSuccessfully()
+        throws Exception
+    {
+        final EncodingOptions options = EncodingOptions.DEFAULT.withSectionLengths(true);
+        final LongList list = new LongArrayList(new long[] {1, 2, 3, 5, 6, 7, 10, 11, 16, 19});
+        final LongList referenceList = new LongArrayList(new long[] {0, 2, 3, 5, 9, 12, 13});
+        /**
+         *  2    0 5     0 2    Blocks, first bit, bits of the blocks and blocks.
+         *  0101 0 01110 1 0101 Delta Encoding.
+         */
+        final String expectedOutput = "0101 0 01110 1 0101".replace(" ", "");
+        final int expectedOffset = 15;
+        final Helper.Output out = getOutput();
+
+        final int offset = out.stream.writeDifference(list, referenceList, options);
+        out.close();
+
+        assertEquals(expectedOutput, toBinaryString(out.buffer, offset));
+        assertEquals(expectedOffset, offset);
+    }
+
 }
@@ -0,0 +1,115 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding throughput of {@link OutputBitStream} writing codes with a skewed distribution of values,
+ * similar to the gaps found on compressed lists. Throughput in MB/s can be derived from the reported time per code
+ * and the average code length.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutputBitStreamBenchmark {
+
+    private static final int CODES = 1 << 16;
+    private static final int INT_SIZE = 20;
+
+    private int[] values;
+    private ByteArrayOutputStream outputStream;
+    private byte[] buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(42L);
+        values = new int[CODES];
+        for (int i = 0; i < CODES; i++) {
+            values[i] = (int) Math.min(Integer.MAX_VALUE - 1, Math.abs(random.nextGaussian()) * (1 << random.nextInt(8)));
+        }
+        outputStream = new ByteArrayOutputStream(CODES * Long.SIZE);
+        buffer = new byte[CODES * Long.SIZE];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int writeDeltaIntoOutputStream() throws IOException {
+        outputStream.reset();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        for (int i = 0; i < CODES; i++) {
+            outputBitStream.writeDelta(values[i]);
+        }
+        outputBitStream.close();
+        return outputStream.size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int writeDeltaIntoBytesArray() throws IOException {
+        final OutputBitStream outputBitStream = new OutputBitStream(buffer);
+        int bits = 0;
+        for (int i = 0; i < CODES; i++) {
+            bits += outputBitStream.writeDelta(values[i]);
+        }
+        outputBitStream.close();
+        return bits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int writeGammaIntoBytesArray() throws IOException {
+        final OutputBitStream outputBitStream = new OutputBitStream(buffer);
+        int bits = 0;
+        for (int i = 0; i < CODES; i++) {
+            bits += outputBitStream.writeGamma(values[i]);
+        }
+        outputBitStream.close();
+        return bits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CODES)
+    public int writeIntIntoBytesArray() throws IOException {
+        final OutputBitStream outputBitStream = new OutputBitStream(buffer);
+        int bits = 0;
+        for (int i = 0; i < CODES; i++) {
+            bits += outputBitStream.writeInt(values[i], INT_SIZE);
+        }
+        outputBitStream.close();
+        return bits;
+    }
+
+}
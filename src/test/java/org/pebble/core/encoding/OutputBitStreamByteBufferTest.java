@@ -0,0 +1,82 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.pebble.core.encoding.Helper.toBinaryString;
+
+@Category(UnitTest.class)
+public class OutputBitStreamByteBufferTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void itShouldWriteFromBufferPositionAndMoveItForward() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(2);
+        final OutputBitStream outputBitStream = new OutputBitStream(buffer);
+        final long[] values = {5L, 0x5555555555555555L, 3L};
+        final int[] sizes = {3, 64, 2};
+        final int expectedPosition = 11;
+        final String expectedOutput = (
+            "00000000 00000000 " +
+            "101 0101010101010101010101010101010101010101010101010101010101010101 11"
+        ).replace(" ", "");
+        int writtenBits = 16;
+
+        for (int i = 0; i < values.length; i++) {
+            writtenBits += outputBitStream.writeInBuffer(values[i], sizes[i]);
+        }
+        outputBitStream.close();
+
+        assertEquals(expectedOutput, toBinaryString(buffer.array(), writtenBits));
+        assertEquals(expectedPosition, buffer.position());
+    }
+
+    @Test
+    public void whenBufferHasLessThanAWordRemainingAndWordIsFullItShouldThrowBufferOverflowException()
+        throws IOException {
+        final OutputBitStream outputBitStream = new OutputBitStream(new byte[7]);
+        outputBitStream.writeInt(1, 8);
+        expectedException.expect(BufferOverflowException.class);
+
+        outputBitStream.writeLong(1L, 56);
+    }
+
+    @Test
+    public void whenBufferIsFullItShouldThrowBufferOverflowException() throws IOException {
+        final OutputBitStream outputBitStream = new OutputBitStream(new byte[1]);
+        outputBitStream.writeInt(1, 8);
+        outputBitStream.writeBit(true);
+        expectedException.expect(BufferOverflowException.class);
+
+        outputBitStream.flush();
+    }
+
+}
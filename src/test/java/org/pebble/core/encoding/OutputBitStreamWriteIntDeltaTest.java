@@ -51,4 +51,19 @@ public class OutputBitStreamWriteIntDeltaTest {
         assertEquals(expectedWrittenBits, writtenBits);
     }
 
+
+    @Test
+    public void itShouldComputeDeltaLengthWithoutWriting() {
+        assertEquals(9, OutputBitStream.deltaLength(17));
+    }
+
+    @Test
+    public void deltaLengthShouldMatchNumberOfWrittenBits() throws IOException {
+        final OutputBitStream outputBitStream = new OutputBitStream(new ByteArrayOutputStream());
+        for (final int x : new int[] {0, 1, 2, 17, 1000, Integer.MAX_VALUE - 1}) {
+            assertEquals(outputBitStream.writeDelta(x), OutputBitStream.deltaLength(x));
+        }
+        outputBitStream.close();
+    }
+
 }
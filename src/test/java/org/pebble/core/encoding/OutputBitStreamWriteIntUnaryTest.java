@@ -44,4 +44,24 @@ public class OutputBitStreamWriteIntUnaryTest {
         assertEquals(expectedWrittenBits, writtenBits);
     }
 
+    @Test
+    public void whenValueIsBiggerThanLongSizeItShouldGenerateExpectedOutput() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        final int x = 100;
+        final int expectedWrittenBits = 103;
+        final StringBuilder expectedOutput = new StringBuilder("101");
+        for (int i = 1; i < x; i++) {
+            expectedOutput.append('0');
+        }
+        expectedOutput.append('1');
+        outputBitStream.writeInBuffer(5, 3);
+
+        final int writtenBits = 3 + outputBitStream.writeUnary(x);
+        outputBitStream.close();
+
+        assertEquals(expectedOutput.toString(), toBinaryString(outputStream.toByteArray(), writtenBits));
+        assertEquals(expectedWrittenBits, writtenBits);
+    }
+
 }
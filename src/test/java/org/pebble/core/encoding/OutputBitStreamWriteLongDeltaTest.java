@@ -51,4 +51,19 @@ public class OutputBitStreamWriteLongDeltaTest {
         assertEquals(expectedWrittenBits, writtenBits);
     }
 
+
+    @Test
+    public void itShouldComputeDeltaLengthWithoutWriting() {
+        assertEquals(9, OutputBitStream.deltaLength(17L));
+    }
+
+    @Test
+    public void deltaLengthShouldMatchNumberOfWrittenBits() throws IOException {
+        final OutputBitStream outputBitStream = new OutputBitStream(new ByteArrayOutputStream());
+        for (final long x : new long[] {0L, 1L, 2L, 17L, 1000L, Integer.MAX_VALUE, Long.MAX_VALUE - 1L}) {
+            assertEquals(outputBitStream.writeDelta(x), OutputBitStream.deltaLength(x));
+        }
+        outputBitStream.close();
+    }
+
 }
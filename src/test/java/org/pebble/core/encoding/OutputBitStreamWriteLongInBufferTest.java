@@ -116,4 +116,68 @@ public class OutputBitStreamWriteLongInBufferTest {
         assertEquals(expectedWrittenBits, writtenBits);
     }
 
+    @Test
+    public void whenValuesCrossWordBoundariesItShouldGenerateExpectedOutput() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        final long[] values = {5L, 0x5555555555555555L, 0L, 1L, 3L};
+        final int[] sizes = {3, 64, 61, 0, 2};
+        final int expectedWrittenBits = 130;
+        final String expectedOutput = (
+            "101 " +
+            "0101010101010101010101010101010101010101010101010101010101010101 " +
+            "0000000000000000000000000000000000000000000000000000000000000 " +
+            "11"
+        ).replace(" ", "");
+        int writtenBits = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            writtenBits += outputBitStream.writeInBuffer(values[i], sizes[i]);
+        }
+        outputBitStream.close();
+
+        assertEquals(expectedOutput, toBinaryString(outputStream.toByteArray(), writtenBits));
+        assertEquals(expectedWrittenBits, writtenBits);
+    }
+
+    @Test
+    public void whenValueHasBitsBeyondSizeItShouldOnlyWriteLeastSignificantBits() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        final long[] values = {1L, -1L, 0L};
+        final int[] sizes = {1, 3, 4};
+        final int expectedWrittenBits = 8;
+        final String expectedOutput = "1 111 0000".replace(" ", "");
+        int writtenBits = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            writtenBits += outputBitStream.writeInBuffer(values[i], sizes[i]);
+        }
+        outputBitStream.close();
+
+        assertEquals(expectedOutput, toBinaryString(outputStream.toByteArray(), writtenBits));
+        assertEquals(expectedWrittenBits, writtenBits);
+    }
+
+    @Test
+    public void whenOutputExceedsStagingBufferItShouldWriteEveryByteIntoOutputStream() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        final int values = 10000;
+        final int expectedWrittenBytes = values * 3 / 2;
+
+        for (int i = 0; i < values; i++) {
+            outputBitStream.writeInBuffer((long) i & 0xFFF, 12);
+        }
+        outputBitStream.close();
+        final byte[] output = outputStream.toByteArray();
+
+        assertEquals(expectedWrittenBytes, output.length);
+        for (int i = 0, x = 0; i < values; i += 2, x = i & 0xFFF) {
+            assertEquals(x >>> 4, output[i * 3 / 2] & 0xFF);
+            assertEquals((x & 0xF) << 4 | (x + 1) >>> 8, output[i * 3 / 2 + 1] & 0xFF);
+            assertEquals((x + 1) & 0xFF, output[i * 3 / 2 + 2] & 0xFF);
+        }
+    }
+
 }
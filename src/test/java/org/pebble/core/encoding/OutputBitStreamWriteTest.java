@@ -52,4 +52,20 @@ public class OutputBitStreamWriteTest {
         assertEquals(expectedWrittenBits, writtenBits);
     }
 
+    @Test
+    public void whenBytesAreNotAlignedItShouldGenerateExpectedOutput() throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        final byte[] x = new byte[] {(byte) 0xA5, (byte) 0xF0};
+        final long expectedWrittenBits = 19L;
+        final String expectedOutput = "101 10100101 11110000".replace(" ", "");
+        outputBitStream.writeInBuffer(5, 3);
+
+        final long writtenBits = 3L + outputBitStream.write(x, 16L);
+        outputBitStream.close();
+
+        assertEquals(expectedOutput, toBinaryString(outputStream.toByteArray(), (int)writtenBits));
+        assertEquals(expectedWrittenBits, writtenBits);
+    }
+
 }
@@ -23,6 +23,7 @@ import org.junit.experimental.categories.Category;
 import org.pebble.UnitTest;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 @Category(UnitTest.class)
 public class IntOutputOffsetGetWriteDifferenceOffsetTest {
@@ -219,4 +220,51 @@ public class IntOutputOffsetGetWriteDifferenceOffsetTest {
         assertEquals(expectedOffset, offset);
     }
 
+    @Test
+    public void whenOffsetIsNotGreaterThanMaxOffsetItShouldReturnExpectedOffsetSuccessfully() {
+        final IntList list = new IntArrayList(new int[] {1, 2, 3, 5, 6, 7, 10, 11, 16, 19});
+        final IntList referenceList = new IntArrayList(new int[] {0, 2, 3, 5, 9, 12, 13});
+        final IntList expectedList = new IntArrayList(new int[] {1, 6, 7, 10, 11, 16, 19});
+        final int expectedOffset = 10;
+        IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 10);
+
+        assertEquals(expectedOffset, offset);
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenOffsetIsGreaterThanMaxOffsetItShouldReturnOffsetGreaterThanMaxOffset() {
+        final IntList list = new IntArrayList(new int[] {1, 2, 3, 5, 6, 7, 10, 11, 16, 19});
+        final IntList referenceList = new IntArrayList(new int[] {0, 2, 3, 5, 9, 12, 13});
+        IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 9);
+
+        assertTrue(offset > 9);
+    }
+
+    @Test
+    public void whenOffsetOfAlternatingMatchesIsGreaterThanMaxOffsetItShouldReturnOffsetGreaterThanMaxOffset() {
+        final IntList list = new IntArrayList(new int[] {1, 3, 5, 7, 9});
+        final IntList referenceList = new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 2);
+
+        assertTrue(offset > 2);
+    }
+
+    @Test
+    public void whenOffsetOfReferenceListTailIsGreaterThanMaxOffsetItShouldReturnOffsetGreaterThanMaxOffset() {
+        final IntList list = new IntArrayList(new int[] {1, 2});
+        final IntList referenceList = new IntArrayList(new int[] {1, 2, 4, 6, 8, 10});
+        IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 3);
+
+        assertTrue(offset > 3);
+    }
+
 }
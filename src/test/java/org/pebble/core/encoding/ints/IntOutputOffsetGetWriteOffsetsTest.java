@@ -0,0 +1,206 @@
+package org.pebble.core.encoding.ints;
+
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import it.unimi.dsi.fastutil.ints.IntAVLTreeSet;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+
+@Category(UnitTest.class)
+public class IntOutputOffsetGetWriteOffsetsTest {
+
+    @Test
+    public void whenListHasNotReferenceItShouldGetIntervalsAndResidualsOffsetsWithoutModifyingList() {
+        final int valueBitSize = 3;
+        final int[] list = new int[] {1, 3, 4, 5, 7, 8, 9, 10, 12, 14, 15, 16, 17, 19, 20, 21, 22, 23, 24, 30};
+        final int[] expectedList = list.clone();
+        final int[] expectedOffsets = new int[] {0, 19, 28};
+        final int expectedOffset = 47;
+        final int[] offsets = new int[IntOutputOffset.OFFSETS_SIZE];
+        final IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(list, 0, list.length, valueBitSize, offsets);
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+        assertArrayEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenListIsSliceItShouldOnlyEstimateSliceElements() {
+        final int valueBitSize = 3;
+        final int[] list = new int[] {0, 1, 3, 4, 5, 7, 8, 9, 10, 12, 14, 15, 16, 17, 19, 20, 21, 22, 23, 24, 30, 31};
+        final int[] expectedOffsets = new int[] {0, 19, 28};
+        final int expectedOffset = 47;
+        final int[] offsets = new int[IntOutputOffset.OFFSETS_SIZE];
+        final IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(list, 1, list.length - 2, valueBitSize, offsets);
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+    }
+
+    @Test
+    public void whenListHasReferenceItShouldGetDifferenceIntervalsAndResidualsOffsetsWithoutModifyingList() {
+        final int valueBitSize = 4;
+        final int[] list = new int[] {3, 4, 5, 8, 9, 11, 12, 13};
+        final int[] referenceList = new int[] {1, 2, 4, 8, 9, 10, 11};
+        final int[] expectedList = list.clone();
+        final int[] expectedResiduals = new int[] {3, 5, 12, 13};
+        final int[] expectedOffsets = new int[] {15, 1, 19};
+        final int expectedOffset = 35;
+        final int[] residuals = new int[list.length];
+        final int[] offsets = new int[IntOutputOffset.OFFSETS_SIZE];
+        final IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(
+            list,
+            0,
+            list.length,
+            referenceList,
+            0,
+            referenceList.length,
+            valueBitSize,
+            Integer.MAX_VALUE,
+            residuals,
+            offsets
+        );
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+        assertArrayEquals(expectedList, list);
+        assertArrayEquals(expectedResiduals, Arrays.copyOf(residuals, expectedResiduals.length));
+    }
+
+    @Test
+    public void whenDifferenceOffsetIsGreaterThanMaxOffsetItShouldStopEstimation() {
+        final int valueBitSize = 4;
+        final int[] list = new int[] {3, 4, 5, 8, 9, 11, 12, 13};
+        final int[] referenceList = new int[] {1, 2, 4, 8, 9, 10, 11};
+        final int maxOffset = 5;
+        final int[] expectedOffsets = new int[] {6, 0, 0};
+        final int expectedOffset = 6;
+        final int[] residuals = new int[list.length];
+        final int[] offsets = new int[IntOutputOffset.OFFSETS_SIZE];
+        final IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(
+            list,
+            0,
+            list.length,
+            referenceList,
+            0,
+            referenceList.length,
+            valueBitSize,
+            maxOffset,
+            residuals,
+            offsets
+        );
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+    }
+
+    @Test
+    public void whenResidualsOffsetIsGreaterThanMaxOffsetItShouldStopEstimation() {
+        final int valueBitSize = 4;
+        final int[] list = new int[] {3, 4, 5, 8, 9, 11, 12, 13};
+        final int[] referenceList = new int[] {1, 2, 4, 8, 9, 10, 11};
+        final int maxOffset = 20;
+        final int[] expectedOffsets = new int[] {15, 1, 12};
+        final int expectedOffset = 28;
+        final int[] residuals = new int[list.length];
+        final int[] offsets = new int[IntOutputOffset.OFFSETS_SIZE];
+        final IntOutputOffset outputOffset = new IntOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(
+            list,
+            0,
+            list.length,
+            referenceList,
+            0,
+            referenceList.length,
+            valueBitSize,
+            maxOffset,
+            residuals,
+            offsets
+        );
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+    }
+
+    @Test
+    public void whenEstimatingRandomListsItShouldMatchListsEstimations() {
+        final int valueBitSize = 6;
+        final Random random = new Random(1);
+        final IntOutputOffset outputOffset = new IntOutputOffset();
+        final int[] offsets = new int[IntOutputOffset.OFFSETS_SIZE];
+        for (int i = 0; i < 1000; i++) {
+            final IntList list = getList(random);
+            final IntList referenceList = getList(random);
+            final int[] residuals = new int[list.size()];
+            final int maxOffset = random.nextInt(64);
+            final IntList cloneList = new IntArrayList(list);
+            final int differenceOffset = outputOffset.getWriteDifferenceOffset(cloneList, referenceList);
+            final int intervalsOffset = outputOffset.getWriteIntervalsOffset(cloneList, valueBitSize);
+            final int residualsOffset = outputOffset.getWriteDeltaOffset(cloneList, valueBitSize);
+            final int expectedOffset = differenceOffset + intervalsOffset + residualsOffset;
+
+            final int offset = outputOffset.getWriteOffsets(
+                list.toIntArray(),
+                0,
+                list.size(),
+                referenceList.toIntArray(),
+                0,
+                referenceList.size(),
+                valueBitSize,
+                maxOffset,
+                residuals,
+                offsets
+            );
+
+            if (expectedOffset <= maxOffset) {
+                assertEquals(expectedOffset, offset);
+                assertArrayEquals(new int[] {differenceOffset, intervalsOffset, residualsOffset}, offsets);
+            } else {
+                assertTrue(offset > maxOffset && offset <= expectedOffset);
+            }
+        }
+    }
+
+    private static IntList getList(final Random random) {
+        final IntAVLTreeSet values = new IntAVLTreeSet();
+        final int size = 1 + random.nextInt(20);
+        while (values.size() < size) {
+            values.add(random.nextInt(40));
+        }
+        return new IntArrayList(values);
+    }
+
+}
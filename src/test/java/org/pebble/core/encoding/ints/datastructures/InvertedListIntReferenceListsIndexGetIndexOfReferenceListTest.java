@@ -198,6 +198,41 @@ public class InvertedListIntReferenceListsIndexGetIndexOfReferenceListTest {
         assertEquals(expectedReferenceListIndex, referenceListIndex);
     }
 
+    @Test
+    public void whenBestListIsFoundFirstListWithBiggerOffsetDifferenceAndIntervalEncodingItShouldBeDiscarded() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {11, 13, 15, 17, 19, 21}),
+            new IntArrayList(new int[] {6, 13, 15, 17, 19, 21})
+        };
+        final int valueBitSize = 3;
+        final InvertedListIntReferenceListsIndex listsIndex = new InvertedListIntReferenceListsIndex() {{
+            listsInvertedIndex.put(2, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(6, new IntArrayList(new int[] {1}));
+            listsInvertedIndex.put(10, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(12, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(14, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(16, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(18, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(20, new IntArrayList(new int[] {0, 1}));
+        }};
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final int listIndex = 2;
+        final IntList list = new IntArrayList(new int[] {2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 21});
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
     @Test
     public void whenFindingListsThatGeneratesSameCompressionItShouldReturnTheOneWithLessRecursiveReferences() {
         final IntList[] lists = new IntList[] {
@@ -262,4 +297,116 @@ public class InvertedListIntReferenceListsIndexGetIndexOfReferenceListTest {
         assertEquals(expectedReferenceListIndex, referenceListIndex);
     }
 
+    @Test
+    public void whenCandidatesAreNotMoreThanMaxCandidatesItShouldEvaluateAllOfThem() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13}),
+            new IntArrayList(new int[] {2, 4, 6, 8, 10})
+        };
+        final int valueBitSize = 4;
+        final InvertedListIntReferenceListsIndex listsIndex = new InvertedListIntReferenceListsIndex() {{
+            listsInvertedIndex.put(1, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(2, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(3, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(4, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(5, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(6, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(7, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(8, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(9, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(10, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(11, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(12, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(13, new IntArrayList(new int[] {0}));
+        }};
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final int listIndex = 2;
+        final IntList list = new IntArrayList(new int[] {2, 4, 6, 8, 10, 12});
+        final int expectedReferenceListIndex = 1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesAreMoreThanMaxCandidatesItShouldEvaluateTheOnesSharingMoreValues() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13}),
+            new IntArrayList(new int[] {2, 4, 6, 8, 10})
+        };
+        final int valueBitSize = 4;
+        final InvertedListIntReferenceListsIndex listsIndex = new InvertedListIntReferenceListsIndex(1) {{
+            listsInvertedIndex.put(1, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(2, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(3, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(4, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(5, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(6, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(7, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(8, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(9, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(10, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(11, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(12, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(13, new IntArrayList(new int[] {0}));
+        }};
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final int listIndex = 2;
+        final IntList list = new IntArrayList(new int[] {2, 4, 6, 8, 10, 12});
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenIndexIsBuiltWithDefaultConstructorItShouldEvaluateAllCandidates() {
+        final int decoys = 65;
+        final IntList[] lists = new IntList[decoys + 1];
+        final int[] offsets = new int[decoys + 1];
+        final int[] recursiveReferences = new int[decoys + 1];
+        final InvertedListIntReferenceListsIndex listsIndex = new InvertedListIntReferenceListsIndex();
+        for (int i = 0; i < decoys; i++) {
+            lists[i] = new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+            offsets[i] = i;
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        lists[decoys] = new IntArrayList(new int[] {2, 4, 6, 8, 10});
+        offsets[decoys] = decoys;
+        listsIndex.addListIntoListsInvertedIndex(decoys, lists[decoys]);
+        final int valueBitSize = 4;
+        final int listIndex = decoys + 1;
+        final IntList list = new IntArrayList(new int[] {2, 4, 6, 8, 10, 12});
+        final int expectedReferenceListIndex = decoys;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
 }
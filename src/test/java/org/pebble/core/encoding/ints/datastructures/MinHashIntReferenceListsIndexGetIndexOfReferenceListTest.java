@@ -0,0 +1,342 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding.ints.datastructures;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.ints.StrictlyIncrementalListDecoder;
+import org.pebble.core.encoding.OutputSuccinctStream;
+import org.pebble.utils.BytesArrayPebbleBytesStore;
+import org.pebble.utils.LongListPebbleOffsetsStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.ListType;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.VALUE_BIT_SIZE;
+import static org.pebble.core.decoding.ints.ListDecoderHelper.getLists;
+
+@Category(UnitTest.class)
+public class MinHashIntReferenceListsIndexGetIndexOfReferenceListTest {
+
+    @Test
+    public void whenSimilarListIsIndexedItShouldReturnItsIndex() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {100, 103, 106, 109, 112, 115, 118, 121, 124, 127}),
+            new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex();
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        listsIndex.addListIntoListsInvertedIndex(1, lists[1]);
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final IntList list = new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 31});
+        final int expectedReferenceListIndex = 1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenNoSimilarListIsIndexedItShouldReturnNotFound() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {100, 103, 106, 109, 112, 115, 118, 121, 124, 127})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex();
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        final int[] offsets = new int[] {0};
+        final int[] recursiveReferences = new int[] {0};
+        final IntList list = new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 31});
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            1,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(-1, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesAreMoreThanMaxCandidatesItShouldOnlyEvaluateMaxCandidates() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex(16, 2, 0);
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        final int[] offsets = new int[] {0};
+        final int[] recursiveReferences = new int[] {0};
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            new IntArrayList(lists[0]),
+            7,
+            1,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(-1, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerOffsetAndDifferenceEncodingItShouldBeDiscarded() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {2, 4, 5, 6, 13, 14, 16})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {1};
+        final int[] recursiveReferences = new int[] {0};
+        final IntList list = new IntArrayList(new int[] {6, 13, 14});
+        final int expectedReferenceListIndex = -1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerOffsetDifferenceAndIntervalEncodingThanListItShouldBeDiscarded() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {0, 1, 4, 5, 6, 17, 18, 22})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {1};
+        final int[] recursiveReferences = new int[] {0};
+        final IntList list = new IntArrayList(new int[] {4, 12, 17, 18});
+        final int expectedReferenceListIndex = -1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerEncodingThanListItShouldBeDiscarded() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {2, 8, 11, 12, 15, 16, 19, 21})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {1};
+        final int[] recursiveReferences = new int[] {0};
+        final IntList list = new IntArrayList(new int[] {1, 2, 4, 10, 11, 16, 17});
+        final int expectedReferenceListIndex = -1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerOffsetDifferenceAndIntervalEncodingItShouldBeDiscarded() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {11, 13, 15, 17, 19, 21}),
+            new IntArrayList(new int[] {6, 13, 15, 17, 19, 21})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final IntList list = new IntArrayList(new int[] {2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 21});
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesGenerateSameCompressionItShouldReturnTheOneWithLessRecursiveReferences() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30}),
+            new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {1, 0};
+        final IntList list = new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 31});
+        final int expectedReferenceListIndex = 1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            6,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesGenerateSameCompressionItShouldKeepTheOneWithLessRecursiveReferences() {
+        final IntList[] lists = new IntList[] {
+            new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30}),
+            new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 30})
+        };
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 1};
+        final IntList list = new IntArrayList(new int[] {2, 4, 6, 8, 10, 12, 14, 16, 18, 20, 22, 24, 26, 28, 31});
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            6,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenListIsEmptyItShouldReturnNotFound() {
+        final IntList[] lists = new IntList[] {new IntArrayList()};
+        final MinHashIntReferenceListsIndex listsIndex = new MinHashIntReferenceListsIndex();
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        final int[] offsets = new int[] {0};
+        final int[] recursiveReferences = new int[] {0};
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            new IntArrayList(),
+            7,
+            1,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(-1, referenceListIndex);
+        assertEquals(0, listsIndex.bucketsSize());
+    }
+
+    @Test
+    public void whenListsAreEncodedWithIndexItShouldEncodeThemByReference() throws IOException {
+        final IntList[] lists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            1000,
+            3,
+            1,
+            new MinHashIntReferenceListsIndex(16, 1, 4)
+        );
+        final IntReferenceListsStore noReferenceListsStore = new IntReferenceListsStore(
+            1000,
+            3,
+            Integer.MAX_VALUE,
+            new MinHashIntReferenceListsIndex()
+        );
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(outputStream);
+        final OutputSuccinctStream noReferenceOutputSuccinctStream = new OutputSuccinctStream(
+            new ByteArrayOutputStream()
+        );
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        long offset = 0L;
+        long noReferenceOffset = 0L;
+        for (int i = 0; i < lists.length; i++) {
+            offsetsStore.append(offset);
+            offset += outputSuccinctStream.writeStrictlyIncrementalList(
+                new IntArrayList(lists[i]),
+                i,
+                VALUE_BIT_SIZE,
+                referenceListsStore
+            );
+            noReferenceOffset += noReferenceOutputSuccinctStream.writeStrictlyIncrementalList(
+                new IntArrayList(lists[i]),
+                i,
+                VALUE_BIT_SIZE,
+                noReferenceListsStore
+            );
+        }
+        outputSuccinctStream.close();
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(outputStream.toByteArray(), offsetsStore);
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final int[] dest = new int[1 << VALUE_BIT_SIZE + 1];
+
+        for (int i = 0; i < lists.length; i++) {
+            assertEquals(lists[i], new IntArrayList(dest, 0, decoder.decodeInto(i, dest)));
+        }
+        assertTrue(offset < noReferenceOffset);
+    }
+
+}
@@ -23,6 +23,7 @@ import org.junit.experimental.categories.Category;
 import org.pebble.UnitTest;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
 
 @Category(UnitTest.class)
 public class LongOutputOffsetGetWriteDifferenceOffsetTest {
@@ -219,4 +220,51 @@ public class LongOutputOffsetGetWriteDifferenceOffsetTest {
         assertEquals(expectedOffset, offset);
     }
 
+    @Test
+    public void whenOffsetIsNotGreaterThanMaxOffsetItShouldReturnExpectedOffsetSuccessfully() {
+        final LongList list = new LongArrayList(new long[] {1L, 2L, 3L, 5L, 6L, 7L, 10L, 11L, 16L, 19L});
+        final LongList referenceList = new LongArrayList(new long[] {0L, 2L, 3L, 5L, 9L, 12L, 13L});
+        final LongList expectedList = new LongArrayList(new long[] {1L, 6L, 7L, 10L, 11L, 16L, 19L});
+        final int expectedOffset = 10;
+        LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 10);
+
+        assertEquals(expectedOffset, offset);
+        assertEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenOffsetIsGreaterThanMaxOffsetItShouldReturnOffsetGreaterThanMaxOffset() {
+        final LongList list = new LongArrayList(new long[] {1L, 2L, 3L, 5L, 6L, 7L, 10L, 11L, 16L, 19L});
+        final LongList referenceList = new LongArrayList(new long[] {0L, 2L, 3L, 5L, 9L, 12L, 13L});
+        LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 9);
+
+        assertTrue(offset > 9);
+    }
+
+    @Test
+    public void whenOffsetOfAlternatingMatchesIsGreaterThanMaxOffsetItShouldReturnOffsetGreaterThanMaxOffset() {
+        final LongList list = new LongArrayList(new long[] {1L, 3L, 5L, 7L, 9L});
+        final LongList referenceList = new LongArrayList(new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L});
+        LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 2);
+
+        assertTrue(offset > 2);
+    }
+
+    @Test
+    public void whenOffsetOfReferenceListTailIsGreaterThanMaxOffsetItShouldReturnOffsetGreaterThanMaxOffset() {
+        final LongList list = new LongArrayList(new long[] {1L, 2L});
+        final LongList referenceList = new LongArrayList(new long[] {1L, 2L, 4L, 6L, 8L, 10L});
+        LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteDifferenceOffset(list, referenceList, 3);
+
+        assertTrue(offset > 3);
+    }
+
 }
@@ -0,0 +1,210 @@
+package org.pebble.core.encoding.longs;
+
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+import it.unimi.dsi.fastutil.longs.LongAVLTreeSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.junit.Assert.assertArrayEquals;
+
+@Category(UnitTest.class)
+public class LongOutputOffsetGetWriteOffsetsTest {
+
+    @Test
+    public void whenListHasNotReferenceItShouldGetIntervalsAndResidualsOffsetsWithoutModifyingList() {
+        final int valueBitSize = 3;
+        final long[] list = new long[] {
+            1L, 3L, 4L, 5L, 7L, 8L, 9L, 10L, 12L, 14L, 15L, 16L, 17L, 19L, 20L, 21L, 22L, 23L, 24L, 30L
+        };
+        final long[] expectedList = list.clone();
+        final int[] expectedOffsets = new int[] {0, 19, 28};
+        final int expectedOffset = 47;
+        final int[] offsets = new int[LongOutputOffset.OFFSETS_SIZE];
+        final LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(list, 0, list.length, valueBitSize, offsets);
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+        assertArrayEquals(expectedList, list);
+    }
+
+    @Test
+    public void whenListIsSliceItShouldOnlyEstimateSliceElements() {
+        final int valueBitSize = 3;
+        final long[] list = new long[] {
+            0L, 1L, 3L, 4L, 5L, 7L, 8L, 9L, 10L, 12L, 14L, 15L, 16L, 17L, 19L, 20L, 21L, 22L, 23L, 24L, 30L, 31L
+        };
+        final int[] expectedOffsets = new int[] {0, 19, 28};
+        final int expectedOffset = 47;
+        final int[] offsets = new int[LongOutputOffset.OFFSETS_SIZE];
+        final LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(list, 1, list.length - 2, valueBitSize, offsets);
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+    }
+
+    @Test
+    public void whenListHasReferenceItShouldGetDifferenceIntervalsAndResidualsOffsetsWithoutModifyingList() {
+        final int valueBitSize = 4;
+        final long[] list = new long[] {3L, 4L, 5L, 8L, 9L, 11L, 12L, 13L};
+        final long[] referenceList = new long[] {1L, 2L, 4L, 8L, 9L, 10L, 11L};
+        final long[] expectedList = list.clone();
+        final long[] expectedResiduals = new long[] {3L, 5L, 12L, 13L};
+        final int[] expectedOffsets = new int[] {15, 1, 19};
+        final int expectedOffset = 35;
+        final long[] residuals = new long[list.length];
+        final int[] offsets = new int[LongOutputOffset.OFFSETS_SIZE];
+        final LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(
+            list,
+            0,
+            list.length,
+            referenceList,
+            0,
+            referenceList.length,
+            valueBitSize,
+            Integer.MAX_VALUE,
+            residuals,
+            offsets
+        );
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+        assertArrayEquals(expectedList, list);
+        assertArrayEquals(expectedResiduals, Arrays.copyOf(residuals, expectedResiduals.length));
+    }
+
+    @Test
+    public void whenDifferenceOffsetIsGreaterThanMaxOffsetItShouldStopEstimation() {
+        final int valueBitSize = 4;
+        final long[] list = new long[] {3L, 4L, 5L, 8L, 9L, 11L, 12L, 13L};
+        final long[] referenceList = new long[] {1L, 2L, 4L, 8L, 9L, 10L, 11L};
+        final int maxOffset = 5;
+        final int[] expectedOffsets = new int[] {6, 0, 0};
+        final int expectedOffset = 6;
+        final long[] residuals = new long[list.length];
+        final int[] offsets = new int[LongOutputOffset.OFFSETS_SIZE];
+        final LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(
+            list,
+            0,
+            list.length,
+            referenceList,
+            0,
+            referenceList.length,
+            valueBitSize,
+            maxOffset,
+            residuals,
+            offsets
+        );
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+    }
+
+    @Test
+    public void whenResidualsOffsetIsGreaterThanMaxOffsetItShouldStopEstimation() {
+        final int valueBitSize = 4;
+        final long[] list = new long[] {3L, 4L, 5L, 8L, 9L, 11L, 12L, 13L};
+        final long[] referenceList = new long[] {1L, 2L, 4L, 8L, 9L, 10L, 11L};
+        final int maxOffset = 20;
+        final int[] expectedOffsets = new int[] {15, 1, 12};
+        final int expectedOffset = 28;
+        final long[] residuals = new long[list.length];
+        final int[] offsets = new int[LongOutputOffset.OFFSETS_SIZE];
+        final LongOutputOffset outputOffset = new LongOutputOffset();
+
+        final int offset = outputOffset.getWriteOffsets(
+            list,
+            0,
+            list.length,
+            referenceList,
+            0,
+            referenceList.length,
+            valueBitSize,
+            maxOffset,
+            residuals,
+            offsets
+        );
+
+        assertEquals(expectedOffset, offset);
+        assertArrayEquals(expectedOffsets, offsets);
+    }
+
+    @Test
+    public void whenEstimatingRandomListsItShouldMatchListsEstimations() {
+        final int valueBitSize = 6;
+        final Random random = new Random(1);
+        final LongOutputOffset outputOffset = new LongOutputOffset();
+        final int[] offsets = new int[LongOutputOffset.OFFSETS_SIZE];
+        for (int i = 0; i < 1000; i++) {
+            final LongList list = getList(random);
+            final LongList referenceList = getList(random);
+            final long[] residuals = new long[list.size()];
+            final int maxOffset = random.nextInt(64);
+            final LongList cloneList = new LongArrayList(list);
+            final int differenceOffset = outputOffset.getWriteDifferenceOffset(cloneList, referenceList);
+            final int intervalsOffset = outputOffset.getWriteIntervalsOffset(cloneList, valueBitSize);
+            final int residualsOffset = outputOffset.getWriteDeltaOffset(cloneList, valueBitSize);
+            final int expectedOffset = differenceOffset + intervalsOffset + residualsOffset;
+
+            final int offset = outputOffset.getWriteOffsets(
+                list.toLongArray(),
+                0,
+                list.size(),
+                referenceList.toLongArray(),
+                0,
+                referenceList.size(),
+                valueBitSize,
+                maxOffset,
+                residuals,
+                offsets
+            );
+
+            if (expectedOffset <= maxOffset) {
+                assertEquals(expectedOffset, offset);
+                assertArrayEquals(new int[] {differenceOffset, intervalsOffset, residualsOffset}, offsets);
+            } else {
+                assertTrue(offset > maxOffset && offset <= expectedOffset);
+            }
+        }
+    }
+
+    private static LongList getList(final Random random) {
+        final LongAVLTreeSet values = new LongAVLTreeSet();
+        final int size = 1 + random.nextInt(20);
+        while (values.size() < size) {
+            values.add(random.nextInt(40));
+        }
+        return new LongArrayList(values);
+    }
+
+}
@@ -201,6 +201,43 @@ public class InvertedListLongReferenceListsIndexGetIndexOfReferenceListTest {
         assertEquals(expectedReferenceListIndex, referenceListIndex);
     }
 
+    @Test
+    public void whenBestListIsFoundFirstListWithBiggerOffsetDifferenceAndIntervalEncodingItShouldBeDiscarded() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {11L, 13L, 15L, 17L, 19L, 21L}),
+            new LongArrayList(new long[] {6L, 13L, 15L, 17L, 19L, 21L})
+        };
+        final int valueBitSize = 3;
+        final InvertedListLongReferenceListsIndex listsIndex = new InvertedListLongReferenceListsIndex() {{
+            listsInvertedIndex.put(2L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(6L, new IntArrayList(new int[] {1}));
+            listsInvertedIndex.put(10L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(12L, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(14L, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(16L, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(18L, new IntArrayList(new int[] {0, 1}));
+            listsInvertedIndex.put(20L, new IntArrayList(new int[] {0, 1}));
+        }};
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final int listIndex = 2;
+        final LongList list = new LongArrayList(
+            new long[] {2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 13L, 15L, 17L, 19L, 21L}
+        );
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
     @Test
     public void whenFindingListsThatGeneratesSameCompressionItShouldReturnTheOneWithLessRecursiveReferences() {
         final LongList[] lists = new LongList[] {
@@ -265,4 +302,116 @@ public class InvertedListLongReferenceListsIndexGetIndexOfReferenceListTest {
         assertEquals(expectedReferenceListIndex, referenceListIndex);
     }
 
+    @Test
+    public void whenCandidatesAreNotMoreThanMaxCandidatesItShouldEvaluateAllOfThem() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L}),
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L})
+        };
+        final int valueBitSize = 4;
+        final InvertedListLongReferenceListsIndex listsIndex = new InvertedListLongReferenceListsIndex() {{
+            listsInvertedIndex.put(1L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(2L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(3L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(4L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(5L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(6L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(7L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(8L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(9L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(10L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(11L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(12L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(13L, new IntArrayList(new int[] {0}));
+        }};
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final int listIndex = 2;
+        final LongList list = new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L});
+        final int expectedReferenceListIndex = 1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesAreMoreThanMaxCandidatesItShouldEvaluateTheOnesSharingMoreValues() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L}),
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L})
+        };
+        final int valueBitSize = 4;
+        final InvertedListLongReferenceListsIndex listsIndex = new InvertedListLongReferenceListsIndex(1) {{
+            listsInvertedIndex.put(1L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(2L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(3L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(4L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(5L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(6L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(7L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(8L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(9L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(10L, new IntArrayList(new int[] {1, 0}));
+            listsInvertedIndex.put(11L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(12L, new IntArrayList(new int[] {0}));
+            listsInvertedIndex.put(13L, new IntArrayList(new int[] {0}));
+        }};
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final int listIndex = 2;
+        final LongList list = new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L});
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenIndexIsBuiltWithDefaultConstructorItShouldEvaluateAllCandidates() {
+        final int decoys = 65;
+        final LongList[] lists = new LongList[decoys + 1];
+        final int[] offsets = new int[decoys + 1];
+        final int[] recursiveReferences = new int[decoys + 1];
+        final InvertedListLongReferenceListsIndex listsIndex = new InvertedListLongReferenceListsIndex();
+        for (int i = 0; i < decoys; i++) {
+            lists[i] = new LongArrayList(new long[] {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L});
+            offsets[i] = i;
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        lists[decoys] = new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L});
+        offsets[decoys] = decoys;
+        listsIndex.addListIntoListsInvertedIndex(decoys, lists[decoys]);
+        final int valueBitSize = 4;
+        final int listIndex = decoys + 1;
+        final LongList list = new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L});
+        final int expectedReferenceListIndex = decoys;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            valueBitSize,
+            listIndex,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
 }
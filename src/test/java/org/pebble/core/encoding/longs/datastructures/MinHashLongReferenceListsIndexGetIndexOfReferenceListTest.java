@@ -0,0 +1,347 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding.longs.datastructures;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.longs.StrictlyIncrementalListDecoder;
+import org.pebble.core.encoding.OutputSuccinctStream;
+import org.pebble.utils.BytesArrayPebbleBytesStore;
+import org.pebble.utils.LongListPebbleOffsetsStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.ListType;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.BASE_BIT_SIZE;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.VALUE_BIT_SIZE;
+import static org.pebble.core.decoding.longs.ListDecoderHelper.getLists;
+
+@Category(UnitTest.class)
+public class MinHashLongReferenceListsIndexGetIndexOfReferenceListTest {
+
+    @Test
+    public void whenSimilarListIsIndexedItShouldReturnItsIndex() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {100L, 103L, 106L, 109L, 112L, 115L, 118L, 121L, 124L, 127L}),
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex();
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        listsIndex.addListIntoListsInvertedIndex(1, lists[1]);
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final LongList list = new LongArrayList(
+            new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 31L}
+        );
+        final int expectedReferenceListIndex = 1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenNoSimilarListIsIndexedItShouldReturnNotFound() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {100L, 103L, 106L, 109L, 112L, 115L, 118L, 121L, 124L, 127L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex();
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        final int[] offsets = new int[] {0};
+        final int[] recursiveReferences = new int[] {0};
+        final LongList list = new LongArrayList(
+            new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 31L}
+        );
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            1,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(-1, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesAreMoreThanMaxCandidatesItShouldOnlyEvaluateMaxCandidates() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(16, 2, 0);
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        final int[] offsets = new int[] {0};
+        final int[] recursiveReferences = new int[] {0};
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            new LongArrayList(lists[0]),
+            7,
+            1,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(-1, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerOffsetAndDifferenceEncodingItShouldBeDiscarded() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {2L, 4L, 5L, 6L, 13L, 14L, 16L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {1};
+        final int[] recursiveReferences = new int[] {0};
+        final LongList list = new LongArrayList(new long[] {6L, 13L, 14L});
+        final int expectedReferenceListIndex = -1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerOffsetDifferenceAndIntervalEncodingThanListItShouldBeDiscarded() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {0L, 1L, 4L, 5L, 6L, 17L, 18L, 22L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {1};
+        final int[] recursiveReferences = new int[] {0};
+        final LongList list = new LongArrayList(new long[] {4L, 12L, 17L, 18L});
+        final int expectedReferenceListIndex = -1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerEncodingThanListItShouldBeDiscarded() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {2L, 8L, 11L, 12L, 15L, 16L, 19L, 21L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {1};
+        final int[] recursiveReferences = new int[] {0};
+        final LongList list = new LongArrayList(new long[] {1L, 2L, 4L, 10L, 11L, 16L, 17L});
+        final int expectedReferenceListIndex = -1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidateGeneratesBiggerOffsetDifferenceAndIntervalEncodingItShouldBeDiscarded() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {11L, 13L, 15L, 17L, 19L, 21L}),
+            new LongArrayList(new long[] {6L, 13L, 15L, 17L, 19L, 21L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 0};
+        final LongList list = new LongArrayList(new long[] {2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 13L, 15L, 17L, 19L, 21L});
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            3,
+            2,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesGenerateSameCompressionItShouldReturnTheOneWithLessRecursiveReferences() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L}),
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {1, 0};
+        final LongList list = new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 31L});
+        final int expectedReferenceListIndex = 1;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            6,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenCandidatesGenerateSameCompressionItShouldKeepTheOneWithLessRecursiveReferences() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L}),
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L})
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(64, 1, 64);
+        for (int i = 0; i < lists.length; i++) {
+            listsIndex.addListIntoListsInvertedIndex(i, lists[i]);
+        }
+        final int[] offsets = new int[] {0, 1};
+        final int[] recursiveReferences = new int[] {0, 1};
+        final LongList list = new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 31L});
+        final int expectedReferenceListIndex = 0;
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            list,
+            7,
+            6,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(expectedReferenceListIndex, referenceListIndex);
+    }
+
+    @Test
+    public void whenListIsEmptyItShouldReturnNotFound() {
+        final LongList[] lists = new LongList[] {new LongArrayList()};
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex();
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        final int[] offsets = new int[] {0};
+        final int[] recursiveReferences = new int[] {0};
+
+        final int referenceListIndex = listsIndex.getIndexOfReferenceList(
+            new LongArrayList(),
+            7,
+            1,
+            lists,
+            offsets,
+            recursiveReferences
+        );
+
+        assertEquals(-1, referenceListIndex);
+        assertEquals(0, listsIndex.bucketsSize());
+    }
+
+    @Test
+    public void whenListsAreEncodedWithIndexItShouldEncodeThemByReference() throws IOException {
+        final LongList[] lists = getLists(ListType.STRICTLY_INCREMENTAL, 200, 42L);
+        final LongReferenceListsStore referenceListsStore = new LongReferenceListsStore(
+            1000,
+            3,
+            1,
+            new MinHashLongReferenceListsIndex(16, 1, 4)
+        );
+        final LongReferenceListsStore noReferenceListsStore = new LongReferenceListsStore(
+            1000,
+            3,
+            Integer.MAX_VALUE,
+            new MinHashLongReferenceListsIndex()
+        );
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(outputStream);
+        final OutputSuccinctStream noReferenceOutputSuccinctStream = new OutputSuccinctStream(
+            new ByteArrayOutputStream()
+        );
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        long offset = 0L;
+        long noReferenceOffset = 0L;
+        for (int i = 0; i < lists.length; i++) {
+            offsetsStore.append(offset);
+            offset += outputSuccinctStream.writeStrictlyIncrementalList(
+                new LongArrayList(lists[i]),
+                i,
+                VALUE_BIT_SIZE,
+                referenceListsStore
+            );
+            noReferenceOffset += noReferenceOutputSuccinctStream.writeStrictlyIncrementalList(
+                new LongArrayList(lists[i]),
+                i,
+                VALUE_BIT_SIZE,
+                noReferenceListsStore
+            );
+        }
+        outputSuccinctStream.close();
+        final PebbleBytesStore bytesStore = new BytesArrayPebbleBytesStore(outputStream.toByteArray(), offsetsStore);
+        final StrictlyIncrementalListDecoder decoder = new StrictlyIncrementalListDecoder(VALUE_BIT_SIZE, bytesStore);
+        final long[] dest = new long[1 << BASE_BIT_SIZE + 1];
+
+        for (int i = 0; i < lists.length; i++) {
+            assertEquals(lists[i], new LongArrayList(dest, 0, decoder.decodeInto(i, dest)));
+        }
+        assertTrue(offset < noReferenceOffset);
+    }
+
+}
@@ -0,0 +1,63 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.core.encoding.longs.datastructures;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+
+import static junit.framework.TestCase.assertEquals;
+
+@Category(UnitTest.class)
+public class MinHashLongReferenceListsIndexRemoveListFromListsInvertedIndexTest {
+
+    @Test
+    public void whenIndexHavePreviousIndexedListsItShouldRemoveListFromIndexAsExpected() {
+        final LongList[] lists = new LongList[] {
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L}),
+            new LongArrayList(new long[] {2L, 4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L}),
+            new LongArrayList()
+        };
+        final MinHashLongReferenceListsIndex listsIndex = new MinHashLongReferenceListsIndex(8, 2, 64);
+        listsIndex.addListIntoListsInvertedIndex(0, lists[0]);
+        listsIndex.addListIntoListsInvertedIndex(1, lists[1]);
+        listsIndex.addListIntoListsInvertedIndex(2, lists[2]);
+        final int[] offsets = new int[] {0, 1, 2};
+        final int[] recursiveReferences = new int[] {1, 0, 0};
+        assertEquals(8, listsIndex.bucketsSize());
+
+        listsIndex.removeListFromListsInvertedIndex(1, lists[1]);
+        listsIndex.removeListFromListsInvertedIndex(2, lists[2]);
+
+        assertEquals(8, listsIndex.bucketsSize());
+        assertEquals(
+            0,
+            listsIndex.getIndexOfReferenceList(new LongArrayList(lists[0]), 7, 3, lists, offsets, recursiveReferences)
+        );
+
+        listsIndex.removeListFromListsInvertedIndex(0, lists[0]);
+
+        assertEquals(0, listsIndex.bucketsSize());
+        assertEquals(
+            -1,
+            listsIndex.getIndexOfReferenceList(new LongArrayList(lists[0]), 7, 3, lists, offsets, recursiveReferences)
+        );
+    }
+
+}
@@ -0,0 +1,87 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.decoding.InputBitStream;
+import org.pebble.core.encoding.OutputBitStream;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class ChunksInputBitStreamTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenCodesSpanSeveralChunksItShouldReadExpectedValues() throws IOException {
+        final int[] chunkSizes = {1, 8, 16, 64};
+        for (int chunkSize : chunkSizes) {
+            final ChunksInputBitStream inputBitStream = getInputBitStream(chunkSize);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i * i % 1031, inputBitStream.readDelta());
+                assertEquals((long) i << 33, inputBitStream.readLong(50));
+                assertEquals(i, inputBitStream.readGamma());
+            }
+        }
+    }
+
+    @Test
+    public void whenReadingBeyondEndOfChunksItShouldThrowIOException() throws IOException {
+        final ChunksInputBitStream inputBitStream = getInputBitStream(16);
+        for (int i = 0; i < 1000; i++) {
+            inputBitStream.readDelta();
+            inputBitStream.readLong(50);
+            inputBitStream.readGamma();
+        }
+        expectedException.expect(IOException.class);
+
+        inputBitStream.readLong(64);
+    }
+
+    @Test
+    public void whenResetToArrayItShouldThrowUnsupportedOperationException() throws IOException {
+        final ChunksInputBitStream inputBitStream = getInputBitStream(16);
+        expectedException.expect(UnsupportedOperationException.class);
+        expectedException.expectMessage("Stream reads from chunks and can not be reset to an array");
+
+        inputBitStream.reset(new byte[1]);
+    }
+
+    private static ChunksInputBitStream getInputBitStream(final int chunkSize) throws IOException {
+        final HeapChunksOutputStream outputStream = new HeapChunksOutputStream(chunkSize);
+        final OutputBitStream outputBitStream = new OutputBitStream(outputStream);
+        for (int i = 0; i < 1000; i++) {
+            outputBitStream.writeDelta(i * i % 1031);
+            outputBitStream.writeLong((long) i << 33, 50);
+            outputBitStream.writeGamma(i);
+        }
+        outputBitStream.close();
+        final InputBitStream inputBitStream = outputStream.toPebbleBytesStore(
+            new LongListPebbleOffsetsStore(new long[] {0L})
+        ).getInputBitStream(0);
+        return (ChunksInputBitStream) inputBitStream;
+    }
+
+}
@@ -0,0 +1,190 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.iterators.ints.ListIterator;
+import org.pebble.core.encoding.OutputSuccinctStream;
+import org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore;
+import org.pebble.core.encoding.ints.datastructures.InvertedListIntReferenceListsIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@Category(UnitTest.class)
+public class ChunksPebbleBytesStoreTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenListsAreWrittenIntoChunksItShouldDecodeExpectedLists() throws IOException {
+        final int valueBitSize = 10;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {5, 8, 12, 13, 5, 900}),
+            new IntArrayList(new int[] {1, 2, 3, 5, 8, 12, 13, 14, 1000}),
+            new IntArrayList(new int[] {13, 12, 8, 5}),
+            new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 14}),
+        };
+        final HeapChunksOutputStream outputStream = new HeapChunksOutputStream(4);
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(outputStream);
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            3,
+            1,
+            1,
+            new InvertedListIntReferenceListsIndex()
+        );
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        long offset = 0L;
+        for (int i = 0; i < expectedLists.length; i++) {
+            offsetsStore.append(offset);
+            offset += outputSuccinctStream.writeList(
+                new IntArrayList(expectedLists[i]),
+                i,
+                valueBitSize,
+                referenceListsStore
+            );
+        }
+        outputSuccinctStream.close();
+        final PebbleBytesStore bytesStore = outputStream.toPebbleBytesStore(offsetsStore);
+        IntIterator iterator;
+        IntList list;
+
+        for (int i = 0; i < expectedLists.length; i++) {
+            iterator = ListIterator.build(i, valueBitSize, bytesStore);
+            list = new IntArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+            assertEquals(expectedLists[i], list);
+        }
+        final ListIterator reusedIterator = ListIterator.build(0, valueBitSize, bytesStore);
+        for (int i = expectedLists.length - 1; i >= 0; i--) {
+            reusedIterator.reset(i);
+            list = new IntArrayList();
+            while (reusedIterator.hasNext()) {
+                list.add(reusedIterator.nextInt());
+            }
+            assertEquals(expectedLists[i], list);
+        }
+    }
+
+    @Test
+    public void whenStoreIsBiggerThanTwoGigabytesItShouldDecodeListsStraddlingChunks() throws IOException {
+        final int valueBitSize = 31;
+        final int chunkSize = 1 << 20;
+        final int firstChunk = 2100;
+        final int firstChunkBytes = 5;
+        final IntList[] expectedLists = new IntList[] {
+            new IntArrayList(new int[] {5, 8, 12, 13, 5, 900}),
+            new IntArrayList(new int[] {Integer.MAX_VALUE - 1, 1, 2, 3, 5, 8, 12, 13, 14, 1000}),
+            new IntArrayList(new int[] {13, 12, 8, 5, 1 << 30})
+        };
+        final byte[] buffer = new byte[1024];
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(buffer);
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            3,
+            1,
+            1,
+            new InvertedListIntReferenceListsIndex()
+        );
+        final long base = ((long) firstChunk * chunkSize + chunkSize - firstChunkBytes) * Byte.SIZE;
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        long offset = base;
+        for (int i = 0; i < expectedLists.length; i++) {
+            offsetsStore.append(offset);
+            offset += outputSuccinctStream.writeList(
+                new IntArrayList(expectedLists[i]),
+                i,
+                valueBitSize,
+                referenceListsStore
+            );
+        }
+        outputSuccinctStream.close();
+        final ByteBuffer emptyChunk = ByteBuffer.allocate(chunkSize);
+        final ByteBuffer[] chunks = new ByteBuffer[firstChunk + 3];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = emptyChunk;
+        }
+        chunks[firstChunk] = ByteBuffer.allocate(chunkSize);
+        chunks[firstChunk].position(chunkSize - firstChunkBytes);
+        chunks[firstChunk].put(buffer, 0, firstChunkBytes);
+        chunks[firstChunk].clear();
+        chunks[firstChunk + 1] = ByteBuffer.allocate(chunkSize);
+        chunks[firstChunk + 1].put(buffer, firstChunkBytes, buffer.length - firstChunkBytes);
+        chunks[firstChunk + 1].clear();
+        final PebbleBytesStore bytesStore = new ChunksPebbleBytesStore(chunks, chunkSize, offsetsStore);
+        IntIterator iterator;
+        IntList list;
+
+        assertTrue(base > (long) Integer.MAX_VALUE * Byte.SIZE);
+        for (int i = 0; i < expectedLists.length; i++) {
+            iterator = ListIterator.build(i, valueBitSize, bytesStore);
+            list = new IntArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+            assertEquals(expectedLists[i], list);
+        }
+    }
+
+    @Test
+    public void getItShouldThrowUnsupportedOperationException() {
+        final ChunksPebbleBytesStore bytesStore = new ChunksPebbleBytesStore(
+            new ByteBuffer[] {ByteBuffer.allocate(4)},
+            4,
+            new LongListPebbleOffsetsStore(new long[] {0L})
+        );
+        expectedException.expect(UnsupportedOperationException.class);
+
+        bytesStore.get(0);
+    }
+
+    @Test
+    public void whenChunkIsSmallerThanChunkSizeItShouldThrowIllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+
+        new ChunksPebbleBytesStore(
+            new ByteBuffer[] {ByteBuffer.allocate(2), ByteBuffer.allocate(4)},
+            4,
+            new LongListPebbleOffsetsStore(new long[] {0L})
+        );
+    }
+
+    @Test
+    public void whenChunkSizeIsNotPowerOfTwoItShouldThrowIllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+
+        new ChunksPebbleBytesStore(
+            new ByteBuffer[] {ByteBuffer.allocate(3)},
+            3,
+            new LongListPebbleOffsetsStore(new long[] {0L})
+        );
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.pebble.UnitTest;
+import org.pebble.core.decoding.InputBitStream;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class DirectChunksOutputStreamTest {
+
+    @Test
+    public void whenWritingBytesItShouldSplitThemInDirectChunks() throws IOException {
+        final DirectChunksOutputStream outputStream = new DirectChunksOutputStream(2);
+        final byte[] expectedBytes = new byte[] {1, 2, 3, 4, 5};
+
+        outputStream.write(expectedBytes);
+        final ChunksPebbleBytesStore bytesStore = outputStream.toPebbleBytesStore(
+            new LongListPebbleOffsetsStore(new long[] {0L})
+        );
+
+        assertEquals(expectedBytes.length, bytesStore.size());
+        final InputBitStream inputBitStream = bytesStore.getInputBitStream(0);
+        for (byte expectedByte : expectedBytes) {
+            assertEquals(expectedByte, (byte) inputBitStream.readInt(8));
+        }
+    }
+
+    @Test
+    public void whenUsingDefaultChunkSizeItShouldStoreBytesInSingleChunk() throws IOException {
+        final DirectChunksOutputStream outputStream = new DirectChunksOutputStream();
+
+        outputStream.write(new byte[] {1, 2, 3});
+        final ChunksPebbleBytesStore bytesStore = outputStream.toPebbleBytesStore(
+            new LongListPebbleOffsetsStore(new long[] {0L})
+        );
+
+        assertEquals(3L, bytesStore.size());
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@Category(UnitTest.class)
+public class EliasFanoPebbleOffsetsStoreTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenOffsetsAreAppendedItShouldReturnExpectedOffsets() {
+        final long[] expectedOffsets = offsets(1000, 7L, 1000);
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore();
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            offsetsStore.append(expectedOffsets[i]);
+            assertEquals(i + 1, offsetsStore.size());
+            assertEquals(expectedOffsets[i], offsetsStore.get(i));
+        }
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            assertEquals(expectedOffsets[i], offsetsStore.get(i));
+        }
+    }
+
+    @Test
+    public void whenOffsetsArePassedOnConstructionItShouldReturnExpectedOffsets() {
+        final long[] expectedOffsets = offsets(300, 11L, 100000);
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore(expectedOffsets);
+        assertEquals(expectedOffsets.length, offsetsStore.size());
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            assertEquals(expectedOffsets[i], offsetsStore.get(i));
+        }
+    }
+
+    @Test
+    public void whenOffsetsAreRepeatedItShouldReturnExpectedOffsets() {
+        final long[] expectedOffsets = new long[400];
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            expectedOffsets[i] = i < 200 ? 0L : 5L + i / 100;
+        }
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore(expectedOffsets);
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            assertEquals(expectedOffsets[i], offsetsStore.get(i));
+        }
+    }
+
+    @Test
+    public void whenGapsAreHugeItShouldReturnExpectedOffsets() {
+        final long[] expectedOffsets = new long[300];
+        for (int i = 1; i < expectedOffsets.length; i++) {
+            expectedOffsets[i] = expectedOffsets[i - 1] + (i % 3 == 0 ? 1L : (1L << 52) + i);
+        }
+        expectedOffsets[expectedOffsets.length - 1] = Long.MAX_VALUE;
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore(expectedOffsets);
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            assertEquals(expectedOffsets[i], offsetsStore.get(i));
+        }
+    }
+
+    @Test
+    public void whenOffsetsAreCompressedItShouldUseFewBitsPerOffset() {
+        final int size = 1 << 16;
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore(offsets(size, 13L, 256));
+        assertTrue(8 * offsetsStore.sizeInBytes() < 12L * size);
+    }
+
+    @Test
+    public void whenOffsetIsSmallerThanLatestOffsetItShouldThrowIllegalArgumentException() {
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore(new long[] {3L, 10L});
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Offsets must be non decreasing, found 9 after 10");
+        offsetsStore.append(9L);
+    }
+
+    @Test
+    public void whenIndexIsOutOfBoundsItShouldThrowIndexOutOfBoundsException() {
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore(offsets(130, 17L, 10));
+        expectedException.expect(IndexOutOfBoundsException.class);
+        expectedException.expectMessage("Index 130 is out of bounds for size 130");
+        offsetsStore.get(130);
+    }
+
+    private static long[] offsets(final int size, final long seed, final int maxGap) {
+        final Random random = new Random(seed);
+        final long[] offsets = new long[size];
+        for (int i = 1; i < size; i++) {
+            offsets[i] = offsets[i - 1] + random.nextInt(maxGap);
+        }
+        return offsets;
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.pebble.UnitTest;
+import org.pebble.core.decoding.InputBitStream;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class HeapChunksOutputStreamTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenWritingBytesItShouldSplitThemInChunks() throws IOException {
+        final HeapChunksOutputStream outputStream = new HeapChunksOutputStream(4);
+        final byte[] expectedBytes = new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+
+        outputStream.write(1);
+        outputStream.write(new byte[] {0, 2, 3, 4, 5, 6, 7, 8, 9, 0}, 1, 8);
+        outputStream.write(new byte[] {10, 11});
+        final ChunksPebbleBytesStore bytesStore = outputStream.toPebbleBytesStore(
+            new LongListPebbleOffsetsStore(new long[] {0L})
+        );
+
+        assertEquals(expectedBytes.length, outputStream.size());
+        assertEquals(expectedBytes.length, bytesStore.size());
+        final InputBitStream inputBitStream = bytesStore.getInputBitStream(0);
+        for (byte expectedByte : expectedBytes) {
+            assertEquals(expectedByte, (byte) inputBitStream.readInt(8));
+        }
+    }
+
+    @Test
+    public void whenStreamIsEmptyItShouldReturnEmptyStore() throws IOException {
+        final HeapChunksOutputStream outputStream = new HeapChunksOutputStream();
+
+        final ChunksPebbleBytesStore bytesStore = outputStream.toPebbleBytesStore(
+            new LongListPebbleOffsetsStore(new long[] {})
+        );
+
+        assertEquals(0L, bytesStore.size());
+    }
+
+    @Test
+    public void whenStreamWasTurnedIntoStoreWriteItShouldThrowIOException() throws IOException {
+        final HeapChunksOutputStream outputStream = new HeapChunksOutputStream(4);
+        outputStream.write(1);
+        outputStream.toPebbleBytesStore(new LongListPebbleOffsetsStore(new long[] {0L}));
+        expectedException.expect(IOException.class);
+
+        outputStream.write(2);
+    }
+
+    @Test
+    public void whenChunkSizeIsNotPowerOfTwoItShouldThrowIllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+
+        new HeapChunksOutputStream(12);
+    }
+
+    @Test
+    public void whenChunkSizeIsNotPositiveItShouldThrowIllegalArgumentException() {
+        expectedException.expect(IllegalArgumentException.class);
+
+        new HeapChunksOutputStream(0);
+    }
+
+}
@@ -0,0 +1,220 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.pebble.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.pebble.UnitTest;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class MappedEliasFanoPebbleOffsetsStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenFileIsMappedInSeveralSegmentsItShouldReturnExpectedOffsets() throws IOException {
+        final long[] expectedOffsets = offsets(1000, 3L, 5000);
+        final File file = writeOffsets(expectedOffsets);
+
+        final MappedEliasFanoPebbleOffsetsStore offsetsStore = new MappedEliasFanoPebbleOffsetsStore(file, 8);
+
+        assertOffsets(expectedOffsets, offsetsStore);
+    }
+
+    @Test
+    public void whenFileIsMappedWithDefaultSegmentSizeItShouldReturnExpectedOffsets() throws IOException {
+        final long[] expectedOffsets = offsets(256, 5L, 100);
+        final File file = writeOffsets(expectedOffsets);
+
+        final MappedEliasFanoPebbleOffsetsStore offsetsStore = new MappedEliasFanoPebbleOffsetsStore(file);
+
+        assertOffsets(expectedOffsets, offsetsStore);
+    }
+
+    @Test
+    public void whenChannelIsMappedItShouldReturnExpectedOffsets() throws IOException {
+        final long[] expectedOffsets = offsets(130, 7L, 1 << 20);
+        final File file = writeOffsets(expectedOffsets);
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+
+        final MappedEliasFanoPebbleOffsetsStore offsetsStore = new MappedEliasFanoPebbleOffsetsStore(
+            randomAccessFile.getChannel(),
+            64
+        );
+        randomAccessFile.close();
+
+        assertOffsets(expectedOffsets, offsetsStore);
+    }
+
+    @Test
+    public void whenNoOffsetsAreWrittenItShouldReturnEmptyStore() throws IOException {
+        final File file = writeOffsets(new long[0]);
+
+        final MappedEliasFanoPebbleOffsetsStore offsetsStore = new MappedEliasFanoPebbleOffsetsStore(file);
+
+        assertEquals(0, offsetsStore.size());
+        assertEquals(8 * EliasFanoPebbleOffsetsStoreWriter.TRAILER_SIZE, file.length());
+    }
+
+    @Test
+    public void whenOffsetsAreWrittenItShouldMatchInMemoryStoreSize() throws IOException {
+        final long[] offsets = offsets(1 << 12, 11L, 300);
+        final File file = writeOffsets(offsets);
+        final EliasFanoPebbleOffsetsStore offsetsStore = new EliasFanoPebbleOffsetsStore(offsets);
+
+        assertEquals(
+            offsetsStore.sizeInBytes() - 8 * BaseEliasFanoPebbleOffsetsStore.BLOCK_SIZE
+                + 8 * EliasFanoPebbleOffsetsStoreWriter.TRAILER_SIZE,
+            file.length()
+        );
+    }
+
+    @Test
+    public void whenIndexIsOutOfBoundsItShouldThrowIndexOutOfBoundsException() throws IOException {
+        final File file = writeOffsets(offsets(10, 13L, 10));
+        final MappedEliasFanoPebbleOffsetsStore offsetsStore = new MappedEliasFanoPebbleOffsetsStore(file);
+        expectedException.expect(IndexOutOfBoundsException.class);
+        expectedException.expectMessage("Index 10 is out of bounds for size 10");
+        offsetsStore.get(10);
+    }
+
+    @Test
+    public void whenOffsetIsSmallerThanLatestOffsetItShouldThrowIllegalArgumentException() throws IOException {
+        final EliasFanoPebbleOffsetsStoreWriter writer = new EliasFanoPebbleOffsetsStoreWriter(
+            new FileOutputStream(temporaryFolder.newFile())
+        );
+        writer.append(5L);
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Offsets must be non decreasing, found 4 after 5");
+        writer.append(4L);
+    }
+
+    @Test
+    public void whenFileHasNoMagicItShouldThrowIOException() throws IOException {
+        final File file = temporaryFolder.newFile();
+        final DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(file));
+        for (int i = 0; i < EliasFanoPebbleOffsetsStoreWriter.TRAILER_SIZE; i++) {
+            outputStream.writeLong(0L);
+        }
+        outputStream.close();
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("File is not a valid offsets file");
+        new MappedEliasFanoPebbleOffsetsStore(file);
+    }
+
+    @Test
+    public void whenFileIsTooSmallItShouldThrowIOException() throws IOException {
+        final File file = temporaryFolder.newFile();
+        final DataOutputStream outputStream = new DataOutputStream(new FileOutputStream(file));
+        outputStream.writeLong(EliasFanoPebbleOffsetsStoreWriter.MAGIC);
+        outputStream.close();
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("File is not a valid offsets file");
+        new MappedEliasFanoPebbleOffsetsStore(file);
+    }
+
+    @Test
+    public void whenFileSizeIsNotMultipleOfEightItShouldThrowIOException() throws IOException {
+        final File file = writeOffsets(offsets(10, 17L, 10));
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        randomAccessFile.setLength(file.length() + 1);
+        randomAccessFile.close();
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage("File is not a valid offsets file");
+        new MappedEliasFanoPebbleOffsetsStore(file);
+    }
+
+    @Test
+    public void whenFileIsTruncatedItShouldThrowIOException() throws IOException {
+        final File file = writeOffsets(offsets(300, 19L, 10));
+        final File truncated = temporaryFolder.newFile();
+        final RandomAccessFile input = new RandomAccessFile(file, "r");
+        final byte[] bytes = new byte[(int) file.length()];
+        input.readFully(bytes);
+        input.close();
+        final FileOutputStream outputStream = new FileOutputStream(truncated);
+        outputStream.write(bytes, 8, bytes.length - 8);
+        outputStream.close();
+        expectedException.expect(IOException.class);
+        expectedException.expectMessage(
+            String.format("Offsets file is truncated, expected %d bytes but found %d", bytes.length, bytes.length - 8)
+        );
+        new MappedEliasFanoPebbleOffsetsStore(truncated);
+    }
+
+    @Test
+    public void whenSegmentSizeIsSmallerThanEightItShouldThrowIllegalArgumentException() throws IOException {
+        final File file = writeOffsets(offsets(10, 23L, 10));
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Segment size 4 is smaller than 8 bytes");
+        new MappedEliasFanoPebbleOffsetsStore(file, 4);
+    }
+
+    @Test
+    public void whenSegmentSizeIsNotPowerOfTwoItShouldThrowIllegalArgumentException() throws IOException {
+        final File file = writeOffsets(offsets(10, 29L, 10));
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Segment size 24 is not a power of two");
+        new MappedEliasFanoPebbleOffsetsStore(file, 24);
+    }
+
+    private File writeOffsets(final long[] offsets) throws IOException {
+        final File file = temporaryFolder.newFile();
+        final EliasFanoPebbleOffsetsStoreWriter writer = new EliasFanoPebbleOffsetsStoreWriter(
+            new FileOutputStream(file)
+        );
+        for (long offset : offsets) {
+            writer.append(offset);
+        }
+        writer.close();
+        return file;
+    }
+
+    private static void assertOffsets(final long[] expectedOffsets, final MappedEliasFanoPebbleOffsetsStore offsetsStore) {
+        assertEquals(expectedOffsets.length, offsetsStore.size());
+        for (int i = 0; i < expectedOffsets.length; i++) {
+            assertEquals(expectedOffsets[i], offsetsStore.get(i));
+        }
+    }
+
+    private static long[] offsets(final int size, final long seed, final int maxGap) {
+        final Random random = new Random(seed);
+        final long[] offsets = new long[size];
+        for (int i = 1; i < size; i++) {
+            offsets[i] = offsets[i - 1] + random.nextInt(maxGap);
+        }
+        return offsets;
+    }
+
+}
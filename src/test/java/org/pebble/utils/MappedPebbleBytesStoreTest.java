@@ -0,0 +1,145 @@
+/**
+ *  Copyright 2015 Groupon
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.pebble.utils;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.pebble.UnitTest;
+import org.pebble.core.PebbleBytesStore;
+import org.pebble.core.decoding.iterators.ints.StrictlyIncrementalListIterator;
+import org.pebble.core.encoding.OutputSuccinctStream;
+import org.pebble.core.encoding.ints.datastructures.IntReferenceListsStore;
+import org.pebble.core.encoding.ints.datastructures.InvertedListIntReferenceListsIndex;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class MappedPebbleBytesStoreTest {
+
+    private static final int VALUE_BIT_SIZE = 10;
+
+    private static final IntList[] LISTS = new IntList[] {
+        new IntArrayList(new int[] {5, 8, 12, 13, 900}),
+        new IntArrayList(new int[] {1, 2, 3, 5, 8, 12, 13, 14, 1000}),
+        new IntArrayList(new int[] {5, 8, 12, 13}),
+        new IntArrayList(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14})
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void whenFileIsMappedInSeveralSegmentsItShouldDecodeExpectedLists() throws IOException {
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        final File file = writeLists(offsetsStore);
+
+        final MappedPebbleBytesStore bytesStore = new MappedPebbleBytesStore(file, 4, offsetsStore);
+
+        assertEquals(file.length(), bytesStore.size());
+        assertLists(bytesStore);
+    }
+
+    @Test
+    public void whenFileIsMappedWithDefaultSegmentSizeItShouldDecodeExpectedLists() throws IOException {
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        final File file = writeLists(offsetsStore);
+
+        final MappedPebbleBytesStore bytesStore = new MappedPebbleBytesStore(file, offsetsStore);
+
+        assertLists(bytesStore);
+    }
+
+    @Test
+    public void whenChannelIsClosedAfterMappingItShouldDecodeExpectedLists() throws IOException {
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        final RandomAccessFile file = new RandomAccessFile(writeLists(offsetsStore), "r");
+
+        final MappedPebbleBytesStore bytesStore = new MappedPebbleBytesStore(file.getChannel(), 8, offsetsStore);
+        file.close();
+
+        assertLists(bytesStore);
+    }
+
+    @Test
+    public void whenSegmentSizeIsNotPowerOfTwoItShouldThrowIllegalArgumentException() throws IOException {
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        final File file = writeLists(offsetsStore);
+        expectedException.expect(IllegalArgumentException.class);
+
+        new MappedPebbleBytesStore(file, 6, offsetsStore);
+    }
+
+    @Test
+    public void whenSegmentSizeIsNotPositiveItShouldThrowIllegalArgumentException() throws IOException {
+        final LongListPebbleOffsetsStore offsetsStore = new LongListPebbleOffsetsStore();
+        final File file = writeLists(offsetsStore);
+        expectedException.expect(IllegalArgumentException.class);
+
+        new MappedPebbleBytesStore(file, -8, offsetsStore);
+    }
+
+    private File writeLists(final LongListPebbleOffsetsStore offsetsStore) throws IOException {
+        final File file = temporaryFolder.newFile();
+        final OutputSuccinctStream outputSuccinctStream = new OutputSuccinctStream(new FileOutputStream(file));
+        final IntReferenceListsStore referenceListsStore = new IntReferenceListsStore(
+            3,
+            1,
+            1,
+            new InvertedListIntReferenceListsIndex()
+        );
+        long offset = 0L;
+        for (int i = 0; i < LISTS.length; i++) {
+            offsetsStore.append(offset);
+            offset += outputSuccinctStream.writeStrictlyIncrementalList(
+                new IntArrayList(LISTS[i]),
+                i,
+                VALUE_BIT_SIZE,
+                referenceListsStore
+            );
+        }
+        outputSuccinctStream.close();
+        return file;
+    }
+
+    private static void assertLists(final PebbleBytesStore bytesStore) throws IOException {
+        IntIterator iterator;
+        IntList list;
+        for (int i = 0; i < LISTS.length; i++) {
+            iterator = StrictlyIncrementalListIterator.build(i, VALUE_BIT_SIZE, bytesStore);
+            list = new IntArrayList();
+            while (iterator.hasNext()) {
+                list.add(iterator.nextInt());
+            }
+            assertEquals(LISTS[i], list);
+        }
+    }
+
+}